@@ -0,0 +1,55 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.bench;
+
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.repository.csv.CsvEmployeeRepository;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Shared inputs for the benchmarks. Each JMH run is started with the dataset
+ * copy as its working directory, so the repositories resolve ./data against
+ * it.
+ *
+ * The measured pay period comes from -Dbench.period (any date inside it,
+ * yyyy-MM-dd) and defaults to the first half of June 2024.
+ *
+ * @author ACER
+ */
+final class BenchData {
+
+    static final String PERIOD_PROPERTY = "bench.period";
+    static final String DEFAULT_PERIOD_DATE = "2024-06-01";
+
+    // Annotation: User id recorded as the processor of benchmark payslips.
+    static final int BENCH_USER_ID = 10000;
+
+    private BenchData() {
+    }
+
+    static PayPeriod period() {
+        String raw = System.getProperty(PERIOD_PROPERTY, DEFAULT_PERIOD_DATE);
+        return PayPeriod.fromDateSemiMonthly(LocalDate.parse(raw.trim()));
+    }
+
+    /**
+     * Employee IDs in file order. Fails fast when the working directory does
+     * not hold a dataset, so a misconfigured run is not reported as fast.
+     */
+    static int[] employeeIds() {
+        List<Employee> employees = new CsvEmployeeRepository().findAll();
+        if (employees.isEmpty()) {
+            throw new IllegalStateException("No employees found under ./data. Run the bench target from a generated dataset.");
+        }
+
+        int[] ids = new int[employees.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = employees.get(i).getId();
+        }
+        return ids;
+    }
+}
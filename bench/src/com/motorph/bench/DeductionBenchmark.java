@@ -0,0 +1,72 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.bench;
+
+import com.motorph.service.strategy.PayDeductionStrategy;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Each PayDeductionStrategy method over a fixed spread of salary amounts that
+ * covers every bracket of the government tables.
+ *
+ * @author ACER
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeductionBenchmark {
+
+    private static final int AMOUNT_COUNT = 1024;
+
+    private PayDeductionStrategy strategy;
+    private double[] amounts;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        strategy = new PayDeductionStrategy();
+
+        // Fixed seed keeps the amount mix identical between builds.
+        Random rnd = new Random(7L);
+        amounts = new double[AMOUNT_COUNT];
+        for (int i = 0; i < AMOUNT_COUNT; i++) {
+            amounts[i] = 1000 + rnd.nextDouble() * 199000;
+        }
+    }
+
+    private double nextAmount() {
+        double amount = amounts[cursor];
+        cursor = (cursor + 1) & (AMOUNT_COUNT - 1);
+        return amount;
+    }
+
+    @Benchmark
+    public double calculateSSS() {
+        return strategy.calculateSSS(nextAmount());
+    }
+
+    @Benchmark
+    public double calculatePhilHealth() {
+        return strategy.calculatePhilHealth(nextAmount());
+    }
+
+    @Benchmark
+    public double calculatePagibig() {
+        return strategy.calculatePagibig(nextAmount());
+    }
+
+    @Benchmark
+    public double calculateTax() {
+        return strategy.calculateTax(nextAmount());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.bench;
+
+import com.motorph.domain.models.Employee;
+import com.motorph.repository.csv.CsvEmployeeRepository;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * CsvEmployeeRepository.findAll and findById against the dataset's employee
+ * master.
+ *
+ * @author ACER
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeRepositoryBenchmark {
+
+    private CsvEmployeeRepository repo;
+    private int[] ids;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        repo = new CsvEmployeeRepository();
+        ids = BenchData.employeeIds();
+    }
+
+    @Benchmark
+    public List<Employee> findAll() {
+        return repo.findAll();
+    }
+
+    // Annotation: Walks the ID list so lookups hit early, middle and late rows.
+    @Benchmark
+    public Employee findById() {
+        int id = ids[cursor];
+        cursor = (cursor + 1) % ids.length;
+        return repo.findById(id);
+    }
+}
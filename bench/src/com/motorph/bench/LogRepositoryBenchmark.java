@@ -0,0 +1,61 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.bench;
+
+import com.motorph.domain.models.LogEntry;
+import com.motorph.repository.csv.AsyncLogRepository;
+import com.motorph.repository.csv.CsvLogRepository;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * CsvLogRepository.save, one system-log append per invocation, against the
+ * queued AsyncLogRepository. The log keeps growing during the run, the same as
+ * it does in the app.
+ *
+ * @author ACER
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogRepositoryBenchmark {
+
+    private CsvLogRepository repo;
+    private AsyncLogRepository asyncRepo;
+
+    @Setup
+    public void setUp() {
+        repo = new CsvLogRepository();
+        asyncRepo = new AsyncLogRepository(repo);
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncRepo.close();
+    }
+
+    @Benchmark
+    public boolean save() {
+        return repo.save(entry());
+    }
+
+    @Benchmark
+    public boolean saveAsync() {
+        return asyncRepo.save(entry());
+    }
+
+    private LogEntry entry() {
+        return new LogEntry(0, "SYSTEM", LocalDateTime.now(),
+                String.valueOf(BenchData.BENCH_USER_ID), "BENCH_LOG", "Benchmark log entry.");
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.bench;
+
+import com.motorph.domain.enums.Role;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.User;
+import com.motorph.ops.payroll.PayrollOpsImpl;
+import com.motorph.ops.payroll.PayrollRunResult;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.csv.CachedEmployeeRepository;
+import com.motorph.repository.csv.CsvAuditRepository;
+import com.motorph.repository.csv.CsvEmployeeRepository;
+import com.motorph.repository.csv.CsvLeaveCreditsRepository;
+import com.motorph.repository.csv.CsvLeaveRepository;
+import com.motorph.repository.csv.CsvPayrollApprovalRepository;
+import com.motorph.repository.csv.CsvPayslipRepository;
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.repository.csv.DataPaths;
+import com.motorph.service.LeaveCreditsService;
+import com.motorph.service.LeaveService;
+import com.motorph.service.LogService;
+import com.motorph.service.PayrollService;
+import com.motorph.service.strategy.PayDeductionStrategy;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PayrollOpsImpl.processPayrollForPeriod over the whole dataset. Each
+ * iteration is one full batch run. Before every iteration, the period's
+ * payslips are removed and every employee's DTR is marked approved with
+ * payroll pending.
+ *
+ * @author ACER
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PayrollBatchBenchmark {
+
+    private static final String APPROVAL_HEADER
+            = "Transaction_ID,Employee_ID,Pay_Period_Start,Pay_Period_End,"
+            + "DTR_Approved_By,DTR_Status,DTR_Approved_Date,"
+            + "Payroll_Approved_By,Payroll_Status,Payroll_Approved_Date";
+
+    private static final DateTimeFormatter PERIOD_DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.US);
+    private static final DateTimeFormatter TX_FMT = DateTimeFormatter.ofPattern("yyMMdd", Locale.US);
+
+    private PayrollOpsImpl payrollOps;
+    private PayPeriod period;
+    private int[] ids;
+    private User payrollUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        period = BenchData.period();
+        ids = BenchData.employeeIds();
+        payrollUser = new User(BenchData.BENCH_USER_ID, String.valueOf(BenchData.BENCH_USER_ID), "", Role.PAYROLL, false);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeriod() throws IOException {
+        deletePeriodPayslips();
+        writeDtrApprovedRows();
+
+        // Fresh wiring per iteration so no cache carries over between runs.
+        EmployeeRepository empRepo = new CachedEmployeeRepository(new CsvEmployeeRepository());
+        LeaveCreditsService leaveCreditsService = new LeaveCreditsService(
+                new CsvLeaveCreditsRepository(), new LeaveService(new CsvLeaveRepository()));
+        PayrollService payrollService = new PayrollService(empRepo, new CsvTimeRepository(empRepo), new PayDeductionStrategy(),
+                new CsvPayslipRepository(), new CsvAuditRepository(), leaveCreditsService);
+        payrollOps = new PayrollOpsImpl(payrollService, empRepo, new LogService(), new CsvPayrollApprovalRepository());
+    }
+
+    @Benchmark
+    public List<PayrollRunResult> processPayrollForPeriod() {
+        return payrollOps.processPayrollForPeriod(period, payrollUser);
+    }
+
+    private void deletePeriodPayslips() {
+        String suffix = "_" + period.toKey() + ".csv";
+        File[] files = new File(DataPaths.PAYSLIP_FOLDER).listFiles((dir, name)
+                -> name.startsWith("records_payslips_") && name.endsWith(suffix));
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            f.delete();
+        }
+    }
+
+    // Annotation: Written directly; thousands of single-row DTR upserts would dominate the setup time.
+    private void writeDtrApprovedRows() throws IOException {
+        File file = new File(DataPaths.PAYROLL_FOLDER + "records_payroll_period_" + period.toKey() + ".csv");
+        file.getParentFile().mkdirs();
+
+        String start = period.getStartDate().format(PERIOD_DATE_FMT);
+        String end = period.getEndDate().format(PERIOD_DATE_FMT);
+        String txSuffix = "-" + period.getStartDate().format(TX_FMT) + "-" + period.getEndDate().format(TX_FMT);
+
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false))) {
+            bw.write(APPROVAL_HEADER);
+            for (int id : ids) {
+                bw.newLine();
+                bw.write("TX-" + id + txSuffix + "," + id + "," + start + "," + end
+                        + "," + BenchData.BENCH_USER_ID + ",APPROVED,,,PENDING,");
+            }
+        }
+    }
+}
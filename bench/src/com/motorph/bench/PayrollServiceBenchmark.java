@@ -0,0 +1,85 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.bench;
+
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.Payslip;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.csv.CachedEmployeeRepository;
+import com.motorph.repository.csv.CsvAuditRepository;
+import com.motorph.repository.csv.CsvEmployeeRepository;
+import com.motorph.repository.csv.CsvLeaveCreditsRepository;
+import com.motorph.repository.csv.CsvLeaveRepository;
+import com.motorph.repository.csv.CsvPayslipRepository;
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.repository.csv.DataPaths;
+import com.motorph.service.LeaveCreditsService;
+import com.motorph.service.LeaveService;
+import com.motorph.service.PayrollService;
+import com.motorph.service.strategy.PayDeductionStrategy;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * PayrollService.generatePayslip end to end: employee lookup, DTR and leave
+ * reads, deductions, payslip save and audit entry. The saved payslip file is
+ * removed after each invocation so the next call for that employee is not
+ * rejected as a duplicate.
+ *
+ * @author ACER
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PayrollServiceBenchmark {
+
+    private PayrollService payrollService;
+    private PayPeriod period;
+    private int[] ids;
+    private int cursor;
+    private int currentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Wired the same way as SwingApp.
+        EmployeeRepository empRepo = new CachedEmployeeRepository(new CsvEmployeeRepository());
+        LeaveCreditsService leaveCreditsService = new LeaveCreditsService(
+                new CsvLeaveCreditsRepository(), new LeaveService(new CsvLeaveRepository()));
+        payrollService = new PayrollService(empRepo, new CsvTimeRepository(empRepo), new PayDeductionStrategy(),
+                new CsvPayslipRepository(), new CsvAuditRepository(), leaveCreditsService);
+
+        period = BenchData.period();
+        ids = BenchData.employeeIds();
+    }
+
+    @Setup(Level.Invocation)
+    public void nextEmployee() {
+        currentId = ids[cursor];
+        cursor = (cursor + 1) % ids.length;
+        deletePayslip();
+    }
+
+    @Benchmark
+    public Payslip generatePayslip() {
+        return payrollService.generatePayslip(currentId, period, BenchData.BENCH_USER_ID);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deletePayslip() {
+        File file = new File(DataPaths.PAYSLIP_FOLDER + "records_payslips_" + currentId + "_" + period.toKey() + ".csv");
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+}
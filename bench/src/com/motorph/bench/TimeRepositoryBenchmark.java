@@ -0,0 +1,49 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.bench;
+
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.csv.CsvTimeRepository;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * CsvTimeRepository.findByEmployeeAndPeriod for one semi-monthly period,
+ * rotating through every employee's DTR file.
+ *
+ * @author ACER
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimeRepositoryBenchmark {
+
+    private CsvTimeRepository repo;
+    private PayPeriod period;
+    private int[] ids;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        repo = new CsvTimeRepository();
+        period = BenchData.period();
+        ids = BenchData.employeeIds();
+    }
+
+    @Benchmark
+    public List<TimeEntry> findByEmployeeAndPeriod() {
+        int id = ids[cursor];
+        cursor = (cursor + 1) % ids.length;
+        return repo.findByEmployeeAndPeriod(id, period);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph;
+
+import com.motorph.ops.approval.DtrApprovalOps;
+import com.motorph.ops.approval.DtrApprovalOpsImpl;
+import com.motorph.ops.auth.AuthOps;
+import com.motorph.ops.auth.AuthOpsImpl;
+import com.motorph.ops.hr.HROps;
+import com.motorph.ops.hr.HROpsImpl;
+import com.motorph.ops.it.ItOps;
+import com.motorph.ops.it.ItOpsImpl;
+import com.motorph.ops.leave.LeaveOps;
+import com.motorph.ops.leave.LeaveOpsImpl;
+import com.motorph.ops.payroll.PayrollOps;
+import com.motorph.ops.payroll.PayrollOpsImpl;
+import com.motorph.ops.payslip.PayslipOps;
+import com.motorph.ops.payslip.PayslipOpsImpl;
+import com.motorph.ops.supervisor.SupervisorOps;
+import com.motorph.ops.supervisor.SupervisorOpsImpl;
+import com.motorph.ops.time.TimeOps;
+import com.motorph.ops.time.TimeOpsImpl;
+import com.motorph.repository.csv.CsvAddressReferenceRepository;
+import com.motorph.repository.csv.DataPaths;
+import com.motorph.repository.provider.Repositories;
+import com.motorph.service.AuthService;
+import com.motorph.service.EmployeeService;
+import com.motorph.service.LeaveCreditsService;
+import com.motorph.service.LeaveService;
+import com.motorph.service.LogService;
+import com.motorph.service.PayrollService;
+import com.motorph.service.TimeService;
+import com.motorph.service.YearToDateService;
+import com.motorph.service.strategy.PayDeductionStrategy;
+
+import java.nio.file.Paths;
+
+/**
+ * Composition root. Builds every service and ops object once from a set of
+ * repositories; shared() uses the configured backend and decorators (see
+ * Repositories), so storage can be switched without touching UI code.
+ *
+ * @author ACER
+ */
+public final class AppContext {
+
+    private static AppContext shared;
+
+    private final Repositories repositories;
+    private final CsvAddressReferenceRepository addressRepo;
+
+    private final LogService logService;
+    private final EmployeeService employeeService;
+    private final LeaveCreditsService leaveCreditsService;
+    private final YearToDateService yearToDateService;
+
+    private final AuthOps authOps;
+    private final TimeOps timeOps;
+    private final HROps hrOps;
+    private final PayrollOps payrollOps;
+    private final PayslipOps payslipOps;
+    private final SupervisorOps supervisorOps;
+    private final LeaveOps leaveOps;
+    private final ItOps itOps;
+
+    public AppContext(Repositories repositories) {
+        this.repositories = repositories;
+        this.addressRepo = new CsvAddressReferenceRepository(Paths.get(DataPaths.ADDRESS_REFERENCE_CSV));
+
+        // Services
+        this.logService = new LogService(repositories.logs());
+        this.employeeService = new EmployeeService(repositories.employees());
+        TimeService timeService = new TimeService(repositories.timeEntries());
+        AuthService authService = new AuthService(repositories.users());
+        LeaveService leaveService = new LeaveService(repositories.leave());
+        // Year-to-date totals follow payslip and leave writes through the change tracker.
+        this.yearToDateService = new YearToDateService(repositories.yearToDate(), repositories.employees(),
+                repositories.payslips(), repositories.leave(), leaveService);
+        repositories.changes().addListener(yearToDateService);
+        this.leaveCreditsService = new LeaveCreditsService(repositories.leaveCredits(), leaveService, yearToDateService);
+        PayrollService payrollService = new PayrollService(repositories.employees(), repositories.timeEntries(),
+                new PayDeductionStrategy(), repositories.payslips(), repositories.audit(), leaveCreditsService,
+                repositories.changes());
+
+        // Ops
+        DtrApprovalOps dtrApprovalOps = new DtrApprovalOpsImpl(repositories.payrollApprovals(), repositories.audit());
+        this.timeOps = new TimeOpsImpl(timeService, repositories.timeEntries(), repositories.payrollApprovals(), logService);
+        this.payrollOps = new PayrollOpsImpl(payrollService, repositories.employees(), logService, repositories.payrollApprovals());
+        this.payslipOps = new PayslipOpsImpl(repositories.payslips(), logService);
+        this.supervisorOps = new SupervisorOpsImpl(
+                employeeService,
+                repositories.timeEntries(),
+                repositories.payrollApprovals(),
+                repositories.leave(),
+                dtrApprovalOps,
+                logService
+        );
+        this.hrOps = new HROpsImpl(repositories.employees(), employeeService, repositories.users(), logService, yearToDateService,
+                repositories.timeEntries(), repositories.leave(), repositories.leaveCredits(), repositories.payslips(),
+                repositories.payrollApprovals());
+        this.itOps = new ItOpsImpl(repositories.users(), logService);
+        this.leaveOps = new LeaveOpsImpl(repositories.leave(), leaveCreditsService, logService);
+        this.authOps = new AuthOpsImpl(authService, logService);
+    }
+
+    public static synchronized AppContext shared() {
+        if (shared == null) {
+            shared = new AppContext(Repositories.shared());
+        }
+        return shared;
+    }
+
+    public Repositories getRepositories() {
+        return repositories;
+    }
+
+    public CsvAddressReferenceRepository getAddressRepo() {
+        return addressRepo;
+    }
+
+    public LogService getLogService() {
+        return logService;
+    }
+
+    public EmployeeService getEmployeeService() {
+        return employeeService;
+    }
+
+    public LeaveCreditsService getLeaveCreditsService() {
+        return leaveCreditsService;
+    }
+
+    public YearToDateService getYearToDateService() {
+        return yearToDateService;
+    }
+
+    public AuthOps getAuthOps() {
+        return authOps;
+    }
+
+    public TimeOps getTimeOps() {
+        return timeOps;
+    }
+
+    public HROps getHrOps() {
+        return hrOps;
+    }
+
+    public PayrollOps getPayrollOps() {
+        return payrollOps;
+    }
+
+    public PayslipOps getPayslipOps() {
+        return payslipOps;
+    }
+
+    public SupervisorOps getSupervisorOps() {
+        return supervisorOps;
+    }
+
+    public LeaveOps getLeaveOps() {
+        return leaveOps;
+    }
+
+    public ItOps getItOps() {
+        return itOps;
+    }
+}
@@ -4,57 +4,10 @@
  */
 package com.motorph;
 
-import com.motorph.ops.approval.DtrApprovalOps;
-import com.motorph.ops.approval.DtrApprovalOpsImpl;
-import com.motorph.ops.hr.HROps;
-import com.motorph.ops.hr.HROpsImpl;
-import com.motorph.ops.payroll.PayrollOps;
-import com.motorph.ops.payroll.PayrollOpsImpl;
-import com.motorph.ops.payslip.PayslipOps;
-import com.motorph.ops.payslip.PayslipOpsImpl;
-import com.motorph.ops.supervisor.SupervisorOps;
-import com.motorph.ops.supervisor.SupervisorOpsImpl;
-import com.motorph.ops.time.TimeOps;
-import com.motorph.ops.time.TimeOpsImpl;
-import com.motorph.ops.it.ItOps;
-import com.motorph.ops.it.ItOpsImpl;
-import com.motorph.ops.leave.LeaveOps;
-import com.motorph.ops.leave.LeaveOpsImpl;
-
-import com.motorph.repository.AuditRepository;
-import com.motorph.repository.EmployeeRepository;
-import com.motorph.repository.PayslipRepository;
-import com.motorph.repository.TimeEntryRepository;
-import com.motorph.repository.UserRepository;
-import com.motorph.repository.PayrollApprovalRepository;
-
-import com.motorph.repository.csv.CsvAuditRepository;
-import com.motorph.repository.csv.CsvEmployeeRepository;
-import com.motorph.repository.csv.CsvPayslipRepository;
-import com.motorph.repository.csv.CsvTimeRepository;
-import com.motorph.repository.csv.CsvUserRepository;
-import com.motorph.repository.csv.CsvPayrollApprovalRepository;
-import com.motorph.repository.csv.CsvLeaveRepository;
-import com.motorph.repository.csv.CsvLeaveCreditsRepository;
-import com.motorph.repository.csv.CsvAddressReferenceRepository;
-
-import com.motorph.service.AuthService;
-import com.motorph.service.EmployeeService;
-import com.motorph.service.LogService;
-import com.motorph.service.PayrollService;
-import com.motorph.service.TimeService;
-import com.motorph.service.LeaveService;
-import com.motorph.service.LeaveCreditsService;
-
-import com.motorph.service.strategy.DeductionStrategy;
-import com.motorph.service.strategy.PayDeductionStrategy;
-
-import com.motorph.ops.auth.AuthOps;         // Import AuthOps
-import com.motorph.ops.auth.AuthOpsImpl;     // Import AuthOpsImpl
-
 /**
- * The starting point. It initializes all repositories and services, then opens
- * the LoginView.
+ * The starting point. It builds the application context (repositories,
+ * services and ops for the configured storage backend), then opens the
+ * LoginView.
  *
  * @author OngoJ
  */
@@ -62,47 +15,8 @@ public class SwingApp {
 
     public static void main(String[] args) {
 
-// Repositories
-        EmployeeRepository empRepo = new CsvEmployeeRepository();
-        TimeEntryRepository timeRepo = new CsvTimeRepository(empRepo);
-        UserRepository userRepo = new CsvUserRepository();
-        AuditRepository auditRepo = new CsvAuditRepository();
-        PayslipRepository payslipRepo = new CsvPayslipRepository();
-        PayrollApprovalRepository approvalRepo = new CsvPayrollApprovalRepository();
-        com.motorph.repository.LeaveRepository leaveRepo = new CsvLeaveRepository();
-        com.motorph.repository.LeaveCreditsRepository leaveCreditsRepo = new CsvLeaveCreditsRepository();
-        CsvAddressReferenceRepository addressRepo = new CsvAddressReferenceRepository(java.nio.file.Paths.get(com.motorph.repository.csv.DataPaths.ADDRESS_REFERENCE_CSV));
-
-// Services
-        TimeService timeService = new TimeService(timeRepo);
-        AuthService authService = new AuthService(userRepo);
-        LogService logService = new LogService();
-        EmployeeService employeeService = new EmployeeService(empRepo);
-        LeaveService leaveService = new LeaveService(leaveRepo);
-        LeaveCreditsService leaveCreditsService = new LeaveCreditsService(leaveCreditsRepo, leaveService);
-
-        DeductionStrategy deductionStrategy = new PayDeductionStrategy();
-        PayrollService payrollService = new PayrollService(empRepo, timeRepo, deductionStrategy, payslipRepo, auditRepo, leaveCreditsService);
-
-// Ops
-        TimeOps timeOps = new TimeOpsImpl(timeService, timeRepo, approvalRepo, logService);
-        PayrollOps payrollOps = new PayrollOpsImpl(payrollService, empRepo, logService, approvalRepo);
-        DtrApprovalOps dtrApprovalOps = new DtrApprovalOpsImpl(approvalRepo, auditRepo);
-        PayslipOps payslipOps = new PayslipOpsImpl(payslipRepo, logService);
-        SupervisorOps supervisorOps = new SupervisorOpsImpl(
-                employeeService,
-                timeRepo,
-                approvalRepo,
-                leaveRepo,
-                dtrApprovalOps,
-                logService
-        );
-        HROps hrOps = new HROpsImpl(empRepo, employeeService, userRepo, logService);
-        ItOps itOps = new ItOpsImpl(userRepo, logService);
-        LeaveOps leaveOps = new LeaveOpsImpl(leaveRepo, leaveCreditsService, logService);
-
-        //Initialize the AuthOps layer
-        AuthOps authOps = new AuthOpsImpl(authService, logService);
+        // Annotation: Storage backend and repository decorators come from DataPaths (data.storage, data.decorators).
+        AppContext app = AppContext.shared();
 
         // --- FINAL UI WIRING ---
         java.awt.EventQueue.invokeLater(() -> {
@@ -110,7 +24,10 @@ public class SwingApp {
             com.motorph.ui.swing.UiHelper.UiThemeHelper.useFlatLaf();
 
             // Pass the successfully wired backend directly into the UI
-            com.motorph.ui.swing.LoginPanel login = new com.motorph.ui.swing.LoginPanel(authOps, employeeService, timeOps, hrOps, payrollOps, payslipOps, supervisorOps, leaveOps, itOps, leaveCreditsService, addressRepo);
+            com.motorph.ui.swing.LoginPanel login = new com.motorph.ui.swing.LoginPanel(
+                    app.getAuthOps(), app.getEmployeeService(), app.getTimeOps(), app.getHrOps(),
+                    app.getPayrollOps(), app.getPayslipOps(), app.getSupervisorOps(), app.getLeaveOps(),
+                    app.getItOps(), app.getLeaveCreditsService(), app.getAddressRepo());
             login.setVisible(true);
         });
         // UI wiring goes here (later)
@@ -0,0 +1,70 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.domain.models;
+
+import com.motorph.domain.enums.ApprovalStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of one employee's DTR and payroll approval state for a pay
+ * period.
+ *
+ * @author ACER
+ */
+public class PayrollApproval {
+
+    private final int empId;
+    private final ApprovalStatus dtrStatus;
+    private final int dtrApprovedBy;
+    private final LocalDateTime dtrApprovedAt;
+    private final ApprovalStatus payrollStatus;
+    private final int payrollApprovedBy;
+    private final LocalDateTime payrollApprovedAt;
+
+    public PayrollApproval(int empId,
+            ApprovalStatus dtrStatus, int dtrApprovedBy, LocalDateTime dtrApprovedAt,
+            ApprovalStatus payrollStatus, int payrollApprovedBy, LocalDateTime payrollApprovedAt) {
+        this.empId = empId;
+        this.dtrStatus = (dtrStatus != null) ? dtrStatus : ApprovalStatus.PENDING;
+        this.dtrApprovedBy = dtrApprovedBy;
+        this.dtrApprovedAt = dtrApprovedAt;
+        this.payrollStatus = (payrollStatus != null) ? payrollStatus : ApprovalStatus.PENDING;
+        this.payrollApprovedBy = payrollApprovedBy;
+        this.payrollApprovedAt = payrollApprovedAt;
+    }
+
+    // Annotation: State reported for employees that have no approval row yet.
+    public static PayrollApproval pending(int empId) {
+        return new PayrollApproval(empId, ApprovalStatus.PENDING, 0, null, ApprovalStatus.PENDING, 0, null);
+    }
+
+    public int getEmpId() {
+        return empId;
+    }
+
+    public ApprovalStatus getDtrStatus() {
+        return dtrStatus;
+    }
+
+    public int getDtrApprovedBy() {
+        return dtrApprovedBy;
+    }
+
+    public LocalDateTime getDtrApprovedAt() {
+        return dtrApprovedAt;
+    }
+
+    public ApprovalStatus getPayrollStatus() {
+        return payrollStatus;
+    }
+
+    public int getPayrollApprovedBy() {
+        return payrollApprovedBy;
+    }
+
+    public LocalDateTime getPayrollApprovedAt() {
+        return payrollApprovedAt;
+    }
+}
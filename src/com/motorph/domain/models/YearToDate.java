@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.domain.models;
+
+import java.time.LocalDate;
+
+/**
+ * Running payroll and leave totals of one employee for one calendar year,
+ * kept per semi-monthly bucket (0 = Jan 1-15, 1 = Jan 16-31, ... 23 = Dec
+ * 16-31). Money is in centavos and leave in minutes, so sums are exact. A
+ * year-to-date figure is a sum of at most 24 buckets.
+ *
+ * @author ACER
+ */
+public class YearToDate {
+
+    public static final int BUCKETS = 24;
+
+    public static final int GROSS = 0;
+    public static final int SSS = 1;
+    public static final int PHILHEALTH = 2;
+    public static final int PAGIBIG = 3;
+    public static final int TAX = 4;
+    public static final int DEDUCTIONS = 5;
+    public static final int NET = 6;
+    public static final int PAYSLIPS = 7;
+    public static final int LEAVE_MINUTES = 8;
+    public static final int COLUMNS = 9;
+
+    private final int employeeId;
+    private final int year;
+    private final long[][] values = new long[COLUMNS][BUCKETS];
+
+    public YearToDate(int employeeId, int year) {
+        this.employeeId = employeeId;
+        this.year = year;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public long get(int column, int bucket) {
+        return values[column][bucket];
+    }
+
+    public void add(int column, int bucket, long amount) {
+        values[column][bucket] += amount;
+    }
+
+    // Annotation: Sum of the column from the first bucket of the year through the given bucket.
+    public long total(int column, int throughBucket) {
+        long sum = 0;
+        int last = Math.min(throughBucket, BUCKETS - 1);
+        for (int b = 0; b <= last; b++) {
+            sum += values[column][b];
+        }
+        return sum;
+    }
+
+    public long annual(int column) {
+        return total(column, BUCKETS - 1);
+    }
+
+    public YearToDate copy() {
+        YearToDate c = new YearToDate(employeeId, year);
+        for (int col = 0; col < COLUMNS; col++) {
+            System.arraycopy(values[col], 0, c.values[col], 0, BUCKETS);
+        }
+        return c;
+    }
+
+    public static int bucketOf(LocalDate date) {
+        return (date.getMonthValue() - 1) * 2 + (date.getDayOfMonth() > 15 ? 1 : 0);
+    }
+
+    // Annotation: True for the 15th and the last day of a month, where a bucket total is exact.
+    public static boolean isBucketEnd(LocalDate date) {
+        return date.getDayOfMonth() == 15 || date.getDayOfMonth() == date.lengthOfMonth();
+    }
+}
@@ -12,7 +12,7 @@ import com.motorph.repository.PayrollApprovalRepository;
 import java.time.LocalDateTime;
 
 /**
- * Writes DTR approvals into the shared tracker: records_payroll_{empId}.csv
+ * Writes DTR approvals into the shared tracker: records_payroll_period_{yyMMdd-yyMMdd}.csv
  *
  * @author ACER
  */
@@ -45,7 +45,7 @@ public class DtrApprovalOpsImpl implements DtrApprovalOps {
 
         boolean ok = approvalRepo.upsertDtrApproval(
                 empId, period, approverUserId, ApprovalStatus.APPROVED, LocalDateTime.now()
-        );
+        ) && approvalRepo.flush();
 
         if (ok) {
             auditRepo.logDtrChange(
@@ -75,7 +75,7 @@ public class DtrApprovalOpsImpl implements DtrApprovalOps {
 
         boolean ok = approvalRepo.upsertDtrApproval(
                 empId, period, approverUserId, ApprovalStatus.REJECTED, LocalDateTime.now()
-        );
+        ) && approvalRepo.flush();
 
         if (ok) {
             auditRepo.logDtrChange(
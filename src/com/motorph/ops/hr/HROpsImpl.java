@@ -6,19 +6,30 @@ package com.motorph.ops.hr;
 
 import com.motorph.domain.enums.Role;
 import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveCredits;
 import com.motorph.domain.models.User;
 import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.LeaveCreditsRepository;
+import com.motorph.repository.LeaveRepository;
+import com.motorph.repository.PayrollApprovalRepository;
+import com.motorph.repository.PayslipRepository;
+import com.motorph.repository.TimeEntryRepository;
 import com.motorph.repository.UserRepository;
+import com.motorph.repository.csv.CsvLeaveCreditsRepository;
+import com.motorph.repository.csv.CsvLeaveRepository;
+import com.motorph.repository.csv.CsvPayrollApprovalRepository;
+import com.motorph.repository.csv.CsvPayslipRepository;
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.repository.csv.AtomicFileWriter;
+import com.motorph.repository.csv.CsvTokenizer;
 import com.motorph.repository.csv.DataPaths;
+import com.motorph.repository.csv.RecordLockManager;
 import com.motorph.service.EmployeeService;
 import com.motorph.service.LogService;
+import com.motorph.service.YearToDateService;
 import com.motorph.utils.ValidationUtil;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,23 +45,53 @@ import java.util.regex.Pattern;
  */
 public class HROpsImpl implements HROps {
 
-    private static final String CSV_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
-
     private final EmployeeRepository empRepo;
     private final UserRepository userRepo;
     private final EmployeeService employeeService;
     private final LogService logService;
+    // Annotation: Optional; when set, a deleted employee's year-to-date totals are removed with the record files.
+    private final YearToDateService yearToDateService;
+    // Annotation: Linked record stores; a new hire's leave credits are added and a deleted employee's records removed through them.
+    private final TimeEntryRepository timeRepo;
+    private final LeaveRepository leaveRepo;
+    private final LeaveCreditsRepository leaveCreditsRepo;
+    private final PayslipRepository payslipRepo;
+    private final PayrollApprovalRepository approvalRepo;
+    // Annotation: Log and audit files are rewritten under the same file locks their stores append under.
+    private final RecordLockManager locks = RecordLockManager.shared();
 
     public HROpsImpl(
             EmployeeRepository empRepo,
             EmployeeService employeeService,
             UserRepository userRepo,
             LogService logService
+    ) {
+        this(empRepo, employeeService, userRepo, logService, null, new CsvTimeRepository(), new CsvLeaveRepository(),
+                new CsvLeaveCreditsRepository(), new CsvPayslipRepository(), new CsvPayrollApprovalRepository());
+    }
+
+    public HROpsImpl(
+            EmployeeRepository empRepo,
+            EmployeeService employeeService,
+            UserRepository userRepo,
+            LogService logService,
+            YearToDateService yearToDateService,
+            TimeEntryRepository timeRepo,
+            LeaveRepository leaveRepo,
+            LeaveCreditsRepository leaveCreditsRepo,
+            PayslipRepository payslipRepo,
+            PayrollApprovalRepository approvalRepo
     ) {
         this.empRepo = empRepo;
         this.employeeService = employeeService;
         this.userRepo = userRepo;
         this.logService = logService;
+        this.yearToDateService = yearToDateService;
+        this.timeRepo = timeRepo;
+        this.leaveRepo = leaveRepo;
+        this.leaveCreditsRepo = leaveCreditsRepo;
+        this.payslipRepo = payslipRepo;
+        this.approvalRepo = approvalRepo;
     }
 
     @Override
@@ -324,95 +365,24 @@ public class HROpsImpl implements HROps {
         return actor != null && actor.getRoles().contains(Role.HR);
     }
 
-    // Annotation: Create DTR, leave, payroll-approval, and leave-credit defaults after successful employee creation.
+    // Annotation: Create the leave-credit default after successful employee creation; DTR, leave and approval records are created on first write.
     private boolean provisionBaseRecords(Employee emp) {
-        boolean dtr = ensureFileWithHeader(
-                DataPaths.DTR_FOLDER + "records_dtr_" + emp.getId() + ".csv",
-                "Attendance_ID,Employee #,Date,Log In,Log Out,First Name,Last Name"
-        );
-
-        boolean leave = ensureFileWithHeader(
-                DataPaths.LEAVE_FOLDER + "records_leave_" + emp.getId() + ".csv",
-                "Leave_ID,Employee #,Date,Start_Time,End_Time,First Name,Last Name,Status,Reviewed_By,Reviewed_At,Decision_Note"
-        );
-
-        boolean payroll = ensureFileWithHeader(
-                DataPaths.PAYROLL_FOLDER + "records_payroll_" + emp.getId() + ".csv",
-                "Transaction_ID,Employee_ID,Pay_Period_Start,Pay_Period_End,DTR_Approved_By,DTR_Status,DTR_Approved_Date,Payroll_Approved_By,Payroll_Status,Payroll_Approved_Date"
-        );
-
-        boolean credits = ensureLeaveCreditsRow(emp);
-        return dtr && leave && payroll && credits;
-    }
-
-    private boolean ensureFileWithHeader(String filePath, String header) {
-        try {
-            File file = new File(filePath);
-            File parent = file.getParentFile();
-            if (parent != null && !parent.exists()) {
-                parent.mkdirs();
-            }
-
-            if (file.exists() && file.length() > 0) {
-                return true;
-            }
-
-            try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false))) {
-                bw.write(header);
-            }
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private boolean ensureLeaveCreditsRow(Employee emp) {
-        try {
-            File file = new File(DataPaths.LEAVE_CREDITS_CSV);
-            if (!file.exists()) {
-                try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false))) {
-                    bw.write("Employee #,Last Name,First Name,Leave Credits,Leave Taken");
-                }
-            }
-
-            try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    if (line.trim().isEmpty()) {
-                        continue;
-                    }
-                    String[] data = line.split(",", -1);
-                    if (data.length > 0 && String.valueOf(emp.getId()).equals(data[0].trim())) {
-                        return true;
-                    }
-                }
-            }
-
-            double defaultCredits = "Probationary".equalsIgnoreCase(emp.getStatus()) ? 0.0 : 40.0;
-            try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, true))) {
-                bw.newLine();
-                bw.write(emp.getId() + ","
-                        + safeCsv(emp.getLastName()) + ","
-                        + safeCsv(emp.getFirstName()) + ","
-                        + String.format(Locale.US, "%.2f", defaultCredits) + ",0.00");
-            }
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        double defaultCredits = "Probationary".equalsIgnoreCase(emp.getStatus()) ? 0.0 : 40.0;
+        return leaveCreditsRepo.create(new LeaveCredits(emp.getId(), emp.getLastName(), emp.getFirstName(), defaultCredits, 0.0));
     }
 
-    // Annotation: Delete linked CSV rows and per-employee files so HR delete does not leave orphan records.
+    // Annotation: Delete linked records through their repositories, plus log rows, so HR delete does not leave orphan records.
     private CleanupSummary cleanupEmployeeLinkedData(int empId, String username) {
         CleanupSummary summary = new CleanupSummary();
 
         summary.loginDeleted = deleteLogin(username);
-        summary.leaveCreditsRowsRemoved = deleteRowsByExactMatch(DataPaths.LEAVE_CREDITS_CSV, 0, String.valueOf(empId));
+        summary.leaveCreditsRemoved = leaveCreditsRepo.delete(empId);
 
-        summary.dtrFileDeleted = deleteFileIfExists(DataPaths.DTR_FOLDER + "records_dtr_" + empId + ".csv");
-        summary.leaveFileDeleted = deleteFileIfExists(DataPaths.LEAVE_FOLDER + "records_leave_" + empId + ".csv");
-        summary.payrollFileDeleted = deleteFileIfExists(DataPaths.PAYROLL_FOLDER + "records_payroll_" + empId + ".csv");
-        summary.payslipFilesDeleted = deleteFilesByPrefix(DataPaths.PAYSLIP_FOLDER, "records_payslips_" + empId + "_");
+        summary.dtrDeleted = timeRepo.deleteByEmployee(empId);
+        summary.leaveDeleted = leaveRepo.deleteByEmployee(empId);
+        summary.approvalsDeleted = approvalRepo.removeEmployee(empId);
+        summary.payslipsDeleted = payslipRepo.deleteByEmployee(empId);
+        summary.yearToDateRemoved = yearToDateService == null || yearToDateService.removeEmployee(empId);
 
         summary.systemLogRowsRemoved = deleteSystemLogRows(empId);
         summary.auditLogRowsRemoved = deleteAuditLogRows(empId);
@@ -434,20 +404,11 @@ public class HROpsImpl implements HROps {
         return userRepo.deleteByUsername(username);
     }
 
-    private int deleteRowsByExactMatch(String filePath, int columnIndex, String expectedValue) {
-        return rewriteCsvExcludingRows(filePath, columns -> columnValueEquals(columns, columnIndex, expectedValue));
-    }
-
     private int deleteSystemLogRows(int empId) {
         String probe = String.valueOf(empId);
-        return rewriteCsvExcludingRows(DataPaths.SYSTEM_LOG_CSV, columns -> {
-            String userValue = csvValue(columns, 3);
-            String actionValue = csvValue(columns, 4);
-            String detailsValue = csvValue(columns, 5);
-            return probe.equals(userValue)
-                    || containsEmployeeIdToken(actionValue, empId)
-                    || containsEmployeeIdToken(detailsValue, empId);
-        });
+        return logService.deleteLogsWhere(entry -> probe.equals(entry.getUser() == null ? "" : entry.getUser().trim())
+                || containsEmployeeIdToken(entry.getAction(), empId)
+                || containsEmployeeIdToken(entry.getDetails(), empId));
     }
 
     private int deleteAuditLogRows(int empId) {
@@ -479,7 +440,10 @@ public class HROpsImpl implements HROps {
         if (rule == null || filePath == null || filePath.trim().isEmpty()) {
             return 0;
         }
+        return locks.call(new File(filePath), () -> rewriteExcluding(filePath, rule), 0);
+    }
 
+    private int rewriteExcluding(String filePath, CsvRowDeleteRule rule) {
         Path path = Paths.get(filePath);
         if (!Files.exists(path)) {
             return 0;
@@ -501,7 +465,7 @@ public class HROpsImpl implements HROps {
                     continue;
                 }
 
-                String[] columns = line.split(CSV_SPLIT_REGEX, -1);
+                String[] columns = CsvTokenizer.split(line);
                 if (rule.shouldDelete(columns)) {
                     removed++;
                     continue;
@@ -513,58 +477,18 @@ public class HROpsImpl implements HROps {
                 return 0;
             }
 
-            Files.write(path, out, StandardCharsets.UTF_8);
-            return removed;
+            boolean written = AtomicFileWriter.write(path.toFile(), StandardCharsets.UTF_8, 0, bw -> {
+                for (String row : out) {
+                    bw.write(row);
+                    bw.newLine();
+                }
+            });
+            return written ? removed : 0;
         } catch (Exception e) {
             return 0;
         }
     }
 
-    private boolean deleteFileIfExists(String filePath) {
-        if (filePath == null || filePath.trim().isEmpty()) {
-            return true;
-        }
-
-        File file = new File(filePath);
-        if (!file.exists()) {
-            return true;
-        }
-
-        return file.delete();
-    }
-
-    private int deleteFilesByPrefix(String folderPath, String filePrefix) {
-        if (folderPath == null || filePrefix == null) {
-            return 0;
-        }
-
-        File folder = new File(folderPath);
-        if (!folder.exists() || !folder.isDirectory()) {
-            return 0;
-        }
-
-        File[] matchingFiles = folder.listFiles((dir, name)
-                -> name != null
-                && name.startsWith(filePrefix)
-                && name.toLowerCase(Locale.US).endsWith(".csv"));
-
-        if (matchingFiles == null || matchingFiles.length == 0) {
-            return 0;
-        }
-
-        int deleted = 0;
-        for (File file : matchingFiles) {
-            if (file != null && (!file.exists() || file.delete())) {
-                deleted++;
-            }
-        }
-        return deleted;
-    }
-
-    private boolean columnValueEquals(String[] columns, int columnIndex, String expectedValue) {
-        return expectedValue != null && expectedValue.equals(csvValue(columns, columnIndex));
-    }
-
     private String csvValue(String[] columns, int index) {
         if (columns == null || index < 0 || index >= columns.length) {
             return "";
@@ -599,11 +523,12 @@ public class HROpsImpl implements HROps {
     private static final class CleanupSummary {
 
         private boolean loginDeleted = true;
-        private int leaveCreditsRowsRemoved = 0;
-        private boolean dtrFileDeleted = true;
-        private boolean leaveFileDeleted = true;
-        private boolean payrollFileDeleted = true;
-        private int payslipFilesDeleted = 0;
+        private boolean leaveCreditsRemoved = true;
+        private boolean dtrDeleted = true;
+        private boolean leaveDeleted = true;
+        private boolean approvalsDeleted = true;
+        private boolean payslipsDeleted = true;
+        private boolean yearToDateRemoved = true;
         private int systemLogRowsRemoved = 0;
         private int auditLogRowsRemoved = 0;
         private int dtrLogRowsRemoved = 0;
@@ -611,20 +536,10 @@ public class HROpsImpl implements HROps {
         private int payrollLogRowsRemoved = 0;
 
         private boolean isCoreCleanupSuccessful() {
-            return loginDeleted && dtrFileDeleted && leaveFileDeleted && payrollFileDeleted;
+            return loginDeleted && dtrDeleted && leaveDeleted && approvalsDeleted && yearToDateRemoved;
         }
     }
 
-    private String safeCsv(String value) {
-        if (value == null) {
-            return "";
-        }
-        String v = value.trim().replace("\"", "\"\"");
-        if (v.contains(",") || v.contains("\"")) {
-            return "\"" + v + "\"";
-        }
-        return v;
-    }
     @Override
     public boolean isEmployeeIdDuplicate(int empId) {
         // Query the repository to see if the employee ID is already taken
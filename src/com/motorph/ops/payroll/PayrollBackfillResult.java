@@ -0,0 +1,84 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.ops.payroll;
+
+import com.motorph.domain.models.PayPeriod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a multi-period payroll backfill. Counts are (employee, period)
+ * pairs handled by this run; employees finished by an earlier, interrupted
+ * run of the same range are only counted in getResumedEmployees().
+ *
+ * @author ACER
+ */
+public class PayrollBackfillResult {
+
+    private final List<PayPeriod> periods;
+    private final List<PayrollRunResult> failures = new ArrayList<>();
+
+    private int saved;
+    private int existing;
+    private int skipped;
+    private int resumedEmployees;
+
+    public PayrollBackfillResult(List<PayPeriod> periods) {
+        this.periods = Collections.unmodifiableList(new ArrayList<>(periods));
+    }
+
+    void addSaved() {
+        saved++;
+    }
+
+    void addExisting() {
+        existing++;
+    }
+
+    void addSkipped() {
+        skipped++;
+    }
+
+    void addFailure(PayrollRunResult failure) {
+        failures.add(failure);
+    }
+
+    void setResumedEmployees(int resumedEmployees) {
+        this.resumedEmployees = resumedEmployees;
+    }
+
+    public List<PayPeriod> getPeriods() {
+        return periods;
+    }
+
+    // Annotation: Payslips computed and saved by this run.
+    public int getSaved() {
+        return saved;
+    }
+
+    // Annotation: Payslips already on file whose payroll approval was still open; the approval is now set.
+    public int getExisting() {
+        return existing;
+    }
+
+    // Annotation: Pairs left alone because payroll was already approved or the DTR was not.
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getFailed() {
+        return failures.size();
+    }
+
+    public List<PayrollRunResult> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public int getResumedEmployees() {
+        return resumedEmployees;
+    }
+}
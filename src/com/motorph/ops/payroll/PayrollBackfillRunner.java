@@ -0,0 +1,365 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.ops.payroll;
+
+import com.motorph.domain.enums.ApprovalStatus;
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveCredits;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.PayPeriodFactory;
+import com.motorph.domain.models.PayrollApproval;
+import com.motorph.domain.models.Payslip;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.PayrollApprovalRepository;
+import com.motorph.repository.csv.AtomicFileWriter;
+import com.motorph.service.LogService;
+import com.motorph.service.PayrollService;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs payroll for every semi-monthly period in a date range.
+ *
+ * The (employee, period) pairs are grouped by employee and spread over the
+ * batch workers. A worker reads the employee's DTR and saved payslips once and
+ * slices them per period in memory. Leave credits and each period's approval
+ * state are loaded once for the whole run. The same skip rules as a
+ * single-period batch apply per pair.
+ *
+ * Progress is checkpointed: every CHECKPOINT_EVERY employees the payroll
+ * approvals are written, then the finished employee ids are appended to the
+ * checkpoint file. A rerun of the same range skips those employees. An
+ * employee cut off mid-run is redone; payslips it already saved are found and
+ * only their approval is set. The file is deleted when the range completes.
+ *
+ * @author ACER
+ */
+public class PayrollBackfillRunner {
+
+    public static final int CHECKPOINT_EVERY = 25;
+
+    private static final String HEADER_PREFIX = "# backfill ";
+
+    private final PayrollService payrollService;
+    private final EmployeeRepository empRepo;
+    private final PayrollApprovalRepository approvalRepo;
+    private final LogService logService;
+    private final PayrollBatchEngine batchEngine;
+
+    public PayrollBackfillRunner(PayrollService payrollService,
+            EmployeeRepository empRepo,
+            PayrollApprovalRepository approvalRepo,
+            LogService logService,
+            PayrollBatchEngine batchEngine) {
+        this.payrollService = payrollService;
+        this.empRepo = empRepo;
+        this.approvalRepo = approvalRepo;
+        this.logService = logService;
+        this.batchEngine = batchEngine;
+    }
+
+    // Annotation: Every first and second half that overlaps the range, oldest first.
+    public static List<PayPeriod> periodsBetween(LocalDate from, LocalDate to) {
+        List<PayPeriod> out = new ArrayList<>();
+        if (from == null || to == null || to.isBefore(from)) {
+            return out;
+        }
+
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth ym = YearMonth.from(from); !ym.isAfter(last); ym = ym.plusMonths(1)) {
+            PayPeriod first = PayPeriodFactory.firstHalf(ym);
+            PayPeriod second = PayPeriodFactory.secondHalf(ym);
+            if (overlaps(first, from, to)) {
+                out.add(first);
+            }
+            if (overlaps(second, from, to)) {
+                out.add(second);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Processes the range, resuming from the checkpoint file when it holds
+     * progress for the same range.
+     */
+    public PayrollBackfillResult run(LocalDate from, LocalDate to, int processedByUserId, File checkpoint) {
+        List<PayPeriod> periods = periodsBetween(from, to);
+        PayrollBackfillResult result = new PayrollBackfillResult(periods);
+        if (periods.isEmpty()) {
+            logService.recordAction(String.valueOf(processedByUserId), "PAYROLL_BACKFILL_FAILED",
+                    "Payroll backfill failed. Empty date range " + from + " to " + to);
+            return result;
+        }
+
+        String header = HEADER_PREFIX + periods.get(0).toKey() + " " + periods.get(periods.size() - 1).toKey();
+        Set<Integer> done = readCheckpoint(checkpoint, header);
+        result.setResumedEmployees(done.size());
+
+        List<Employee> employees = new ArrayList<>();
+        List<Integer> allIds = new ArrayList<>();
+        for (Employee e : empRepo.findAll()) {
+            if (e == null) {
+                continue;
+            }
+            allIds.add(e.getEmployeeNumber());
+            if (!done.contains(e.getEmployeeNumber())) {
+                employees.add(e);
+            }
+        }
+
+        // Shared read-only inputs, loaded once for all workers.
+        Map<PayPeriod, Map<Integer, PayrollApproval>> approvals = new HashMap<>();
+        for (PayPeriod p : periods) {
+            approvalRepo.ensureRowsExist(allIds, p);
+            approvals.put(p, approvalRepo.findByPeriod(p));
+        }
+        Map<Integer, LeaveCredits> credits = payrollService.loadStoredCredits();
+
+        Map<PayPeriod, List<Integer>> toApprove = new LinkedHashMap<>();
+        List<Integer> finished = new ArrayList<>();
+
+        batchEngine.run(
+                employees,
+                e -> computeEmployee(e, periods, approvals, credits.get(e.getEmployeeNumber()), processedByUserId),
+                items -> {
+                    commitEmployee(items, processedByUserId, result, toApprove);
+                    finished.add(items.get(0).empId);
+                    if (finished.size() >= CHECKPOINT_EVERY) {
+                        checkpoint(checkpoint, header, toApprove, finished, processedByUserId);
+                    }
+                }
+        );
+        boolean complete = checkpoint(checkpoint, header, toApprove, finished, processedByUserId);
+
+        if (complete && checkpoint != null) {
+            checkpoint.delete();
+        }
+
+        logService.recordAction(String.valueOf(processedByUserId), "PAYROLL_BACKFILL_DONE",
+                "Payroll backfill " + header.substring(HEADER_PREFIX.length()) + ": saved=" + result.getSaved()
+                + " existing=" + result.getExisting() + " skipped=" + result.getSkipped()
+                + " failed=" + result.getFailed() + " resumedEmployees=" + result.getResumedEmployees());
+        return result;
+    }
+
+    // Annotation: Worker step. One DTR and one payslip read per employee; no writes.
+    private List<Item> computeEmployee(Employee e, List<PayPeriod> periods,
+            Map<PayPeriod, Map<Integer, PayrollApproval>> approvals, LeaveCredits credits, int processedByUserId) {
+        int empId = e.getEmployeeNumber();
+        List<Item> items = new ArrayList<>(periods.size());
+
+        Set<PayPeriod> saved = null;
+        Map<PayPeriod, List<TimeEntry>> attendance = null;
+
+        for (PayPeriod p : periods) {
+            PayrollApproval approval = approvals.get(p).getOrDefault(empId, PayrollApproval.pending(empId));
+            if (approval.getPayrollStatus() == ApprovalStatus.APPROVED) {
+                items.add(Item.skipped(empId, p, "Skipped. Payroll already approved."));
+                continue;
+            }
+            if (approval.getDtrStatus() != ApprovalStatus.APPROVED) {
+                items.add(Item.skipped(empId, p, "Skipped. DTR not approved."));
+                continue;
+            }
+
+            if (saved == null) {
+                saved = savedPeriods(empId);
+            }
+            if (saved.contains(p)) {
+                items.add(Item.existing(empId, p));
+                continue;
+            }
+
+            if (attendance == null) {
+                attendance = slice(payrollService.loadAttendance(empId));
+            }
+            items.add(Item.computed(empId, p, payrollService.preparePayslip(e, p, attendance.get(p), credits, processedByUserId)));
+        }
+        return items;
+    }
+
+    // Annotation: Committer step. Runs on the calling thread, one employee at a time.
+    private void commitEmployee(List<Item> items, int processedByUserId, PayrollBackfillResult result,
+            Map<PayPeriod, List<Integer>> toApprove) {
+        for (Item item : items) {
+            if (item.skipMessage != null) {
+                result.addSkipped();
+            } else if (item.payslip == null && item.existing) {
+                result.addExisting();
+                toApprove.computeIfAbsent(item.period, k -> new ArrayList<>()).add(item.empId);
+            } else if (item.payslip != null && payrollService.commitPayslip(item.payslip, processedByUserId)) {
+                result.addSaved();
+                toApprove.computeIfAbsent(item.period, k -> new ArrayList<>()).add(item.empId);
+            } else {
+                result.addFailure(new PayrollRunResult(item.empId, "", false,
+                        "Payslip generation or save failed for period " + item.period.toKey() + "."));
+            }
+        }
+    }
+
+    /**
+     * Writes the pending payroll approvals, then records the finished
+     * employees. Nothing is recorded when the approvals could not be written,
+     * so those employees are redone on the next run.
+     */
+    private boolean checkpoint(File file, String header, Map<PayPeriod, List<Integer>> toApprove,
+            List<Integer> finished, int processedByUserId) {
+        boolean ok = true;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<PayPeriod, List<Integer>> entry : toApprove.entrySet()) {
+            ok &= approvalRepo.upsertPayrollApprovals(entry.getValue(), entry.getKey(), processedByUserId, ApprovalStatus.APPROVED, now);
+        }
+        ok &= approvalRepo.flush();
+        toApprove.clear();
+
+        if (!ok) {
+            logService.recordAction(String.valueOf(processedByUserId), "PAYROLL_BACKFILL_APPROVAL_FAILED",
+                    "Payslips saved but approval update failed; " + finished.size() + " employees will be redone.");
+            finished.clear();
+            return false;
+        }
+
+        boolean written = appendCheckpoint(file, header, finished);
+        finished.clear();
+        return written;
+    }
+
+    // Annotation: Starts the file over with the range header when it is missing or holds another range.
+    private boolean appendCheckpoint(File file, String header, List<Integer> ids) {
+        if (file == null) {
+            return true;
+        }
+        if (!hasHeader(file, header)) {
+            return AtomicFileWriter.write(file, bw -> {
+                bw.write(header);
+                bw.newLine();
+                for (Integer id : ids) {
+                    bw.write(String.valueOf(id));
+                    bw.newLine();
+                }
+            });
+        }
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, true))) {
+            for (Integer id : ids) {
+                bw.write(String.valueOf(id));
+                bw.newLine();
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Annotation: Employee ids finished by an earlier run of the same range; empty for another range or no file.
+    private Set<Integer> readCheckpoint(File file, String header) {
+        Set<Integer> done = new HashSet<>();
+        if (file == null || !file.exists()) {
+            return done;
+        }
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            if (!header.equals(br.readLine())) {
+                return done;
+            }
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    try {
+                        done.add(Integer.parseInt(line));
+                    } catch (NumberFormatException ex) {
+                        // a torn last line from an interrupted write is ignored
+                    }
+                }
+            }
+        } catch (IOException e) {
+            done.clear();
+        }
+        return done;
+    }
+
+    private boolean hasHeader(File file, String header) {
+        if (!file.exists()) {
+            return false;
+        }
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            return header.equals(br.readLine());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Set<PayPeriod> savedPeriods(int empId) {
+        Set<PayPeriod> out = new HashSet<>();
+        for (Payslip p : payrollService.loadPayslips(empId)) {
+            if (p != null && p.getPeriod() != null) {
+                out.add(p.getPeriod());
+            }
+        }
+        return out;
+    }
+
+    // Annotation: Buckets the full DTR by semi-monthly period in one pass.
+    private static Map<PayPeriod, List<TimeEntry>> slice(List<TimeEntry> entries) {
+        Map<PayPeriod, List<TimeEntry>> out = new HashMap<>();
+        for (TimeEntry entry : entries) {
+            if (entry == null || entry.getDate() == null) {
+                continue;
+            }
+            out.computeIfAbsent(PayPeriod.fromDateSemiMonthly(entry.getDate()), k -> new ArrayList<>()).add(entry);
+        }
+        return out;
+    }
+
+    private static boolean overlaps(PayPeriod p, LocalDate from, LocalDate to) {
+        return !p.getEndDate().isBefore(from) && !p.getStartDate().isAfter(to);
+    }
+
+    // Annotation: Hand-off record between a batch worker and the committer.
+    private static final class Item {
+
+        private final int empId;
+        private final PayPeriod period;
+        private final Payslip payslip;
+        private final boolean existing;
+        private final String skipMessage;
+
+        private Item(int empId, PayPeriod period, Payslip payslip, boolean existing, String skipMessage) {
+            this.empId = empId;
+            this.period = period;
+            this.payslip = payslip;
+            this.existing = existing;
+            this.skipMessage = skipMessage;
+        }
+
+        static Item skipped(int empId, PayPeriod period, String message) {
+            return new Item(empId, period, null, false, message);
+        }
+
+        static Item existing(int empId, PayPeriod period) {
+            return new Item(empId, period, null, true, null);
+        }
+
+        static Item computed(int empId, PayPeriod period, Payslip payslip) {
+            return new Item(empId, period, payslip, false, null);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.ops.payroll;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs payroll work items on a bounded worker pool. Workers only compute;
+ * every result is handed to a single committer in the same order as the input
+ * list, so file writes stay serialized and batch results stay deterministic.
+ *
+ * @author OngoJ.
+ */
+public class PayrollBatchEngine {
+
+    // Annotation: Caps how many computed results may wait for the committer per worker.
+    private static final int WINDOW_PER_WORKER = 4;
+
+    private final int parallelism;
+
+    public PayrollBatchEngine(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // Annotation: Default pool size follows the available CPU cores.
+    public PayrollBatchEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Computes each item on the worker pool and passes results to the
+     * committer on the calling thread, in input order.
+     *
+     * @param items work items in the order results must be committed
+     * @param worker computation run on a pool thread; must not write shared files
+     * @param committer receives each result on the calling thread, in order
+     */
+    public <T, R> void run(List<T> items, Function<T, R> worker, Consumer<R> committer) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        // Single-item or single-thread runs skip the pool entirely.
+        if (parallelism == 1 || items.size() == 1) {
+            for (T item : items) {
+                committer.accept(worker.apply(item));
+            }
+            return;
+        }
+
+        int workers = Math.min(parallelism, items.size());
+        ExecutorService pool = Executors.newFixedThreadPool(workers, new WorkerThreadFactory());
+        int window = workers * WINDOW_PER_WORKER;
+        Deque<Future<R>> inFlight = new ArrayDeque<>(window);
+
+        try {
+            int next = 0;
+            while (next < items.size() || !inFlight.isEmpty()) {
+                while (next < items.size() && inFlight.size() < window) {
+                    T item = items.get(next++);
+                    inFlight.addLast(pool.submit(() -> worker.apply(item)));
+                }
+                committer.accept(await(inFlight.removeFirst()));
+            }
+        } finally {
+            for (Future<R> pending : inFlight) {
+                pending.cancel(true);
+            }
+            pool.shutdownNow();
+        }
+    }
+
+    private <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payroll batch was interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Payroll worker failed.", cause);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements java.util.concurrent.ThreadFactory {
+
+        private static final AtomicInteger POOL_SEQ = new AtomicInteger(1);
+        private final int poolId = POOL_SEQ.getAndIncrement();
+        private final AtomicInteger threadSeq = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "payroll-batch-" + poolId + "-" + threadSeq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -4,12 +4,14 @@
  */
 package com.motorph.ops.payroll;
 
+import com.motorph.domain.models.Employee;
 import com.motorph.domain.models.PayPeriod;
 import com.motorph.domain.models.Payslip;
 import com.motorph.domain.models.User;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface PayrollOps {
 
@@ -20,4 +22,13 @@ public interface PayrollOps {
     Payslip processPayrollForEmployee(int empId, PayPeriod period, User currentUser);
 
     List<PayrollRunResult> processPayrollForPeriod(PayPeriod period, User currentUser);
+
+    // Annotation: Dry run for every employee; nothing is written to payslip, payroll or audit records.
+    PayrollPreview previewPayrollForPeriod(PayPeriod period, User currentUser);
+
+    // Annotation: Dry run for the employees accepted by the filter.
+    PayrollPreview previewPayrollForPeriod(PayPeriod period, Predicate<Employee> filter, User currentUser);
+
+    // Annotation: Processes every semi-monthly period overlapping the range; an interrupted run resumes.
+    PayrollBackfillResult backfillPayroll(LocalDate from, LocalDate to, User currentUser);
 }
@@ -6,16 +6,22 @@ package com.motorph.ops.payroll;
 
 import com.motorph.domain.enums.ApprovalStatus;
 import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveCredits;
 import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.PayrollApproval;
 import com.motorph.domain.models.Payslip;
 import com.motorph.repository.EmployeeRepository;
 import com.motorph.repository.PayrollApprovalRepository;
+import com.motorph.repository.csv.DataPaths;
 import com.motorph.service.LogService;
 import com.motorph.service.PayrollService;
+import java.io.File;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 import com.motorph.domain.models.User;
 
@@ -32,6 +38,7 @@ public class PayrollOpsImpl implements PayrollOps {
     private final EmployeeRepository empRepo;
     private final LogService logService;
     private final PayrollApprovalRepository approvalRepo;
+    private final PayrollBatchEngine batchEngine;
 
     /**
      * Initializes payroll dependencies.
@@ -40,10 +47,20 @@ public class PayrollOpsImpl implements PayrollOps {
             EmployeeRepository empRepo,
             LogService logService,
             PayrollApprovalRepository approvalRepo) {
+        this(payrollService, empRepo, logService, approvalRepo, new PayrollBatchEngine());
+    }
+
+    // Annotation: Overloaded constructor so the batch pool size can be tuned per deployment.
+    public PayrollOpsImpl(PayrollService payrollService,
+            EmployeeRepository empRepo,
+            LogService logService,
+            PayrollApprovalRepository approvalRepo,
+            PayrollBatchEngine batchEngine) {
         this.payrollService = payrollService;
         this.empRepo = empRepo;
         this.logService = logService;
         this.approvalRepo = approvalRepo;
+        this.batchEngine = batchEngine;
     }
 
     /**
@@ -65,18 +82,22 @@ public class PayrollOpsImpl implements PayrollOps {
             return out;
         }
 
+        // One batched row check and one period load instead of per-employee file reads.
+        approvalRepo.ensureRowsExist(employeeIds(employees), period);
+        Map<Integer, PayrollApproval> approvals = approvalRepo.findByPeriod(period);
+
         for (Employee employee : employees) {
             if (employee == null) {
                 continue;
             }
 
             int empId = employee.getEmployeeNumber();
-            approvalRepo.ensureRowExists(empId, period);
+            PayrollApproval approval = approvals.getOrDefault(empId, PayrollApproval.pending(empId));
             out.add(new PayrollQueueItem(
                     empId,
                     employee.getLastName() + ", " + employee.getFirstName(),
-                    approvalRepo.getDtrStatus(empId, period),
-                    approvalRepo.getPayrollStatus(empId, period)
+                    approval.getDtrStatus(),
+                    approval.getPayrollStatus()
             ));
         }
         return out;
@@ -128,6 +149,7 @@ public class PayrollOpsImpl implements PayrollOps {
 
         if (p != null) {
             approvalRepo.upsertPayrollApproval(empId, period, processedByUserId, ApprovalStatus.APPROVED, LocalDateTime.now());
+            approvalRepo.flush();
         }
 
         return p;
@@ -153,34 +175,189 @@ public class PayrollOpsImpl implements PayrollOps {
             return results;
         }
 
-        for (Employee e : employees) {
-            int empId = e.getEmployeeNumber();
-            approvalRepo.ensureRowExists(empId, period);
+        // Approval state is loaded once; workers only read this snapshot.
+        approvalRepo.ensureRowsExist(employeeIds(employees), period);
+        Map<Integer, PayrollApproval> approvals = approvalRepo.findByPeriod(period);
+        List<Integer> unapprovedIds = new ArrayList<>();
 
-            ApprovalStatus payrollStatus = approvalRepo.getPayrollStatus(empId, period);
-            if (payrollStatus == ApprovalStatus.APPROVED) {
-                results.add(new PayrollRunResult(empId, "", false, "Skipped. Payroll already approved."));
-                continue;
-            }
+        // Workers compute payslips in parallel; saves and their approvals are committed in employee order.
+        batchEngine.run(
+                employees,
+                e -> computeBatchItem(e, period, processedByUserId, approvals),
+                item -> results.add(commitBatchItem(item, period, processedByUserId, unapprovedIds))
+        );
 
-            ApprovalStatus dtrStatus = approvalRepo.getDtrStatus(empId, period);
-            if (dtrStatus != ApprovalStatus.APPROVED) {
-                results.add(new PayrollRunResult(empId, "", false, "Skipped. DTR not approved."));
-                continue;
+        // Write-behind approvals are buffered per payslip above and made durable once here.
+        if (!approvalRepo.flush() || !unapprovedIds.isEmpty()) {
+            logService.recordAction(String.valueOf(processedByUserId), "PAYROLL_BATCH_APPROVAL_FAILED",
+                    "Payslips saved but approval update failed for period " + period.toKey());
+        }
+
+        logService.recordAction(String.valueOf(processedByUserId), "PAYROLL_BATCH_DONE", "Processed payroll batch for period " + period.toKey());
+        return results;
+    }
+
+    @Override
+    public PayrollPreview previewPayrollForPeriod(PayPeriod period, User currentUser) {
+        return previewPayrollForPeriod(period, e -> true, currentUser);
+    }
+
+    /**
+     * Computes unsaved payslips for the selected employees on the batch
+     * workers. Reads employees, attendance, leave credits and approval state;
+     * writes no payslip, approval or audit rows.
+     */
+    @Override
+    public PayrollPreview previewPayrollForPeriod(PayPeriod period, Predicate<Employee> filter, User currentUser) {
+        if (currentUser == null || !currentUser.hasPermission("CAN_PROCESS_PAYROLL")) {
+            logService.recordAction(
+                    currentUser != null ? String.valueOf(currentUser.getId()) : "UNKNOWN",
+                    "SECURITY_VIOLATION",
+                    "Unauthorized attempt to preview payroll."
+            );
+            throw new SecurityException("Access Denied: You do not have permission to process payroll.");
+        }
+
+        List<PayrollPreview.Line> lines = new ArrayList<>();
+        if (period == null) {
+            return new PayrollPreview(null, lines);
+        }
+
+        List<Employee> selected = new ArrayList<>();
+        for (Employee e : empRepo.findAll()) {
+            if (e != null && e.getCompensation() != null && (filter == null || filter.test(e))) {
+                selected.add(e);
             }
+        }
+
+        // Shared read-only inputs, loaded once for all workers.
+        Map<Integer, PayrollApproval> approvals = approvalRepo.findByPeriod(period);
+        Map<Integer, LeaveCredits> credits = payrollService.loadStoredCredits();
+
+        batchEngine.run(
+                selected,
+                e -> {
+                    int empId = e.getEmployeeNumber();
+                    PayrollApproval approval = approvals.getOrDefault(empId, PayrollApproval.pending(empId));
+                    Payslip p = payrollService.previewPayslip(e, period, credits.get(empId));
+                    return p == null ? null : new PayrollPreview.Line(p, approval.getDtrStatus(), approval.getPayrollStatus());
+                },
+                line -> {
+                    if (line != null) {
+                        lines.add(line);
+                    }
+                }
+        );
+
+        return new PayrollPreview(period, lines);
+    }
+
+    /**
+     * Runs payroll over a date range with PayrollBackfillRunner. Progress is
+     * kept in DataPaths.BACKFILL_CHECKPOINT, so calling again with the same
+     * range after an interruption continues where the last run stopped.
+     */
+    @Override
+    public PayrollBackfillResult backfillPayroll(LocalDate from, LocalDate to, User currentUser) {
+        if (currentUser == null || !currentUser.hasPermission("CAN_PROCESS_PAYROLL")) {
+            logService.recordAction(
+                    currentUser != null ? String.valueOf(currentUser.getId()) : "UNKNOWN",
+                    "SECURITY_VIOLATION",
+                    "Unauthorized attempt to run payroll backfill."
+            );
+            throw new SecurityException("Access Denied: You do not have permission to process payroll.");
+        }
+
+        PayrollBackfillRunner runner = new PayrollBackfillRunner(payrollService, empRepo, approvalRepo, logService, batchEngine);
+        return runner.run(from, to, currentUser.getId(), new File(DataPaths.BACKFILL_CHECKPOINT));
+    }
+
+    // Annotation: Worker step. Applies the skip rules and computes the payslip without saving it.
+    private BatchItem computeBatchItem(Employee e, PayPeriod period, int processedByUserId, Map<Integer, PayrollApproval> approvals) {
+        int empId = e.getEmployeeNumber();
+        PayrollApproval approval = approvals.getOrDefault(empId, PayrollApproval.pending(empId));
 
-            Payslip p = payrollService.generatePayslip(empId, period, processedByUserId);
+        if (approval.getPayrollStatus() == ApprovalStatus.APPROVED) {
+            return BatchItem.skipped(empId, "Skipped. Payroll already approved.");
+        }
+
+        if (approval.getDtrStatus() != ApprovalStatus.APPROVED) {
+            return BatchItem.skipped(empId, "Skipped. DTR not approved.");
+        }
+
+        // A payslip saved by an interrupted run only needs its approval.
+        Payslip saved = payrollService.findPayslip(empId, period);
+        if (saved != null) {
+            return BatchItem.existing(empId, saved);
+        }
+
+        return BatchItem.computed(empId, payrollService.preparePayslip(empId, period, processedByUserId));
+    }
+
+    /**
+     * Committer step. Runs on the calling thread, one employee at a time. The
+     * approval is recorded right after its payslip, so a run that stops
+     * part-way leaves no saved payslip PENDING.
+     */
+    private PayrollRunResult commitBatchItem(BatchItem item, PayPeriod period, int processedByUserId, List<Integer> unapprovedIds) {
+        if (item.skipMessage != null) {
+            return new PayrollRunResult(item.empId, "", false, item.skipMessage);
+        }
 
-            if (p != null) {
-                results.add(new PayrollRunResult(empId, p.getTransactionId(), true, "Payslip snapshot saved."));
-                approvalRepo.upsertPayrollApproval(empId, period, processedByUserId, ApprovalStatus.APPROVED, LocalDateTime.now());
-            } else {
-                results.add(new PayrollRunResult(empId, "", false, "Payslip generation or save failed."));
+        Payslip p = item.payslip;
+        if (p != null && item.existing) {
+            approve(item.empId, period, processedByUserId, unapprovedIds);
+            return new PayrollRunResult(item.empId, p.getTransactionId(), true, "Payslip already saved. Approval recorded.");
+        }
+
+        if (p != null && payrollService.commitPayslip(p, processedByUserId)) {
+            approve(item.empId, period, processedByUserId, unapprovedIds);
+            return new PayrollRunResult(item.empId, p.getTransactionId(), true, "Payslip snapshot saved.");
+        }
+        return new PayrollRunResult(item.empId, "", false, "Payslip generation or save failed.");
+    }
+
+    private void approve(int empId, PayPeriod period, int processedByUserId, List<Integer> unapprovedIds) {
+        if (!approvalRepo.upsertPayrollApproval(empId, period, processedByUserId, ApprovalStatus.APPROVED, LocalDateTime.now())) {
+            unapprovedIds.add(empId);
+        }
+    }
+
+    private List<Integer> employeeIds(List<Employee> employees) {
+        List<Integer> ids = new ArrayList<>(employees.size());
+        for (Employee e : employees) {
+            if (e != null) {
+                ids.add(e.getEmployeeNumber());
             }
         }
+        return ids;
+    }
 
-        logService.recordAction(String.valueOf(processedByUserId), "PAYROLL_BATCH_DONE", "Processed payroll batch for period " + period.toKey());
-        return results;
-        
+    // Annotation: Hand-off record between a batch worker and the committer.
+    private static final class BatchItem {
+
+        private final int empId;
+        private final Payslip payslip;
+        private final String skipMessage;
+        private final boolean existing;
+
+        private BatchItem(int empId, Payslip payslip, String skipMessage, boolean existing) {
+            this.empId = empId;
+            this.payslip = payslip;
+            this.skipMessage = skipMessage;
+            this.existing = existing;
+        }
+
+        static BatchItem skipped(int empId, String message) {
+            return new BatchItem(empId, null, message, false);
+        }
+
+        static BatchItem computed(int empId, Payslip payslip) {
+            return new BatchItem(empId, payslip, null, false);
+        }
+
+        static BatchItem existing(int empId, Payslip payslip) {
+            return new BatchItem(empId, payslip, null, true);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.ops.payroll;
+
+import com.motorph.domain.enums.ApprovalStatus;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.Payslip;
+import com.motorph.service.PayslipKernel;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a payroll dry run: one unsaved payslip per employee plus period
+ * totals. Totals are summed in centavos so they match the lines exactly.
+ *
+ * @author ACER
+ */
+public class PayrollPreview {
+
+    private final PayPeriod period;
+    private final List<Line> lines;
+
+    private final long gross;
+    private final long lateDeduction;
+    private final long sss;
+    private final long philHealth;
+    private final long pagIbig;
+    private final long withholdingTax;
+    private final long totalDeductions;
+    private final long netPay;
+
+    public PayrollPreview(PayPeriod period, List<Line> lines) {
+        this.period = period;
+        this.lines = Collections.unmodifiableList(lines);
+
+        long g = 0, late = 0, s = 0, ph = 0, pi = 0, tax = 0, ded = 0, net = 0;
+        for (Line line : lines) {
+            Payslip p = line.payslip;
+            g += PayslipKernel.centavos(p.getGrossIncome());
+            late += PayslipKernel.centavos(p.getLateDeduction());
+            s += PayslipKernel.centavos(p.getSss());
+            ph += PayslipKernel.centavos(p.getPhilHealth());
+            pi += PayslipKernel.centavos(p.getPagIbig());
+            tax += PayslipKernel.centavos(p.getWithholdingTax());
+            ded += PayslipKernel.centavos(p.getTotalDeductions());
+            net += PayslipKernel.centavos(p.getNetPay());
+        }
+        this.gross = g;
+        this.lateDeduction = late;
+        this.sss = s;
+        this.philHealth = ph;
+        this.pagIbig = pi;
+        this.withholdingTax = tax;
+        this.totalDeductions = ded;
+        this.netPay = net;
+    }
+
+    public PayPeriod getPeriod() {
+        return period;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public int getEmployeeCount() {
+        return lines.size();
+    }
+
+    public double getTotalGross() {
+        return PayslipKernel.pesos(gross);
+    }
+
+    public double getTotalLateDeduction() {
+        return PayslipKernel.pesos(lateDeduction);
+    }
+
+    public double getTotalSss() {
+        return PayslipKernel.pesos(sss);
+    }
+
+    public double getTotalPhilHealth() {
+        return PayslipKernel.pesos(philHealth);
+    }
+
+    public double getTotalPagIbig() {
+        return PayslipKernel.pesos(pagIbig);
+    }
+
+    public double getTotalWithholdingTax() {
+        return PayslipKernel.pesos(withholdingTax);
+    }
+
+    public double getTotalDeductions() {
+        return PayslipKernel.pesos(totalDeductions);
+    }
+
+    public double getTotalNetPay() {
+        return PayslipKernel.pesos(netPay);
+    }
+
+    /**
+     * One employee's previewed payslip with the approval state it would be
+     * processed under. The payslip is never saved.
+     */
+    public static class Line {
+
+        private final Payslip payslip;
+        private final ApprovalStatus dtrStatus;
+        private final ApprovalStatus payrollStatus;
+
+        public Line(Payslip payslip, ApprovalStatus dtrStatus, ApprovalStatus payrollStatus) {
+            this.payslip = payslip;
+            this.dtrStatus = dtrStatus;
+            this.payrollStatus = payrollStatus;
+        }
+
+        public Payslip getPayslip() {
+            return payslip;
+        }
+
+        public ApprovalStatus getDtrStatus() {
+            return dtrStatus;
+        }
+
+        public ApprovalStatus getPayrollStatus() {
+            return payrollStatus;
+        }
+
+        // Annotation: True when processPayrollForPeriod would save this payslip now.
+        public boolean isProcessable() {
+            return dtrStatus == ApprovalStatus.APPROVED && payrollStatus != ApprovalStatus.APPROVED;
+        }
+    }
+}
@@ -4,11 +4,11 @@
  */
 package com.motorph.ops.supervisor;
 
-import com.motorph.domain.enums.ApprovalStatus;
 import com.motorph.domain.enums.LeaveStatus;
 import com.motorph.domain.models.Employee;
 import com.motorph.domain.models.LeaveRequest;
 import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.PayrollApproval;
 import com.motorph.domain.models.TimeEntry;
 import com.motorph.domain.models.User;
 import com.motorph.ops.approval.DtrApprovalOps;
@@ -21,6 +21,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class SupervisorOpsImpl implements SupervisorOps {
 
@@ -86,18 +87,17 @@ public class SupervisorOpsImpl implements SupervisorOps {
 
         List<Employee> reports = listDirectReports(supervisorEmpId);
         List<SupervisorDtrSummary> out = new ArrayList<>();
+        Map<Integer, PayrollApproval> approvals = approvalRepo.findByPeriod(period);
 
         for (Employee e : reports) {
             int empId = e.getEmployeeNumber();
-
-            ApprovalStatus dtr = approvalRepo.getDtrStatus(empId, period);
-            ApprovalStatus payroll = approvalRepo.getPayrollStatus(empId, period);
+            PayrollApproval approval = approvals.getOrDefault(empId, PayrollApproval.pending(empId));
 
             out.add(new SupervisorDtrSummary(
                     empId,
                     e.getLastName() + ", " + e.getFirstName(),
-                    dtr,
-                    payroll
+                    approval.getDtrStatus(),
+                    approval.getPayrollStatus()
             ));
         }
 
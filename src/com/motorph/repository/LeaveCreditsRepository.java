@@ -19,4 +19,10 @@ public interface LeaveCreditsRepository {
     LeaveCredits findByEmpId(int empId);
 
     boolean updateLeaveTaken(int empId, double leaveTakenHours);
+
+    // Annotation: Adds the employee's credits row; an existing row is kept as it is.
+    boolean create(LeaveCredits credits);
+
+    // Annotation: Removes the employee's credits row; true when there is none left.
+    boolean delete(int empId);
 }
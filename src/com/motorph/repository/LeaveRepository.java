@@ -26,4 +26,7 @@ public interface LeaveRepository {
 
     // Annotation: Updates supervisor decision for a leave request row.
     boolean updateDecision(int empId, String leaveId, com.motorph.domain.enums.LeaveStatus status, int reviewedBy, String reviewedAt, String note);
+
+    // Annotation: Deletes all of the employee's leave requests; used when the employee is deleted.
+    boolean deleteByEmployee(int empId);
 }
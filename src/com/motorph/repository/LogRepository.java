@@ -5,9 +5,17 @@
 package com.motorph.repository;
 
 import com.motorph.domain.models.LogEntry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
 
 /**
+ * System activity log store. Queries return newest entries first (highest
+ * Log_ID) and take an offset and limit so views can page through results.
+ * The default query methods filter findAll(); indexed implementations
+ * override them.
  *
  * @author ACER
  */
@@ -16,4 +24,140 @@ public interface LogRepository {
     boolean save(LogEntry entry);
 
     List<LogEntry> findAll();
+
+    // Annotation: Saves several entries in order; stores with a bulk write path override this.
+    default boolean saveBatch(List<LogEntry> entries) {
+        boolean ok = true;
+        if (entries != null) {
+            for (LogEntry entry : entries) {
+                if (entry != null && !save(entry)) {
+                    ok = false;
+                }
+            }
+        }
+        return ok;
+    }
+
+    // Annotation: Highest stored Log_ID, or 0 for an empty log; used to seed id sequences.
+    default int lastId() {
+        int max = 0;
+        for (LogEntry entry : findAll()) {
+            if (entry != null) {
+                max = Math.max(max, entry.getId());
+            }
+        }
+        return max;
+    }
+
+    // Annotation: Buffered implementations write out pending entries; direct writers have nothing to do.
+    default boolean flush() {
+        return true;
+    }
+
+    // Annotation: Called after the log file was rewritten outside the repository.
+    default void reload() {
+    }
+
+    // Annotation: Removes matching entries and returns how many were removed; stores without deletes remove none.
+    default int deleteWhere(Predicate<LogEntry> filter) {
+        return 0;
+    }
+
+    // Annotation: Exact match on the trimmed user column.
+    default List<LogEntry> findByUser(String user, int offset, int limit) {
+        String actor = user == null ? "" : user.trim();
+        if (actor.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return filterAll(e -> actor.equals(trim(e.getUser())), offset, limit);
+    }
+
+    // Annotation: Case-insensitive match on the category column.
+    default List<LogEntry> findByCategory(String category, int offset, int limit) {
+        String target = upper(category);
+        return filterAll(e -> target.equals(upper(e.getCategory())), offset, limit);
+    }
+
+    // Annotation: Case-insensitive action prefix match.
+    default List<LogEntry> findByActionPrefix(String prefix, int offset, int limit) {
+        String probe = upper(prefix);
+        if (probe.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return filterAll(e -> upper(e.getAction()).startsWith(probe), offset, limit);
+    }
+
+    // Annotation: Entries whose action contains any of the keys, ignoring case.
+    default List<LogEntry> findByActionKeys(List<String> keys, int offset, int limit) {
+        List<String> probes = upperKeys(keys);
+        if (probes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return filterAll(e -> containsAny(upper(e.getAction()), probes), offset, limit);
+    }
+
+    default List<LogEntry> findByUserAndActionPrefix(String user, String prefix, int offset, int limit) {
+        String actor = user == null ? "" : user.trim();
+        String probe = upper(prefix);
+        if (actor.isEmpty() || probe.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return filterAll(e -> actor.equals(trim(e.getUser())) && upper(e.getAction()).startsWith(probe), offset, limit);
+    }
+
+    // Annotation: Timestamps from inclusive to exclusive; a null bound is open.
+    default List<LogEntry> findByTimeRange(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        return filterAll(e -> e.getTimestamp() != null
+                && (from == null || !e.getTimestamp().isBefore(from))
+                && (to == null || e.getTimestamp().isBefore(to)), offset, limit);
+    }
+
+    private List<LogEntry> filterAll(Predicate<LogEntry> filter, int offset, int limit) {
+        List<LogEntry> out = new ArrayList<>();
+        int skip = Math.max(0, offset);
+        for (LogEntry entry : findAll()) {
+            if (out.size() >= limit) {
+                break;
+            }
+            if (entry == null || !filter.test(entry)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            out.add(entry);
+        }
+        return out;
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private static String upper(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.US);
+    }
+
+    private static List<String> upperKeys(List<String> keys) {
+        List<String> out = new ArrayList<>();
+        if (keys != null) {
+            for (String key : keys) {
+                String probe = upper(key);
+                if (!probe.isEmpty()) {
+                    out.add(probe);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static boolean containsAny(String value, List<String> probes) {
+        for (String probe : probes) {
+            if (value.contains(probe)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
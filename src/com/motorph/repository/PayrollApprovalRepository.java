@@ -6,7 +6,10 @@ package com.motorph.repository;
 
 import com.motorph.domain.enums.ApprovalStatus;
 import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.PayrollApproval;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 
 /*
  *
@@ -23,4 +26,24 @@ public interface PayrollApprovalRepository {
     boolean upsertPayrollApproval(int empId, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt);
 
     boolean ensureRowExists(int empId, PayPeriod period);
+
+    /**
+     * Loads every approval row for the period in one read. Employees without a
+     * row are absent from the map (treat them as PENDING). Never writes.
+     */
+    Map<Integer, PayrollApproval> findByPeriod(PayPeriod period);
+
+    // Annotation: Batch form of ensureRowExists; missing rows are written in one pass.
+    boolean ensureRowsExist(Collection<Integer> empIds, PayPeriod period);
+
+    // Annotation: Batch form of upsertPayrollApproval; all rows are written in one pass.
+    boolean upsertPayrollApprovals(Collection<Integer> empIds, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt);
+
+    // Annotation: Drops the employee's row from every pay period; used when an employee is deleted.
+    boolean removeEmployee(int empId);
+
+    // Annotation: Write-behind stores make pending changes durable here; direct writers have nothing to do.
+    default boolean flush() {
+        return true;
+    }
 }
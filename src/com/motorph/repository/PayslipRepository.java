@@ -22,4 +22,7 @@ public interface PayslipRepository {
     Payslip findLatestByEmployee(int empId);
 
     List<Payslip> findAllByEmployee(int empId);
+
+    // Annotation: Deletes every saved payslip of the employee; used when the employee is deleted.
+    boolean deleteByEmployee(int empId);
 }
@@ -0,0 +1,56 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package com.motorph.repository;
+
+/**
+ * A storage backend: builds the undecorated repositories for one kind of
+ * store. Caching, metrics and write-behind are layered on top by
+ * com.motorph.repository.provider.Repositories, so a provider only returns
+ * its plain implementations.
+ *
+ * Additional providers can be registered with StorageProviders.register or
+ * listed in META-INF/services/com.motorph.repository.StorageProvider, and are
+ * chosen by name with the data.storage setting.
+ *
+ * @author ACER
+ */
+public interface StorageProvider {
+
+    // Annotation: The data.storage value that selects this provider.
+    String name();
+
+    EmployeeRepository employees();
+
+    // Annotation: File whose modification time changes when employees change; the employee cache watches it.
+    String employeeSource();
+
+    // Annotation: Receives the (possibly cached) employee repository, for stores that look up names.
+    TimeEntryRepository timeEntries(EmployeeRepository employees);
+
+    UserRepository users();
+
+    PayslipRepository payslips();
+
+    PayrollApprovalRepository payrollApprovals();
+
+    // Annotation: Approval store for the write-behind decorator; stores without buffering return payrollApprovals().
+    default PayrollApprovalRepository bufferedPayrollApprovals() {
+        return payrollApprovals();
+    }
+
+    LeaveRepository leave();
+
+    LeaveCreditsRepository leaveCredits();
+
+    LogRepository logs();
+
+    AuditRepository audit();
+
+    YearToDateRepository yearToDate();
+
+    // Annotation: Starts background upkeep once every repository has been built; nothing by default.
+    default void start() {
+    }
+}
@@ -23,4 +23,12 @@ public interface TimeEntryRepository {
 
     // REQUIRED: Used by PayrollService to filter specifically for the pay period
     List<TimeEntry> findByEmployeeAndPeriod(int empId, PayPeriod period);
+
+    // Annotation: Deletes all of the employee's attendance; used when the employee is deleted.
+    boolean deleteByEmployee(int empId);
+
+    // Annotation: Differs after any change to the employee's stored attendance, also one made by another process; 0 when the store cannot tell.
+    default long changeStamp(int empId) {
+        return 0L;
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package com.motorph.repository;
+
+import com.motorph.domain.models.YearToDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Contract for the running year-to-date totals per employee and year.
+ *
+ * @author ACER
+ */
+public interface YearToDateRepository {
+
+    // Annotation: False until the store has been built once; an unbuilt store cannot answer queries.
+    boolean isInitialized();
+
+    // Annotation: A copy of the stored totals, or null when nothing was recorded for the employee and year.
+    YearToDate find(int empId, int year);
+
+    // Annotation: Adds every bucket of the given totals to the stored ones.
+    boolean add(YearToDate delta);
+
+    // Annotation: Sets one column of the employee's years to the given buckets; stored years not in the map become zero.
+    boolean replaceColumn(int empId, int column, Map<Integer, long[]> bucketsByYear);
+
+    // Annotation: Replaces the whole store, e.g. after a rebuild from the record files.
+    boolean replaceAll(Collection<YearToDate> totals);
+
+    // Annotation: Drops every year of the employee, e.g. when the employee is deleted.
+    boolean removeEmployee(int empId);
+
+    // Annotation: Deletes the store, so it reads as not initialized until the next rebuild.
+    boolean discard();
+}
@@ -0,0 +1,167 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
+import com.healthmarketscience.jackcess.DateTimeType;
+import com.healthmarketscience.jackcess.Table;
+import com.motorph.repository.csv.DataPaths;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Shared handle to the MotorPH Access database (.accdb, opened with
+ * Jackcess). The file and any missing tables are created on open, so a fresh
+ * path gives an empty database with the full schema. Each repository defines
+ * its own table and indexes (see their createTable methods).
+ *
+ * Jackcess is not thread-safe: repositories do all table work inside
+ * synchronized (database) blocks.
+ *
+ * @author ACER
+ */
+public final class AccessDatabase {
+
+    private static AccessDatabase shared;
+
+    private final File file;
+    private final Database db;
+
+    private AccessDatabase(File file, Database db) {
+        this.file = file;
+        this.db = db;
+    }
+
+    /**
+     * The database at DataPaths.ACCESS_DB, opened on first use with auto-sync
+     * and closed on shutdown. Returns null if it cannot be opened.
+     */
+    public static synchronized AccessDatabase shared() {
+        if (shared == null) {
+            shared = open(new File(DataPaths.ACCESS_DB), true);
+            if (shared != null) {
+                AccessDatabase db = shared;
+                Runtime.getRuntime().addShutdownHook(new Thread(db::close, "access-db-close"));
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Opens or creates the database file and adds any missing tables. With
+     * autoSync off, writes are buffered until flush or close (used for bulk
+     * loads). Returns null on failure.
+     */
+    public static AccessDatabase open(File file, boolean autoSync) {
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+
+            Database db = file.exists()
+                    ? new DatabaseBuilder(file).setAutoSync(autoSync).open()
+                    : new DatabaseBuilder(file).setFileFormat(Database.FileFormat.V2010).setAutoSync(autoSync).create();
+            db.setDateTimeType(DateTimeType.LOCAL_DATE_TIME);
+
+            ensureTables(db);
+            return new AccessDatabase(file, db);
+        } catch (Exception | LinkageError e) {
+            // LinkageError: Jackcess or one of its libraries is missing from the classpath.
+            return null;
+        }
+    }
+
+    private static void ensureTables(Database db) throws IOException {
+        if (db.getTable(AccessEmployeeRepository.TABLE) == null) {
+            AccessEmployeeRepository.createTable(db);
+        }
+        if (db.getTable(AccessUserRepository.TABLE) == null) {
+            AccessUserRepository.createTable(db);
+        }
+        if (db.getTable(AccessTimeRepository.TABLE) == null) {
+            AccessTimeRepository.createTable(db);
+        }
+        if (db.getTable(AccessLeaveRepository.TABLE) == null) {
+            AccessLeaveRepository.createTable(db);
+        }
+        if (db.getTable(AccessLeaveCreditsRepository.TABLE) == null) {
+            AccessLeaveCreditsRepository.createTable(db);
+        }
+        if (db.getTable(AccessPayslipRepository.TABLE) == null) {
+            AccessPayslipRepository.createTable(db);
+        }
+        if (db.getTable(AccessPayrollApprovalRepository.TABLE) == null) {
+            AccessPayrollApprovalRepository.createTable(db);
+        }
+        if (db.getTable(AccessLogRepository.TABLE) == null) {
+            AccessLogRepository.createTable(db);
+        }
+        if (db.getTable(AccessYearToDateRepository.TABLE) == null) {
+            AccessYearToDateRepository.createTable(db);
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    // Annotation: Callers must hold the monitor of this object while using the returned table.
+    Table table(String name) throws IOException {
+        return db.getTable(name);
+    }
+
+    public synchronized boolean flush() {
+        try {
+            db.flush();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            db.close();
+        } catch (Exception e) {
+            // closing is best effort
+        }
+    }
+
+    // --- Row value helpers shared by the repositories ---
+    static String text(Map<String, Object> row, String column) {
+        Object v = row.get(column);
+        return v == null ? "" : v.toString();
+    }
+
+    static int integer(Map<String, Object> row, String column) {
+        Object v = row.get(column);
+        return (v instanceof Number) ? ((Number) v).intValue() : 0;
+    }
+
+    static double decimal(Map<String, Object> row, String column) {
+        Object v = row.get(column);
+        return (v instanceof Number) ? ((Number) v).doubleValue() : 0.0;
+    }
+
+    static LocalDate date(Map<String, Object> row, String column) {
+        Object v = row.get(column);
+        return (v instanceof LocalDateTime) ? ((LocalDateTime) v).toLocalDate() : null;
+    }
+
+    static LocalDateTime timestamp(Map<String, Object> row, String column) {
+        Object v = row.get(column);
+        return (v instanceof LocalDateTime) ? (LocalDateTime) v : null;
+    }
+
+    static LocalDateTime atStartOfDay(LocalDate date) {
+        return date == null ? null : date.atStartOfDay();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.ProbationaryEmployee;
+import com.motorph.domain.models.RegularEmployee;
+import com.motorph.repository.EmployeeRepository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access-backed EmployeeRepository. One row per employee in the Employees
+ * table, keyed by Employee_ID; findById, update and delete go through the
+ * primary key index.
+ *
+ * @author ACER
+ */
+public class AccessEmployeeRepository implements EmployeeRepository {
+
+    static final String TABLE = "Employees";
+
+    private static final String ID = "Employee_ID";
+    private static final String LAST = "Last_Name";
+    private static final String FIRST = "First_Name";
+    private static final String BIRTHDAY = "Birthday";
+    private static final String ADDRESS = "Address";
+    private static final String PHONE = "Phone_Number";
+    private static final String SSS = "SSS_Number";
+    private static final String PHILHEALTH = "PhilHealth_Number";
+    private static final String TIN = "TIN_Number";
+    private static final String PAGIBIG = "PagIbig_Number";
+    private static final String STATUS = "Status";
+    private static final String POSITION = "Position";
+    private static final String SUPERVISOR = "Immediate_Supervisor";
+    private static final String BASIC = "Basic_Salary";
+    private static final String RICE = "Rice_Subsidy";
+    private static final String PHONE_ALLOWANCE = "Phone_Allowance";
+    private static final String CLOTHING = "Clothing_Allowance";
+    private static final String GROSS_SEMI = "Gross_Semi_Monthly_Rate";
+    private static final String HOURLY = "Hourly_Rate";
+
+    private final AccessDatabase database;
+
+    public AccessEmployeeRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessEmployeeRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(LAST, DataType.TEXT))
+                .addColumn(new ColumnBuilder(FIRST, DataType.TEXT))
+                .addColumn(new ColumnBuilder(BIRTHDAY, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(ADDRESS, DataType.MEMO))
+                .addColumn(new ColumnBuilder(PHONE, DataType.TEXT))
+                .addColumn(new ColumnBuilder(SSS, DataType.TEXT))
+                .addColumn(new ColumnBuilder(PHILHEALTH, DataType.TEXT))
+                .addColumn(new ColumnBuilder(TIN, DataType.TEXT))
+                .addColumn(new ColumnBuilder(PAGIBIG, DataType.TEXT))
+                .addColumn(new ColumnBuilder(STATUS, DataType.TEXT))
+                .addColumn(new ColumnBuilder(POSITION, DataType.TEXT))
+                .addColumn(new ColumnBuilder(SUPERVISOR, DataType.TEXT))
+                .addColumn(new ColumnBuilder(BASIC, DataType.DOUBLE))
+                .addColumn(new ColumnBuilder(RICE, DataType.DOUBLE))
+                .addColumn(new ColumnBuilder(PHONE_ALLOWANCE, DataType.DOUBLE))
+                .addColumn(new ColumnBuilder(CLOTHING, DataType.DOUBLE))
+                .addColumn(new ColumnBuilder(GROSS_SEMI, DataType.DOUBLE))
+                .addColumn(new ColumnBuilder(HOURLY, DataType.DOUBLE))
+                .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).addColumns(ID).setPrimaryKey())
+                .toTable(db);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        List<Employee> out = new ArrayList<>();
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                for (Row row : CursorBuilder.createCursor(t.getPrimaryKeyIndex())) {
+                    Employee emp = toEmployee(row);
+                    if (emp != null) {
+                        out.add(emp);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                return out;
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public Employee findById(int id) {
+        synchronized (database) {
+            try {
+                Row row = CursorBuilder.findRowByPrimaryKey(database.table(TABLE), id);
+                return row == null ? null : toEmployee(row);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void create(Employee emp) {
+        if (emp == null) {
+            return;
+        }
+        synchronized (database) {
+            try {
+                database.table(TABLE).addRowFromMap(toRow(emp));
+            } catch (IOException | RuntimeException e) {
+                // duplicate ids and write failures leave the table unchanged
+            }
+        }
+    }
+
+    @Override
+    public boolean update(Employee emp) {
+        if (emp == null) {
+            return false;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row row = CursorBuilder.findRowByPrimaryKey(t, emp.getId());
+                if (row == null) {
+                    return false;
+                }
+                row.putAll(toRow(emp));
+                t.updateRow(row);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(int empId) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row row = CursorBuilder.findRowByPrimaryKey(t, empId);
+                if (row == null) {
+                    return false;
+                }
+                t.deleteRow(row);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    private Map<String, Object> toRow(Employee emp) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(ID, emp.getId());
+        row.put(LAST, emp.getLastName());
+        row.put(FIRST, emp.getFirstName());
+        row.put(BIRTHDAY, AccessDatabase.atStartOfDay(emp.getBirthday()));
+        row.put(ADDRESS, emp.getAddress());
+        row.put(PHONE, emp.getPhoneNumber());
+        row.put(SSS, emp.getSssNumber());
+        row.put(PHILHEALTH, emp.getPhilHealthNumber());
+        row.put(TIN, emp.getTinNumber());
+        row.put(PAGIBIG, emp.getPagIbigNumber());
+        row.put(STATUS, emp.getStatus());
+        row.put(POSITION, emp.getPosition());
+        row.put(SUPERVISOR, emp.getImmediateSupervisor());
+        row.put(BASIC, emp.getBasicSalary());
+        row.put(RICE, emp.getRiceAllowance());
+        row.put(PHONE_ALLOWANCE, emp.getPhoneAllowance());
+        row.put(CLOTHING, emp.getClothingAllowance());
+        row.put(GROSS_SEMI, emp.getGrossSemiMonthlyRate());
+        row.put(HOURLY, emp.getHourlyRate());
+        return row;
+    }
+
+    // Annotation: Same field mapping and status-based subclass choice as CsvEmployeeRepository.
+    private Employee toEmployee(Map<String, Object> row) {
+        try {
+            int id = AccessDatabase.integer(row, ID);
+            String last = AccessDatabase.text(row, LAST);
+            String first = AccessDatabase.text(row, FIRST);
+            String status = AccessDatabase.text(row, STATUS);
+
+            Employee emp;
+            if ("PROBATIONARY".equalsIgnoreCase(status)) {
+                emp = new ProbationaryEmployee(id, last, first);
+            } else {
+                emp = new RegularEmployee(id, last, first);
+            }
+
+            emp.setBirthday(AccessDatabase.date(row, BIRTHDAY));
+            emp.setAddress(AccessDatabase.text(row, ADDRESS));
+            emp.setPhoneNumber(AccessDatabase.text(row, PHONE));
+
+            emp.setSssNumber(AccessDatabase.text(row, SSS));
+            emp.setPhilHealthNumber(AccessDatabase.text(row, PHILHEALTH));
+            emp.setTinNumber(AccessDatabase.text(row, TIN));
+            emp.setPagIbigNumber(AccessDatabase.text(row, PAGIBIG));
+
+            emp.setStatus(status);
+            emp.setPosition(AccessDatabase.text(row, POSITION));
+            emp.setImmediateSupervisor(AccessDatabase.text(row, SUPERVISOR));
+
+            emp.setBasicSalary(AccessDatabase.decimal(row, BASIC));
+            emp.setRiceAllowance(AccessDatabase.decimal(row, RICE));
+            emp.setPhoneAllowance(AccessDatabase.decimal(row, PHONE_ALLOWANCE));
+            emp.setClothingAllowance(AccessDatabase.decimal(row, CLOTHING));
+            emp.setGrossSemiMonthlyRate(AccessDatabase.decimal(row, GROSS_SEMI));
+            emp.setHourlyRate(AccessDatabase.decimal(row, HOURLY));
+            return emp;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.models.LeaveCredits;
+import com.motorph.repository.LeaveCreditsRepository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access-backed LeaveCreditsRepository over the Leave_Credits table, one row
+ * per employee keyed by Employee_ID.
+ *
+ * @author ACER
+ */
+public class AccessLeaveCreditsRepository implements LeaveCreditsRepository {
+
+    static final String TABLE = "Leave_Credits";
+
+    private static final String EMPLOYEE_ID = "Employee_ID";
+    private static final String LAST = "Last_Name";
+    private static final String FIRST = "First_Name";
+    private static final String CREDITS = "Leave_Credits";
+    private static final String TAKEN = "Leave_Taken";
+
+    private final AccessDatabase database;
+
+    public AccessLeaveCreditsRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessLeaveCreditsRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(EMPLOYEE_ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(LAST, DataType.TEXT))
+                .addColumn(new ColumnBuilder(FIRST, DataType.TEXT))
+                .addColumn(new ColumnBuilder(CREDITS, DataType.DOUBLE))
+                .addColumn(new ColumnBuilder(TAKEN, DataType.DOUBLE))
+                .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).addColumns(EMPLOYEE_ID).setPrimaryKey())
+                .toTable(db);
+    }
+
+    @Override
+    public List<LeaveCredits> findAll() {
+        List<LeaveCredits> out = new ArrayList<>();
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                for (Row row : CursorBuilder.createCursor(t.getPrimaryKeyIndex())) {
+                    out.add(toCredits(row));
+                }
+            } catch (IOException | RuntimeException e) {
+                return out;
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public LeaveCredits findByEmpId(int empId) {
+        synchronized (database) {
+            try {
+                Row row = CursorBuilder.findRowByPrimaryKey(database.table(TABLE), empId);
+                return row == null ? null : toCredits(row);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public boolean updateLeaveTaken(int empId, double leaveTakenHours) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row row = CursorBuilder.findRowByPrimaryKey(t, empId);
+                if (row == null) {
+                    return false;
+                }
+                // Annotation: Kept to the hundredth, the precision the CSV file stores.
+                row.put(TAKEN, Math.round(Math.max(0.0, leaveTakenHours) * 100.0) / 100.0);
+                t.updateRow(row);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean create(LeaveCredits credits) {
+        if (credits == null || credits.getEmployeeNumber() <= 0) {
+            return false;
+        }
+        synchronized (database) {
+            return findByEmpId(credits.getEmployeeNumber()) != null || save(credits);
+        }
+    }
+
+    @Override
+    public boolean delete(int empId) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row row = CursorBuilder.findRowByPrimaryKey(t, empId);
+                if (row != null) {
+                    t.deleteRow(row);
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    // Annotation: Inserts or replaces an employee's credits row; used by the migration tool.
+    public boolean save(LeaveCredits credits) {
+        if (credits == null || credits.getEmployeeNumber() <= 0) {
+            return false;
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(EMPLOYEE_ID, credits.getEmployeeNumber());
+        values.put(LAST, credits.getLastName());
+        values.put(FIRST, credits.getFirstName());
+        values.put(CREDITS, credits.getLeaveCreditsHours());
+        values.put(TAKEN, credits.getLeaveTakenHours());
+
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row row = CursorBuilder.findRowByPrimaryKey(t, credits.getEmployeeNumber());
+                if (row == null) {
+                    t.addRowFromMap(values);
+                } else {
+                    row.putAll(values);
+                    t.updateRow(row);
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    private LeaveCredits toCredits(Map<String, Object> row) {
+        return new LeaveCredits(
+                AccessDatabase.integer(row, EMPLOYEE_ID),
+                AccessDatabase.text(row, LAST),
+                AccessDatabase.text(row, FIRST),
+                AccessDatabase.decimal(row, CREDITS),
+                AccessDatabase.decimal(row, TAKEN));
+    }
+}
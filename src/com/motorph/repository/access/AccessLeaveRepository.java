@@ -0,0 +1,298 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.IndexCursor;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.enums.LeaveStatus;
+import com.motorph.domain.models.LeaveRequest;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.repository.LeaveRepository;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Access-backed LeaveRepository over the Leave_Requests table. Indexes:
+ * (Employee_ID, Leave_ID) unique, for the duplicate check and decisions;
+ * (Employee_ID, Row_ID), for an employee's requests in filing order; and
+ * (Employee_ID, Leave_Date), for period reads.
+ *
+ * @author ACER
+ */
+public class AccessLeaveRepository implements LeaveRepository {
+
+    static final String TABLE = "Leave_Requests";
+
+    private static final String ROW_ID = "Row_ID";
+    private static final String LEAVE_ID = "Leave_ID";
+    private static final String EMPLOYEE_ID = "Employee_ID";
+    private static final String LEAVE_DATE = "Leave_Date";
+    private static final String START_TIME = "Start_Time";
+    private static final String END_TIME = "End_Time";
+    private static final String FIRST = "First_Name";
+    private static final String LAST = "Last_Name";
+    private static final String STATUS = "Status";
+    private static final String REVIEWED_BY = "Reviewed_By";
+    private static final String REVIEWED_AT = "Reviewed_At";
+    private static final String NOTE = "Decision_Note";
+
+    private static final String IDX_EMPLOYEE_LEAVE = "Employee_Leave";
+    private static final String IDX_EMPLOYEE_ROW = "Employee_Row";
+    private static final String IDX_EMPLOYEE_DATE = "Employee_Date";
+
+    private final AccessDatabase database;
+
+    public AccessLeaveRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessLeaveRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(ROW_ID, DataType.LONG).setAutoNumber(true))
+                .addColumn(new ColumnBuilder(LEAVE_ID, DataType.TEXT))
+                .addColumn(new ColumnBuilder(EMPLOYEE_ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(LEAVE_DATE, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(START_TIME, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(END_TIME, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(FIRST, DataType.TEXT))
+                .addColumn(new ColumnBuilder(LAST, DataType.TEXT))
+                .addColumn(new ColumnBuilder(STATUS, DataType.TEXT))
+                .addColumn(new ColumnBuilder(REVIEWED_BY, DataType.LONG))
+                .addColumn(new ColumnBuilder(REVIEWED_AT, DataType.TEXT))
+                .addColumn(new ColumnBuilder(NOTE, DataType.MEMO))
+                .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).addColumns(ROW_ID).setPrimaryKey())
+                .addIndex(new IndexBuilder(IDX_EMPLOYEE_LEAVE).addColumns(EMPLOYEE_ID, LEAVE_ID).setUnique())
+                .addIndex(new IndexBuilder(IDX_EMPLOYEE_ROW).addColumns(EMPLOYEE_ID, ROW_ID))
+                .addIndex(new IndexBuilder(IDX_EMPLOYEE_DATE).addColumns(EMPLOYEE_ID, LEAVE_DATE))
+                .toTable(db);
+    }
+
+    @Override
+    public List<LeaveRequest> findByEmployee(int empId) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                IndexCursor c = new CursorBuilder(t).setIndexByName(IDX_EMPLOYEE_ROW)
+                        .setStartEntry(empId).setEndEntry(empId)
+                        .toIndexCursor();
+                List<LeaveRequest> out = new ArrayList<>();
+                for (Row row : c) {
+                    LeaveRequest r = toRequest(row);
+                    if (r != null) {
+                        out.add(r);
+                    }
+                }
+                return out;
+            } catch (IOException | RuntimeException e) {
+                return new ArrayList<>();
+            }
+        }
+    }
+
+    @Override
+    public List<LeaveRequest> findByEmployeeAndPeriod(int empId, PayPeriod period) {
+        if (period == null) {
+            return findByEmployee(empId);
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                IndexCursor c = new CursorBuilder(t).setIndexByName(IDX_EMPLOYEE_DATE)
+                        .setStartEntry(empId, period.getStartDate().atStartOfDay())
+                        .setEndEntry(empId, period.getEndDate().atStartOfDay())
+                        .setStartRowInclusive(true).setEndRowInclusive(true)
+                        .toIndexCursor();
+
+                // Annotation: Rows come back in date order; re-sorted into filing order like the CSV file.
+                List<Row> rows = new ArrayList<>();
+                for (Row row : c) {
+                    rows.add(row);
+                }
+                rows.sort(Comparator.comparingInt(r -> AccessDatabase.integer(r, ROW_ID)));
+
+                List<LeaveRequest> out = new ArrayList<>();
+                for (Row row : rows) {
+                    LeaveRequest r = toRequest(row);
+                    if (r != null) {
+                        out.add(r);
+                    }
+                }
+                return out;
+            } catch (IOException | RuntimeException e) {
+                return new ArrayList<>();
+            }
+        }
+    }
+
+    @Override
+    public double getLeaveHoursUsed(int empId, PayPeriod period) {
+        if (period == null) {
+            return 0.0;
+        }
+
+        Set<String> seen = new HashSet<>();
+        double total = 0.0;
+
+        for (LeaveRequest r : findByEmployeeAndPeriod(empId, period)) {
+            if (r == null || r.getDate() == null || r.getStatus() != LeaveStatus.APPROVED) {
+                continue;
+            }
+
+            String leaveId = r.getLeaveId() == null ? "" : r.getLeaveId().trim();
+            if (leaveId.isEmpty() || !seen.add(leaveId)) {
+                continue;
+            }
+
+            DayOfWeek dow = r.getDate().getDayOfWeek();
+            if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
+                continue;
+            }
+
+            total += calculateHours(r.getStartTime(), r.getEndTime());
+        }
+        return total;
+    }
+
+    @Override
+    public boolean create(LeaveRequest request) {
+        if (request == null) {
+            return false;
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(ROW_ID, Column.AUTO_NUMBER);
+        row.put(LEAVE_ID, request.getLeaveId());
+        row.put(EMPLOYEE_ID, request.getEmployeeId());
+        row.put(LEAVE_DATE, AccessDatabase.atStartOfDay(request.getDate()));
+        row.put(START_TIME, at(request.getDate(), request.getStartTime()));
+        row.put(END_TIME, at(request.getDate(), request.getEndTime()));
+        row.put(FIRST, request.getFirstName());
+        row.put(LAST, request.getLastName());
+        row.put(STATUS, (request.getStatus() == null ? LeaveStatus.PENDING : request.getStatus()).name());
+        row.put(REVIEWED_BY, request.getReviewedBy());
+        row.put(REVIEWED_AT, request.getReviewedAt());
+        row.put(NOTE, request.getDecisionNote());
+
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                // Annotation: Exact duplicate submissions are rejected through the unique index.
+                if (CursorBuilder.findRowByEntry(t.getIndex(IDX_EMPLOYEE_LEAVE),
+                        request.getEmployeeId(), request.getLeaveId()) != null) {
+                    return false;
+                }
+                t.addRowFromMap(row);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean updateDecision(int empId, String leaveId, LeaveStatus status, int reviewedBy, String reviewedAt, String note) {
+        if (leaveId == null || leaveId.trim().isEmpty() || status == null) {
+            return false;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row row = CursorBuilder.findRowByEntry(t.getIndex(IDX_EMPLOYEE_LEAVE), empId, leaveId);
+                if (row == null) {
+                    return false;
+                }
+                row.put(STATUS, status.name());
+                row.put(REVIEWED_BY, reviewedBy);
+                row.put(REVIEWED_AT, reviewedAt == null ? "" : reviewedAt);
+                row.put(NOTE, note == null ? "" : note);
+                t.updateRow(row);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    // Annotation: The employee's requests are one range of the Employee_Row index.
+    @Override
+    public boolean deleteByEmployee(int empId) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                IndexCursor c = new CursorBuilder(t).setIndexByName(IDX_EMPLOYEE_ROW)
+                        .setStartEntry(empId).setEndEntry(empId)
+                        .toIndexCursor();
+                while (c.moveToNextRow()) {
+                    c.deleteCurrentRow();
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    private LeaveRequest toRequest(Map<String, Object> row) {
+        LocalDate date = AccessDatabase.date(row, LEAVE_DATE);
+        if (date == null) {
+            return null;
+        }
+        LocalDateTime start = AccessDatabase.timestamp(row, START_TIME);
+        LocalDateTime end = AccessDatabase.timestamp(row, END_TIME);
+        Object reviewedBy = row.get(REVIEWED_BY);
+
+        return new LeaveRequest(
+                AccessDatabase.text(row, LEAVE_ID),
+                AccessDatabase.integer(row, EMPLOYEE_ID),
+                date,
+                start == null ? null : start.toLocalTime(),
+                end == null ? null : end.toLocalTime(),
+                AccessDatabase.text(row, FIRST),
+                AccessDatabase.text(row, LAST),
+                LeaveStatus.fromCsv(AccessDatabase.text(row, STATUS)),
+                (reviewedBy instanceof Number) ? ((Number) reviewedBy).intValue() : null,
+                AccessDatabase.text(row, REVIEWED_AT),
+                AccessDatabase.text(row, NOTE));
+    }
+
+    private double calculateHours(LocalTime start, LocalTime end) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return 0.0;
+        }
+        long minutes = Duration.between(start, end).toMinutes();
+        if (minutes > 240) {
+            minutes -= 60; // Lunch deduction
+        }
+        return Math.min(Math.max(0.0, minutes / 60.0), 8.0);
+    }
+
+    private static LocalDateTime at(LocalDate date, LocalTime time) {
+        return (date == null || time == null) ? null : date.atTime(time);
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.models.LogEntry;
+import com.motorph.repository.LogRepository;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Access-backed LogRepository over the System_Logs table, keyed by Log_ID.
+ * User and category queries walk the (User_Key, Log_ID) and (Category_Key,
+ * Log_ID) indexes backwards, so the newest entries come first without
+ * reading the rest of the log; time ranges use (Log_Timestamp, Log_ID).
+ *
+ * Access text indexes ignore case, so user matches are re-checked exactly.
+ *
+ * @author ACER
+ */
+public class AccessLogRepository implements LogRepository {
+
+    static final String TABLE = "System_Logs";
+
+    private static final String LOG_ID = "Log_ID";
+    private static final String TIMESTAMP = "Log_Timestamp";
+    private static final String CATEGORY = "Category";
+    private static final String USER = "User_Name";
+    private static final String ACTION = "Action";
+    private static final String DETAILS = "Details";
+    private static final String USER_KEY = "User_Key";
+    private static final String CATEGORY_KEY = "Category_Key";
+
+    private static final String IDX_USER = "User_Log";
+    private static final String IDX_CATEGORY = "Category_Log";
+    private static final String IDX_TIME = "Time_Log";
+
+    private final AccessDatabase database;
+
+    public AccessLogRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessLogRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(LOG_ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(TIMESTAMP, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(CATEGORY, DataType.TEXT))
+                .addColumn(new ColumnBuilder(USER, DataType.TEXT))
+                .addColumn(new ColumnBuilder(ACTION, DataType.MEMO))
+                .addColumn(new ColumnBuilder(DETAILS, DataType.MEMO))
+                .addColumn(new ColumnBuilder(USER_KEY, DataType.TEXT))
+                .addColumn(new ColumnBuilder(CATEGORY_KEY, DataType.TEXT))
+                .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).addColumns(LOG_ID).setPrimaryKey())
+                .addIndex(new IndexBuilder(IDX_USER).addColumns(USER_KEY, LOG_ID))
+                .addIndex(new IndexBuilder(IDX_CATEGORY).addColumns(CATEGORY_KEY, LOG_ID))
+                .addIndex(new IndexBuilder(IDX_TIME).addColumns(TIMESTAMP, LOG_ID))
+                .toTable(db);
+    }
+
+    @Override
+    public boolean save(LogEntry entry) {
+        if (entry == null) {
+            return false;
+        }
+        List<LogEntry> one = new ArrayList<>(1);
+        one.add(entry);
+        return saveBatch(one);
+    }
+
+    /**
+     * Inserts several entries in one pass. Entries without an id are numbered
+     * after the highest stored Log_ID.
+     */
+    @Override
+    public boolean saveBatch(List<LogEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return true;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                int next = lastId(t) + 1;
+
+                List<Map<String, Object>> rows = new ArrayList<>();
+                for (LogEntry entry : entries) {
+                    if (entry == null) {
+                        continue;
+                    }
+                    if (entry.getId() <= 0) {
+                        entry.setId(next);
+                    }
+                    next = Math.max(next, entry.getId() + 1);
+                    rows.add(toRow(entry));
+                }
+                t.addRowsFromMaps(rows);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public int lastId() {
+        synchronized (database) {
+            try {
+                return lastId(database.table(TABLE));
+            } catch (IOException | RuntimeException e) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public List<LogEntry> findAll() {
+        List<LogEntry> out = new ArrayList<>();
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                for (Row row : CursorBuilder.createCursor(t.getPrimaryKeyIndex()).newIterable().reverse()) {
+                    out.add(toEntry(row));
+                }
+            } catch (IOException | RuntimeException e) {
+                return out;
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public List<LogEntry> findByUser(String user, int offset, int limit) {
+        String actor = user == null ? "" : user.trim();
+        if (actor.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return scanKey(IDX_USER, actor, e -> actor.equals(trim(e.getUser())), offset, limit);
+    }
+
+    @Override
+    public List<LogEntry> findByCategory(String category, int offset, int limit) {
+        return scanKey(IDX_CATEGORY, upper(category), e -> true, offset, limit);
+    }
+
+    @Override
+    public List<LogEntry> findByTimeRange(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        List<LogEntry> matches = new ArrayList<>();
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                CursorBuilder cb = new CursorBuilder(t).setIndexByName(IDX_TIME);
+                if (from != null) {
+                    cb.setStartEntry(from).setStartRowInclusive(true);
+                }
+                if (to != null) {
+                    cb.setEndEntry(to).setEndRowInclusive(false);
+                }
+                for (Row row : cb.toIndexCursor()) {
+                    LogEntry entry = toEntry(row);
+                    // Annotation: Rows without a timestamp sort first in the index and never match a range.
+                    if (entry.getTimestamp() != null
+                            && (from == null || !entry.getTimestamp().isBefore(from))
+                            && (to == null || entry.getTimestamp().isBefore(to))) {
+                        matches.add(entry);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                return new ArrayList<>();
+            }
+        }
+        matches.sort(Comparator.comparing(LogEntry::getId).reversed());
+
+        int start = Math.min(Math.max(0, offset), matches.size());
+        int end = (int) Math.min((long) start + Math.max(0, limit), matches.size());
+        return new ArrayList<>(matches.subList(start, end));
+    }
+
+    @Override
+    public int deleteWhere(Predicate<LogEntry> filter) {
+        if (filter == null) {
+            return 0;
+        }
+        synchronized (database) {
+            try {
+                Cursor c = CursorBuilder.createCursor(database.table(TABLE));
+                int removed = 0;
+                while (c.moveToNextRow()) {
+                    if (filter.test(toEntry(c.getCurrentRow()))) {
+                        c.deleteCurrentRow();
+                        removed++;
+                    }
+                }
+                return removed;
+            } catch (IOException | RuntimeException e) {
+                return 0;
+            }
+        }
+    }
+
+    // Annotation: Walks one key of a (key, Log_ID) index from the newest entry down, stopping once the page is full.
+    private List<LogEntry> scanKey(String index, String key, Predicate<LogEntry> filter, int offset, int limit) {
+        List<LogEntry> out = new ArrayList<>();
+        int skip = Math.max(0, offset);
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Cursor c = new CursorBuilder(t).setIndexByName(index)
+                        .setStartEntry(key).setEndEntry(key)
+                        .toIndexCursor();
+                for (Row row : c.newIterable().reverse()) {
+                    if (out.size() >= limit) {
+                        break;
+                    }
+                    LogEntry entry = toEntry(row);
+                    if (!filter.test(entry)) {
+                        continue;
+                    }
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    out.add(entry);
+                }
+            } catch (IOException | RuntimeException e) {
+                return new ArrayList<>();
+            }
+        }
+        return out;
+    }
+
+    private int lastId(Table t) throws IOException {
+        Cursor c = CursorBuilder.createCursor(t.getPrimaryKeyIndex());
+        c.afterLast();
+        return c.moveToPreviousRow() ? AccessDatabase.integer(c.getCurrentRow(), LOG_ID) : 0;
+    }
+
+    private Map<String, Object> toRow(LogEntry entry) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(LOG_ID, entry.getId());
+        row.put(TIMESTAMP, entry.getTimestamp());
+        row.put(CATEGORY, entry.getCategory());
+        row.put(USER, entry.getUser());
+        row.put(ACTION, entry.getAction());
+        row.put(DETAILS, entry.getDetails());
+        row.put(USER_KEY, trim(entry.getUser()));
+        row.put(CATEGORY_KEY, upper(entry.getCategory()));
+        return row;
+    }
+
+    private LogEntry toEntry(Map<String, Object> row) {
+        return new LogEntry(
+                AccessDatabase.integer(row, LOG_ID),
+                AccessDatabase.text(row, CATEGORY),
+                AccessDatabase.timestamp(row, TIMESTAMP),
+                AccessDatabase.text(row, USER),
+                AccessDatabase.text(row, ACTION),
+                AccessDatabase.text(row, DETAILS));
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private static String upper(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.US);
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.IndexCursor;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.enums.ApprovalStatus;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.PayrollApproval;
+import com.motorph.repository.PayrollApprovalRepository;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Access-backed PayrollApprovalRepository over the Payroll_Approvals table,
+ * one row per employee and pay period. The primary key (Period_Start,
+ * Period_End, Employee_ID) gives keyed status lookups and upserts, and a
+ * whole period as one index range.
+ *
+ * Approval times are kept to the minute, as in the CSV period files.
+ *
+ * @author ACER
+ */
+public class AccessPayrollApprovalRepository implements PayrollApprovalRepository {
+
+    static final String TABLE = "Payroll_Approvals";
+
+    private static final String PERIOD_START = "Period_Start";
+    private static final String PERIOD_END = "Period_End";
+    private static final String EMPLOYEE_ID = "Employee_ID";
+    private static final String TX_ID = "Transaction_ID";
+    private static final String DTR_BY = "DTR_Approved_By";
+    private static final String DTR_STATUS = "DTR_Status";
+    private static final String DTR_DATE = "DTR_Approved_Date";
+    private static final String PAYROLL_BY = "Payroll_Approved_By";
+    private static final String PAYROLL_STATUS = "Payroll_Status";
+    private static final String PAYROLL_DATE = "Payroll_Approved_Date";
+
+    private final AccessDatabase database;
+
+    public AccessPayrollApprovalRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessPayrollApprovalRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(PERIOD_START, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(PERIOD_END, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(EMPLOYEE_ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(TX_ID, DataType.TEXT))
+                .addColumn(new ColumnBuilder(DTR_BY, DataType.LONG))
+                .addColumn(new ColumnBuilder(DTR_STATUS, DataType.TEXT))
+                .addColumn(new ColumnBuilder(DTR_DATE, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(PAYROLL_BY, DataType.LONG))
+                .addColumn(new ColumnBuilder(PAYROLL_STATUS, DataType.TEXT))
+                .addColumn(new ColumnBuilder(PAYROLL_DATE, DataType.SHORT_DATE_TIME))
+                .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME)
+                        .addColumns(PERIOD_START, PERIOD_END, EMPLOYEE_ID).setPrimaryKey())
+                .toTable(db);
+    }
+
+    @Override
+    public ApprovalStatus getDtrStatus(int empId, PayPeriod period) {
+        Row row = findRow(empId, period);
+        return row == null ? ApprovalStatus.PENDING : parseStatus(AccessDatabase.text(row, DTR_STATUS));
+    }
+
+    @Override
+    public ApprovalStatus getPayrollStatus(int empId, PayPeriod period) {
+        Row row = findRow(empId, period);
+        return row == null ? ApprovalStatus.PENDING : parseStatus(AccessDatabase.text(row, PAYROLL_STATUS));
+    }
+
+    @Override
+    public boolean upsertDtrApproval(int empId, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt) {
+        return upsert(Collections.singletonList(empId), period, approvedBy, status, approvedAt, true);
+    }
+
+    @Override
+    public boolean upsertPayrollApproval(int empId, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt) {
+        return upsert(Collections.singletonList(empId), period, approvedBy, status, approvedAt, false);
+    }
+
+    @Override
+    public boolean upsertPayrollApprovals(Collection<Integer> empIds, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt) {
+        if (empIds == null) {
+            return false;
+        }
+        if (empIds.isEmpty()) {
+            return true;
+        }
+        return upsert(empIds, period, approvedBy, status, approvedAt, false);
+    }
+
+    @Override
+    public boolean ensureRowExists(int empId, PayPeriod period) {
+        return ensureRowsExist(Collections.singletonList(empId), period);
+    }
+
+    @Override
+    public boolean ensureRowsExist(Collection<Integer> empIds, PayPeriod period) {
+        if (period == null || empIds == null) {
+            return false;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                for (Integer empId : empIds) {
+                    if (empId != null && CursorBuilder.findRowByPrimaryKey(t, key(period, empId)) == null) {
+                        t.addRowFromMap(newRow(empId, period));
+                    }
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, PayrollApproval> findByPeriod(PayPeriod period) {
+        Map<Integer, PayrollApproval> out = new LinkedHashMap<>();
+        if (period == null) {
+            return out;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                LocalDateTime start = period.getStartDate().atStartOfDay();
+                LocalDateTime end = period.getEndDate().atStartOfDay();
+                IndexCursor c = new CursorBuilder(t).setIndex(t.getPrimaryKeyIndex())
+                        .setStartEntry(start, end).setEndEntry(start, end)
+                        .toIndexCursor();
+                for (Row r : c) {
+                    int empId = AccessDatabase.integer(r, EMPLOYEE_ID);
+                    out.put(empId, new PayrollApproval(
+                            empId,
+                            parseStatus(AccessDatabase.text(r, DTR_STATUS)),
+                            AccessDatabase.integer(r, DTR_BY),
+                            AccessDatabase.timestamp(r, DTR_DATE),
+                            parseStatus(AccessDatabase.text(r, PAYROLL_STATUS)),
+                            AccessDatabase.integer(r, PAYROLL_BY),
+                            AccessDatabase.timestamp(r, PAYROLL_DATE)
+                    ));
+                }
+            } catch (IOException | RuntimeException e) {
+                return new LinkedHashMap<>();
+            }
+        }
+        return out;
+    }
+
+    // Annotation: The key leads with the period, so the employee's rows are found by a full scan.
+    @Override
+    public boolean removeEmployee(int empId) {
+        synchronized (database) {
+            try {
+                Cursor c = CursorBuilder.createCursor(database.table(TABLE));
+                while (c.moveToNextRow()) {
+                    if (AccessDatabase.integer(c.getCurrentRow(), EMPLOYEE_ID) == empId) {
+                        c.deleteCurrentRow();
+                    }
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    // Annotation: Writes one approval row as-is, keeping its recorded decisions; used by the migration tool.
+    public boolean importApproval(PayPeriod period, PayrollApproval approval) {
+        if (period == null || approval == null) {
+            return false;
+        }
+
+        Map<String, Object> row = newRow(approval.getEmpId(), period);
+        row.put(DTR_BY, approval.getDtrApprovedBy() > 0 ? approval.getDtrApprovedBy() : null);
+        row.put(DTR_STATUS, approval.getDtrStatus().name());
+        row.put(DTR_DATE, approval.getDtrApprovedAt());
+        row.put(PAYROLL_BY, approval.getPayrollApprovedBy() > 0 ? approval.getPayrollApprovedBy() : null);
+        row.put(PAYROLL_STATUS, approval.getPayrollStatus().name());
+        row.put(PAYROLL_DATE, approval.getPayrollApprovedAt());
+
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row existing = CursorBuilder.findRowByPrimaryKey(t, key(period, approval.getEmpId()));
+                if (existing == null) {
+                    t.addRowFromMap(row);
+                } else {
+                    existing.putAll(row);
+                    t.updateRow(existing);
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    private boolean upsert(Collection<Integer> empIds, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt, boolean isDtr) {
+        if (period == null || status == null) {
+            return false;
+        }
+
+        Integer by = (approvedBy > 0) ? approvedBy : null;
+        LocalDateTime at = (approvedAt != null ? approvedAt : LocalDateTime.now()).truncatedTo(ChronoUnit.MINUTES);
+
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                for (Integer empId : empIds) {
+                    if (empId == null) {
+                        continue;
+                    }
+
+                    Row existing = CursorBuilder.findRowByPrimaryKey(t, key(period, empId));
+                    Map<String, Object> row = existing != null ? existing : newRow(empId, period);
+                    row.put(TX_ID, buildTransactionId(empId, period));
+                    if (isDtr) {
+                        row.put(DTR_BY, by);
+                        row.put(DTR_STATUS, status.name());
+                        row.put(DTR_DATE, at);
+                    } else {
+                        row.put(PAYROLL_BY, by);
+                        row.put(PAYROLL_STATUS, status.name());
+                        row.put(PAYROLL_DATE, at);
+                    }
+
+                    if (existing != null) {
+                        t.updateRow(existing);
+                    } else {
+                        t.addRowFromMap(row);
+                    }
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    private Row findRow(int empId, PayPeriod period) {
+        if (period == null) {
+            return null;
+        }
+        synchronized (database) {
+            try {
+                return CursorBuilder.findRowByPrimaryKey(database.table(TABLE), key(period, empId));
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    private Object[] key(PayPeriod period, int empId) {
+        return new Object[]{period.getStartDate().atStartOfDay(), period.getEndDate().atStartOfDay(), empId};
+    }
+
+    private Map<String, Object> newRow(int empId, PayPeriod period) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(PERIOD_START, period.getStartDate().atStartOfDay());
+        row.put(PERIOD_END, period.getEndDate().atStartOfDay());
+        row.put(EMPLOYEE_ID, empId);
+        row.put(TX_ID, buildTransactionId(empId, period));
+        row.put(DTR_STATUS, ApprovalStatus.PENDING.name());
+        row.put(PAYROLL_STATUS, ApprovalStatus.PENDING.name());
+        return row;
+    }
+
+    private String buildTransactionId(int empId, PayPeriod period) {
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyMMdd", Locale.US);
+        return "TX-" + empId + "-" + period.getStartDate().format(fmt) + "-" + period.getEndDate().format(fmt);
+    }
+
+    private ApprovalStatus parseStatus(String raw) {
+        try {
+            if (raw == null || raw.isBlank()) {
+                return ApprovalStatus.PENDING;
+            }
+            return ApprovalStatus.valueOf(raw.trim().toUpperCase(Locale.US));
+        } catch (Exception e) {
+            return ApprovalStatus.PENDING;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.Column;
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.IndexCursor;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.Payslip;
+import com.motorph.repository.PayslipRepository;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access-backed PayslipRepository over the Payslips table. Saved payslips are
+ * never overwritten; like the per-period CSV files, the latest row for an
+ * employee and period is the current payslip. The index (Employee_ID,
+ * Period_Start, Period_End, Row_ID) serves every lookup.
+ *
+ * Unlike the CSV snapshot, overtime pay and late deduction are stored too.
+ *
+ * @author ACER
+ */
+public class AccessPayslipRepository implements PayslipRepository {
+
+    static final String TABLE = "Payslips";
+
+    private static final String ROW_ID = "Row_ID";
+    private static final String PAYSLIP_ID = "Payslip_ID";
+    private static final String TX_ID = "Transaction_ID";
+    private static final String EMPLOYEE_ID = "Employee_ID";
+    private static final String LAST = "Last_Name";
+    private static final String FIRST = "First_Name";
+    private static final String PERIOD_START = "Period_Start";
+    private static final String PERIOD_END = "Period_End";
+    private static final String BASIC = "Basic_Salary";
+    private static final String RICE = "Rice_Allowance";
+    private static final String PHONE = "Phone_Allowance";
+    private static final String CLOTHING = "Clothing_Allowance";
+    private static final String GROSS_SEMI = "Gross_Semi_Monthly_Rate";
+    private static final String HOURLY = "Hourly_Rate";
+    private static final String HOURS = "Total_Hours_Worked";
+    private static final String OVERTIME = "Overtime_Pay";
+    private static final String GROSS = "Gross_Income";
+    private static final String LATE = "Late_Deduction";
+    private static final String SSS = "SSS";
+    private static final String PHILHEALTH = "PhilHealth";
+    private static final String PAGIBIG = "PagIbig";
+    private static final String TAX = "Withholding_Tax";
+    private static final String TOTAL_DEDUCTIONS = "Total_Deductions";
+    private static final String NET = "Net_Pay";
+    private static final String PROCESSED_BY = "Processed_By";
+    private static final String DATE_PROCESSED = "Date_Processed";
+    private static final String LEAVE_CREDITS = "Leave_Credits";
+    private static final String LEAVE_TAKEN = "Leave_Taken";
+    private static final String LEAVE_BALANCE = "Leave_Balance";
+
+    private static final String IDX_EMPLOYEE_PERIOD = "Employee_Period";
+
+    private final AccessDatabase database;
+
+    public AccessPayslipRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessPayslipRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        TableBuilder tb = new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(ROW_ID, DataType.LONG).setAutoNumber(true))
+                .addColumn(new ColumnBuilder(PAYSLIP_ID, DataType.TEXT))
+                .addColumn(new ColumnBuilder(TX_ID, DataType.TEXT))
+                .addColumn(new ColumnBuilder(EMPLOYEE_ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(LAST, DataType.TEXT))
+                .addColumn(new ColumnBuilder(FIRST, DataType.TEXT))
+                .addColumn(new ColumnBuilder(PERIOD_START, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(PERIOD_END, DataType.SHORT_DATE_TIME));
+        for (String amount : new String[]{BASIC, RICE, PHONE, CLOTHING, GROSS_SEMI, HOURLY, HOURS, OVERTIME, GROSS,
+            LATE, SSS, PHILHEALTH, PAGIBIG, TAX, TOTAL_DEDUCTIONS, NET}) {
+            tb.addColumn(new ColumnBuilder(amount, DataType.DOUBLE));
+        }
+        tb.addColumn(new ColumnBuilder(PROCESSED_BY, DataType.LONG))
+                .addColumn(new ColumnBuilder(DATE_PROCESSED, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(LEAVE_CREDITS, DataType.DOUBLE))
+                .addColumn(new ColumnBuilder(LEAVE_TAKEN, DataType.DOUBLE))
+                .addColumn(new ColumnBuilder(LEAVE_BALANCE, DataType.DOUBLE))
+                .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).addColumns(ROW_ID).setPrimaryKey())
+                .addIndex(new IndexBuilder(IDX_EMPLOYEE_PERIOD).addColumns(EMPLOYEE_ID, PERIOD_START, PERIOD_END, ROW_ID))
+                .toTable(db);
+    }
+
+    @Override
+    public boolean save(Payslip p) {
+        if (p == null || p.getPeriod() == null) {
+            return false;
+        }
+
+        PayPeriod period = p.getPeriod();
+        LocalDateTime processed = (p.getDateProcessed() != null ? p.getDateProcessed() : LocalDateTime.now())
+                .truncatedTo(ChronoUnit.MINUTES);
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(ROW_ID, Column.AUTO_NUMBER);
+        row.put(PAYSLIP_ID, buildPayslipId(p));
+        row.put(TX_ID, p.getTransactionId());
+        row.put(EMPLOYEE_ID, p.getEmployeeId());
+        row.put(LAST, p.getLastName());
+        row.put(FIRST, p.getFirstName());
+        row.put(PERIOD_START, period.getStartDate().atStartOfDay());
+        row.put(PERIOD_END, period.getEndDate().atStartOfDay());
+        row.put(BASIC, p.getBasicSalary());
+        row.put(RICE, p.getRiceAllowance());
+        row.put(PHONE, p.getPhoneAllowance());
+        row.put(CLOTHING, p.getClothingAllowance());
+        row.put(GROSS_SEMI, p.getGrossSemiMonthlyRate());
+        row.put(HOURLY, p.getHourlyRate());
+        row.put(HOURS, p.getTotalHoursWorked());
+        row.put(OVERTIME, p.getOvertimePay());
+        row.put(GROSS, p.getGrossIncome());
+        row.put(LATE, p.getLateDeduction());
+        row.put(SSS, p.getSss());
+        row.put(PHILHEALTH, p.getPhilHealth());
+        row.put(PAGIBIG, p.getPagIbig());
+        row.put(TAX, p.getWithholdingTax());
+        row.put(TOTAL_DEDUCTIONS, p.getTotalDeductions());
+        row.put(NET, p.getNetPay());
+        row.put(PROCESSED_BY, p.getProcessedByUserId() > 0 ? p.getProcessedByUserId() : null);
+        row.put(DATE_PROCESSED, processed);
+        row.put(LEAVE_CREDITS, p.getLeaveCreditsSnapshot());
+        row.put(LEAVE_TAKEN, p.getLeaveTakenSnapshot());
+        row.put(LEAVE_BALANCE, p.getLeaveBalanceSnapshot());
+
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+
+                // Annotation: A transaction already saved for this employee and period is not written twice.
+                String txId = p.getTransactionId();
+                if (txId != null && !txId.trim().isEmpty()) {
+                    for (Row existing : periodCursor(t, p.getEmployeeId(), period)) {
+                        if (txId.equals(AccessDatabase.text(existing, TX_ID))) {
+                            return false;
+                        }
+                    }
+                }
+
+                t.addRowFromMap(row);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public Payslip findByEmployeeAndPeriod(int empId, PayPeriod period) {
+        if (empId <= 0 || period == null) {
+            return null;
+        }
+        synchronized (database) {
+            try {
+                Row last = null;
+                for (Row row : periodCursor(database.table(TABLE), empId, period)) {
+                    last = row;
+                }
+                return last == null ? null : toPayslip(last);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public Payslip findLatestByEmployee(int empId) {
+        Payslip best = null;
+        for (Payslip candidate : currentByPeriod(empId)) {
+            if (best == null || candidate.getPeriod().getEndDate().isAfter(best.getPeriod().getEndDate())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public List<Payslip> findAllByEmployee(int empId) {
+        List<Payslip> all = currentByPeriod(empId);
+        if (all.isEmpty()) {
+            return Collections.emptyList();
+        }
+        all.sort((a, b) -> a.getPeriod().getEndDate().compareTo(b.getPeriod().getEndDate()));
+        return all;
+    }
+
+    // Annotation: Every stored row of the employee, older saves of a period included.
+    @Override
+    public boolean deleteByEmployee(int empId) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                IndexCursor c = new CursorBuilder(t).setIndexByName(IDX_EMPLOYEE_PERIOD)
+                        .setStartEntry(empId).setEndEntry(empId)
+                        .toIndexCursor();
+                while (c.moveToNextRow()) {
+                    c.deleteCurrentRow();
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    // Annotation: The last row of each of the employee's periods, in period-start order.
+    private List<Payslip> currentByPeriod(int empId) {
+        List<Payslip> out = new ArrayList<>();
+        if (empId <= 0) {
+            return out;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                IndexCursor c = new CursorBuilder(t).setIndexByName(IDX_EMPLOYEE_PERIOD)
+                        .setStartEntry(empId).setEndEntry(empId)
+                        .toIndexCursor();
+
+                Row pending = null;
+                for (Row row : c) {
+                    if (pending != null && !samePeriod(pending, row)) {
+                        out.add(toPayslip(pending));
+                    }
+                    pending = row;
+                }
+                if (pending != null) {
+                    out.add(toPayslip(pending));
+                }
+            } catch (IOException | RuntimeException e) {
+                return new ArrayList<>();
+            }
+        }
+        out.removeIf(p -> p == null);
+        return out;
+    }
+
+    private IndexCursor periodCursor(Table t, int empId, PayPeriod period) throws IOException {
+        LocalDateTime start = period.getStartDate().atStartOfDay();
+        LocalDateTime end = period.getEndDate().atStartOfDay();
+        return new CursorBuilder(t).setIndexByName(IDX_EMPLOYEE_PERIOD)
+                .setStartEntry(empId, start, end).setEndEntry(empId, start, end)
+                .toIndexCursor();
+    }
+
+    private boolean samePeriod(Row a, Row b) {
+        return a.get(PERIOD_START).equals(b.get(PERIOD_START)) && a.get(PERIOD_END).equals(b.get(PERIOD_END));
+    }
+
+    private Payslip toPayslip(Map<String, Object> row) {
+        LocalDate start = AccessDatabase.date(row, PERIOD_START);
+        LocalDate end = AccessDatabase.date(row, PERIOD_END);
+        if (start == null || end == null) {
+            return null;
+        }
+
+        return new Payslip(
+                AccessDatabase.text(row, TX_ID),
+                AccessDatabase.integer(row, EMPLOYEE_ID),
+                AccessDatabase.text(row, LAST),
+                AccessDatabase.text(row, FIRST),
+                new PayPeriod(start, end),
+                AccessDatabase.decimal(row, BASIC),
+                AccessDatabase.decimal(row, RICE),
+                AccessDatabase.decimal(row, PHONE),
+                AccessDatabase.decimal(row, CLOTHING),
+                AccessDatabase.decimal(row, GROSS_SEMI),
+                AccessDatabase.decimal(row, HOURLY),
+                AccessDatabase.decimal(row, HOURS),
+                AccessDatabase.decimal(row, OVERTIME),
+                AccessDatabase.decimal(row, GROSS),
+                AccessDatabase.decimal(row, LATE),
+                AccessDatabase.decimal(row, SSS),
+                AccessDatabase.decimal(row, PHILHEALTH),
+                AccessDatabase.decimal(row, PAGIBIG),
+                AccessDatabase.decimal(row, TAX),
+                AccessDatabase.decimal(row, TOTAL_DEDUCTIONS),
+                AccessDatabase.decimal(row, NET),
+                AccessDatabase.integer(row, PROCESSED_BY),
+                AccessDatabase.timestamp(row, DATE_PROCESSED),
+                AccessDatabase.decimal(row, LEAVE_CREDITS),
+                AccessDatabase.decimal(row, LEAVE_TAKEN),
+                AccessDatabase.decimal(row, LEAVE_BALANCE)
+        );
+    }
+
+    private String buildPayslipId(Payslip p) {
+        if (p.getTransactionId() == null || p.getTransactionId().trim().isEmpty()) {
+            return "PS-" + p.getEmployeeId() + "-" + System.currentTimeMillis();
+        }
+        return "PS-" + p.getTransactionId();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.motorph.repository.AuditRepository;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.LeaveCreditsRepository;
+import com.motorph.repository.LeaveRepository;
+import com.motorph.repository.LogRepository;
+import com.motorph.repository.PayrollApprovalRepository;
+import com.motorph.repository.PayslipRepository;
+import com.motorph.repository.StorageProvider;
+import com.motorph.repository.TimeEntryRepository;
+import com.motorph.repository.UserRepository;
+import com.motorph.repository.YearToDateRepository;
+import com.motorph.repository.csv.CsvAuditRepository;
+import com.motorph.repository.csv.DataPaths;
+
+/**
+ * Storage backend on the Access database at DataPaths.ACCESS_DB. The audit
+ * log has no Access table and stays in CSV.
+ *
+ * @author ACER
+ */
+public class AccessStorageProvider implements StorageProvider {
+
+    private final AccessDatabase database;
+
+    public AccessStorageProvider(AccessDatabase database) {
+        this.database = database;
+    }
+
+    // Annotation: Provider over the shared database, or null when the file cannot be opened.
+    public static AccessStorageProvider open() {
+        AccessDatabase db = AccessDatabase.shared();
+        return db == null ? null : new AccessStorageProvider(db);
+    }
+
+    @Override
+    public String name() {
+        return DataPaths.STORAGE_ACCESS;
+    }
+
+    @Override
+    public EmployeeRepository employees() {
+        return new AccessEmployeeRepository(database);
+    }
+
+    @Override
+    public String employeeSource() {
+        return database.getFile().getPath();
+    }
+
+    @Override
+    public TimeEntryRepository timeEntries(EmployeeRepository employees) {
+        return new AccessTimeRepository(database);
+    }
+
+    @Override
+    public UserRepository users() {
+        return new AccessUserRepository(database);
+    }
+
+    @Override
+    public PayslipRepository payslips() {
+        return new AccessPayslipRepository(database);
+    }
+
+    @Override
+    public PayrollApprovalRepository payrollApprovals() {
+        return new AccessPayrollApprovalRepository(database);
+    }
+
+    @Override
+    public LeaveRepository leave() {
+        return new AccessLeaveRepository(database);
+    }
+
+    @Override
+    public LeaveCreditsRepository leaveCredits() {
+        return new AccessLeaveCreditsRepository(database);
+    }
+
+    @Override
+    public LogRepository logs() {
+        return new AccessLogRepository(database);
+    }
+
+    @Override
+    public AuditRepository audit() {
+        return new CsvAuditRepository();
+    }
+
+    @Override
+    public YearToDateRepository yearToDate() {
+        return new AccessYearToDateRepository(database);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.IndexCursor;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.TimeEntryRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access-backed TimeEntryRepository over the Time_Entries table. The primary
+ * key is (Employee_ID, Work_Date), so a period read is one index range and a
+ * punch is one keyed lookup plus an insert or in-place update.
+ *
+ * A punch keeps the stored time-in or time-out when its own value is null,
+ * like the CSV merge.
+ *
+ * @author ACER
+ */
+public class AccessTimeRepository implements TimeEntryRepository {
+
+    static final String TABLE = "Time_Entries";
+
+    private static final String EMPLOYEE_ID = "Employee_ID";
+    private static final String WORK_DATE = "Work_Date";
+    private static final String TIME_IN = "Time_In";
+    private static final String TIME_OUT = "Time_Out";
+
+    private final AccessDatabase database;
+
+    public AccessTimeRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessTimeRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(EMPLOYEE_ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(WORK_DATE, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(TIME_IN, DataType.SHORT_DATE_TIME))
+                .addColumn(new ColumnBuilder(TIME_OUT, DataType.SHORT_DATE_TIME))
+                .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).addColumns(EMPLOYEE_ID, WORK_DATE).setPrimaryKey())
+                .toTable(db);
+    }
+
+    @Override
+    public boolean saveEntry(int empId, TimeEntry entry) {
+        if (entry == null || entry.getDate() == null) {
+            return false;
+        }
+
+        LocalDateTime day = entry.getDate().atStartOfDay();
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row existing = CursorBuilder.findRowByPrimaryKey(t, empId, day);
+
+                if (existing == null) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put(EMPLOYEE_ID, empId);
+                    row.put(WORK_DATE, day);
+                    row.put(TIME_IN, at(entry.getDate(), entry.getTimeIn()));
+                    row.put(TIME_OUT, at(entry.getDate(), entry.getTimeOut()));
+                    t.addRowFromMap(row);
+                    return true;
+                }
+
+                if (entry.getTimeIn() != null) {
+                    existing.put(TIME_IN, at(entry.getDate(), entry.getTimeIn()));
+                }
+                if (entry.getTimeOut() != null) {
+                    existing.put(TIME_OUT, at(entry.getDate(), entry.getTimeOut()));
+                }
+                t.updateRow(existing);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    // Annotation: The employee's days are one range of the primary key.
+    @Override
+    public boolean deleteByEmployee(int empId) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                IndexCursor c = new CursorBuilder(t).setIndex(t.getPrimaryKeyIndex())
+                        .setStartEntry(empId).setEndEntry(empId)
+                        .toIndexCursor();
+                while (c.moveToNextRow()) {
+                    c.deleteCurrentRow();
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    // Annotation: Stamp of the whole database file; coarse, but it moves when another process writes.
+    @Override
+    public long changeStamp(int empId) {
+        File file = database.getFile();
+        return 31 * file.lastModified() + file.length();
+    }
+
+    @Override
+    public List<TimeEntry> getEntries(int empId) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                IndexCursor c = new CursorBuilder(t).setIndex(t.getPrimaryKeyIndex())
+                        .setStartEntry(empId).setEndEntry(empId)
+                        .toIndexCursor();
+                return read(c);
+            } catch (IOException | RuntimeException e) {
+                return new ArrayList<>();
+            }
+        }
+    }
+
+    @Override
+    public List<TimeEntry> findByEmployeeAndPeriod(int empId, PayPeriod period) {
+        if (period == null) {
+            return getEntries(empId);
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                IndexCursor c = new CursorBuilder(t).setIndex(t.getPrimaryKeyIndex())
+                        .setStartEntry(empId, period.getStartDate().atStartOfDay())
+                        .setEndEntry(empId, period.getEndDate().atStartOfDay())
+                        .setStartRowInclusive(true).setEndRowInclusive(true)
+                        .toIndexCursor();
+                return read(c);
+            } catch (IOException | RuntimeException e) {
+                return new ArrayList<>();
+            }
+        }
+    }
+
+    // Annotation: Rows without a time-in are not valid workdays and are skipped, as in the CSV reader.
+    private List<TimeEntry> read(IndexCursor cursor) {
+        List<TimeEntry> out = new ArrayList<>();
+        for (Row row : cursor) {
+            LocalDate date = AccessDatabase.date(row, WORK_DATE);
+            LocalDateTime in = AccessDatabase.timestamp(row, TIME_IN);
+            LocalDateTime timeOut = AccessDatabase.timestamp(row, TIME_OUT);
+            if (date == null || in == null) {
+                continue;
+            }
+            out.add(new TimeEntry(date, in.toLocalTime(), timeOut == null ? null : timeOut.toLocalTime()));
+        }
+        return out;
+    }
+
+    private static LocalDateTime at(LocalDate date, LocalTime time) {
+        return time == null ? null : date.atTime(time);
+    }
+}
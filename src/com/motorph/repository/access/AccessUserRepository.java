@@ -0,0 +1,200 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.models.User;
+import com.motorph.repository.UserRepository;
+import com.motorph.repository.csv.CsvUserRepository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access-backed UserRepository over the Users table, keyed by Username. Access
+ * text indexes compare without case, which matches the case-insensitive
+ * username lookup of the CSV login file. Roles are derived from Department the
+ * same way as in CsvUserRepository.
+ *
+ * @author ACER
+ */
+public class AccessUserRepository implements UserRepository {
+
+    static final String TABLE = "Users";
+
+    private static final String USERNAME = "Username";
+    private static final String PASSWORD = "Password";
+    private static final String EMPLOYEE_ID = "Employee_ID";
+    private static final String EMPLOYEE_NAME = "Employee_Name";
+    private static final String DEPARTMENT = "Department";
+    private static final String LOCKED = "Locked";
+
+    private final AccessDatabase database;
+
+    public AccessUserRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessUserRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(USERNAME, DataType.TEXT))
+                .addColumn(new ColumnBuilder(PASSWORD, DataType.TEXT))
+                .addColumn(new ColumnBuilder(EMPLOYEE_ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(EMPLOYEE_NAME, DataType.TEXT))
+                .addColumn(new ColumnBuilder(DEPARTMENT, DataType.TEXT))
+                .addColumn(new ColumnBuilder(LOCKED, DataType.BOOLEAN))
+                .addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).addColumns(USERNAME).setPrimaryKey())
+                .toTable(db);
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        if (username == null || username.trim().isEmpty()) {
+            return null;
+        }
+        synchronized (database) {
+            try {
+                Row row = CursorBuilder.findRowByPrimaryKey(database.table(TABLE), username.trim());
+                return row == null ? null : toUser(row);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void save(User account, String firstName, String lastName, String dept) {
+        if (account == null || account.getUsername() == null || account.getUsername().trim().isEmpty()) {
+            return;
+        }
+
+        String username = account.getUsername().trim();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(USERNAME, username);
+        row.put(PASSWORD, account.getPassword() == null ? "" : account.getPassword().trim());
+        row.put(EMPLOYEE_ID, account.getId() > 0 ? account.getId() : safeParseInt(username, 0));
+        row.put(EMPLOYEE_NAME, buildEmployeeName(firstName, lastName));
+        row.put(DEPARTMENT, dept == null ? "" : dept.trim());
+        row.put(LOCKED, account.isLocked());
+
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row existing = CursorBuilder.findRowByPrimaryKey(t, username);
+                if (existing == null) {
+                    t.addRowFromMap(row);
+                } else {
+                    existing.putAll(row);
+                    t.updateRow(existing);
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error saving user: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void updatePassword(String username, String newPassword) {
+        updateField(username, PASSWORD, newPassword == null ? "" : newPassword.trim());
+    }
+
+    @Override
+    public void updateLockStatus(String username, boolean isLocked) {
+        updateField(username, LOCKED, isLocked);
+    }
+
+    @Override
+    public boolean deleteByUsername(String username) {
+        if (username == null || username.trim().isEmpty()) {
+            return false;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row row = CursorBuilder.findRowByPrimaryKey(t, username.trim());
+                if (row == null) {
+                    return false;
+                }
+                t.deleteRow(row);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        List<User> users = new ArrayList<>();
+        synchronized (database) {
+            try {
+                for (Row row : database.table(TABLE)) {
+                    users.add(toUser(row));
+                }
+            } catch (RuntimeException | IOException e) {
+                return users;
+            }
+        }
+        return users;
+    }
+
+    private void updateField(String username, String column, Object value) {
+        if (username == null || username.trim().isEmpty()) {
+            return;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                Row row = CursorBuilder.findRowByPrimaryKey(t, username.trim());
+                if (row != null) {
+                    row.put(column, value);
+                    t.updateRow(row);
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error updating user: " + e.getMessage());
+            }
+        }
+    }
+
+    private User toUser(Map<String, Object> row) {
+        String username = AccessDatabase.text(row, USERNAME);
+        int id = AccessDatabase.integer(row, EMPLOYEE_ID);
+        if (id <= 0) {
+            id = safeParseInt(username, 0);
+        }
+        return new User(id, username, AccessDatabase.text(row, PASSWORD),
+                CsvUserRepository.rolesForDepartment(AccessDatabase.text(row, DEPARTMENT)),
+                Boolean.TRUE.equals(row.get(LOCKED)));
+    }
+
+    private int safeParseInt(String value, int fallback) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private String buildEmployeeName(String firstName, String lastName) {
+        String fn = firstName == null ? "" : firstName.trim();
+        String ln = lastName == null ? "" : lastName.trim();
+        String full = (fn + " " + ln).trim();
+        return full.isEmpty() ? "N/A" : full;
+    }
+}
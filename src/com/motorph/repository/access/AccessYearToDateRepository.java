@@ -0,0 +1,296 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.access;
+
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.IndexBuilder;
+import com.healthmarketscience.jackcess.IndexCursor;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import com.motorph.domain.models.YearToDate;
+import com.motorph.repository.YearToDateRepository;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Access-backed YearToDateRepository over the Year_To_Date table, one row per
+ * employee, year and semi-monthly bucket keyed by all three. Amounts are whole
+ * centavos, minutes or counts, stored as DOUBLE since Access LONG is 32-bit.
+ *
+ * A table cannot be dropped, so a marker row (Employee_ID 0) records that the
+ * store was built; replaceAll writes it and discard removes it with the rest.
+ *
+ * @author ACER
+ */
+public class AccessYearToDateRepository implements YearToDateRepository {
+
+    static final String TABLE = "Year_To_Date";
+
+    private static final String EMPLOYEE_ID = "Employee_ID";
+    private static final String YEAR = "Year";
+    private static final String BUCKET = "Bucket";
+    // Annotation: In YearToDate column order.
+    private static final String[] AMOUNTS = {
+        "Gross", "SSS", "PhilHealth", "PagIbig", "Tax", "Total_Deductions", "Net_Pay", "Payslips", "Leave_Minutes"
+    };
+
+    private static final int MARKER_EMPLOYEE = 0;
+
+    private final AccessDatabase database;
+
+    public AccessYearToDateRepository() {
+        this(AccessDatabase.shared());
+    }
+
+    public AccessYearToDateRepository(AccessDatabase database) {
+        this.database = database;
+    }
+
+    static void createTable(Database db) throws IOException {
+        TableBuilder builder = new TableBuilder(TABLE)
+                .addColumn(new ColumnBuilder(EMPLOYEE_ID, DataType.LONG))
+                .addColumn(new ColumnBuilder(YEAR, DataType.LONG))
+                .addColumn(new ColumnBuilder(BUCKET, DataType.LONG));
+        for (String amount : AMOUNTS) {
+            builder.addColumn(new ColumnBuilder(amount, DataType.DOUBLE));
+        }
+        builder.addIndex(new IndexBuilder(IndexBuilder.PRIMARY_KEY_NAME).addColumns(EMPLOYEE_ID, YEAR, BUCKET).setPrimaryKey())
+                .toTable(db);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        synchronized (database) {
+            try {
+                return CursorBuilder.findRowByPrimaryKey(database.table(TABLE), MARKER_EMPLOYEE, 0, 0) != null;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public YearToDate find(int empId, int year) {
+        if (empId == MARKER_EMPLOYEE) {
+            return null;
+        }
+        synchronized (database) {
+            try {
+                YearToDate ytd = null;
+                for (Row row : yearCursor(database.table(TABLE), empId, year)) {
+                    if (ytd == null) {
+                        ytd = new YearToDate(empId, year);
+                    }
+                    int bucket = AccessDatabase.integer(row, BUCKET);
+                    for (int c = 0; c < YearToDate.COLUMNS; c++) {
+                        ytd.add(c, bucket, amount(row, c));
+                    }
+                }
+                return ytd;
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public boolean add(YearToDate delta) {
+        if (delta == null || delta.getEmployeeId() == MARKER_EMPLOYEE) {
+            return false;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                for (int b = 0; b < YearToDate.BUCKETS; b++) {
+                    long[] amounts = new long[YearToDate.COLUMNS];
+                    boolean empty = true;
+                    for (int c = 0; c < YearToDate.COLUMNS; c++) {
+                        amounts[c] = delta.get(c, b);
+                        empty &= amounts[c] == 0;
+                    }
+                    if (!empty) {
+                        addToBucket(t, delta.getEmployeeId(), delta.getYear(), b, amounts);
+                    }
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean replaceColumn(int empId, int column, Map<Integer, long[]> bucketsByYear) {
+        if (empId == MARKER_EMPLOYEE) {
+            return false;
+        }
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+
+                // Annotation: Existing rows are set in place; buckets only in the map are added after the scan.
+                Map<Integer, long[]> remaining = new HashMap<>();
+                for (Map.Entry<Integer, long[]> e : bucketsByYear.entrySet()) {
+                    remaining.put(e.getKey(), e.getValue().clone());
+                }
+                IndexCursor c = employeeCursor(t, empId);
+                while (c.moveToNextRow()) {
+                    Row row = c.getCurrentRow();
+                    int year = AccessDatabase.integer(row, YEAR);
+                    int bucket = AccessDatabase.integer(row, BUCKET);
+                    long[] target = remaining.get(year);
+                    long want = target == null ? 0 : target[bucket];
+                    if (target != null) {
+                        target[bucket] = 0;
+                    }
+                    if (amount(row, column) != want) {
+                        row.put(AMOUNTS[column], (double) want);
+                        c.updateCurrentRowFromMap(row);
+                    }
+                }
+
+                for (Map.Entry<Integer, long[]> e : remaining.entrySet()) {
+                    long[] target = e.getValue();
+                    for (int b = 0; b < YearToDate.BUCKETS; b++) {
+                        if (target[b] != 0) {
+                            long[] amounts = new long[YearToDate.COLUMNS];
+                            amounts[column] = target[b];
+                            t.addRowFromMap(values(empId, e.getKey(), b, amounts));
+                        }
+                    }
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean replaceAll(Collection<YearToDate> totals) {
+        synchronized (database) {
+            try {
+                Table t = database.table(TABLE);
+                deleteAll(t);
+                t.addRowFromMap(values(MARKER_EMPLOYEE, 0, 0, new long[YearToDate.COLUMNS]));
+
+                Set<Long> written = new HashSet<>();
+                for (YearToDate ytd : totals) {
+                    if (ytd.getEmployeeId() == MARKER_EMPLOYEE) {
+                        continue;
+                    }
+                    // Annotation: A repeated employee and year is summed into the rows already written.
+                    boolean repeat = !written.add(((long) ytd.getEmployeeId() << 16) | (ytd.getYear() & 0xFFFF));
+                    for (int b = 0; b < YearToDate.BUCKETS; b++) {
+                        long[] amounts = new long[YearToDate.COLUMNS];
+                        boolean empty = true;
+                        for (int c = 0; c < YearToDate.COLUMNS; c++) {
+                            amounts[c] = ytd.get(c, b);
+                            empty &= amounts[c] == 0;
+                        }
+                        if (empty) {
+                            continue;
+                        }
+                        if (repeat) {
+                            addToBucket(t, ytd.getEmployeeId(), ytd.getYear(), b, amounts);
+                        } else {
+                            t.addRowFromMap(values(ytd.getEmployeeId(), ytd.getYear(), b, amounts));
+                        }
+                    }
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean removeEmployee(int empId) {
+        if (empId == MARKER_EMPLOYEE) {
+            return false;
+        }
+        synchronized (database) {
+            try {
+                IndexCursor c = employeeCursor(database.table(TABLE), empId);
+                while (c.moveToNextRow()) {
+                    c.deleteCurrentRow();
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean discard() {
+        synchronized (database) {
+            try {
+                deleteAll(database.table(TABLE));
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    private void addToBucket(Table t, int empId, int year, int bucket, long[] amounts) throws IOException {
+        Row row = CursorBuilder.findRowByPrimaryKey(t, empId, year, bucket);
+        if (row == null) {
+            t.addRowFromMap(values(empId, year, bucket, amounts));
+            return;
+        }
+        for (int c = 0; c < YearToDate.COLUMNS; c++) {
+            row.put(AMOUNTS[c], (double) (amount(row, c) + amounts[c]));
+        }
+        t.updateRow(row);
+    }
+
+    private static void deleteAll(Table t) throws IOException {
+        Cursor c = CursorBuilder.createCursor(t);
+        while (c.moveToNextRow()) {
+            c.deleteCurrentRow();
+        }
+    }
+
+    private static IndexCursor employeeCursor(Table t, int empId) throws IOException {
+        return new CursorBuilder(t).setIndex(t.getPrimaryKeyIndex())
+                .setStartEntry(empId).setEndEntry(empId)
+                .toIndexCursor();
+    }
+
+    private static IndexCursor yearCursor(Table t, int empId, int year) throws IOException {
+        return new CursorBuilder(t).setIndex(t.getPrimaryKeyIndex())
+                .setStartEntry(empId, year).setEndEntry(empId, year)
+                .toIndexCursor();
+    }
+
+    private static Map<String, Object> values(int empId, int year, int bucket, long[] amounts) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(EMPLOYEE_ID, empId);
+        values.put(YEAR, year);
+        values.put(BUCKET, bucket);
+        for (int c = 0; c < YearToDate.COLUMNS; c++) {
+            values.put(AMOUNTS[c], (double) amounts[c]);
+        }
+        return values;
+    }
+
+    private static long amount(Map<String, Object> row, int column) {
+        return Math.round(AccessDatabase.decimal(row, AMOUNTS[column]));
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.TimeEntryRepository;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * TimeEntryRepository decorator that serves closed years from the binary
+ * attendance archive (see DtrArchiveFile, DtrArchiver) and everything else
+ * from the wrapped repository.
+ *
+ * Archived years are read-only: saveEntry refuses dates inside them. The CSV
+ * rows of an archived year are left in place, so if an archive file fails its
+ * checksum the year is quietly read from the CSV again.
+ *
+ * @author ACER
+ */
+public class ArchivedTimeRepository implements TimeEntryRepository {
+
+    // Annotation: Receives one archived row as primitives, so a bulk scan creates no objects per row.
+    public interface AttendanceVisitor {
+
+        void visit(int empId, int epochDay, int inMinute, int outMinute);
+    }
+
+    private final TimeEntryRepository delegate;
+    private final File folder;
+
+    private long catalogStamp = Long.MIN_VALUE;
+    private Map<Integer, DtrArchiveFile> catalog = new TreeMap<>();
+
+    public ArchivedTimeRepository(TimeEntryRepository delegate) {
+        this(delegate, new File(DataPaths.DTR_ARCHIVE_FOLDER));
+    }
+
+    public ArchivedTimeRepository(TimeEntryRepository delegate, File folder) {
+        this.delegate = delegate;
+        this.folder = folder;
+    }
+
+    @Override
+    public boolean saveEntry(int empId, TimeEntry entry) {
+        if (entry != null && entry.getDate() != null && isArchived(entry.getDate())) {
+            return false;
+        }
+        return delegate.saveEntry(empId, entry);
+    }
+
+    // Annotation: Only the live rows are deleted; archive files are read-only and keep the employee's closed years.
+    @Override
+    public boolean deleteByEmployee(int empId) {
+        return delegate.deleteByEmployee(empId);
+    }
+
+    @Override
+    public long changeStamp(int empId) {
+        return 31 * delegate.changeStamp(empId) + folder.lastModified();
+    }
+
+    @Override
+    public List<TimeEntry> getEntries(int empId) {
+        Map<Integer, DtrArchiveFile> archives = catalog();
+        if (archives.isEmpty()) {
+            return delegate.getEntries(empId);
+        }
+        return merge(empId, archives, Integer.MIN_VALUE, Integer.MAX_VALUE, delegate.getEntries(empId));
+    }
+
+    @Override
+    public List<TimeEntry> findByEmployeeAndPeriod(int empId, PayPeriod period) {
+        Map<Integer, DtrArchiveFile> archives = catalog();
+        if (period == null || archives.isEmpty()) {
+            return delegate.findByEmployeeAndPeriod(empId, period);
+        }
+
+        LocalDate start = period.getStartDate();
+        LocalDate end = period.getEndDate();
+        boolean allArchived = true;
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            DtrArchiveFile archive = archives.get(year);
+            if (archive == null || !archive.verify(DtrArchiveFile.COL_EMPLOYEE, DtrArchiveFile.COL_DAY,
+                    DtrArchiveFile.COL_IN, DtrArchiveFile.COL_OUT)) {
+                allArchived = false;
+                break;
+            }
+        }
+
+        // Annotation: The wrapped repository is skipped entirely when every year of the period is archived.
+        List<TimeEntry> live = allArchived ? new ArrayList<>() : delegate.findByEmployeeAndPeriod(empId, period);
+        return merge(empId, archives, (int) start.toEpochDay(), (int) end.toEpochDay(), live);
+    }
+
+    public boolean isArchived(LocalDate date) {
+        return date != null && catalog().containsKey(date.getYear());
+    }
+
+    /**
+     * Visits every archived row dated within [from, to], in employee then
+     * date order. Only the day column is read for rows outside the range.
+     *
+     * @return false if an archive in the range failed its checksum; rows from
+     * the other archives are still visited
+     */
+    public boolean forEachArchived(LocalDate from, LocalDate to, AttendanceVisitor visitor) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        boolean ok = true;
+
+        for (DtrArchiveFile archive : catalog().values()) {
+            if (archive.lastEpochDay() < fromDay || archive.firstEpochDay() > toDay) {
+                continue;
+            }
+            if (!archive.verify(DtrArchiveFile.COL_EMPLOYEE, DtrArchiveFile.COL_DAY,
+                    DtrArchiveFile.COL_IN, DtrArchiveFile.COL_OUT)) {
+                ok = false;
+                continue;
+            }
+
+            int rows = archive.rows();
+            for (int row = 0; row < rows; row++) {
+                int day = archive.epochDayAt(row);
+                if (day >= fromDay && day <= toDay) {
+                    visitor.visit(archive.employeeAt(row), day, archive.inMinuteAt(row), archive.outMinuteAt(row));
+                }
+            }
+        }
+        return ok;
+    }
+
+    // Annotation: Forces the next call to re-read the archive folder, e.g. after DtrArchiver wrote a year.
+    public synchronized void reload() {
+        catalogStamp = Long.MIN_VALUE;
+    }
+
+    /**
+     * Archived rows of the employee within [fromDay, toDay] from every year
+     * whose archive verifies, plus the live rows from the other years, sorted
+     * by date.
+     */
+    private List<TimeEntry> merge(int empId, Map<Integer, DtrArchiveFile> archives,
+            int fromDay, int toDay, List<TimeEntry> live) {
+        List<TimeEntry> out = new ArrayList<>();
+        List<Integer> served = new ArrayList<>();
+
+        for (Map.Entry<Integer, DtrArchiveFile> e : archives.entrySet()) {
+            DtrArchiveFile archive = e.getValue();
+            if (archive.lastEpochDay() < fromDay || archive.firstEpochDay() > toDay) {
+                continue;
+            }
+            if (!archive.verify(DtrArchiveFile.COL_EMPLOYEE, DtrArchiveFile.COL_DAY,
+                    DtrArchiveFile.COL_IN, DtrArchiveFile.COL_OUT)) {
+                continue;
+            }
+            served.add(e.getKey());
+
+            int endRow = archive.endRowOf(empId);
+            for (int row = archive.firstRowOf(empId); row < endRow; row++) {
+                int day = archive.epochDayAt(row);
+                if (day < fromDay || day > toDay) {
+                    continue;
+                }
+                int outMinute = archive.outMinuteAt(row);
+                out.add(new TimeEntry(LocalDate.ofEpochDay(day), toTime(archive.inMinuteAt(row)),
+                        outMinute == DtrArchiveFile.NO_TIME ? null : toTime(outMinute)));
+            }
+        }
+
+        if (served.isEmpty()) {
+            return live;
+        }
+        for (TimeEntry entry : live) {
+            if (!served.contains(entry.getDate().getYear())) {
+                out.add(entry);
+            }
+        }
+        out.sort(Comparator.comparing(TimeEntry::getDate));
+        return out;
+    }
+
+    private static LocalTime toTime(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    // Annotation: Archive files are reopened only when the folder's modification time changes.
+    private synchronized Map<Integer, DtrArchiveFile> catalog() {
+        long stamp = folder.lastModified();
+        if (stamp == catalogStamp) {
+            return catalog;
+        }
+
+        Map<Integer, DtrArchiveFile> next = new TreeMap<>();
+        File[] files = folder.listFiles((dir, name)
+                -> name.startsWith(DtrArchiveFile.FILE_PREFIX) && name.endsWith(DtrArchiveFile.FILE_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    int year = Integer.parseInt(name.substring(DtrArchiveFile.FILE_PREFIX.length(),
+                            name.length() - DtrArchiveFile.FILE_SUFFIX.length()));
+                    DtrArchiveFile archive = DtrArchiveFile.open(file);
+                    if (archive != null) {
+                        next.put(year, archive);
+                    }
+                } catch (NumberFormatException ignored) {
+                    // files with an unexpected name are left alone
+                }
+            }
+        }
+
+        catalog = next;
+        catalogStamp = stamp;
+        return catalog;
+    }
+}
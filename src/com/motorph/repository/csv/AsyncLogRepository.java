@@ -0,0 +1,274 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import com.motorph.domain.models.LogEntry;
+import com.motorph.repository.LogRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Queues system log entries in memory and writes them to the delegate store
+ * from one background writer thread, several rows per batch. Log ids come from
+ * an in-memory sequence seeded once from the store, so save() never scans the
+ * log and the entry carries its id as soon as it is queued.
+ *
+ * When the queue is full the overflow policy decides what happens: BLOCK waits
+ * for room, DROP discards the entry, SPILL appends it directly on the calling
+ * thread. Pending entries are written by flush(), by findAll(), and by a
+ * shutdown hook.
+ *
+ * @author ACER
+ */
+public class AsyncLogRepository implements LogRepository {
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, SPILL
+    }
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int MAX_BATCH = 256;
+    public static final long FLUSH_TIMEOUT_MS = 5000;
+
+    // Annotation: -Dmotorph.log.capacity and -Dmotorph.log.overflow tune configured instances.
+    public static final String CAPACITY_PROPERTY = "motorph.log.capacity";
+    public static final String OVERFLOW_PROPERTY = "motorph.log.overflow";
+
+    private final LogRepository delegate;
+    private final BlockingQueue<LogEntry> queue;
+    private final OverflowPolicy policy;
+    private final AtomicInteger sequence;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object writeLock = new Object();
+    private final Object enqueueLock = new Object();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncLogRepository(LogRepository delegate) {
+        this(delegate, DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    public AsyncLogRepository(LogRepository delegate, int capacity, OverflowPolicy policy) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.policy = (policy != null) ? policy : OverflowPolicy.BLOCK;
+        this.sequence = new AtomicInteger(delegate.lastId());
+
+        writer = new Thread(this::writeLoop, "system-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "system-log-flush"));
+    }
+
+    // Annotation: Queue capacity and overflow policy are taken from the system properties above.
+    public static AsyncLogRepository configured(LogRepository delegate) {
+        int capacity = parseCapacity(System.getProperty(CAPACITY_PROPERTY));
+        OverflowPolicy policy = parsePolicy(System.getProperty(OVERFLOW_PROPERTY));
+        return new AsyncLogRepository(delegate, capacity, policy);
+    }
+
+    @Override
+    public boolean save(LogEntry entry) {
+        if (entry == null) {
+            return false;
+        }
+
+        // Annotation: Ids are assigned in enqueue order so queued rows reach the file in id order.
+        synchronized (enqueueLock) {
+            if (entry.getId() <= 0) {
+                entry.setId(sequence.incrementAndGet());
+            }
+
+            if (!running) {
+                return writeNow(entry);
+            }
+
+            pending.incrementAndGet();
+            if (queue.offer(entry)) {
+                return true;
+            }
+
+            switch (policy) {
+                case DROP:
+                    done(1);
+                    dropped.incrementAndGet();
+                    return false;
+                case SPILL:
+                    done(1);
+                    return writeNow(entry);
+                case BLOCK:
+                default:
+                    try {
+                        queue.put(entry);
+                        return true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        done(1);
+                        return writeNow(entry);
+                    }
+            }
+        }
+    }
+
+    // Annotation: Pending entries are written first so callers read their own log rows.
+    @Override
+    public List<LogEntry> findAll() {
+        flush();
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<LogEntry> findByTimeRange(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        flush();
+        return delegate.findByTimeRange(from, to, offset, limit);
+    }
+
+    @Override
+    public int deleteWhere(Predicate<LogEntry> filter) {
+        flush();
+        return delegate.deleteWhere(filter);
+    }
+
+    /**
+     * Writes every entry queued before this call. Returns false if the writer
+     * could not catch up within FLUSH_TIMEOUT_MS.
+     */
+    @Override
+    public boolean flush() {
+        drainAndWrite();
+
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MS;
+        synchronized (pending) {
+            while (pending.get() > 0) {
+                long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) {
+                    return false;
+                }
+                try {
+                    pending.wait(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return pending.get() == 0;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Annotation: Stops the writer after flushing; later saves are written directly.
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flush();
+        writer.interrupt();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    private void writeLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                LogEntry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<LogEntry> batch = new ArrayList<>();
+                batch.add(first);
+                try {
+                    synchronized (writeLock) {
+                        queue.drainTo(batch, MAX_BATCH - 1);
+                        write(batch);
+                    }
+                } finally {
+                    done(batch.size());
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                // a failed batch must not stop the writer
+            }
+        }
+    }
+
+    // Annotation: Lets flush() write on the caller thread instead of waiting for the next writer pass.
+    private void drainAndWrite() {
+        List<LogEntry> batch = new ArrayList<>();
+        synchronized (writeLock) {
+            while (queue.drainTo(batch, MAX_BATCH) > 0) {
+                write(batch);
+                done(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean writeNow(LogEntry entry) {
+        List<LogEntry> one = new ArrayList<>(1);
+        one.add(entry);
+        synchronized (writeLock) {
+            return write(one);
+        }
+    }
+
+    // Annotation: Entries built with an id of 0 always leave with one.
+    private boolean write(List<LogEntry> batch) {
+        for (LogEntry entry : batch) {
+            if (entry.getId() <= 0) {
+                entry.setId(sequence.incrementAndGet());
+            }
+        }
+        return delegate.saveBatch(batch);
+    }
+
+    private void done(int count) {
+        if (pending.addAndGet(-count) <= 0) {
+            synchronized (pending) {
+                pending.notifyAll();
+            }
+        }
+    }
+
+    private static int parseCapacity(String raw) {
+        try {
+            return (raw == null) ? DEFAULT_CAPACITY : Math.max(1, Integer.parseInt(raw.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_CAPACITY;
+        }
+    }
+
+    private static OverflowPolicy parsePolicy(String raw) {
+        try {
+            return (raw == null) ? OverflowPolicy.BLOCK : OverflowPolicy.valueOf(raw.trim().toUpperCase(Locale.US));
+        } catch (IllegalArgumentException e) {
+            return OverflowPolicy.BLOCK;
+        }
+    }
+}
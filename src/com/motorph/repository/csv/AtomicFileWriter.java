@@ -0,0 +1,164 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe replacement of a whole file. The new content is written to a
+ * temp file in the same folder, forced to disk, and renamed over the target
+ * in one step. A crash leaves either the old file or the new one, never a
+ * truncated mix, and a reader that opens the file always sees one complete
+ * version, so it needs no lock.
+ *
+ * With backups > 0 the replaced version is kept as {name}.bak1, older ones
+ * shifting to .bak2 and so on up to the given count.
+ *
+ * @author ACER
+ */
+public final class AtomicFileWriter {
+
+    // Annotation: Writes the full new content; the writer is flushed and closed by AtomicFileWriter.
+    @FunctionalInterface
+    public interface Body {
+
+        void writeTo(BufferedWriter bw) throws IOException;
+    }
+
+    // Annotation: Byte-level variant, for compressed files; closing the stream only flushes it.
+    @FunctionalInterface
+    public interface StreamBody {
+
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private AtomicFileWriter() {
+    }
+
+    public static boolean write(String path, Body body) {
+        return write(new File(path), Charset.defaultCharset(), 0, body);
+    }
+
+    public static boolean write(File target, Body body) {
+        return write(target, Charset.defaultCharset(), 0, body);
+    }
+
+    /**
+     * Replaces target with what body writes. Returns false, leaving the
+     * target untouched, if anything fails before the rename.
+     */
+    public static boolean write(File target, Charset charset, int backups, Body body) {
+        return writeStream(target, backups, out -> {
+            BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, charset));
+            body.writeTo(bw);
+            bw.flush();
+        });
+    }
+
+    public static boolean writeStream(File target, int backups, StreamBody body) {
+        File dir = target.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists()) {
+            dir.mkdirs();
+        }
+
+        File temp;
+        try {
+            temp = File.createTempFile("." + target.getName() + ".", ".tmp", dir);
+        } catch (IOException e) {
+            return false;
+        }
+
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            body.writeTo(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            });
+            out.getFD().sync();
+        } catch (Exception e) {
+            temp.delete();
+            return false;
+        }
+
+        if (backups > 0 && target.exists()) {
+            keepBackup(target, backups);
+        }
+
+        try {
+            move(temp.toPath(), target.toPath());
+        } catch (Exception e) {
+            temp.delete();
+            return false;
+        }
+
+        syncDirectory(dir);
+        return true;
+    }
+
+    public static File backupFile(File target, int generation) {
+        return new File(target.getPath() + ".bak" + generation);
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Annotation: Shifts .bak1..bak{n-1} up one place, then links the current file as .bak1.
+    private static void keepBackup(File target, int backups) {
+        try {
+            Files.deleteIfExists(backupFile(target, backups).toPath());
+            for (int g = backups - 1; g >= 1; g--) {
+                File older = backupFile(target, g);
+                if (older.exists()) {
+                    Files.move(older.toPath(), backupFile(target, g + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+
+            Path first = backupFile(target, 1).toPath();
+            try {
+                Files.createLink(first, target.toPath());
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(target.toPath(), first, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // a missed backup does not block the write itself
+        }
+    }
+
+    // Annotation: Makes the rename itself durable where the platform allows opening a folder.
+    private static void syncDirectory(File dir) {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (Exception e) {
+            // not supported on every platform
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.ProbationaryEmployee;
+import com.motorph.domain.models.RegularEmployee;
+import com.motorph.repository.EmployeeRepository;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caching decorator for EmployeeRepository. Keeps the parsed employee master
+ * in memory with an ID index, so findById is a map probe instead of a full
+ * file parse.
+ *
+ * The cache is dropped after create, update and delete, and reloaded when the
+ * source file's modification time or size changes (for example, when the CSV
+ * is edited outside the app).
+ *
+ * Readers get their own copies, so a caller that edits an employee before an
+ * update that is then rejected does not change what other readers see.
+ *
+ * @author ACER
+ */
+public class CachedEmployeeRepository implements EmployeeRepository {
+
+    // Annotation: Disk metadata is checked at most this often between writes.
+    private static final long STALE_CHECK_INTERVAL_MS = 1000;
+
+    private final EmployeeRepository delegate;
+    private final File sourceFile;
+
+    private volatile Snapshot snapshot;
+    private volatile long nextStaleCheckAt;
+
+    public CachedEmployeeRepository(EmployeeRepository delegate) {
+        this(delegate, DataPaths.EMPLOYEE_CSV);
+    }
+
+    public CachedEmployeeRepository(EmployeeRepository delegate, String sourcePath) {
+        this.delegate = delegate;
+        this.sourceFile = new File(sourcePath);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        List<Employee> rows = current().ordered;
+        List<Employee> out = new ArrayList<>(rows.size());
+        for (Employee emp : rows) {
+            out.add(copyOf(emp));
+        }
+        return out;
+    }
+
+    @Override
+    public Employee findById(int id) {
+        Employee emp = current().byId.get(id);
+        return emp == null ? null : copyOf(emp);
+    }
+
+    @Override
+    public void create(Employee emp) {
+        try {
+            delegate.create(emp);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean update(Employee emp) {
+        try {
+            return delegate.update(emp);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean delete(int empId) {
+        try {
+            return delegate.delete(empId);
+        } finally {
+            invalidate();
+        }
+    }
+
+    // Annotation: Drops the cached rows so the next read parses the file again.
+    public void invalidate() {
+        snapshot = null;
+        nextStaleCheckAt = 0;
+    }
+
+    // Annotation: Field-by-field copy, keeping the regular or probationary type.
+    private static Employee copyOf(Employee src) {
+        Employee emp = (src instanceof ProbationaryEmployee)
+                ? new ProbationaryEmployee(src.getEmployeeNumber(), src.getLastName(), src.getFirstName())
+                : new RegularEmployee(src.getEmployeeNumber(), src.getLastName(), src.getFirstName());
+
+        emp.setBirthday(src.getBirthday());
+        emp.setAddress(src.getAddress());
+        emp.setPhoneNumber(src.getPhoneNumber());
+        emp.setSssNumber(src.getSssNumber());
+        emp.setPhilHealthNumber(src.getPhilHealthNumber());
+        emp.setTinNumber(src.getTinNumber());
+        emp.setPagIbigNumber(src.getPagIbigNumber());
+
+        emp.setStatus(src.getStatus());
+        emp.setPosition(src.getPosition());
+        emp.setImmediateSupervisor(src.getImmediateSupervisor());
+
+        emp.setBasicSalary(src.getBasicSalary());
+        emp.setRiceAllowance(src.getRiceAllowance());
+        emp.setPhoneAllowance(src.getPhoneAllowance());
+        emp.setClothingAllowance(src.getClothingAllowance());
+        emp.setGrossSemiMonthlyRate(src.getGrossSemiMonthlyRate());
+        emp.setHourlyRate(src.getHourlyRate());
+        return emp;
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() < nextStaleCheckAt) {
+            return s;
+        }
+        return refresh();
+    }
+
+    private synchronized Snapshot refresh() {
+        Snapshot s = snapshot;
+        long now = System.currentTimeMillis();
+        if (s != null && now < nextStaleCheckAt) {
+            return s;
+        }
+
+        long modified = sourceFile.lastModified();
+        long size = sourceFile.length();
+
+        if (s == null || s.modified != modified || s.size != size) {
+            s = new Snapshot(delegate.findAll(), modified, size);
+            snapshot = s;
+        }
+        nextStaleCheckAt = now + STALE_CHECK_INTERVAL_MS;
+        return s;
+    }
+
+    private static final class Snapshot {
+
+        private final List<Employee> ordered;
+        private final Map<Integer, Employee> byId;
+        private final long modified;
+        private final long size;
+
+        private Snapshot(List<Employee> rows, long modified, long size) {
+            List<Employee> list = new ArrayList<>(rows.size());
+            Map<Integer, Employee> index = new HashMap<>(rows.size() * 2);
+
+            for (Employee emp : rows) {
+                if (emp == null) {
+                    continue;
+                }
+                list.add(emp);
+                // First row wins, matching the file-order scan findById used before.
+                index.putIfAbsent(emp.getId(), emp);
+            }
+
+            this.ordered = Collections.unmodifiableList(list);
+            this.byId = index;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
+}
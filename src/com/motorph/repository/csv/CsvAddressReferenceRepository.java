@@ -111,7 +111,7 @@ public class CsvAddressReferenceRepository {
     }
 
     private String[] splitCsvLine(String line) {
-        return line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
+        return CsvTokenizer.split(line);
     }
 
     private boolean isBlank(String value) {
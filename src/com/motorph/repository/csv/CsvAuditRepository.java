@@ -28,6 +28,9 @@ public class CsvAuditRepository implements AuditRepository {
     // Extracts transaction IDs like: TX-10001-240601-240615
     private static final Pattern TX_PATTERN = Pattern.compile("(TX-\\d+-\\d{6}-\\d{6})");
 
+    // Annotation: Appends share the file lock with the rewrite that removes a deleted employee's rows.
+    private final RecordLockManager locks = RecordLockManager.shared();
+
     @Override
     public boolean logPayrollChange(String performedBy, String details) {
         return logChange("PAYROLL", performedBy, details);
@@ -44,6 +47,10 @@ public class CsvAuditRepository implements AuditRepository {
     }
 
     private boolean logChange(String targetTable, String performedBy, String details) {
+        return locks.call(new File(DataPaths.AUDIT_LOG_CSV), () -> append(targetTable, performedBy, details), false);
+    }
+
+    private boolean append(String targetTable, String performedBy, String details) {
         ensureHeader();
 
         String auditId = "AUD-" + System.currentTimeMillis();
@@ -91,12 +98,10 @@ public class CsvAuditRepository implements AuditRepository {
         }
     }
 
+    // Annotation: File creation failures are ignored.
     private void writeHeader() {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(DataPaths.AUDIT_LOG_CSV, false))) {
-            bw.write("Audit_ID,Category,Target_Table,Record_ID,Performed_By,Timestamp,Old_Value,New_Value");
-        } catch (Exception e) {
-            // File creation failures are ignored.
-        }
+        AtomicFileWriter.write(DataPaths.AUDIT_LOG_CSV,
+                bw -> bw.write("Audit_ID,Category,Target_Table,Record_ID,Performed_By,Timestamp,Old_Value,New_Value"));
     }
 
     private String extractTransactionId(String details) {
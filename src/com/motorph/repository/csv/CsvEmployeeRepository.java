@@ -26,9 +26,11 @@ import java.util.List;
 public class CsvEmployeeRepository implements EmployeeRepository {
 
     private static final String FILE_PATH = DataPaths.EMPLOYEE_CSV;
-    private static final String CSV_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy");
 
+    // Annotation: Appends and rewrites of the employee file share one lock.
+    private final RecordLockManager locks = RecordLockManager.shared();
+
     @Override
     public List<Employee> findAll() {
         List<Employee> employees = new ArrayList<>();
@@ -42,7 +44,7 @@ public class CsvEmployeeRepository implements EmployeeRepository {
                     continue;
                 }
 
-                String[] data = line.split(CSV_SPLIT_REGEX, -1);
+                String[] data = CsvTokenizer.split(line);
 
                 // Accept the employee master row using the current project columns.
                 if (data.length >= 19) {
@@ -71,11 +73,17 @@ public class CsvEmployeeRepository implements EmployeeRepository {
 
     @Override
     public void create(Employee emp) {
+        locks.call(new File(FILE_PATH), () -> append(emp), false);
+    }
+
+    private boolean append(Employee emp) {
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(FILE_PATH, true))) {
             bw.newLine();
             bw.write(emp.toCsvRow());
+            return true;
         } catch (IOException e) {
             e.printStackTrace();
+            return false;
         }
     }
 
@@ -84,7 +92,10 @@ public class CsvEmployeeRepository implements EmployeeRepository {
         if (emp == null) {
             return false;
         }
+        return locks.call(new File(FILE_PATH), () -> rewriteRow(emp), false);
+    }
 
+    private boolean rewriteRow(Employee emp) {
         List<String> lines = new ArrayList<>();
 
         try (BufferedReader br = new BufferedReader(new FileReader(FILE_PATH))) {
@@ -102,7 +113,7 @@ public class CsvEmployeeRepository implements EmployeeRepository {
                     continue;
                 }
 
-                String[] data = line.split(CSV_SPLIT_REGEX, -1);
+                String[] data = CsvTokenizer.split(line);
                 if (data.length < 1) {
                     continue;
                 }
@@ -130,21 +141,22 @@ public class CsvEmployeeRepository implements EmployeeRepository {
             return false;
         }
 
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(FILE_PATH, false))) {
+        return AtomicFileWriter.write(new File(FILE_PATH), java.nio.charset.Charset.defaultCharset(), DataPaths.BACKUP_GENERATIONS, bw -> {
             for (int i = 0; i < lines.size(); i++) {
                 bw.write(lines.get(i));
                 if (i < lines.size() - 1) {
                     bw.newLine();
                 }
             }
-            return true;
-        } catch (IOException e) {
-            return false;
-        }
+        });
     }
 
     @Override
     public boolean delete(int empId) {
+        return locks.call(new File(FILE_PATH), () -> removeRow(empId), false);
+    }
+
+    private boolean removeRow(int empId) {
         java.nio.file.Path path = java.nio.file.Paths.get(com.motorph.repository.csv.DataPaths.EMPLOYEE_CSV);
 
         if (!java.nio.file.Files.exists(path)) {
@@ -196,15 +208,12 @@ public class CsvEmployeeRepository implements EmployeeRepository {
                 return false;
             }
 
-            java.nio.file.Files.write(
-                    path,
-                    out,
-                    java.nio.charset.StandardCharsets.UTF_8,
-                    java.nio.file.StandardOpenOption.TRUNCATE_EXISTING,
-                    java.nio.file.StandardOpenOption.CREATE
-            );
-
-            return true;
+            return AtomicFileWriter.write(path.toFile(), java.nio.charset.StandardCharsets.UTF_8, DataPaths.BACKUP_GENERATIONS, bw -> {
+                for (String row : out) {
+                    bw.write(row);
+                    bw.newLine();
+                }
+            });
 
         } catch (Exception e) {
             return false;
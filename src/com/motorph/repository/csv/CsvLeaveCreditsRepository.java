@@ -4,9 +4,8 @@ import com.motorph.domain.models.LeaveCredits;
 import com.motorph.repository.LeaveCreditsRepository;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -21,6 +20,10 @@ import java.util.List;
 public class CsvLeaveCreditsRepository implements LeaveCreditsRepository {
 
     private static final String FILE_PATH = DataPaths.LEAVE_CREDITS_CSV;
+    private static final String HEADER = "Employee #,Last Name,First Name,Leave Credits,Leave Taken";
+
+    // Annotation: The whole file is rewritten, so concurrent updates share one lock.
+    private final RecordLockManager locks = RecordLockManager.shared();
 
     @Override
     public List<LeaveCredits> findAll() {
@@ -40,7 +43,7 @@ public class CsvLeaveCreditsRepository implements LeaveCreditsRepository {
                     continue;
                 }
 
-                String[] d = line.split(",", -1);
+                String[] d = CsvTokenizer.split(line);
 
                 if (!headerChecked) {
                     headerChecked = true;
@@ -85,6 +88,10 @@ public class CsvLeaveCreditsRepository implements LeaveCreditsRepository {
 
     @Override
     public boolean updateLeaveTaken(int empId, double leaveTakenHours) {
+        return locks.call(new File(FILE_PATH), () -> rewriteLeaveTaken(empId, leaveTakenHours), false);
+    }
+
+    private boolean rewriteLeaveTaken(int empId, double leaveTakenHours) {
         Path p = Paths.get(FILE_PATH);
         if (!Files.exists(p)) {
             return false;
@@ -108,7 +115,7 @@ public class CsvLeaveCreditsRepository implements LeaveCreditsRepository {
                     continue;
                 }
 
-                String[] d = line.split(",", -1);
+                String[] d = CsvTokenizer.split(line);
                 if (d.length < 4) {
                     out.add(line);
                     continue;
@@ -143,14 +150,89 @@ public class CsvLeaveCreditsRepository implements LeaveCreditsRepository {
                 return false;
             }
 
-            try (PrintWriter pw = new PrintWriter(new FileWriter(FILE_PATH, StandardCharsets.UTF_8, false))) {
+            return AtomicFileWriter.write(new File(FILE_PATH), StandardCharsets.UTF_8, DataPaths.BACKUP_GENERATIONS, bw -> {
                 for (String l : out) {
-                    pw.println(l);
+                    bw.write(l);
+                    bw.newLine();
                 }
+            });
+
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean create(LeaveCredits credits) {
+        if (credits == null || credits.getEmployeeNumber() <= 0) {
+            return false;
+        }
+        return locks.call(new File(FILE_PATH), () -> addRow(credits), false);
+    }
+
+    private boolean addRow(LeaveCredits credits) {
+        if (findByEmpId(credits.getEmployeeNumber()) != null) {
+            return true;
+        }
+
+        try {
+            Path p = Paths.get(FILE_PATH);
+            List<String> out = Files.exists(p) ? Files.readAllLines(p, StandardCharsets.UTF_8) : new ArrayList<>();
+            out.removeIf(l -> l == null || l.trim().isEmpty());
+            if (out.isEmpty()) {
+                out.add(HEADER);
             }
+            out.add(credits.getEmployeeNumber() + ","
+                    + escape(credits.getLastName()) + ","
+                    + escape(credits.getFirstName()) + ","
+                    + formatDouble(credits.getLeaveCreditsHours()) + ","
+                    + formatDouble(credits.getLeaveTakenHours()));
+
+            return AtomicFileWriter.write(new File(FILE_PATH), StandardCharsets.UTF_8, DataPaths.BACKUP_GENERATIONS, bw -> {
+                for (String l : out) {
+                    bw.write(l);
+                    bw.newLine();
+                }
+            });
+        } catch (Exception e) {
+            return false;
+        }
+    }
 
+    @Override
+    public boolean delete(int empId) {
+        return locks.call(new File(FILE_PATH), () -> removeRow(empId), false);
+    }
+
+    private boolean removeRow(int empId) {
+        Path p = Paths.get(FILE_PATH);
+        if (!Files.exists(p)) {
             return true;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(p, StandardCharsets.UTF_8);
+            List<String> out = new ArrayList<>();
+            boolean removed = false;
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (i > 0 && safeParseInt(CsvTokenizer.split(line)[0], -1) == empId) {
+                    removed = true;
+                    continue;
+                }
+                out.add(line);
+            }
 
+            if (!removed) {
+                return true;
+            }
+
+            return AtomicFileWriter.write(new File(FILE_PATH), StandardCharsets.UTF_8, DataPaths.BACKUP_GENERATIONS, bw -> {
+                for (String l : out) {
+                    bw.write(l);
+                    bw.newLine();
+                }
+            });
         } catch (Exception e) {
             return false;
         }
@@ -160,7 +242,8 @@ public class CsvLeaveCreditsRepository implements LeaveCreditsRepository {
         if (d == null || idx < 0 || idx >= d.length) {
             return "";
         }
-        return d[idx] == null ? "" : d[idx].trim();
+        // Annotation: Names may be quoted when they contain a comma.
+        return d[idx] == null ? "" : d[idx].replace("\"", "").trim();
     }
 
     private int safeParseInt(String raw, int fallback) {
@@ -183,6 +266,17 @@ public class CsvLeaveCreditsRepository implements LeaveCreditsRepository {
         }
     }
 
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        String v = value.trim().replace("\"", "\"\"");
+        if (v.contains(",") || v.contains("\"")) {
+            return "\"" + v + "\"";
+        }
+        return v;
+    }
+
     private String formatDouble(double v) {
         long rounded = Math.round(v);
         if (Math.abs(v - rounded) < 0.0000001) {
@@ -19,7 +19,6 @@ import java.util.*;
 
 public class CsvLeaveRepository implements LeaveRepository {
 
-    private static final String CSV_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.US);
     private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("h:mm a", Locale.US);
 
@@ -31,6 +30,20 @@ public class CsvLeaveRepository implements LeaveRepository {
             "First Name", "Last Name", "Status", "Reviewed_By", "Reviewed_At", "Decision_Note"
     );
 
+    private final boolean dateIndex;
+
+    // Annotation: The duplicate check and the append (or rewrite) of one employee's file run under one lock.
+    private final RecordLockManager locks = RecordLockManager.shared();
+
+    public CsvLeaveRepository() {
+        this(false);
+    }
+
+    // Annotation: Overloaded constructor that enables the per-file date index (see RecordDateIndex).
+    public CsvLeaveRepository(boolean dateIndex) {
+        this.dateIndex = dateIndex;
+    }
+
     @Override
     public List<LeaveRequest> findByEmployee(int empId) {
         return read(empId, null);
@@ -69,7 +82,10 @@ public class CsvLeaveRepository implements LeaveRepository {
     @Override
     public boolean updateDecision(int empId, String leaveId, LeaveStatus status, int reviewedBy, String reviewedAt, String note) {
         if (leaveId == null || leaveId.trim().isEmpty() || status == null) return false;
+        return locks.call(FILE_PREFIX, empId, () -> applyDecision(empId, leaveId, status, reviewedBy, reviewedAt, note), false);
+    }
 
+    private boolean applyDecision(int empId, String leaveId, LeaveStatus status, int reviewedBy, String reviewedAt, String note) {
         File file = new File(DataPaths.LEAVE_FOLDER + FILE_PREFIX + empId + FILE_SUFFIX);
         if (!file.exists()) return false;
 
@@ -94,23 +110,36 @@ public class CsvLeaveRepository implements LeaveRepository {
 
         if (!updated) return false;
 
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false))) {
-            bw.write(HEADER);
-            for (LeaveRequest r : out) {
-                bw.newLine();
-                bw.write(r.toCsvRow());
-            }
-            bw.flush(); // Force flush to ensure file saves immediately
-            return true;
-        } catch (Exception e) {
-            return false;
+        try {
+            return AtomicFileWriter.write(file, bw -> {
+                bw.write(HEADER);
+                for (LeaveRequest r : out) {
+                    bw.newLine();
+                    bw.write(r.toCsvRow());
+                }
+            });
+        } finally {
+            RecordDateIndex.invalidate(file);
         }
     }
 
     @Override
     public boolean create(LeaveRequest request) {
         if (request == null) return false;
+        return locks.call(FILE_PREFIX, request.getEmployeeId(), () -> append(request), false);
+    }
 
+    @Override
+    public boolean deleteByEmployee(int empId) {
+        return locks.call(FILE_PREFIX, empId, () -> {
+            File file = new File(DataPaths.LEAVE_FOLDER + FILE_PREFIX + empId + FILE_SUFFIX);
+            boolean deleted = !file.exists() || file.delete();
+            RecordDateIndex.invalidate(file);
+            return deleted;
+        }, false);
+    }
+
+    private boolean append(LeaveRequest request) {
         ensureFolder(DataPaths.LEAVE_FOLDER);
         File file = new File(DataPaths.LEAVE_FOLDER + FILE_PREFIX + request.getEmployeeId() + FILE_SUFFIX);
         ensureHeader(file);
@@ -123,13 +152,22 @@ public class CsvLeaveRepository implements LeaveRepository {
             }
         }
 
+        long sizeBefore = file.length();
+        long modifiedBefore = file.lastModified();
+
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, true))) {
             bw.newLine();
             bw.write(request.toCsvRow());
-            return true;
         } catch (Exception e) {
+            RecordDateIndex.invalidate(file);
             return false;
         }
+
+        // Annotation: The appended bytes extend the request month's range instead of forcing a rebuild.
+        if (dateIndex) {
+            RecordDateIndex.recordAppend(file, sizeBefore, modifiedBefore, request.getDate());
+        }
+        return true;
     }
 
     private List<LeaveRequest> read(int empId, PayPeriod period) {
@@ -138,54 +176,23 @@ public class CsvLeaveRepository implements LeaveRepository {
 
         List<LeaveRequest> out = new ArrayList<>();
 
+        // Annotation: Indexed period reads only decode rows from the period's months.
+        if (dateIndex && period != null && DateColumnScanner.SUPPORTED) {
+            List<long[]> regions = RecordDateIndex.regions(file, 2, period.getStartDate(), period.getEndDate());
+            if (regions != null) {
+                boolean read = DateColumnScanner.scanRegions(file, 2, period.getStartDate(), period.getEndDate(),
+                        regions, line -> readRow(line, empId, period, out));
+                return read ? out : new ArrayList<>();
+            }
+        }
+
         try (BufferedReader br = new BufferedReader(new FileReader(file))) {
             String first = br.readLine();
             if (first == null) return out;
 
             String line;
             while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-
-                String[] d = line.split(CSV_SPLIT_REGEX, -1);
-                if (d.length < 7) continue;
-
-                String leaveId = clean(d, 0);
-                int eId = parseInt(clean(d, 1), empId);
-                LocalDate date = parseDate(clean(d, 2));
-                LocalTime start = parseTime(clean(d, 3));
-                LocalTime end = parseTime(clean(d, 4));
-                String firstName = clean(d, 5);
-                String lastName = clean(d, 6);
-
-                // Robust parsing
-                LeaveStatus status = LeaveStatus.PENDING;
-                if (d.length >= 8) {
-                    String rawStatus = clean(d, 7).toUpperCase();
-                    if (rawStatus.contains("APPROVE")) {
-                        status = LeaveStatus.APPROVED;
-                    } else if (rawStatus.contains("REJECT")) {
-                        status = LeaveStatus.REJECTED;
-                    } else {
-                        try {
-                            status = LeaveStatus.fromCsv(clean(d, 7));
-                        } catch (Exception ignored) {}
-                    }
-                }
-
-                Integer reviewedBy = null;
-                if (d.length >= 9) {
-                    String rb = clean(d, 8);
-                    if (!rb.isEmpty()) {
-                        try { reviewedBy = Integer.parseInt(rb); } catch (NumberFormatException ignored) {}
-                    }
-                }
-                String reviewedAt = (d.length >= 10) ? clean(d, 9) : "";
-                String note = (d.length >= 11) ? clean(d, 10) : "";
-
-                if (date == null) continue;
-                if (period != null && !period.includes(date)) continue;
-
-                out.add(new LeaveRequest(leaveId, eId, date, start, end, firstName, lastName, status, reviewedBy, reviewedAt, note));
+                readRow(line, empId, period, out);
             }
         } catch (Exception e) {
             return new ArrayList<>();
@@ -193,6 +200,51 @@ public class CsvLeaveRepository implements LeaveRepository {
         return out;
     }
 
+    private void readRow(String line, int empId, PayPeriod period, List<LeaveRequest> out) {
+        if (line.trim().isEmpty()) return;
+
+        String[] d = CsvTokenizer.split(line);
+        if (d.length < 7) return;
+
+        String leaveId = clean(d, 0);
+        int eId = parseInt(clean(d, 1), empId);
+        LocalDate date = parseDate(clean(d, 2));
+        LocalTime start = parseTime(clean(d, 3));
+        LocalTime end = parseTime(clean(d, 4));
+        String firstName = clean(d, 5);
+        String lastName = clean(d, 6);
+
+        // Robust parsing
+        LeaveStatus status = LeaveStatus.PENDING;
+        if (d.length >= 8) {
+            String rawStatus = clean(d, 7).toUpperCase();
+            if (rawStatus.contains("APPROVE")) {
+                status = LeaveStatus.APPROVED;
+            } else if (rawStatus.contains("REJECT")) {
+                status = LeaveStatus.REJECTED;
+            } else {
+                try {
+                    status = LeaveStatus.fromCsv(clean(d, 7));
+                } catch (Exception ignored) {}
+            }
+        }
+
+        Integer reviewedBy = null;
+        if (d.length >= 9) {
+            String rb = clean(d, 8);
+            if (!rb.isEmpty()) {
+                try { reviewedBy = Integer.parseInt(rb); } catch (NumberFormatException ignored) {}
+            }
+        }
+        String reviewedAt = (d.length >= 10) ? clean(d, 9) : "";
+        String note = (d.length >= 11) ? clean(d, 10) : "";
+
+        if (date == null) return;
+        if (period != null && !period.includes(date)) return;
+
+        out.add(new LeaveRequest(leaveId, eId, date, start, end, firstName, lastName, status, reviewedBy, reviewedAt, note));
+    }
+
     private double calculateHours(LocalTime start, LocalTime end) {
         if (start == null || end == null || end.isBefore(start)) return 0.0;
         long minutes = Duration.between(start, end).toMinutes();
@@ -219,9 +271,7 @@ public class CsvLeaveRepository implements LeaveRepository {
     }
 
     private void writeHeader(File file) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false))) {
-            bw.write(HEADER);
-        } catch (Exception ignored) {}
+        AtomicFileWriter.write(file, bw -> bw.write(HEADER));
     }
 
     private String clean(String[] arr, int idx) {
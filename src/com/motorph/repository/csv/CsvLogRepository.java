@@ -10,141 +10,627 @@ import com.motorph.repository.LogRepository;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * CSV-backed system activity log repository.
  *
+ * Entries are stored in one segment file per calendar month under
+ * records_system_logs (system_logs_2026-03.csv, ...). A manifest records each
+ * segment's id range, time range and row count, so new ids come from the
+ * manifest instead of a file scan and time-range queries only open the
+ * segments they overlap. Older segments can be gzipped in place
+ * (system_logs_2026-03.csv.gz) and stay readable and appendable.
+ *
+ * A legacy single-file system_logs.csv is split into segments the first time
+ * the repository is used, then renamed to system_logs.csv.migrated.
+ *
  * @author ACER
  */
 public class CsvLogRepository implements LogRepository {
 
     private static final String HEADER = "Log_ID,LogCategory,Timestamp,User,Action,Details";
-    private static final String CSV_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
+    private static final String MANIFEST_HEADER = "Segment,First_ID,Last_ID,First_Timestamp,Last_Timestamp,Rows";
     private static final DateTimeFormatter LEGACY_TS_FMT = DateTimeFormatter.ofPattern("M/d/yyyy H:mm", Locale.US);
     private static final DateTimeFormatter TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.US);
+    private static final DateTimeFormatter SEGMENT_FMT = DateTimeFormatter.ofPattern("yyyy-MM", Locale.US);
+
+    public static final String SEGMENT_PREFIX = "system_logs_";
+    public static final String MANIFEST_FILE = "system_logs_manifest.csv";
+    public static final String MIGRATED_SUFFIX = ".migrated";
+    public static final String GZIP_SUFFIX = ".gz";
+
+    // Annotation: Rows without a readable timestamp are kept together in one segment.
+    public static final String UNDATED_SEGMENT = "undated";
+
+    // Annotation: Segments younger than this many months stay uncompressed.
+    public static final int DEFAULT_UNCOMPRESSED_MONTHS = 3;
+
+    // Annotation: One catalog per folder, shared by every instance, so ids stay unique.
+    private static final Map<String, Catalog> CATALOGS = new ConcurrentHashMap<>();
+
+    private final File folder;
+    private final File legacyFile;
+
+    public CsvLogRepository() {
+        this(DataPaths.SYSTEM_LOG_FOLDER, DataPaths.SYSTEM_LOG_CSV);
+    }
+
+    public CsvLogRepository(String folderPath, String legacyPath) {
+        this.folder = new File(folderPath);
+        this.legacyFile = (legacyPath == null) ? null : new File(legacyPath);
+    }
 
     @Override
     public boolean save(LogEntry entry) {
         if (entry == null) {
             return false;
         }
+        List<LogEntry> one = new ArrayList<>(1);
+        one.add(entry);
+        return saveBatch(one);
+    }
 
-        ensureHeader();
+    /**
+     * Appends several entries, opening each month's segment once. Entries
+     * without an id are numbered after the highest id in the manifest.
+     */
+    @Override
+    public boolean saveBatch(List<LogEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return true;
+        }
+
+        Catalog catalog = catalog();
+        synchronized (catalog) {
+            if (!ready(catalog)) {
+                return false;
+            }
 
-        if (entry.getId() <= 0) {
-            entry.setId(nextId());
+            int next = catalog.maxId() + 1;
+            Map<String, List<LogEntry>> bySegment = new LinkedHashMap<>();
+            for (LogEntry entry : entries) {
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.getId() <= 0) {
+                    entry.setId(next);
+                }
+                next = Math.max(next, entry.getId() + 1);
+                bySegment.computeIfAbsent(segmentKey(entry.getTimestamp()), k -> new ArrayList<>()).add(entry);
+            }
+
+            boolean ok = true;
+            for (Map.Entry<String, List<LogEntry>> group : bySegment.entrySet()) {
+                Segment segment = catalog.segments.computeIfAbsent(group.getKey(), Segment::new);
+                List<String> rows = new ArrayList<>();
+                for (LogEntry entry : group.getValue()) {
+                    rows.add(entry.toCsvRow());
+                }
+
+                if (appendRows(segmentFile(segment), rows)) {
+                    for (LogEntry entry : group.getValue()) {
+                        segment.include(entry.getId(), entry.getTimestamp());
+                    }
+                } else {
+                    ok = false;
+                }
+            }
+
+            return writeManifest(catalog) && ok;
         }
+    }
 
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(DataPaths.SYSTEM_LOG_CSV, true))) {
-            bw.newLine();
-            bw.write(entry.toCsvRow());
-            return true;
-        } catch (Exception e) {
-            return false;
+    // Annotation: Highest Log_ID across all segments, or 0 for an empty log.
+    @Override
+    public int lastId() {
+        Catalog catalog = catalog();
+        synchronized (catalog) {
+            return ready(catalog) ? catalog.maxId() : 0;
         }
     }
 
     @Override
     public List<LogEntry> findAll() {
-        ensureHeader();
         List<LogEntry> out = new ArrayList<>();
-        File file = new File(DataPaths.SYSTEM_LOG_CSV);
-        if (!file.exists()) {
-            return out;
+        for (File file : segmentFiles(null, null)) {
+            readEntries(file, out, null);
         }
+        out.sort(Comparator.comparing(LogEntry::getId).reversed());
+        return out;
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line = br.readLine();
-            if (line == null) {
-                return out;
+    // Annotation: Only segments whose time range overlaps [from, to) are opened.
+    @Override
+    public List<LogEntry> findByTimeRange(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        List<LogEntry> matches = new ArrayList<>();
+        Predicate<LogEntry> inRange = e -> e.getTimestamp() != null
+                && (from == null || !e.getTimestamp().isBefore(from))
+                && (to == null || e.getTimestamp().isBefore(to));
+
+        for (File file : segmentFiles(from, to)) {
+            readEntries(file, matches, inRange);
+        }
+        matches.sort(Comparator.comparing(LogEntry::getId).reversed());
+
+        int start = Math.min(Math.max(0, offset), matches.size());
+        int end = (int) Math.min((long) start + Math.max(0, limit), matches.size());
+        return new ArrayList<>(matches.subList(start, end));
+    }
+
+    /**
+     * Removes every entry the filter matches, rewriting only the segments
+     * that contained one. Compressed segments stay compressed. Returns the
+     * number of rows removed.
+     */
+    @Override
+    public int deleteWhere(Predicate<LogEntry> filter) {
+        if (filter == null) {
+            return 0;
+        }
+
+        Catalog catalog = catalog();
+        synchronized (catalog) {
+            if (!ready(catalog)) {
+                return 0;
             }
 
+            int removed = 0;
+            for (Segment segment : new ArrayList<>(catalog.segments.values())) {
+                File file = segmentFile(segment);
+                List<String> kept = new ArrayList<>();
+                Segment rebuilt = new Segment(segment.key);
+                int dropped = 0;
+
+                try (BufferedReader br = open(file)) {
+                    String line = br.readLine(); // header
+                    while ((line = br.readLine()) != null) {
+                        if (line.trim().isEmpty()) {
+                            continue;
+                        }
+                        LogEntry entry = parseLine(line);
+                        if (entry != null && filter.test(entry)) {
+                            dropped++;
+                            continue;
+                        }
+                        kept.add(line);
+                        if (entry != null) {
+                            rebuilt.include(entry.getId(), entry.getTimestamp());
+                        }
+                    }
+                } catch (Exception e) {
+                    continue;
+                }
+
+                if (dropped == 0) {
+                    continue;
+                }
+
+                if (kept.isEmpty()) {
+                    if (!file.delete()) {
+                        continue;
+                    }
+                    catalog.segments.remove(segment.key);
+                } else {
+                    if (!writeSegment(file, kept)) {
+                        continue;
+                    }
+                    rebuilt.compressed = segment.compressed;
+                    catalog.segments.put(segment.key, rebuilt);
+                }
+                removed += dropped;
+            }
+
+            if (removed > 0) {
+                writeManifest(catalog);
+            }
+            return removed;
+        }
+    }
+
+    // Annotation: Gzips every dated segment older than the given number of whole months.
+    public int compressSegmentsOlderThan(int months) {
+        return compressSegmentsBefore(YearMonth.now().minusMonths(Math.max(0, months)));
+    }
+
+    /**
+     * Gzips dated segments for months before the cutoff. The plain file is
+     * removed only after the compressed copy is complete.
+     */
+    public int compressSegmentsBefore(YearMonth cutoff) {
+        String limit = cutoff.format(SEGMENT_FMT);
+
+        Catalog catalog = catalog();
+        synchronized (catalog) {
+            if (!ready(catalog)) {
+                return 0;
+            }
+
+            int compressed = 0;
+            for (Segment segment : catalog.segments.values()) {
+                if (segment.compressed || UNDATED_SEGMENT.equals(segment.key) || segment.key.compareTo(limit) >= 0) {
+                    continue;
+                }
+
+                File plain = segmentFile(segment);
+                File gz = new File(folder, plain.getName() + GZIP_SUFFIX);
+
+                boolean written = AtomicFileWriter.writeStream(gz, 0, out -> {
+                    try (InputStream in = new FileInputStream(plain);
+                            GZIPOutputStream zip = new GZIPOutputStream(out)) {
+                        in.transferTo(zip);
+                    }
+                });
+                if (!written) {
+                    continue;
+                }
+                plain.delete();
+                segment.compressed = true;
+                compressed++;
+            }
+
+            if (compressed > 0) {
+                writeManifest(catalog);
+            }
+            return compressed;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Catalog
+    // ------------------------------------------------------------
+    private Catalog catalog() {
+        return CATALOGS.computeIfAbsent(folder.getAbsolutePath(), k -> new Catalog());
+    }
+
+    /**
+     * Loads the catalog on first use, or again when the manifest changed on
+     * disk. Migrates the legacy single file first, and rebuilds the manifest
+     * from the segment files when it is missing or does not match them.
+     */
+    private boolean ready(Catalog catalog) {
+        File manifest = new File(folder, MANIFEST_FILE);
+        if (catalog.loaded && manifest.lastModified() == catalog.manifestModified && manifest.length() == catalog.manifestSize) {
+            return true;
+        }
+
+        if (!folder.exists() && !folder.mkdirs()) {
+            return false;
+        }
+
+        catalog.segments.clear();
+        boolean changed = migrateLegacy(catalog);
+
+        Map<String, Segment> listed = readManifest(manifest);
+        Map<String, Boolean> onDisk = scanFolder();
+        if (!changed && listed != null && matches(listed, onDisk)) {
+            catalog.segments.putAll(listed);
+        } else {
+            catalog.segments.clear();
+            for (Map.Entry<String, Boolean> found : onDisk.entrySet()) {
+                Segment segment = new Segment(found.getKey());
+                segment.compressed = found.getValue();
+                measure(segment);
+                catalog.segments.put(segment.key, segment);
+            }
+            changed = true;
+        }
+
+        catalog.loaded = true;
+        return !changed || writeManifest(catalog);
+    }
+
+    /**
+     * Moves the single legacy log file into segments. Each segment is
+     * rewritten whole: the legacy rows, then the rows it already held that
+     * are not legacy rows. A rerun after a crash before the final rename
+     * therefore yields the same segments instead of duplicating the rows.
+     */
+    private boolean migrateLegacy(Catalog catalog) {
+        if (legacyFile == null || !legacyFile.isFile()) {
+            return false;
+        }
+
+        Map<String, List<String>> rows = new LinkedHashMap<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(legacyFile))) {
+            String line = br.readLine(); // header
             while ((line = br.readLine()) != null) {
                 if (line.trim().isEmpty()) {
                     continue;
                 }
+                LogEntry entry = parseLine(line);
+                String key = segmentKey(entry == null ? null : entry.getTimestamp());
+                rows.computeIfAbsent(key, k -> new ArrayList<>()).add(line);
+            }
+        } catch (Exception e) {
+            return false;
+        }
 
-                String[] data = line.split(CSV_SPLIT_REGEX, -1);
-                if (data.length < 6) {
-                    continue;
+        Map<String, Boolean> onDisk = scanFolder();
+        for (Map.Entry<String, List<String>> group : rows.entrySet()) {
+            Segment segment = new Segment(group.getKey());
+            segment.compressed = Boolean.TRUE.equals(onDisk.get(group.getKey()));
+            File file = segmentFile(segment);
+
+            List<String> merged = new ArrayList<>(group.getValue());
+            if (file.exists()) {
+                Set<String> legacyRows = new HashSet<>(group.getValue());
+                List<String> held = readRows(file);
+                if (held == null) {
+                    return false;
+                }
+                for (String row : held) {
+                    if (!legacyRows.contains(row)) {
+                        merged.add(row);
+                    }
                 }
+            }
+            if (!writeSegment(file, merged)) {
+                return false;
+            }
+        }
+
+        return legacyFile.renameTo(new File(legacyFile.getPath() + MIGRATED_SUFFIX));
+    }
+
+    // Annotation: Segment key to compressed flag for every segment file in the folder.
+    private Map<String, Boolean> scanFolder() {
+        Map<String, Boolean> out = new TreeMap<>();
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return out;
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.startsWith(SEGMENT_PREFIX) || name.equals(MANIFEST_FILE)) {
+                continue;
+            }
+            if (name.endsWith(".csv" + GZIP_SUFFIX)) {
+                out.put(name.substring(SEGMENT_PREFIX.length(), name.length() - 7), true);
+            } else if (name.endsWith(".csv")) {
+                out.putIfAbsent(name.substring(SEGMENT_PREFIX.length(), name.length() - 4), false);
+            }
+        }
+        return out;
+    }
 
-                int id = parseInt(clean(data[0]), 0);
-                String category = clean(data[1]);
-                LocalDateTime timestamp = parseTimestamp(clean(data[2]));
-                String user = clean(data[3]);
-                String action = clean(data[4]);
-                String details = clean(data[5]);
+    private boolean matches(Map<String, Segment> listed, Map<String, Boolean> onDisk) {
+        if (!listed.keySet().equals(onDisk.keySet())) {
+            return false;
+        }
+        for (Segment segment : listed.values()) {
+            if (segment.compressed != onDisk.get(segment.key)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-                out.add(new LogEntry(id, category, timestamp, user, action, details));
+    private void measure(Segment segment) {
+        try (BufferedReader br = open(segmentFile(segment))) {
+            String line = br.readLine(); // header
+            while ((line = br.readLine()) != null) {
+                LogEntry entry = line.trim().isEmpty() ? null : parseLine(line);
+                if (entry != null) {
+                    segment.include(entry.getId(), entry.getTimestamp());
+                }
             }
         } catch (Exception e) {
-            return new ArrayList<>();
+            // unreadable segment is listed without ranges
         }
+    }
 
-        out.sort(Comparator.comparing(LogEntry::getId).reversed());
+    private Map<String, Segment> readManifest(File manifest) {
+        if (!manifest.isFile()) {
+            return null;
+        }
+
+        Map<String, Segment> out = new TreeMap<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(manifest))) {
+            String line = br.readLine(); // header
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] data = CsvTokenizer.split(line);
+                if (data.length < 6) {
+                    return null;
+                }
+
+                String name = clean(data[0]);
+                Segment segment = new Segment(name.endsWith(GZIP_SUFFIX) ? name.substring(0, name.length() - 3) : name);
+                segment.compressed = name.endsWith(GZIP_SUFFIX);
+                segment.firstId = parseInt(clean(data[1]), 0);
+                segment.lastId = parseInt(clean(data[2]), 0);
+                segment.firstTs = parseManifestTimestamp(clean(data[3]));
+                segment.lastTs = parseManifestTimestamp(clean(data[4]));
+                segment.rows = parseInt(clean(data[5]), 0);
+                out.put(segment.key, segment);
+            }
+        } catch (Exception e) {
+            return null;
+        }
         return out;
     }
 
-    private void ensureHeader() {
-        try {
-            File f = new File(DataPaths.SYSTEM_LOG_CSV);
-            if (!f.exists()) {
-                writeHeader();
-                return;
+    private boolean writeManifest(Catalog catalog) {
+        File manifest = new File(folder, MANIFEST_FILE);
+        boolean ok = AtomicFileWriter.write(manifest, bw -> {
+            bw.write(MANIFEST_HEADER);
+            for (Segment segment : catalog.segments.values()) {
+                bw.newLine();
+                bw.write(String.join(",",
+                        segment.key + (segment.compressed ? GZIP_SUFFIX : ""),
+                        String.valueOf(segment.firstId),
+                        String.valueOf(segment.lastId),
+                        (segment.firstTs == null) ? "" : segment.firstTs.format(TS_FMT),
+                        (segment.lastTs == null) ? "" : segment.lastTs.format(TS_FMT),
+                        String.valueOf(segment.rows)));
             }
+        });
+        if (!ok) {
+            catalog.loaded = false;
+            return false;
+        }
+
+        catalog.manifestModified = manifest.lastModified();
+        catalog.manifestSize = manifest.length();
+        return true;
+    }
 
-            try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-                String firstLine = br.readLine();
-                if (firstLine == null || firstLine.trim().isEmpty()) {
-                    writeHeader();
+    // Annotation: Files of the segments overlapping [from, to); undated rows only match an open lower bound.
+    private List<File> segmentFiles(LocalDateTime from, LocalDateTime to) {
+        List<File> out = new ArrayList<>();
+        Catalog catalog = catalog();
+        synchronized (catalog) {
+            if (!ready(catalog)) {
+                return out;
+            }
+
+            for (Segment segment : catalog.segments.values()) {
+                if (segment.firstTs == null) {
+                    if (from != null) {
+                        continue;
+                    }
+                } else if ((to != null && !segment.firstTs.isBefore(to))
+                        || (from != null && segment.lastTs.isBefore(from))) {
+                    continue;
                 }
+                out.add(segmentFile(segment));
+            }
+        }
+        return out;
+    }
+
+    // ------------------------------------------------------------
+    // Segment files
+    // ------------------------------------------------------------
+    private File segmentFile(Segment segment) {
+        return new File(folder, SEGMENT_PREFIX + segment.key + ".csv" + (segment.compressed ? GZIP_SUFFIX : ""));
+    }
+
+    // Annotation: New files start with the header; gzip segments get the rows as an extra gzip member.
+    private boolean appendRows(File file, List<String> rows) {
+        boolean isNew = !file.exists() || file.length() == 0;
+        boolean gz = file.getName().endsWith(GZIP_SUFFIX);
+
+        try (Writer w = gz
+                ? new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(file, true)))
+                : new FileWriter(file, true);
+                BufferedWriter bw = new BufferedWriter(w)) {
+            if (isNew) {
+                bw.write(HEADER);
             }
+            for (String row : rows) {
+                bw.newLine();
+                bw.write(row);
+            }
+            return true;
         } catch (Exception e) {
-            // header creation failure remains non-blocking
+            return false;
         }
     }
 
-    private void writeHeader() {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(DataPaths.SYSTEM_LOG_CSV, false))) {
-            bw.write(HEADER);
+    private boolean writeSegment(File file, List<String> rows) {
+        boolean gz = file.getName().endsWith(GZIP_SUFFIX);
+
+        return AtomicFileWriter.writeStream(file, 0, out -> {
+            try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(gz ? new GZIPOutputStream(out) : out))) {
+                bw.write(HEADER);
+                for (String row : rows) {
+                    bw.newLine();
+                    bw.write(row);
+                }
+            }
+        });
+    }
+
+    // Annotation: Non-blank rows after the header, or null when the file cannot be read.
+    private List<String> readRows(File file) {
+        List<String> rows = new ArrayList<>();
+        try (BufferedReader br = open(file)) {
+            String line = br.readLine(); // header
+            while ((line = br.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    rows.add(line);
+                }
+            }
         } catch (Exception e) {
-            // file creation failure remains non-blocking
+            return null;
         }
+        return rows;
     }
 
-    private int nextId() {
-        int last = 0;
+    private BufferedReader open(File file) throws Exception {
+        InputStream in = new FileInputStream(file);
+        if (file.getName().endsWith(GZIP_SUFFIX)) {
+            in = new GZIPInputStream(in);
+        }
+        return new BufferedReader(new InputStreamReader(in));
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(DataPaths.SYSTEM_LOG_CSV))) {
+    private void readEntries(File file, List<LogEntry> out, Predicate<LogEntry> filter) {
+        try (BufferedReader br = open(file)) {
             String line = br.readLine(); // header
             while ((line = br.readLine()) != null) {
                 if (line.trim().isEmpty()) {
                     continue;
                 }
-
-                String[] data = line.split(CSV_SPLIT_REGEX, -1);
-                if (data.length > 0) {
-                    try {
-                        last = Integer.parseInt(clean(data[0]));
-                    } catch (NumberFormatException ignored) {
-                        // invalid id rows are ignored
-                    }
+                LogEntry entry = parseLine(line);
+                if (entry != null && (filter == null || filter.test(entry))) {
+                    out.add(entry);
                 }
             }
         } catch (Exception e) {
-            return 1;
+            // unreadable segment is skipped
+        }
+    }
+
+    private LogEntry parseLine(String line) {
+        String[] data = CsvTokenizer.split(line);
+        if (data.length < 6) {
+            return null;
         }
 
-        return last + 1;
+        int id = parseInt(clean(data[0]), 0);
+        String category = clean(data[1]);
+        LocalDateTime timestamp = parseTimestamp(clean(data[2]));
+        String user = clean(data[3]);
+        String action = clean(data[4]);
+        String details = clean(data[5]);
+
+        return new LogEntry(id, category, timestamp, user, action, details);
+    }
+
+    private String segmentKey(LocalDateTime timestamp) {
+        if (timestamp == null || timestamp.getYear() < 1) {
+            return UNDATED_SEGMENT;
+        }
+        return timestamp.format(SEGMENT_FMT);
     }
 
     private String clean(String value) {
@@ -166,7 +652,15 @@ public class CsvLogRepository implements LogRepository {
         }
     }
 
-        private LocalDateTime parseTimestamp(String raw) {
+    private LocalDateTime parseManifestTimestamp(String raw) {
+        try {
+            return raw.isEmpty() ? null : LocalDateTime.parse(raw, TS_FMT);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private LocalDateTime parseTimestamp(String raw) {
         if (raw == null || raw.isBlank()) {
             return LocalDateTime.MIN;
         }
@@ -187,4 +681,52 @@ public class CsvLogRepository implements LogRepository {
 
         return LocalDateTime.MIN;
     }
+
+    private static final class Catalog {
+
+        private final TreeMap<String, Segment> segments = new TreeMap<>();
+        private boolean loaded;
+        private long manifestModified;
+        private long manifestSize;
+
+        private int maxId() {
+            int max = 0;
+            for (Segment segment : segments.values()) {
+                max = Math.max(max, segment.lastId);
+            }
+            return max;
+        }
+    }
+
+    // Annotation: Manifest row for one month; the time range ignores rows without a timestamp.
+    private static final class Segment {
+
+        private final String key;
+        private boolean compressed;
+        private int firstId;
+        private int lastId;
+        private LocalDateTime firstTs;
+        private LocalDateTime lastTs;
+        private int rows;
+
+        private Segment(String key) {
+            this.key = key;
+        }
+
+        private void include(int id, LocalDateTime ts) {
+            if (rows == 0 || id < firstId) {
+                firstId = id;
+            }
+            lastId = Math.max(lastId, id);
+            if (ts != null && ts.getYear() >= 1) {
+                if (firstTs == null || ts.isBefore(firstTs)) {
+                    firstTs = ts;
+                }
+                if (lastTs == null || ts.isAfter(lastTs)) {
+                    lastTs = ts;
+                }
+            }
+            rows++;
+        }
+    }
 }
@@ -6,6 +6,7 @@ package com.motorph.repository.csv;
 
 import com.motorph.domain.enums.ApprovalStatus;
 import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.PayrollApproval;
 import com.motorph.repository.PayrollApprovalRepository;
 
 import java.io.*;
@@ -13,10 +14,33 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Shared approval tracker for DTR and Payroll. One file per employee:
- * records_payroll_{empId}.csv One row per PayPeriod.
+ * Shared approval tracker for DTR and Payroll. One file per pay period:
+ * records_payroll_period_{yyMMdd-yyMMdd}.csv One row per employee.
+ *
+ * A period is loaded into memory in one read and kept until the file changes
+ * on disk; status queries are answered from that table and batch updates are
+ * written back in a single rewrite.
+ *
+ * In write-behind mode changes are only applied to the in-memory table and
+ * the period is marked dirty; reads see the pending rows. flush() rewrites
+ * each dirty period file once, and also runs on a timer
+ * and at shutdown. Ops call flush() at the end of each action, so a batch
+ * that touches a period several times writes its file once. The table
+ * remembers which rows it added and which approval columns it changed; if
+ * another process wrote the period file in the meantime, flush() re-reads it
+ * under the period lock and applies only those cells, so the other writer's
+ * rows are kept.
+ *
+ * Older data kept one file per employee (records_payroll_{empId}.csv). The
+ * first time a period is opened without a period file, matching rows are
+ * imported from those legacy files into memory. Reads never write; the
+ * next ensureRowsExist or upsert imports them again under the period lock
+ * and saves them to the new file. Legacy files are left in place.
  *
  * @author ACER
  */
@@ -27,11 +51,13 @@ public class CsvPayrollApprovalRepository implements PayrollApprovalRepository {
             + "DTR_Approved_By,DTR_Status,DTR_Approved_Date,"
             + "Payroll_Approved_By,Payroll_Status,Payroll_Approved_Date";
 
+    private static final String PERIOD_FILE_PREFIX = "records_payroll_period_";
+    private static final String LEGACY_FILE_PREFIX = "records_payroll_";
+    private static final String FILE_SUFFIX = ".csv";
+
     private static final DateTimeFormatter PERIOD_DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.US);
     private static final DateTimeFormatter TS_FMT = DateTimeFormatter.ofPattern("M/d/yyyy H:mm", Locale.US);
 
-    private static final String CSV_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
-
     // column indexes based on HEADER
     private static final int IDX_TX = 0;
     private static final int IDX_EMP = 1;
@@ -46,8 +72,38 @@ public class CsvPayrollApprovalRepository implements PayrollApprovalRepository {
     private static final int IDX_PAYROLL_STATUS = 8;
     private static final int IDX_PAYROLL_DATE = 9;
 
+    private static final int COLUMN_COUNT = 10;
+
+    // Annotation: Seconds between background flushes in write-behind mode.
+    public static final long DEFAULT_FLUSH_SECONDS = 5;
+
+    // Annotation: Loaded periods keyed by PayPeriod.toKey().
+    private final Map<String, PeriodTable> periods = new HashMap<>();
+
+    // Annotation: Period files are locked by name while a table is reloaded, changed and written.
+    private final RecordLockManager locks = RecordLockManager.shared();
+
+    private final boolean writeBehind;
+
+    public CsvPayrollApprovalRepository() {
+        this(false);
+    }
+
+    public CsvPayrollApprovalRepository(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+        if (writeBehind) {
+            ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "payroll-approval-flush");
+                t.setDaemon(true);
+                return t;
+            });
+            timer.scheduleWithFixedDelay(this::flush, DEFAULT_FLUSH_SECONDS, DEFAULT_FLUSH_SECONDS, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "payroll-approval-final-flush"));
+        }
+    }
+
     @Override
-    public ApprovalStatus getDtrStatus(int empId, PayPeriod period) {
+    public synchronized ApprovalStatus getDtrStatus(int empId, PayPeriod period) {
         String[] row = findRow(empId, period);
         if (row == null) {
             return ApprovalStatus.PENDING;
@@ -56,7 +112,7 @@ public class CsvPayrollApprovalRepository implements PayrollApprovalRepository {
     }
 
     @Override
-    public ApprovalStatus getPayrollStatus(int empId, PayPeriod period) {
+    public synchronized ApprovalStatus getPayrollStatus(int empId, PayPeriod period) {
         String[] row = findRow(empId, period);
         if (row == null) {
             return ApprovalStatus.PENDING;
@@ -65,71 +121,101 @@ public class CsvPayrollApprovalRepository implements PayrollApprovalRepository {
     }
 
     @Override
-    public boolean ensureRowExists(int empId, PayPeriod period) {
-        if (period == null) {
-            return false;
-        }
-        ensureHeader(empId);
+    public synchronized boolean ensureRowExists(int empId, PayPeriod period) {
+        return ensureRowsExist(Collections.singletonList(empId), period);
+    }
 
-        List<String[]> rows = readAll(empId);
-        if (rows == null) {
+    @Override
+    public synchronized boolean ensureRowsExist(Collection<Integer> empIds, PayPeriod period) {
+        if (period == null || empIds == null) {
             return false;
         }
+        return locks.call(periodFile(period), () -> addMissingRows(empIds, period), false);
+    }
 
-        for (String[] r : rows) {
-            if (isSamePeriodRow(r, empId, period)) {
-                return true;
+    private boolean addMissingRows(Collection<Integer> empIds, PayPeriod period) {
+        PeriodTable table = lockedTable(period);
+        boolean added = false;
+        for (Integer empId : empIds) {
+            if (empId == null || table.rows.containsKey(empId)) {
+                continue;
             }
+            table.rows.put(empId, newRow(empId, period));
+            table.addedRows.add(empId);
+            added = true;
         }
 
-        // Append default row
-        String tx = buildTransactionId(empId, period);
-        String[] newRow = new String[]{
-            tx,
-            String.valueOf(empId),
-            period.getStartDate().format(PERIOD_DATE_FMT),
-            period.getEndDate().format(PERIOD_DATE_FMT),
-            "", ApprovalStatus.PENDING.name(), "",
-            "", ApprovalStatus.PENDING.name(), ""
-        };
-        rows.add(newRow);
-        return writeAll(empId, rows);
+        // Existing rows need no write, unless they were only imported from legacy files so far.
+        return (!added && !table.imported) || commit(period, table);
     }
 
     @Override
-    public boolean upsertDtrApproval(int empId, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt) {
-        return upsert(empId, period, approvedBy, status, approvedAt, true);
+    public synchronized Map<Integer, PayrollApproval> findByPeriod(PayPeriod period) {
+        Map<Integer, PayrollApproval> out = new LinkedHashMap<>();
+        if (period == null) {
+            return out;
+        }
+
+        for (Map.Entry<Integer, String[]> e : table(period).rows.entrySet()) {
+            String[] r = e.getValue();
+            out.put(e.getKey(), new PayrollApproval(
+                    e.getKey(),
+                    parseStatus(clean(r[IDX_DTR_STATUS])),
+                    parseInt(clean(r[IDX_DTR_BY])),
+                    parseTimestamp(clean(r[IDX_DTR_DATE])),
+                    parseStatus(clean(r[IDX_PAYROLL_STATUS])),
+                    parseInt(clean(r[IDX_PAYROLL_BY])),
+                    parseTimestamp(clean(r[IDX_PAYROLL_DATE]))
+            ));
+        }
+        return out;
     }
 
     @Override
-    public boolean upsertPayrollApproval(int empId, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt) {
-        return upsert(empId, period, approvedBy, status, approvedAt, false);
+    public synchronized boolean upsertDtrApproval(int empId, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt) {
+        return upsert(Collections.singletonList(empId), period, approvedBy, status, approvedAt, true);
     }
 
-    private boolean upsert(int empId, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt, boolean isDtr) {
-        if (period == null || status == null) {
+    @Override
+    public synchronized boolean upsertPayrollApproval(int empId, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt) {
+        return upsert(Collections.singletonList(empId), period, approvedBy, status, approvedAt, false);
+    }
+
+    @Override
+    public synchronized boolean upsertPayrollApprovals(Collection<Integer> empIds, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt) {
+        if (empIds == null) {
             return false;
         }
+        if (empIds.isEmpty()) {
+            return true;
+        }
+        return upsert(empIds, period, approvedBy, status, approvedAt, false);
+    }
 
-        ensureHeader(empId);
-
-        List<String[]> rows = readAll(empId);
-        if (rows == null) {
+    // Annotation: Creates missing rows and applies the decision in memory, then rewrites the period file once.
+    private boolean upsert(Collection<Integer> empIds, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt, boolean isDtr) {
+        if (period == null || status == null) {
             return false;
         }
+        return locks.call(periodFile(period), () -> applyUpsert(empIds, period, approvedBy, status, approvedAt, isDtr), false);
+    }
+
+    private boolean applyUpsert(Collection<Integer> empIds, PayPeriod period, int approvedBy, ApprovalStatus status, LocalDateTime approvedAt, boolean isDtr) {
+        PeriodTable table = lockedTable(period);
 
-        boolean updated = false;
+        String by = (approvedBy > 0) ? String.valueOf(approvedBy) : "";
+        String at = (approvedAt != null) ? approvedAt.format(TS_FMT) : LocalDateTime.now().format(TS_FMT);
 
-        for (String[] r : rows) {
-            if (!isSamePeriodRow(r, empId, period)) {
+        for (Integer empId : empIds) {
+            if (empId == null) {
                 continue;
             }
 
+            String[] r = table.rows.computeIfAbsent(empId, id -> newRow(id, period));
+
             // Always keep TX consistent with your payroll scheme
             r[IDX_TX] = buildTransactionId(empId, period);
-
-            String by = (approvedBy > 0) ? String.valueOf(approvedBy) : "";
-            String at = (approvedAt != null) ? approvedAt.format(TS_FMT) : LocalDateTime.now().format(TS_FMT);
+            table.changedColumns.computeIfAbsent(empId, id -> new HashSet<>()).add(isDtr ? IDX_DTR_STATUS : IDX_PAYROLL_STATUS);
 
             if (isDtr) {
                 r[IDX_DTR_BY] = by;
@@ -140,94 +226,190 @@ public class CsvPayrollApprovalRepository implements PayrollApprovalRepository {
                 r[IDX_PAYROLL_STATUS] = status.name();
                 r[IDX_PAYROLL_DATE] = at;
             }
-
-            updated = true;
-            break;
         }
 
-        if (!updated) {
-            // Create row then update
-            if (!ensureRowExists(empId, period)) {
-                return false;
-            }
-            rows = readAll(empId);
-            if (rows == null) {
-                return false;
+        return commit(period, table);
+    }
+
+    /**
+     * Removes the employee's row from every period file, each under its
+     * period lock, and from the loaded tables with any pending change for
+     * it, so a later flush does not write the row back. The employee's
+     * legacy file is deleted too.
+     */
+    @Override
+    public synchronized boolean removeEmployee(int empId) {
+        boolean ok = true;
+        File[] periodFiles = new File(DataPaths.PAYROLL_FOLDER).listFiles((dir, name)
+                -> name.startsWith(PERIOD_FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (periodFiles != null) {
+            for (File f : periodFiles) {
+                String key = f.getName().substring(PERIOD_FILE_PREFIX.length(), f.getName().length() - FILE_SUFFIX.length());
+                ok &= locks.call(f, () -> {
+                    forget(periods.get(key), empId);
+                    return removeRows(f, empId);
+                }, false);
             }
-            return upsert(empId, period, approvedBy, status, approvedAt, isDtr);
         }
 
-        return writeAll(empId, rows);
+        // Tables imported from legacy files have no period file yet.
+        for (PeriodTable table : periods.values()) {
+            forget(table, empId);
+        }
+        File legacy = new File(DataPaths.PAYROLL_FOLDER + LEGACY_FILE_PREFIX + empId + FILE_SUFFIX);
+        return ok && (!legacy.exists() || legacy.delete());
     }
 
-    private void ensureHeader(int empId) {
-        try {
-            File f = new File(DataPaths.PAYROLL_FOLDER + "records_payroll_" + empId + ".csv");
-            if (!f.exists()) {
-                writeHeader(f);
-                return;
+    private void forget(PeriodTable table, int empId) {
+        if (table != null) {
+            table.rows.remove(empId);
+            table.addedRows.remove(empId);
+            table.changedColumns.remove(empId);
+        }
+    }
+
+    // Annotation: Rewrites the period file without the employee's rows; other lines are kept as read.
+    private boolean removeRows(File f, int empId) {
+        List<String> kept = new ArrayList<>();
+        boolean removed = false;
+        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] r = CsvTokenizer.split(line);
+                if (!kept.isEmpty() && r.length > IDX_EMP && parseInt(clean(r[IDX_EMP])) == empId) {
+                    removed = true;
+                } else {
+                    kept.add(line);
+                }
             }
-            try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-                String first = br.readLine();
-                if (first == null || first.trim().isEmpty()) {
-                    writeHeader(f);
+        } catch (Exception e) {
+            return false;
+        }
+
+        return !removed || AtomicFileWriter.write(f, bw -> {
+            for (int i = 0; i < kept.size(); i++) {
+                if (i > 0) {
+                    bw.newLine();
+                }
+                bw.write(kept.get(i));
+            }
+        });
+    }
+
+    /**
+     * Writes every dirty period file once and forces it to disk. A period
+     * whose write fails stays dirty and is retried on the next flush.
+     */
+    @Override
+    public synchronized boolean flush() {
+        boolean ok = true;
+        for (Map.Entry<String, PeriodTable> e : periods.entrySet()) {
+            PeriodTable table = e.getValue();
+            if (table.dirty) {
+                File f = periodFile(table.period);
+                if (locks.call(f, () -> writeMerged(f, table), false)) {
+                    table.dirty = false;
+                } else {
+                    ok = false;
                 }
             }
-        } catch (Exception ignored) {
         }
+        return ok;
     }
 
-    private void writeHeader(File f) {
-        try {
-            File parent = f.getParentFile();
-            if (parent != null && !parent.exists()) {
-                parent.mkdirs();
+    /**
+     * Flush step, called under the period lock. When the period file changed
+     * since the table was read, the pending rows and columns are applied to
+     * the file's current rows before the write.
+     */
+    private boolean writeMerged(File f, PeriodTable table) {
+        boolean stale = f.exists()
+                ? (f.lastModified() != table.modified || f.length() != table.size)
+                : table.modified != 0;
+        if (stale) {
+            LinkedHashMap<Integer, String[]> current = f.exists()
+                    ? readPeriodFile(f, table.period)
+                    : importLegacyRows(table.period);
+
+            for (Integer empId : table.addedRows) {
+                current.putIfAbsent(empId, table.rows.get(empId));
             }
-            try (BufferedWriter bw = new BufferedWriter(new FileWriter(f, false))) {
-                bw.write(HEADER);
+            for (Map.Entry<Integer, Set<Integer>> e : table.changedColumns.entrySet()) {
+                String[] mine = table.rows.get(e.getKey());
+                String[] r = current.computeIfAbsent(e.getKey(), id -> newRow(id, table.period));
+                r[IDX_TX] = mine[IDX_TX];
+                for (int statusColumn : e.getValue()) {
+                    // Approved-by, status and date are written together.
+                    for (int c = statusColumn - 1; c <= statusColumn + 1; c++) {
+                        r[c] = mine[c];
+                    }
+                }
             }
-        } catch (Exception ignored) {
+
+            table.rows.clear();
+            table.rows.putAll(current);
+        }
+        return write(f, table);
+    }
+
+    // Annotation: Direct mode rewrites the period file now; write-behind mode only marks it dirty.
+    private boolean commit(PayPeriod period, PeriodTable table) {
+        if (writeBehind) {
+            table.dirty = true;
+            return true;
         }
+        return save(period, table);
     }
 
     private String[] findRow(int empId, PayPeriod period) {
-        ensureHeader(empId);
-        List<String[]> rows = readAll(empId);
-        if (rows == null) {
+        if (period == null) {
             return null;
         }
-        for (String[] r : rows) {
-            if (isSamePeriodRow(r, empId, period)) {
-                return r;
-            }
-        }
-        return null;
+        return table(period).rows.get(empId);
     }
 
-    private boolean isSamePeriodRow(String[] r, int empId, PayPeriod period) {
-        if (r == null || r.length < 10) {
-            return false;
-        }
-        if (parseInt(clean(r[IDX_EMP])) != empId) {
-            return false;
+    /**
+     * Returns the in-memory table for the period, reloading it when the period
+     * file changed on disk since it was read.
+     */
+    private PeriodTable table(PayPeriod period) {
+        File f = periodFile(period);
+        long modified = f.lastModified();
+        long size = f.length();
+
+        PeriodTable t = periods.get(period.toKey());
+        // Annotation: Pending changes win over the file until they are flushed.
+        if (t != null && (t.dirty || (t.modified == modified && t.size == size))) {
+            return t;
         }
 
-        LocalDate start = parseDate(clean(r[IDX_START]));
-        LocalDate end = parseDate(clean(r[IDX_END]));
-        if (start == null || end == null) {
-            return false;
+        if (f.exists()) {
+            t = new PeriodTable(period, readPeriodFile(f, period), modified, size);
+        } else {
+            t = new PeriodTable(period, importLegacyRows(period), 0, 0);
+            t.imported = !t.rows.isEmpty();
         }
 
-        return start.equals(period.getStartDate()) && end.equals(period.getEndDate());
+        periods.put(period.toKey(), t);
+        return t;
     }
 
-    private List<String[]> readAll(int empId) {
-        File f = new File(DataPaths.PAYROLL_FOLDER + "records_payroll_" + empId + ".csv");
-        if (!f.exists()) {
-            return new ArrayList<>();
+    /**
+     * Write-path form of table(), called under the period lock. A table that
+     * a read built from legacy files, outside the lock, is imported again
+     * here, so the one-time migration only ever writes rows read while the
+     * lock was held.
+     */
+    private PeriodTable lockedTable(PayPeriod period) {
+        PeriodTable t = periods.get(period.toKey());
+        if (t != null && !t.dirty && !periodFile(period).exists()) {
+            periods.remove(period.toKey());
         }
+        return table(period);
+    }
 
-        List<String[]> rows = new ArrayList<>();
+    private LinkedHashMap<Integer, String[]> readPeriodFile(File f, PayPeriod period) {
+        LinkedHashMap<Integer, String[]> rows = new LinkedHashMap<>();
         try (BufferedReader br = new BufferedReader(new FileReader(f))) {
             String line = br.readLine(); // header
             if (line == null) {
@@ -238,26 +420,115 @@ public class CsvPayrollApprovalRepository implements PayrollApprovalRepository {
                 if (line.trim().isEmpty()) {
                     continue;
                 }
-                rows.add(line.split(CSV_SPLIT_REGEX, -1));
+                String[] r = CsvTokenizer.split(line);
+                if (isSamePeriodRow(r, period)) {
+                    // First row wins, matching the original file-order lookup.
+                    rows.putIfAbsent(parseInt(clean(r[IDX_EMP])), r);
+                }
             }
-            return rows;
         } catch (Exception e) {
-            return null;
+            // unreadable rows are treated as missing
         }
+        return rows;
     }
 
-    private boolean writeAll(int empId, List<String[]> rows) {
-        File f = new File(DataPaths.PAYROLL_FOLDER + "records_payroll_" + empId + ".csv");
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(f, false))) {
+    // Annotation: One-time migration path; scans records_payroll_{empId}.csv files for this period's rows.
+    private LinkedHashMap<Integer, String[]> importLegacyRows(PayPeriod period) {
+        LinkedHashMap<Integer, String[]> rows = new LinkedHashMap<>();
+
+        File folder = new File(DataPaths.PAYROLL_FOLDER);
+        File[] legacy = folder.listFiles((dir, name) -> isLegacyFileName(name));
+        if (legacy == null) {
+            return rows;
+        }
+        Arrays.sort(legacy);
+
+        for (File f : legacy) {
+            try (BufferedReader br = new BufferedReader(new FileReader(f))) {
+                String line = br.readLine(); // header
+                while (line != null && (line = br.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    String[] r = CsvTokenizer.split(line);
+                    if (isSamePeriodRow(r, period)) {
+                        rows.putIfAbsent(parseInt(clean(r[IDX_EMP])), r);
+                    }
+                }
+            } catch (Exception e) {
+                // unreadable legacy files are skipped
+            }
+        }
+        return rows;
+    }
+
+    private boolean isLegacyFileName(String name) {
+        if (name == null || !name.startsWith(LEGACY_FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return false;
+        }
+        String id = name.substring(LEGACY_FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+        return !id.isEmpty() && id.chars().allMatch(Character::isDigit);
+    }
+
+    private boolean save(PayPeriod period, PeriodTable table) {
+        if (write(periodFile(period), table)) {
+            return true;
+        }
+        // Drop the table so the next call reloads what is actually on disk.
+        periods.remove(period.toKey());
+        return false;
+    }
+
+    private boolean write(File f, PeriodTable table) {
+        boolean ok = AtomicFileWriter.write(f, bw -> {
             bw.write(HEADER);
-            for (String[] r : rows) {
+            for (String[] r : table.rows.values()) {
                 bw.newLine();
                 bw.write(toCsvRow(r));
             }
-            return true;
-        } catch (Exception e) {
+        });
+        if (!ok) {
             return false;
         }
+
+        table.modified = f.lastModified();
+        table.size = f.length();
+        table.imported = false;
+        table.addedRows.clear();
+        table.changedColumns.clear();
+        return true;
+    }
+
+    private File periodFile(PayPeriod period) {
+        return new File(DataPaths.PAYROLL_FOLDER + PERIOD_FILE_PREFIX + period.toKey() + FILE_SUFFIX);
+    }
+
+    private String[] newRow(int empId, PayPeriod period) {
+        return new String[]{
+            buildTransactionId(empId, period),
+            String.valueOf(empId),
+            period.getStartDate().format(PERIOD_DATE_FMT),
+            period.getEndDate().format(PERIOD_DATE_FMT),
+            "", ApprovalStatus.PENDING.name(), "",
+            "", ApprovalStatus.PENDING.name(), ""
+        };
+    }
+
+    private boolean isSamePeriodRow(String[] r, PayPeriod period) {
+        if (r == null || r.length < COLUMN_COUNT) {
+            return false;
+        }
+        if (parseInt(clean(r[IDX_EMP])) <= 0) {
+            return false;
+        }
+
+        LocalDate start = parseDate(clean(r[IDX_START]));
+        LocalDate end = parseDate(clean(r[IDX_END]));
+        if (start == null || end == null) {
+            return false;
+        }
+
+        return start.equals(period.getStartDate()) && end.equals(period.getEndDate());
     }
 
     private String toCsvRow(String[] cols) {
@@ -298,6 +569,17 @@ public class CsvPayrollApprovalRepository implements PayrollApprovalRepository {
         }
     }
 
+    private LocalDateTime parseTimestamp(String raw) {
+        try {
+            if (raw == null || raw.isBlank()) {
+                return null;
+            }
+            return LocalDateTime.parse(raw.trim(), TS_FMT);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     private int parseInt(String raw) {
         try {
             if (raw == null || raw.isBlank()) {
@@ -323,4 +605,26 @@ public class CsvPayrollApprovalRepository implements PayrollApprovalRepository {
         }
         return s;
     }
+
+    // Annotation: One period's rows in file order, keyed by employee, plus the file state they were read from.
+    private static final class PeriodTable {
+
+        private final PayPeriod period;
+        private final LinkedHashMap<Integer, String[]> rows;
+        private long modified;
+        private long size;
+        private boolean dirty;
+        // Annotation: Rows came from legacy files and have no period file yet.
+        private boolean imported;
+        // Annotation: Changes not written yet: rows this table added, and the status column of each decision.
+        private final Set<Integer> addedRows = new HashSet<>();
+        private final Map<Integer, Set<Integer>> changedColumns = new HashMap<>();
+
+        private PeriodTable(PayPeriod period, LinkedHashMap<Integer, String[]> rows, long modified, long size) {
+            this.period = period;
+            this.rows = rows;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
 }
@@ -31,7 +31,6 @@ import java.util.Locale;
  */
 public class CsvPayslipRepository implements PayslipRepository {
 
-    private static final String CSV_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.US);
     private static final DateTimeFormatter PROCESSED_FMT = DateTimeFormatter.ofPattern("M/d/yyyy H:mm", Locale.US);
 
@@ -44,12 +43,19 @@ public class CsvPayslipRepository implements PayslipRepository {
             + "HourlyRate,TotalHoursWorked,GrossIncome,SSS,PhilHealth,Pagibig,WithholdingTax,"
             + "TotalDeductions,NetPay,ProcessedBy,DateProcessed,LeaveCredits,LeaveTaken,RemainingLeaveBalance";
 
+    // Annotation: The duplicate transaction check and the append run under the employee's lock.
+    private final RecordLockManager locks = RecordLockManager.shared();
+
     @Override
     public boolean save(Payslip p) {
         if (p == null || p.getPeriod() == null) {
             return false;
         }
 
+        return locks.call(FILE_PREFIX, p.getEmployeeId(), () -> append(p), false);
+    }
+
+    private boolean append(Payslip p) {
         ensureFolder(DataPaths.PAYSLIP_FOLDER);
 
         PayPeriod period = p.getPeriod();
@@ -182,6 +188,17 @@ public class CsvPayslipRepository implements PayslipRepository {
         return all;
     }
 
+    @Override
+    public boolean deleteByEmployee(int empId) {
+        return locks.call(FILE_PREFIX, empId, () -> {
+            boolean deleted = true;
+            for (File f : listEmployeePayslipFiles(empId)) {
+                deleted &= !f.exists() || f.delete();
+            }
+            return deleted;
+        }, false);
+    }
+
     private File[] listEmployeePayslipFiles(int empId) {
         ensureFolder(DataPaths.PAYSLIP_FOLDER);
 
@@ -228,7 +245,7 @@ public class CsvPayslipRepository implements PayslipRepository {
     }
 
     private Payslip parsePayslipRow(String row) {
-        String[] data = row.split(CSV_SPLIT_REGEX, -1);
+        String[] data = CsvTokenizer.split(row);
         // Expected columns based on HEADER: 23 old, 26 new
         if (data.length < 23) {
             return null;
@@ -322,12 +339,9 @@ public class CsvPayslipRepository implements PayslipRepository {
         }
     }
 
+    // Annotation: File creation failures keep save non-blocking.
     private void writeHeader(File file) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false))) {
-            bw.write(HEADER);
-        } catch (Exception e) {
-            // file creation failures keep save non-blocking
-        }
+        AtomicFileWriter.write(file, bw -> bw.write(HEADER));
     }
 
     private boolean existsTransactionId(File file, String txId) {
@@ -335,6 +349,8 @@ public class CsvPayslipRepository implements PayslipRepository {
             return false;
         }
 
+        CsvTokenizer tokens = new CsvTokenizer();
+
         try (BufferedReader br = new BufferedReader(new FileReader(file))) {
             String line = br.readLine(); // header
             while ((line = br.readLine()) != null) {
@@ -342,9 +358,8 @@ public class CsvPayslipRepository implements PayslipRepository {
                     continue;
                 }
 
-                String[] data = line.split(CSV_SPLIT_REGEX, -1);
-                if (data.length > 1) {
-                    String existingTx = clean(data[1]);
+                if (tokens.reset(line) > 1) {
+                    String existingTx = clean(tokens.field(1));
                     if (txId.equals(existingTx)) {
                         return true;
                     }
@@ -0,0 +1,108 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import com.motorph.repository.AuditRepository;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.LeaveCreditsRepository;
+import com.motorph.repository.LeaveRepository;
+import com.motorph.repository.LogRepository;
+import com.motorph.repository.PayrollApprovalRepository;
+import com.motorph.repository.PayslipRepository;
+import com.motorph.repository.StorageProvider;
+import com.motorph.repository.TimeEntryRepository;
+import com.motorph.repository.UserRepository;
+import com.motorph.repository.YearToDateRepository;
+
+/**
+ * The default storage backend: the CSV files under DataPaths.DATA_ROOT.
+ * Attendance uses per-employee punch journals with the year-month index and
+ * reads closed years from the binary archive; start() folds pending journals
+ * in, starts the journal compactor and gzips old system log segments.
+ *
+ * @author ACER
+ */
+public class CsvStorageProvider implements StorageProvider {
+
+    private CsvTimeRepository timeRepo;
+
+    @Override
+    public String name() {
+        return DataPaths.STORAGE_CSV;
+    }
+
+    @Override
+    public EmployeeRepository employees() {
+        return new CsvEmployeeRepository();
+    }
+
+    @Override
+    public String employeeSource() {
+        return DataPaths.EMPLOYEE_CSV;
+    }
+
+    @Override
+    public TimeEntryRepository timeEntries(EmployeeRepository employees) {
+        // Annotation: Punches go to per-employee journals; the compactor folds them into the DTR CSVs.
+        timeRepo = new CsvTimeRepository(employees, true, true);
+        // Annotation: Closed years with a binary archive are read from it and refuse edits.
+        return new ArchivedTimeRepository(timeRepo);
+    }
+
+    @Override
+    public UserRepository users() {
+        return new CsvUserRepository();
+    }
+
+    @Override
+    public PayslipRepository payslips() {
+        return new CsvPayslipRepository();
+    }
+
+    @Override
+    public PayrollApprovalRepository payrollApprovals() {
+        return new CsvPayrollApprovalRepository();
+    }
+
+    @Override
+    public PayrollApprovalRepository bufferedPayrollApprovals() {
+        return new CsvPayrollApprovalRepository(true);
+    }
+
+    @Override
+    public LeaveRepository leave() {
+        return new CsvLeaveRepository(true);
+    }
+
+    @Override
+    public LeaveCreditsRepository leaveCredits() {
+        return new CsvLeaveCreditsRepository();
+    }
+
+    @Override
+    public LogRepository logs() {
+        return new CsvLogRepository();
+    }
+
+    @Override
+    public AuditRepository audit() {
+        return new CsvAuditRepository();
+    }
+
+    @Override
+    public YearToDateRepository yearToDate() {
+        return new CsvYearToDateRepository();
+    }
+
+    @Override
+    public void start() {
+        if (timeRepo != null) {
+            timeRepo.compactAllJournals();
+            new DtrJournalCompactor(timeRepo).start();
+        }
+        // Annotation: Month segments of the system log older than the recent window are kept gzipped.
+        new CsvLogRepository().compressSegmentsOlderThan(CsvLogRepository.DEFAULT_UNCOMPRESSED_MONTHS);
+    }
+}
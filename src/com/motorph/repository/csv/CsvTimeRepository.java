@@ -25,15 +25,24 @@ import java.util.*;
  *
  * When multiple rows exist for the same date, the latest row in file order is
  * treated as the active snapshot.
+ *
+ * Journal mode: punches are appended to records_dtr_{empId}.journal as delta
+ * rows (same columns, blank time = unchanged) instead of rewriting the whole
+ * CSV. Reads merge the journal over the CSV, and compactJournal folds it back
+ * into the canonical file (see DtrJournalCompactor).
+ *
+ * Date index: period reads look up the month's byte range in
+ * records_dtr_{empId}.csv.idx and read only that part of the CSV (see
+ * RecordDateIndex). Every rewrite of the CSV drops the index.
  */
 public class CsvTimeRepository implements TimeEntryRepository {
 
-    private static final String CSV_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.US);
     private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("h:mm a", Locale.US);
 
     private static final String FILE_PREFIX = "records_dtr_";
     private static final String FILE_SUFFIX = ".csv";
+    public static final String JOURNAL_SUFFIX = ".journal";
 
     private static final String HEADER
             = "Attendance_ID,Employee #,Date,Log In,Log Out,First Name,Last Name";
@@ -46,14 +55,39 @@ public class CsvTimeRepository implements TimeEntryRepository {
     private static final int IDX_FIRST = 5;
     private static final int IDX_LAST = 6;
 
+    // Annotation: Per-employee lock so appends, reads and compaction of the same files do not interleave.
+    private final RecordLockManager locks = RecordLockManager.shared();
+
     private final EmployeeRepository empRepo; // optional dependency for name columns
+    private final boolean journalMode;
+    private final boolean dateIndex;
 
     public CsvTimeRepository() {
-        this.empRepo = null;
+        this(null, false);
     }
 
     public CsvTimeRepository(EmployeeRepository empRepo) {
+        this(empRepo, false);
+    }
+
+    // Annotation: Overloaded constructor that enables append-only journal writes.
+    public CsvTimeRepository(EmployeeRepository empRepo, boolean journalMode) {
+        this(empRepo, journalMode, false);
+    }
+
+    // Annotation: Overloaded constructor that also enables the per-file date index (see RecordDateIndex).
+    public CsvTimeRepository(EmployeeRepository empRepo, boolean journalMode, boolean dateIndex) {
         this.empRepo = empRepo;
+        this.journalMode = journalMode;
+        this.dateIndex = dateIndex;
+    }
+
+    public boolean isJournalMode() {
+        return journalMode;
+    }
+
+    public boolean isDateIndexed() {
+        return dateIndex;
     }
 
     @Override
@@ -64,17 +98,160 @@ public class CsvTimeRepository implements TimeEntryRepository {
 
         ensureFolder(DataPaths.DTR_FOLDER);
 
-        File file = new File(DataPaths.DTR_FOLDER + FILE_PREFIX + empId + FILE_SUFFIX);
-        ensureHeader(file);
+        return locks.call(FILE_PREFIX, empId,
+                () -> journalMode ? appendToJournal(empId, entry) : rewriteEntry(empId, entry), false);
+    }
+
+    // Annotation: Journal write path. Cost does not depend on how much history the CSV holds.
+    private boolean appendToJournal(int empId, TimeEntry entry) {
+        String firstName = "";
+        String lastName = "";
+        if (empRepo != null) {
+            Employee emp = empRepo.findById(empId);
+            if (emp != null) {
+                firstName = emp.getFirstName();
+                lastName = emp.getLastName();
+            }
+        }
+
+        String row = buildRow(buildAttendanceId(empId, entry.getDate()), empId, entry.getDate(),
+                entry.getTimeIn(), entry.getTimeOut(), firstName, lastName);
 
-        String attendanceId = buildAttendanceId(empId, entry.getDate());
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(journalFile(empId), true))) {
+            bw.write(row);
+            bw.newLine();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private boolean rewriteEntry(int empId, TimeEntry entry) {
+        File file = dtrFile(empId);
+        List<String> lines = readCanonicalLines(file);
+        int before = lines.size();
+        mergeIntoLines(lines, empId, entry.getDate(), entry.getTimeIn(), entry.getTimeOut(), "", "");
+
+        // Annotation: A punch for a new date only adds a row, so it is appended and the month's range extended.
+        if (lines.size() > before) {
+            return appendRow(file, lines.get(lines.size() - 1), entry.getDate());
+        }
+        boolean written = writeAllLines(file, lines);
+        RecordDateIndex.invalidate(file);
+        return written;
+    }
+
+    private boolean appendRow(File file, String row, LocalDate date) {
+        long sizeBefore = file.length();
+        long modifiedBefore = file.lastModified();
+
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, true))) {
+            bw.newLine();
+            bw.write(row);
+        } catch (Exception e) {
+            RecordDateIndex.invalidate(file);
+            return false;
+        }
+
+        if (dateIndex) {
+            RecordDateIndex.recordAppend(file, sizeBefore, modifiedBefore, date);
+        }
+        return true;
+    }
 
+    /**
+     * Folds the employee's journal into records_dtr_{empId}.csv and deletes
+     * the journal. Replaying the same journal twice gives the same CSV, so a
+     * crash between the rewrite and the delete is harmless.
+     *
+     * @return true when there was nothing to fold or the fold succeeded
+     */
+    public boolean compactJournal(int empId) {
+        return locks.call(FILE_PREFIX, empId, () -> compactJournalLocked(empId), false);
+    }
+
+    private boolean compactJournalLocked(int empId) {
+        File journal = journalFile(empId);
+        if (!journal.exists()) {
+            return true;
+        }
+
+        File file = dtrFile(empId);
+        List<String> lines = readCanonicalLines(file);
+
+        for (String row : readAllLines(journal)) {
+            if (row == null || row.trim().isEmpty()) {
+                continue;
+            }
+            String[] d = CsvTokenizer.split(row);
+            if (d.length < 7) {
+                continue;
+            }
+            LocalDate date = parseDate(clean(d[IDX_DATE]));
+            if (date == null) {
+                continue;
+            }
+            mergeIntoLines(lines, empId, date,
+                    parseTime(clean(d[IDX_IN])), parseTime(clean(d[IDX_OUT])),
+                    clean(d[IDX_FIRST]), clean(d[IDX_LAST]));
+        }
+
+        boolean written = writeAllLines(file, lines);
+        RecordDateIndex.invalidate(file);
+        if (!written) {
+            return false;
+        }
+        return journal.delete();
+    }
+
+    /**
+     * Compacts every journal found in the DTR folder.
+     *
+     * @return number of journals folded
+     */
+    public int compactAllJournals() {
+        File folder = new File(DataPaths.DTR_FOLDER);
+        File[] journals = folder.listFiles((dir, name)
+                -> name.startsWith(FILE_PREFIX) && name.endsWith(JOURNAL_SUFFIX));
+        if (journals == null) {
+            return 0;
+        }
+
+        int folded = 0;
+        for (File journal : journals) {
+            String name = journal.getName();
+            String idPart = name.substring(FILE_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length());
+            try {
+                if (compactJournal(Integer.parseInt(idPart))) {
+                    folded++;
+                }
+            } catch (NumberFormatException ignored) {
+                // journal files with an unexpected name are left alone
+            }
+        }
+        return folded;
+    }
+
+    private List<String> readCanonicalLines(File file) {
+        ensureHeader(file);
         List<String> lines = readAllLines(file);
         if (lines.isEmpty()) {
             lines.add(HEADER);
         }
+        return lines;
+    }
+
+    /**
+     * Applies one punch to the CSV lines in memory: updates the existing row
+     * for that date (keeping earlier values for blank times and names) or
+     * appends a new row.
+     */
+    private void mergeIntoLines(List<String> lines, int empId, LocalDate date,
+            LocalTime timeIn, LocalTime timeOut, String knownFirst, String knownLast) {
+        String attendanceId = buildAttendanceId(empId, date);
 
         boolean updated = false;
+        CsvTokenizer tokens = new CsvTokenizer();
 
         for (int i = 1; i < lines.size(); i++) {
             String line = lines.get(i);
@@ -82,25 +259,33 @@ public class CsvTimeRepository implements TimeEntryRepository {
                 continue;
             }
 
-            String[] d = line.split(CSV_SPLIT_REGEX, -1);
-            if (d.length < 7) {
+            // Only the Attendance_ID is materialized until the matching row is found.
+            if (tokens.reset(line) < 7) {
                 continue;
             }
 
-            String existingId = clean(d[IDX_ATT_ID]);
+            String existingId = clean(tokens.field(IDX_ATT_ID));
             if (!attendanceId.equals(existingId)) {
                 continue;
             }
 
+            String[] d = CsvTokenizer.split(line);
+
             // Existing row found: merge values without losing earlier saved values.
             LocalTime existingIn = parseTime(clean(d[IDX_IN]));
             LocalTime existingOut = parseTime(clean(d[IDX_OUT]));
 
-            LocalTime finalIn = (entry.getTimeIn() != null) ? entry.getTimeIn() : existingIn;
-            LocalTime finalOut = (entry.getTimeOut() != null) ? entry.getTimeOut() : existingOut;
+            LocalTime finalIn = (timeIn != null) ? timeIn : existingIn;
+            LocalTime finalOut = (timeOut != null) ? timeOut : existingOut;
 
             String firstName = clean(d[IDX_FIRST]);
             String lastName = clean(d[IDX_LAST]);
+            if (firstName.isEmpty()) {
+                firstName = knownFirst;
+            }
+            if (lastName.isEmpty()) {
+                lastName = knownLast;
+            }
 
             // Name fallback uses employee master if available.
             if ((firstName.isEmpty() || lastName.isEmpty()) && empRepo != null) {
@@ -115,16 +300,16 @@ public class CsvTimeRepository implements TimeEntryRepository {
                 }
             }
 
-            lines.set(i, buildRow(attendanceId, empId, entry.getDate(), finalIn, finalOut, firstName, lastName));
+            lines.set(i, buildRow(attendanceId, empId, date, finalIn, finalOut, firstName, lastName));
             updated = true;
             break;
         }
 
         if (!updated) {
-            String firstName = "";
-            String lastName = "";
+            String firstName = knownFirst;
+            String lastName = knownLast;
 
-            if (empRepo != null) {
+            if ((firstName.isEmpty() || lastName.isEmpty()) && empRepo != null) {
                 Employee emp = empRepo.findById(empId);
                 if (emp != null) {
                     firstName = emp.getFirstName();
@@ -132,10 +317,8 @@ public class CsvTimeRepository implements TimeEntryRepository {
                 }
             }
 
-            lines.add(buildRow(attendanceId, empId, entry.getDate(), entry.getTimeIn(), entry.getTimeOut(), firstName, lastName));
+            lines.add(buildRow(attendanceId, empId, date, timeIn, timeOut, firstName, lastName));
         }
-
-        return writeAllLines(file, lines);
     }
 
     @Override
@@ -148,54 +331,156 @@ public class CsvTimeRepository implements TimeEntryRepository {
         return readFromFile(empId, period);
     }
 
+    // Annotation: Deletes the DTR file and its journal under the employee's lock.
+    @Override
+    public boolean deleteByEmployee(int empId) {
+        return locks.call(FILE_PREFIX, empId, () -> {
+            File file = dtrFile(empId);
+            File journal = journalFile(empId);
+            boolean deleted = (!journal.exists() || journal.delete()) && (!file.exists() || file.delete());
+            RecordDateIndex.invalidate(file);
+            return deleted;
+        }, false);
+    }
+
+    // Annotation: Size and timestamp of the DTR file and its journal; any write through any process moves one of them.
+    @Override
+    public long changeStamp(int empId) {
+        File file = dtrFile(empId);
+        File journal = journalFile(empId);
+        long stamp = 31 * file.lastModified() + file.length();
+        return 31 * (31 * stamp + journal.lastModified()) + journal.length();
+    }
+
     private List<TimeEntry> readFromFile(int empId, PayPeriod period) {
-        File file = new File(DataPaths.DTR_FOLDER + FILE_PREFIX + empId + FILE_SUFFIX);
-        if (!file.exists()) {
+        if (!journalMode) {
+            return readCanonical(empId, period);
+        }
+        List<TimeEntry> rows = locks.call(FILE_PREFIX, empId, () -> readCanonical(empId, period), null);
+        // Annotation: Without the lock the files are read as they are; replaying the journal is idempotent.
+        return rows != null ? rows : readCanonical(empId, period);
+    }
+
+    private List<TimeEntry> readCanonical(int empId, PayPeriod period) {
+        File file = dtrFile(empId);
+        File journal = journalMode ? journalFile(empId) : null;
+        boolean hasJournal = journal != null && journal.exists();
+        if (!file.exists() && !hasJournal) {
             return new ArrayList<>();
         }
 
         // Dedupe by Attendance_ID; last occurrence wins (supports older append-based files).
         Map<String, TimeEntry> byId = new LinkedHashMap<>();
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            br.readLine(); // header excluded during parsing
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
+        if (file.exists()) {
+            CsvTokenizer tokens = new CsvTokenizer();
+
+            if (period != null && DateColumnScanner.SUPPORTED) {
+                // Annotation: Rows outside the period are skipped on their raw date bytes and never decoded.
+                List<long[]> regions = dateIndex
+                        ? RecordDateIndex.regions(file, IDX_DATE, period.getStartDate(), period.getEndDate())
+                        : null;
+                boolean read = (regions != null)
+                        ? DateColumnScanner.scanRegions(file, IDX_DATE, period.getStartDate(), period.getEndDate(),
+                                regions, line -> readRow(line, period, tokens, byId))
+                        : DateColumnScanner.scan(file, IDX_DATE, period.getStartDate(), period.getEndDate(),
+                                line -> readRow(line, period, tokens, byId));
+                if (!read) {
+                    return new ArrayList<>();
                 }
+            } else {
+                try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+                    br.readLine(); // header excluded during parsing
 
-                String[] d = line.split(CSV_SPLIT_REGEX, -1);
-                if (d.length < 7) {
-                    continue;
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        readRow(line, period, tokens, byId);
+                    }
+                } catch (Exception e) {
+                    return new ArrayList<>();
                 }
+            }
+        }
 
-                String attId = clean(d[IDX_ATT_ID]);
-                LocalDate date = parseDate(clean(d[IDX_DATE]));
-                if (date == null) {
-                    continue;
-                }
+        if (hasJournal) {
+            mergeJournal(journal, period, byId);
+        }
 
-                if (period != null && !period.includes(date)) {
-                    continue;
-                }
+        return new ArrayList<>(byId.values());
+    }
 
-                LocalTime in = parseTime(clean(d[IDX_IN]));
-                LocalTime out = parseTime(clean(d[IDX_OUT]));
+    private void readRow(String line, PayPeriod period, CsvTokenizer tokens, Map<String, TimeEntry> byId) {
+        if (line.trim().isEmpty()) {
+            return;
+        }
 
-                // TimeIn is required for a valid workday record.
-                if (in == null) {
-                    continue;
-                }
+        // Name columns are never materialized on the read path.
+        if (tokens.reset(line) < 7) {
+            return;
+        }
+
+        LocalDate date = parseDate(clean(tokens.field(IDX_DATE)));
+        if (date == null) {
+            return;
+        }
+
+        if (period != null && !period.includes(date)) {
+            return;
+        }
 
-                byId.put(attId, new TimeEntry(date, in, out));
+        String attId = clean(tokens.field(IDX_ATT_ID));
+        LocalTime in = parseTime(clean(tokens.field(IDX_IN)));
+        LocalTime out = parseTime(clean(tokens.field(IDX_OUT)));
+
+        // TimeIn is required for a valid workday record.
+        if (in == null) {
+            return;
+        }
+
+        byId.put(attId, new TimeEntry(date, in, out));
+    }
+
+    // Annotation: Journal rows are deltas, so a blank time keeps the value already read for that Attendance_ID.
+    private void mergeJournal(File journal, PayPeriod period, Map<String, TimeEntry> byId) {
+        for (String line : readAllLines(journal)) {
+            if (line == null || line.trim().isEmpty()) {
+                continue;
             }
-        } catch (Exception e) {
-            return new ArrayList<>();
+
+            String[] d = CsvTokenizer.split(line);
+            if (d.length < 7) {
+                continue;
+            }
+
+            String attId = clean(d[IDX_ATT_ID]);
+            LocalDate date = parseDate(clean(d[IDX_DATE]));
+            if (date == null || (period != null && !period.includes(date))) {
+                continue;
+            }
+
+            TimeEntry existing = byId.get(attId);
+            LocalTime in = parseTime(clean(d[IDX_IN]));
+            LocalTime out = parseTime(clean(d[IDX_OUT]));
+            if (in == null && existing != null) {
+                in = existing.getTimeIn();
+            }
+            if (out == null && existing != null) {
+                out = existing.getTimeOut();
+            }
+
+            if (in == null) {
+                continue;
+            }
+            byId.put(attId, new TimeEntry(date, in, out));
         }
+    }
 
-        return new ArrayList<>(byId.values());
+    private File dtrFile(int empId) {
+        return new File(DataPaths.DTR_FOLDER + FILE_PREFIX + empId + FILE_SUFFIX);
+    }
+
+    private File journalFile(int empId) {
+        return new File(DataPaths.DTR_FOLDER + FILE_PREFIX + empId + JOURNAL_SUFFIX);
     }
 
     private String buildRow(String attendanceId, int empId, LocalDate date,
@@ -238,12 +523,9 @@ public class CsvTimeRepository implements TimeEntryRepository {
         }
     }
 
+    // Annotation: File creation failure remains non-blocking.
     private void writeHeader(File file) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false))) {
-            bw.write(HEADER);
-        } catch (Exception e) {
-            // file creation failure remains non-blocking
-        }
+        AtomicFileWriter.write(file, bw -> bw.write(HEADER));
     }
 
     private List<String> readAllLines(File file) {
@@ -260,17 +542,14 @@ public class CsvTimeRepository implements TimeEntryRepository {
     }
 
     private boolean writeAllLines(File file, List<String> lines) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false))) {
+        return AtomicFileWriter.write(file, bw -> {
             for (int i = 0; i < lines.size(); i++) {
                 bw.write(lines.get(i));
                 if (i < lines.size() - 1) {
                     bw.newLine();
                 }
             }
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        });
     }
 
     private LocalDate parseDate(String raw) {
@@ -0,0 +1,152 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import java.util.Arrays;
+
+/**
+ * Quote-aware CSV line tokenizer shared by the CSV repositories.
+ *
+ * Produces exactly the same fields as the former
+ * {@code line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1)}: a comma
+ * separates fields when the rest of the line after it holds an even number of
+ * double quotes. Fields are returned raw (quotes kept); each repository still
+ * applies its own clean().
+ *
+ * The regex re-scanned the rest of the line at every comma. This version
+ * counts quotes once and then makes a single pass, recording field offsets so
+ * callers can read only the columns they need.
+ *
+ * @author ACER
+ */
+public final class CsvTokenizer {
+
+    private static final char DELIM = ',';
+    private static final char QUOTE = '"';
+
+    private CharSequence source;
+    private int[] bounds = new int[32]; // start/end pairs
+    private int count;
+
+    /**
+     * Splits one line into raw fields. Trailing empty fields are kept.
+     *
+     * @param line CSV line without the line terminator
+     * @return fields in column order; a blank line yields one empty field
+     */
+    public static String[] split(String line) {
+        if (line == null) {
+            return new String[]{""};
+        }
+
+        int quotesAfter = countQuotes(line, 0, line.length());
+        if (quotesAfter == 0) {
+            // No quotes: every comma is a separator.
+            return line.split(",", -1);
+        }
+
+        String[] out = new String[8];
+        int n = 0;
+        int start = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == QUOTE) {
+                quotesAfter--;
+            } else if (c == DELIM && (quotesAfter & 1) == 0) {
+                if (n == out.length) {
+                    out = Arrays.copyOf(out, n * 2);
+                }
+                out[n++] = line.substring(start, i);
+                start = i + 1;
+            }
+        }
+        if (n == out.length) {
+            out = Arrays.copyOf(out, n + 1);
+        }
+        out[n++] = line.substring(start);
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Tokenizes a line in place, keeping only field offsets. The instance is
+     * reusable and not thread-safe.
+     *
+     * @return number of fields found
+     */
+    public int reset(CharSequence line) {
+        return reset(line, 0, line == null ? 0 : line.length());
+    }
+
+    /**
+     * Tokenizes {@code line[from, to)}, for example one line inside a larger
+     * char buffer. Offsets returned by {@link #start(int)} and
+     * {@link #end(int)} are absolute positions in {@code line}.
+     *
+     * @return number of fields found
+     */
+    public int reset(CharSequence line, int from, int to) {
+        source = line;
+        count = 0;
+
+        if (line == null) {
+            addField(0, 0);
+            return count;
+        }
+
+        int quotesAfter = countQuotes(line, from, to);
+        int start = from;
+        for (int i = from; i < to; i++) {
+            char c = line.charAt(i);
+            if (c == QUOTE) {
+                quotesAfter--;
+            } else if (c == DELIM && (quotesAfter & 1) == 0) {
+                addField(start, i);
+                start = i + 1;
+            }
+        }
+        addField(start, to);
+        return count;
+    }
+
+    public int fieldCount() {
+        return count;
+    }
+
+    public int start(int field) {
+        return bounds[field * 2];
+    }
+
+    public int end(int field) {
+        return bounds[field * 2 + 1];
+    }
+
+    // Annotation: Allocates only the requested column.
+    public String field(int field) {
+        if (field < 0 || field >= count || source == null) {
+            return "";
+        }
+        return source.subSequence(start(field), end(field)).toString();
+    }
+
+    private void addField(int start, int end) {
+        int idx = count * 2;
+        if (idx + 1 >= bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[idx] = start;
+        bounds[idx + 1] = end;
+        count++;
+    }
+
+    private static int countQuotes(CharSequence line, int from, int to) {
+        int quotes = 0;
+        for (int i = from; i < to; i++) {
+            if (line.charAt(i) == QUOTE) {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+}
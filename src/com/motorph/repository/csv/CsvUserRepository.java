@@ -9,10 +9,12 @@ import com.motorph.domain.models.User;
 import com.motorph.repository.UserRepository;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -27,6 +29,9 @@ public class CsvUserRepository implements UserRepository {
 
     private static final String FILE_PATH = DataPaths.LOGIN_CSV;
 
+    // Annotation: Appends and rewrites of the login file share one lock.
+    private final RecordLockManager locks = RecordLockManager.shared();
+
     @Override
     public User findByUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
@@ -97,10 +102,16 @@ public class CsvUserRepository implements UserRepository {
                 lockOut
         );
 
+        locks.call(new File(FILE_PATH), () -> append(row), false);
+    }
+
+    private boolean append(String row) {
         try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(FILE_PATH, true)))) {
             out.println(row);
+            return true;
         } catch (IOException e) {
             System.err.println("Error saving legacy user: " + e.getMessage());
+            return false;
         }
     }
 
@@ -119,7 +130,10 @@ public class CsvUserRepository implements UserRepository {
         if (username == null || username.trim().isEmpty()) {
             return false;
         }
+        return locks.call(new File(FILE_PATH), () -> removeRow(username), false);
+    }
 
+    private boolean removeRow(String username) {
         List<String> out = new ArrayList<>();
         boolean removed = false;
 
@@ -160,15 +174,11 @@ public class CsvUserRepository implements UserRepository {
             return false;
         }
 
-        try (PrintWriter outWriter = new PrintWriter(new FileWriter(FILE_PATH))) {
-            for (String row : out) {
-                outWriter.println(row);
-            }
-            return true;
-        } catch (IOException e) {
-            System.err.println("Error rewriting legacy login file after delete: " + e.getMessage());
+        if (!AtomicFileWriter.write(new File(FILE_PATH), Charset.defaultCharset(), DataPaths.BACKUP_GENERATIONS, bw -> writeRows(bw, out))) {
+            System.err.println("Error rewriting legacy login file after delete.");
             return false;
         }
+        return true;
     }
 
     @Override
@@ -216,7 +226,10 @@ public class CsvUserRepository implements UserRepository {
         if (username == null || username.trim().isEmpty()) {
             return;
         }
+        locks.call(new File(FILE_PATH), () -> rewriteField(username, columnIndex, newValue), false);
+    }
 
+    private boolean rewriteField(String username, int columnIndex, String newValue) {
         List<String> lines = new ArrayList<>();
 
         try (BufferedReader br = new BufferedReader(new FileReader(FILE_PATH))) {
@@ -250,15 +263,20 @@ public class CsvUserRepository implements UserRepository {
             }
         } catch (IOException e) {
             System.err.println("Error reading legacy login file for update: " + e.getMessage());
-            return;
+            return false;
         }
 
-        try (PrintWriter out = new PrintWriter(new FileWriter(FILE_PATH))) {
-            for (String row : lines) {
-                out.println(row);
-            }
-        } catch (IOException e) {
-            System.err.println("Error rewriting legacy login file: " + e.getMessage());
+        if (!AtomicFileWriter.write(new File(FILE_PATH), Charset.defaultCharset(), DataPaths.BACKUP_GENERATIONS, bw -> writeRows(bw, lines))) {
+            System.err.println("Error rewriting legacy login file.");
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeRows(BufferedWriter bw, List<String> rows) throws IOException {
+        for (String row : rows) {
+            bw.write(row);
+            bw.newLine();
         }
     }
 
@@ -268,8 +286,12 @@ public class CsvUserRepository implements UserRepository {
                 || lockStr.equalsIgnoreCase("True");
     }
 
-    // Annotation: Maps department or position text into the matching RBAC role set.
     private List<Role> determineRolesFromDepartment(String department) {
+        return rolesForDepartment(department);
+    }
+
+    // Annotation: Maps department or position text into the matching RBAC role set. Shared with the Access backend.
+    public static List<Role> rolesForDepartment(String department) {
         List<Role> roles = new ArrayList<>();
         if (department == null) {
             roles.add(Role.EMPLOYEE);
@@ -0,0 +1,334 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import com.motorph.domain.models.YearToDate;
+import com.motorph.repository.YearToDateRepository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CSV year-to-date store (records_ytd.csv). Each row holds amounts to add to
+ * one employee, year and semi-monthly bucket, so an update is a single
+ * append. The file is summed into memory on first use, and again whenever its
+ * size or timestamp shows another process wrote to it.
+ *
+ * Writes run under RecordLockManager on the file. Once appended rows
+ * outnumber the non-empty buckets four to one, the file is rewritten with one
+ * row per bucket.
+ *
+ * @author ACER
+ */
+public class CsvYearToDateRepository implements YearToDateRepository {
+
+    private static final String HEADER = "EmployeeID,Year,Bucket,Gross,SSS,PhilHealth,PagIbig,Tax,TotalDeductions,NetPay,Payslips,LeaveMinutes";
+    private static final int FIXED_COLUMNS = 3;
+    private static final int COMPACT_MIN_ROWS = 1000;
+
+    private final File file;
+    private final RecordLockManager locks = RecordLockManager.shared();
+
+    private final Map<Long, YearToDate> totals = new HashMap<>();
+    private long knownLength = -1;
+    private long knownModified = -1;
+    private int rowCount;
+
+    public CsvYearToDateRepository() {
+        this(new File(DataPaths.YTD_CSV));
+    }
+
+    public CsvYearToDateRepository(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return file.exists();
+    }
+
+    @Override
+    public synchronized YearToDate find(int empId, int year) {
+        refresh();
+        YearToDate ytd = totals.get(key(empId, year));
+        return ytd == null ? null : ytd.copy();
+    }
+
+    @Override
+    public boolean add(YearToDate delta) {
+        if (delta == null) {
+            return false;
+        }
+        return locks.call(file, () -> applyRows(rowsOf(delta)), false);
+    }
+
+    @Override
+    public boolean replaceColumn(int empId, int column, Map<Integer, long[]> bucketsByYear) {
+        return locks.call(file, () -> {
+            synchronized (this) {
+                refresh();
+
+                Set<Integer> years = new HashSet<>(bucketsByYear.keySet());
+                for (YearToDate ytd : totals.values()) {
+                    if (ytd.getEmployeeId() == empId) {
+                        years.add(ytd.getYear());
+                    }
+                }
+
+                List<long[]> rows = new ArrayList<>();
+                for (int year : years) {
+                    YearToDate current = totals.get(key(empId, year));
+                    long[] target = bucketsByYear.get(year);
+                    for (int b = 0; b < YearToDate.BUCKETS; b++) {
+                        long want = target == null ? 0 : target[b];
+                        long have = current == null ? 0 : current.get(column, b);
+                        if (want != have) {
+                            long[] row = new long[FIXED_COLUMNS + YearToDate.COLUMNS];
+                            row[0] = empId;
+                            row[1] = year;
+                            row[2] = b;
+                            row[FIXED_COLUMNS + column] = want - have;
+                            rows.add(row);
+                        }
+                    }
+                }
+                return applyRows(rows);
+            }
+        }, false);
+    }
+
+    @Override
+    public boolean replaceAll(Collection<YearToDate> rebuilt) {
+        return locks.call(file, () -> {
+            synchronized (this) {
+                totals.clear();
+                for (YearToDate ytd : rebuilt) {
+                    totals.put(key(ytd.getEmployeeId(), ytd.getYear()), ytd.copy());
+                }
+                return rewrite();
+            }
+        }, false);
+    }
+
+    @Override
+    public boolean removeEmployee(int empId) {
+        return locks.call(file, () -> {
+            synchronized (this) {
+                refresh();
+                if (!totals.values().removeIf(ytd -> ytd.getEmployeeId() == empId)) {
+                    return true;
+                }
+                return rewrite();
+            }
+        }, false);
+    }
+
+    @Override
+    public boolean discard() {
+        return locks.call(file, () -> {
+            synchronized (this) {
+                totals.clear();
+                rowCount = 0;
+                knownLength = -1;
+                return !file.exists() || file.delete();
+            }
+        }, false);
+    }
+
+    // Annotation: Appends the rows, then adds them to the in-memory totals. Caller holds the file lock.
+    private synchronized boolean applyRows(List<long[]> rows) {
+        refresh();
+        if (rows.isEmpty()) {
+            return true;
+        }
+
+        boolean start = !file.exists() || file.length() == 0;
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, true))) {
+            if (start) {
+                bw.write(HEADER);
+                bw.newLine();
+            } else if (!endsWithNewline()) {
+                // Close a row torn by an interrupted append, so the new rows start on their own line.
+                bw.newLine();
+            }
+            for (long[] row : rows) {
+                bw.write(format(row));
+                bw.newLine();
+            }
+        } catch (IOException e) {
+            // Drop the memory state; the next read sums whatever reached the file.
+            knownLength = -1;
+            return false;
+        }
+
+        for (long[] row : rows) {
+            merge(row);
+        }
+        rowCount += rows.size();
+        remember();
+
+        if (rowCount > COMPACT_MIN_ROWS && rowCount > 4 * nonEmptyBuckets()) {
+            rewrite();
+        }
+        return true;
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long length = raf.length();
+            if (length == 0) {
+                return true;
+            }
+            raf.seek(length - 1);
+            return raf.read() == '\n';
+        }
+    }
+
+    private boolean rewrite() {
+        boolean ok = AtomicFileWriter.write(file, bw -> {
+            bw.write(HEADER);
+            bw.newLine();
+            for (YearToDate ytd : totals.values()) {
+                for (long[] row : rowsOf(ytd)) {
+                    bw.write(format(row));
+                    bw.newLine();
+                }
+            }
+        });
+        if (ok) {
+            rowCount = nonEmptyBuckets();
+            remember();
+        } else {
+            knownLength = -1;
+        }
+        return ok;
+    }
+
+    // Annotation: Re-sums the file when it is new to this instance or changed on disk.
+    private void refresh() {
+        if (knownLength == file.length() && knownModified == file.lastModified()) {
+            return;
+        }
+
+        totals.clear();
+        rowCount = 0;
+        if (file.exists()) {
+            try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    long[] row = parse(line);
+                    if (row != null) {
+                        merge(row);
+                        rowCount++;
+                    }
+                }
+            } catch (IOException e) {
+                // Partial totals are kept; the next change on disk triggers another read.
+            }
+        }
+        remember();
+    }
+
+    private void remember() {
+        knownLength = file.length();
+        knownModified = file.lastModified();
+    }
+
+    private void merge(long[] row) {
+        int empId = (int) row[0];
+        int year = (int) row[1];
+        int bucket = (int) row[2];
+        YearToDate ytd = totals.computeIfAbsent(key(empId, year), k -> new YearToDate(empId, year));
+        for (int c = 0; c < YearToDate.COLUMNS; c++) {
+            ytd.add(c, bucket, row[FIXED_COLUMNS + c]);
+        }
+    }
+
+    private int nonEmptyBuckets() {
+        int n = 0;
+        for (YearToDate ytd : totals.values()) {
+            for (int b = 0; b < YearToDate.BUCKETS; b++) {
+                if (!isEmpty(ytd, b)) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    private static List<long[]> rowsOf(YearToDate ytd) {
+        List<long[]> rows = new ArrayList<>();
+        for (int b = 0; b < YearToDate.BUCKETS; b++) {
+            if (isEmpty(ytd, b)) {
+                continue;
+            }
+            long[] row = new long[FIXED_COLUMNS + YearToDate.COLUMNS];
+            row[0] = ytd.getEmployeeId();
+            row[1] = ytd.getYear();
+            row[2] = b;
+            for (int c = 0; c < YearToDate.COLUMNS; c++) {
+                row[FIXED_COLUMNS + c] = ytd.get(c, b);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static boolean isEmpty(YearToDate ytd, int bucket) {
+        for (int c = 0; c < YearToDate.COLUMNS; c++) {
+            if (ytd.get(c, bucket) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String format(long[] row) {
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(row[i]);
+        }
+        return sb.toString();
+    }
+
+    // Annotation: Null for the header, blank lines and rows that are malformed or torn by an interrupted append.
+    private static long[] parse(String line) {
+        String[] parts = line.split(",", -1);
+        if (parts.length != FIXED_COLUMNS + YearToDate.COLUMNS) {
+            return null;
+        }
+        long[] row = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                row[i] = Long.parseLong(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (row[2] < 0 || row[2] >= YearToDate.BUCKETS) {
+            return null;
+        }
+        return row;
+    }
+
+    private static long key(int empId, int year) {
+        return ((long) empId << 16) | (year & 0xFFFF);
+    }
+}
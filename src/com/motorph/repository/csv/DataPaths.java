@@ -4,45 +4,173 @@
  */
 package com.motorph.repository.csv;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+
 /**
  * Centralized File Paths. Updated to include the Holiday Calendar.
  *
+ * The data root defaults to ./data. It can be moved with, in order of
+ * precedence, the system property motorph.data.root, the environment
+ * variable MOTORPH_DATA_ROOT, or data.root in a motorph.properties file in the
+ * working directory (another file can be named with -Dmotorph.config).
+ *
+ * The per-employee folders can be relocated on their own the same way, for
+ * example to keep append-heavy DTR files on a local SSD:
+ * motorph.data.dtr / MOTORPH_DATA_DTR / data.dtr, and likewise for payslip,
+ * payroll, leave, logs and dtr_archive.
+ *
+ * The storage backend is chosen with motorph.data.storage / MOTORPH_DATA_STORAGE
+ * / data.storage: "csv" (default) or "access" for the Access database at
+ * motorph.data.access (default root/motorph.accdb). Registered third-party
+ * providers are selected by their own name. The decorators wrapped around the
+ * backend are listed in motorph.data.decorators (comma-separated: cache,
+ * metrics, write-behind; "none" for plain repositories).
+ *
+ * Whole-file rewrites go through AtomicFileWriter; motorph.data.backups sets
+ * how many earlier versions of the core data files are kept beside them.
+ *
+ * Paths are resolved once when the class loads.
+ *
  * @author ACER
  */
 public class DataPaths {
 
+    // --- 0. ROOT AND FOLDER OVERRIDES ---
+    public static final String CONFIG_FILE_PROPERTY = "motorph.config";
+    public static final String DEFAULT_CONFIG_FILE = "motorph.properties";
+    public static final String DEFAULT_DATA_ROOT = "./data";
+
+    private static final Properties CONFIG = loadConfig();
+
+    public static final String DATA_ROOT = resolve("root", DEFAULT_DATA_ROOT);
+
     // --- 1. CORE DATA ---
-    public static final String EMPLOYEE_CSV = "./data/data_Employee.csv";
-    public static final String LOGIN_CSV = "./data/data_Legacy_LogIn.csv";
+    public static final String EMPLOYEE_CSV = DATA_ROOT + "/data_Employee.csv";
+    public static final String LOGIN_CSV = DATA_ROOT + "/data_Legacy_LogIn.csv";
 
     // --- 2. FOLDERS ---
-    public static final String DTR_FOLDER = "./data/records_dtr/";
-    public static final String PAYSLIP_FOLDER = "./data/records_payslips/";
-    public static final String PAYROLL_FOLDER = "./data/records_payroll/";
+    public static final String DTR_FOLDER = folder("dtr", "records_dtr");
+    // Annotation: Binary archives of closed attendance years (see DtrArchiveFile).
+    public static final String DTR_ARCHIVE_FOLDER = folder("dtr_archive", "records_dtr_archive");
+    public static final String PAYSLIP_FOLDER = folder("payslip", "records_payslips");
+    public static final String PAYROLL_FOLDER = folder("payroll", "records_payroll");
 
     // --- 3. GOV TABLES ---
-    public static final String GOV_SSS_CSV = "./data/gov_SSS_Table.csv";
-    public static final String GOV_PHILHEALTH_CSV = "./data/gov_Philhealth_Table.csv";
-    public static final String GOV_PAGIBIG_CSV = "./data/gov_Pagibig_Table.csv";
-    public static final String GOV_TAX_CSV = "./data/gov_Tax_Table.csv";
+    public static final String GOV_SSS_CSV = DATA_ROOT + "/gov_SSS_Table.csv";
+    public static final String GOV_PHILHEALTH_CSV = DATA_ROOT + "/gov_Philhealth_Table.csv";
+    public static final String GOV_PAGIBIG_CSV = DATA_ROOT + "/gov_Pagibig_Table.csv";
+    public static final String GOV_TAX_CSV = DATA_ROOT + "/gov_Tax_Table.csv";
 
     // --- 4. CALENDAR ---
-    public static final String HOLIDAY_CSV = "./data/data_HolidayCalendar.csv";
+    public static final String HOLIDAY_CSV = DATA_ROOT + "/data_HolidayCalendar.csv";
 
     // --- 5. AUDIT LOGS ---
-    public static final String LOG_PAYROLL = "./data/changeLogs_Payroll.csv";
-    public static final String LOG_EMP_DATA = "./data/changeLogs_EmpDataChangeLogs.csv";
-    public static final String LOG_DTR = "./data/changeLogs_DTR.csv";
-    public static final String AUDIT_LOG_CSV = "./data/changeLogs_records.csv";
-    public static final String SYSTEM_LOG_CSV = "./data/system_logs.csv";
+    public static final String LOG_PAYROLL = DATA_ROOT + "/changeLogs_Payroll.csv";
+    public static final String LOG_EMP_DATA = DATA_ROOT + "/changeLogs_EmpDataChangeLogs.csv";
+    public static final String LOG_DTR = DATA_ROOT + "/changeLogs_DTR.csv";
+    public static final String AUDIT_LOG_CSV = DATA_ROOT + "/changeLogs_records.csv";
+    // Annotation: Pre-segmentation log file, read once to migrate it into SYSTEM_LOG_FOLDER.
+    public static final String SYSTEM_LOG_CSV = DATA_ROOT + "/system_logs.csv";
+    public static final String SYSTEM_LOG_FOLDER = folder("logs", "records_system_logs");
 
     // --- 6. LEAVE ---
-    public static final String LEAVE_CREDITS_CSV = "./data/data_LeaveCredits.csv";
-    public static final String LEAVE_FOLDER = "./data/records_leave/";
+    public static final String LEAVE_CREDITS_CSV = DATA_ROOT + "/data_LeaveCredits.csv";
+    public static final String LEAVE_FOLDER = folder("leave", "records_leave");
+    // Annotation: Running payroll and leave totals per employee, year and half-month; rebuilt by YearToDateRebuildTool.
+    public static final String YTD_CSV = DATA_ROOT + "/records_ytd.csv";
 
     // --- 7. ADDRESS REFERENCE ---
-    public static final String ADDRESS_REFERENCE_CSV = "./data/AddressReference.csv";
+    public static final String ADDRESS_REFERENCE_CSV = DATA_ROOT + "/AddressReference.csv";
+
+    // --- 8. STORAGE BACKEND ---
+    public static final String STORAGE_CSV = "csv";
+    public static final String STORAGE_ACCESS = "access";
+    public static final String STORAGE_BACKEND = resolve("storage", STORAGE_CSV).toLowerCase(Locale.US);
+    public static final String ACCESS_DB = resolve("access", DATA_ROOT + "/motorph.accdb");
+    public static final String STORAGE_DECORATORS = resolve("decorators", "cache,write-behind").toLowerCase(Locale.US);
+
+    // --- 9. LOCKING ---
+    // Annotation: Region-locked by RecordLockManager so separate processes on one data root do not interleave writes.
+    public static final String LOCK_FILE = DATA_ROOT + "/.motorph.lock";
+
+    // --- 10. PAYROLL BACKFILL ---
+    // Annotation: Employees finished by an interrupted backfill; the first line names the range.
+    public static final String BACKFILL_CHECKPOINT = DATA_ROOT + "/.payroll_backfill.checkpoint";
+
+    // --- 11. BACKUPS ---
+    // Annotation: Earlier versions kept for the employee, login and leave credit files on each rewrite (0 = none).
+    public static final int BACKUP_GENERATIONS = resolveInt("backups", 0);
 
     // Default Hased Password
     public static final String DEFAULT_PASSWORD = "Test1234";
+
+    private DataPaths() {
+    }
+
+    // Annotation: Folder paths keep the trailing slash callers append file names to.
+    private static String folder(String key, String defaultName) {
+        return resolve(key, DATA_ROOT + "/" + defaultName) + "/";
+    }
+
+    /**
+     * Looks up one setting: system property motorph.data.{key}, then
+     * environment variable MOTORPH_DATA_{KEY}, then data.{key} in the config
+     * file, then the default.
+     */
+    private static String resolve(String key, String defaultValue) {
+        String value = System.getProperty("motorph.data." + key);
+        if (isBlank(value)) {
+            value = System.getenv("MOTORPH_DATA_" + key.toUpperCase(Locale.US));
+        }
+        if (isBlank(value)) {
+            value = CONFIG.getProperty("data." + key);
+        }
+        if (isBlank(value)) {
+            value = defaultValue;
+        }
+        return trimTrailingSlash(value.trim().replace('\\', '/'));
+    }
+
+    // Annotation: Non-negative whole number; anything else falls back to the default.
+    private static int resolveInt(String key, int defaultValue) {
+        try {
+            int value = Integer.parseInt(resolve(key, String.valueOf(defaultValue)));
+            return value < 0 ? defaultValue : value;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Properties loadConfig() {
+        Properties props = new Properties();
+        String path = System.getProperty(CONFIG_FILE_PROPERTY, DEFAULT_CONFIG_FILE);
+
+        File file = new File(path);
+        if (!file.isFile()) {
+            return props;
+        }
+
+        try (InputStream in = new FileInputStream(file)) {
+            props.load(in);
+        } catch (Exception e) {
+            // unreadable config falls back to defaults
+        }
+        return props;
+    }
+
+    private static String trimTrailingSlash(String value) {
+        String v = value;
+        while (v.length() > 1 && v.endsWith("/")) {
+            v = v.substring(0, v.length() - 1);
+        }
+        return v;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
 }
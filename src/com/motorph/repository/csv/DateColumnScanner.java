@@ -0,0 +1,247 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Byte-level scan of a per-employee record CSV (DTR or leave) for rows inside a
+ * date range. Each row's date column is parsed straight from the file bytes;
+ * rows outside the range are skipped without being decoded, and only the rest
+ * are handed on as strings. Rows whose date is not a plain M/d/yyyy value
+ * (quoted, padded, or not a real calendar date) are also handed on, so the
+ * caller's parser decides them exactly as before.
+ *
+ * Whole-file scans memory-map large files. On Windows a mapped file cannot be
+ * truncated or replaced until the mapping is garbage-collected, which would
+ * break DTR rewrites and journal compaction, so there the file is read into a
+ * heap buffer instead and scanned the same way. Region scans (see
+ * RecordDateIndex) read just the requested byte ranges.
+ *
+ * @author ACER
+ */
+final class DateColumnScanner {
+
+    // Annotation: Files smaller than this are read into a heap buffer; mapping them costs more than it saves.
+    static final long MIN_MAPPED_BYTES = 64 * 1024;
+
+    static final boolean CAN_MAP
+            = !System.getProperty("os.name", "").toLowerCase(Locale.US).startsWith("windows");
+
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    // Annotation: The byte scan relies on commas, slashes, digits and line breaks being single ASCII bytes.
+    static final boolean SUPPORTED = Arrays.equals(
+            "\r\n,/\"0123456789 ".getBytes(CHARSET),
+            "\r\n,/\"0123456789 ".getBytes(StandardCharsets.US_ASCII));
+
+    // Annotation: Receives one row's byte bounds; next is where the following row starts.
+    interface RowVisitor {
+
+        void row(ByteBuffer buf, int start, int end, int next, int dateKey);
+    }
+
+    private DateColumnScanner() {
+    }
+
+    /**
+     * Passes every data row (the header is skipped) whose date column may fall
+     * within [start, end] to the sink. Returns false if the file could not be
+     * read.
+     */
+    static boolean scan(File file, int dateColumn, LocalDate start, LocalDate end, Consumer<String> sink) {
+        return visitFile(file, dateColumn, filter(key(start), key(end), sink));
+    }
+
+    /**
+     * Same as scan, but reads only the given [start, end) byte regions. The
+     * regions must begin at row boundaries, be sorted and not overlap.
+     */
+    static boolean scanRegions(File file, int dateColumn, LocalDate start, LocalDate end,
+            List<long[]> regions, Consumer<String> sink) {
+        RowVisitor visitor = filter(key(start), key(end), sink);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            for (long[] region : regions) {
+                long from = Math.min(region[0], size);
+                long to = Math.min(region[1], size);
+                if (to <= from) {
+                    continue;
+                }
+
+                ByteBuffer buf = ByteBuffer.allocate((int) (to - from));
+                while (buf.hasRemaining() && channel.read(buf, from + buf.position()) >= 0) {
+                    // keep reading until full or end of file
+                }
+                buf.flip();
+                walk(buf, false, dateColumn, visitor);
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // Annotation: Visits every data row of the file with its date key; used to build the sidecar index.
+    static boolean visitFile(File file, int dateColumn, RowVisitor visitor) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return false;
+            }
+
+            ByteBuffer buf;
+            if (CAN_MAP && size >= MIN_MAPPED_BYTES) {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buf = ByteBuffer.allocate((int) size);
+                while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                    // keep reading until full or end of file
+                }
+                buf.flip();
+            }
+
+            walk(buf, true, dateColumn, visitor);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // Annotation: Line breaks follow BufferedReader.readLine: \n, \r, or \r\n. Empty lines are not visited.
+    private static void walk(ByteBuffer buf, boolean skipHeader, int dateColumn, RowVisitor visitor) {
+        int limit = buf.limit();
+        int pos = 0;
+        boolean header = skipHeader;
+
+        while (pos < limit) {
+            int lineStart = pos;
+            while (pos < limit) {
+                byte b = buf.get(pos);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                pos++;
+            }
+            int lineEnd = pos;
+            if (pos < limit && buf.get(pos) == '\r' && pos + 1 < limit && buf.get(pos + 1) == '\n') {
+                pos++;
+            }
+            pos = Math.min(pos + 1, limit);
+
+            if (header) {
+                header = false;
+                continue;
+            }
+            if (lineEnd == lineStart) {
+                continue;
+            }
+
+            visitor.row(buf, lineStart, lineEnd, pos, dateKey(buf, lineStart, lineEnd, dateColumn));
+        }
+    }
+
+    private static RowVisitor filter(int startKey, int endKey, Consumer<String> sink) {
+        return (buf, start, end, next, dateKey) -> {
+            if (dateKey > 0 && (dateKey < startKey || dateKey > endKey)) {
+                return;
+            }
+            sink.accept(decode(buf, start, end));
+        };
+    }
+
+    /**
+     * yyyymmdd of the row's date column, or 0 when the bytes are not a plain
+     * valid M/d/yyyy date and the row has to be parsed the slow way.
+     */
+    private static int dateKey(ByteBuffer buf, int from, int to, int dateColumn) {
+        int p = from;
+        for (int col = 0; col < dateColumn; col++) {
+            while (p < to && buf.get(p) != ',') {
+                if (buf.get(p) == '"') {
+                    return 0;
+                }
+                p++;
+            }
+            if (p >= to) {
+                return 0;
+            }
+            p++;
+        }
+
+        int month = 0;
+        int day = 0;
+        int year = 0;
+        int part = 0;
+        int digits = 0;
+        for (; p < to; p++) {
+            byte b = buf.get(p);
+            if (b == ',') {
+                break;
+            }
+            if (b >= '0' && b <= '9') {
+                int v = b - '0';
+                if (part == 0) {
+                    month = month * 10 + v;
+                } else if (part == 1) {
+                    day = day * 10 + v;
+                } else {
+                    year = year * 10 + v;
+                }
+                digits++;
+            } else if (b == '/' && part < 2) {
+                if (digits < 1 || digits > 2) {
+                    return 0;
+                }
+                part++;
+                digits = 0;
+            } else {
+                return 0;
+            }
+        }
+
+        if (part != 2 || digits != 4 || year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return 0;
+        }
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    static int key(LocalDate date) {
+        return date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    private static String decode(ByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, CHARSET);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * One closed year of attendance in a binary columnar file
+ * (dtr_archive_{yyyy}.bin). Rows are sorted by employee id, then date, and
+ * stored column by column:
+ *
+ * header (36 bytes): magic "MPDA", version, column count, row count, first
+ * and last epoch day, one CRC32 per column; then employee id (int per row),
+ * epoch day (int per row), time-in and time-out as minute of day (short per
+ * row, -1 when there is no time-out).
+ *
+ * A reader only touches the columns it asks for, and each column's checksum
+ * is verified the first time it is used. Accessors read straight from the
+ * buffer and allocate nothing.
+ *
+ * @author ACER
+ */
+public final class DtrArchiveFile {
+
+    public static final String FILE_PREFIX = "dtr_archive_";
+    public static final String FILE_SUFFIX = ".bin";
+
+    public static final int COL_EMPLOYEE = 0;
+    public static final int COL_DAY = 1;
+    public static final int COL_IN = 2;
+    public static final int COL_OUT = 3;
+
+    // Annotation: Minute value stored for an entry without a time-out.
+    public static final int NO_TIME = -1;
+
+    private static final int MAGIC = 0x4D504441; // "MPDA"
+    private static final short VERSION = 1;
+    private static final int COLUMNS = 4;
+    private static final int HEADER_BYTES = 36;
+    private static final int[] WIDTHS = {4, 4, 2, 2};
+
+    private final File file;
+    private final ByteBuffer buf;
+    private final int rows;
+    private final int firstEpochDay;
+    private final int lastEpochDay;
+    private final int[] crcs = new int[COLUMNS];
+    private final int[] offsets = new int[COLUMNS];
+    private final boolean[] verified = new boolean[COLUMNS];
+    private final boolean[] corrupt = new boolean[COLUMNS];
+
+    private DtrArchiveFile(File file, ByteBuffer buf) {
+        this.file = file;
+        this.buf = buf;
+        this.rows = buf.getInt(8);
+        this.firstEpochDay = buf.getInt(12);
+        this.lastEpochDay = buf.getInt(16);
+
+        int offset = HEADER_BYTES;
+        for (int c = 0; c < COLUMNS; c++) {
+            crcs[c] = buf.getInt(20 + c * 4);
+            offsets[c] = offset;
+            offset += WIDTHS[c] * rows;
+        }
+    }
+
+    /**
+     * Opens an archive file. Returns null when it is missing, not an archive,
+     * or shorter than its header says. Column checksums are checked later, on
+     * first use (see verify).
+     */
+    public static DtrArchiveFile open(File file) {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            ByteBuffer buf;
+            if (DateColumnScanner.CAN_MAP) {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buf = ByteBuffer.allocate((int) size);
+                while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                    // keep reading until full or end of file
+                }
+                buf.flip();
+            }
+
+            if (buf.getInt(0) != MAGIC || buf.getShort(4) != VERSION || buf.getShort(6) != COLUMNS) {
+                return null;
+            }
+            int rows = buf.getInt(8);
+            if (rows < 0 || size != HEADER_BYTES + 12L * rows) {
+                return null;
+            }
+            return new DtrArchiveFile(file, buf);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes rows[0..count) to the file, replacing it. Rows must already be
+     * sorted by employee id, then epoch day. The file is written next to the
+     * target first and moved into place, so readers never see half a file.
+     */
+    public static boolean write(File file, int[] employees, int[] days, short[] ins, short[] outs, int count) {
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + 12 * count);
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putShort((short) COLUMNS);
+        out.putInt(count);
+        out.position(HEADER_BYTES); // day range and checksums are filled in below
+
+        int lastDay = count == 0 ? 0 : days[0];
+        int firstDay = lastDay;
+        for (int i = 0; i < count; i++) {
+            out.putInt(employees[i]);
+            firstDay = Math.min(firstDay, days[i]);
+            lastDay = Math.max(lastDay, days[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            out.putInt(days[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            out.putShort(ins[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            out.putShort(outs[i]);
+        }
+        out.putInt(12, firstDay);
+        out.putInt(16, lastDay);
+
+        int offset = HEADER_BYTES;
+        for (int c = 0; c < COLUMNS; c++) {
+            out.putInt(20 + c * 4, crc(out, offset, WIDTHS[c] * count));
+            offset += WIDTHS[c] * count;
+        }
+        out.flip();
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(temp, "rw");
+                FileChannel channel = raf.getChannel()) {
+            channel.truncate(0);
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        } catch (Exception e) {
+            temp.delete();
+            return false;
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (Exception e) {
+            temp.delete();
+            return false;
+        }
+    }
+
+    /**
+     * Checks the CRC32 of each named column once. Returns false if any of them
+     * does not match; the caller should then not trust this file.
+     */
+    public synchronized boolean verify(int... columns) {
+        for (int c : columns) {
+            if (!verified[c]) {
+                corrupt[c] = crc(buf, offsets[c], WIDTHS[c] * rows) != crcs[c];
+                verified[c] = true;
+            }
+            if (corrupt[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int crc(ByteBuffer source, int offset, int length) {
+        CRC32 crc = new CRC32();
+        ByteBuffer slice = source.duplicate();
+        slice.limit(offset + length).position(offset);
+        crc.update(slice);
+        return (int) crc.getValue();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int firstEpochDay() {
+        return firstEpochDay;
+    }
+
+    public int lastEpochDay() {
+        return lastEpochDay;
+    }
+
+    public int employeeAt(int row) {
+        return buf.getInt(offsets[COL_EMPLOYEE] + row * 4);
+    }
+
+    public int epochDayAt(int row) {
+        return buf.getInt(offsets[COL_DAY] + row * 4);
+    }
+
+    public int inMinuteAt(int row) {
+        return buf.getShort(offsets[COL_IN] + row * 2);
+    }
+
+    public int outMinuteAt(int row) {
+        return buf.getShort(offsets[COL_OUT] + row * 2);
+    }
+
+    // Annotation: Binary search on the sorted employee column; returns the first row at or after empId.
+    public int firstRowOf(int empId) {
+        int lo = 0;
+        int hi = rows;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (employeeAt(mid) < empId) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Annotation: First row of the first employee after empId (exclusive end of empId's rows).
+    public int endRowOf(int empId) {
+        return empId == Integer.MAX_VALUE ? rows : firstRowOf(empId + 1);
+    }
+}
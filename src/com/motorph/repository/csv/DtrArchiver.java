@@ -0,0 +1,137 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.TimeEntryRepository;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Writes one closed calendar year of DTR records into a binary archive file
+ * (see DtrArchiveFile). Rows are read through the given repository, so the
+ * archive holds exactly what a period read of that year returns.
+ *
+ * A year counts as closed once its last pay period has ended. The CSV files
+ * are not modified.
+ *
+ * @author ACER
+ */
+public class DtrArchiver {
+
+    private static final String DTR_PREFIX = "records_dtr_";
+
+    private final TimeEntryRepository source;
+    private final File dtrFolder;
+    private final File archiveFolder;
+
+    // Annotation: The source should be the CSV repository itself, not an ArchivedTimeRepository over it.
+    public DtrArchiver(TimeEntryRepository source) {
+        this(source, new File(DataPaths.DTR_FOLDER), new File(DataPaths.DTR_ARCHIVE_FOLDER));
+    }
+
+    public DtrArchiver(TimeEntryRepository source, File dtrFolder, File archiveFolder) {
+        this.source = source;
+        this.dtrFolder = dtrFolder;
+        this.archiveFolder = archiveFolder;
+    }
+
+    public static File archiveFile(File archiveFolder, int year) {
+        return new File(archiveFolder, DtrArchiveFile.FILE_PREFIX + year + DtrArchiveFile.FILE_SUFFIX);
+    }
+
+    public boolean isClosed(int year) {
+        return LocalDate.of(year, 12, 31).isBefore(LocalDate.now());
+    }
+
+    /**
+     * Archives every employee's DTR rows for the year.
+     *
+     * @return rows written, or -1 if the year is not closed yet or the file
+     * could not be written
+     */
+    public int archiveYear(int year) {
+        if (!isClosed(year)) {
+            return -1;
+        }
+
+        PayPeriod wholeYear = new PayPeriod(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+        int[] employees = new int[1024];
+        int[] days = new int[1024];
+        short[] ins = new short[1024];
+        short[] outs = new short[1024];
+        int count = 0;
+
+        for (int empId : employeeIds()) {
+            List<TimeEntry> entries = source.findByEmployeeAndPeriod(empId, wholeYear);
+            entries.sort(Comparator.comparing(TimeEntry::getDate));
+
+            for (TimeEntry entry : entries) {
+                if (entry.getDate() == null || entry.getTimeIn() == null) {
+                    continue;
+                }
+                if (count == employees.length) {
+                    int grown = count * 2;
+                    employees = Arrays.copyOf(employees, grown);
+                    days = Arrays.copyOf(days, grown);
+                    ins = Arrays.copyOf(ins, grown);
+                    outs = Arrays.copyOf(outs, grown);
+                }
+                employees[count] = empId;
+                days[count] = (int) entry.getDate().toEpochDay();
+                ins[count] = (short) minuteOfDay(entry.getTimeIn());
+                outs[count] = (short) (entry.getTimeOut() == null
+                        ? DtrArchiveFile.NO_TIME : minuteOfDay(entry.getTimeOut()));
+                count++;
+            }
+        }
+
+        if (!archiveFolder.exists()) {
+            archiveFolder.mkdirs();
+        }
+        boolean written = DtrArchiveFile.write(archiveFile(archiveFolder, year), employees, days, ins, outs, count);
+        return written ? count : -1;
+    }
+
+    // Annotation: Employee ids come from the DTR and journal file names, in ascending order.
+    private TreeSet<Integer> employeeIds() {
+        TreeSet<Integer> ids = new TreeSet<>();
+        String[] names = dtrFolder.list();
+        if (names == null) {
+            return ids;
+        }
+
+        for (String name : names) {
+            if (!name.startsWith(DTR_PREFIX)) {
+                continue;
+            }
+            int dot = name.indexOf('.', DTR_PREFIX.length());
+            if (dot < 0) {
+                continue;
+            }
+            String suffix = name.substring(dot);
+            if (!suffix.equals(".csv") && !suffix.equals(CsvTimeRepository.JOURNAL_SUFFIX)) {
+                continue;
+            }
+            try {
+                ids.add(Integer.parseInt(name.substring(DTR_PREFIX.length(), dot)));
+            } catch (NumberFormatException ignored) {
+                // files with an unexpected name are left alone
+            }
+        }
+        return ids;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
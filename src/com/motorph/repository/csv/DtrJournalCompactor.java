@@ -0,0 +1,66 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that periodically folds DTR journals back into the
+ * per-employee CSV files. Runs on a single daemon thread and flushes once more
+ * on shutdown so the canonical files are current when the app exits.
+ *
+ * @author ACER
+ */
+public class DtrJournalCompactor {
+
+    // Annotation: Default delay between compaction passes.
+    public static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+    private final CsvTimeRepository timeRepo;
+    private final long intervalSeconds;
+    private ScheduledExecutorService scheduler;
+
+    public DtrJournalCompactor(CsvTimeRepository timeRepo) {
+        this(timeRepo, DEFAULT_INTERVAL_SECONDS);
+    }
+
+    public DtrJournalCompactor(CsvTimeRepository timeRepo, long intervalSeconds) {
+        this.timeRepo = timeRepo;
+        this.intervalSeconds = Math.max(1, intervalSeconds);
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dtr-journal-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::compactNow, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::compactNow, "dtr-journal-flush"));
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // Annotation: Errors are swallowed so one bad file does not stop later passes.
+    public void compactNow() {
+        try {
+            timeRepo.compactAllJournals();
+        } catch (RuntimeException e) {
+            // retried on the next pass
+        }
+    }
+}
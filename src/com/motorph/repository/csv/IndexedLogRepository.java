@@ -0,0 +1,312 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import com.motorph.domain.models.LogEntry;
+import com.motorph.repository.LogRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory search index over the system log. The log is read from the
+ * delegate once, on the first query, and every entry saved through this
+ * repository is added to the index as it is written.
+ *
+ * Entries are kept in Log_ID order per user, per category, per action (a
+ * sorted map, so prefix queries are a sub-map) and per timestamp. A query
+ * walks only the matching lists and stops once the requested page is full.
+ *
+ * @author ACER
+ */
+public class IndexedLogRepository implements LogRepository {
+
+    private final LogRepository delegate;
+
+    private boolean loaded;
+    private final List<LogEntry> all = new ArrayList<>();
+    private final Map<String, List<LogEntry>> byUser = new HashMap<>();
+    private final Map<String, List<LogEntry>> byCategory = new HashMap<>();
+    private final NavigableMap<String, List<LogEntry>> byAction = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, List<LogEntry>> byTime = new TreeMap<>();
+
+    public IndexedLogRepository(LogRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean save(LogEntry entry) {
+        boolean saved = delegate.save(entry);
+        if (saved && entry.getId() > 0) {
+            synchronized (this) {
+                if (loaded) {
+                    add(entry, true);
+                }
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public synchronized List<LogEntry> findAll() {
+        ensureLoaded();
+        return page(all, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean flush() {
+        return delegate.flush();
+    }
+
+    // Annotation: Drops the index; the next query reads the log again.
+    @Override
+    public synchronized void reload() {
+        delegate.reload();
+        loaded = false;
+        all.clear();
+        byUser.clear();
+        byCategory.clear();
+        byAction.clear();
+        byTime.clear();
+    }
+
+    @Override
+    public synchronized List<LogEntry> findByUser(String user, int offset, int limit) {
+        String actor = user == null ? "" : user.trim();
+        if (actor.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ensureLoaded();
+        return page(byUser.get(actor), offset, limit);
+    }
+
+    @Override
+    public synchronized List<LogEntry> findByCategory(String category, int offset, int limit) {
+        ensureLoaded();
+        return page(byCategory.get(upper(category)), offset, limit);
+    }
+
+    @Override
+    public synchronized List<LogEntry> findByActionPrefix(String prefix, int offset, int limit) {
+        ensureLoaded();
+        String probe = upper(prefix);
+        if (probe.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return merge(prefixRange(probe).values(), offset, limit);
+    }
+
+    // Annotation: Contains-matching has no sorted shortcut, so the distinct action names are scanned instead of the entries.
+    @Override
+    public synchronized List<LogEntry> findByActionKeys(List<String> keys, int offset, int limit) {
+        ensureLoaded();
+        List<String> probes = new ArrayList<>();
+        if (keys != null) {
+            for (String key : keys) {
+                String probe = upper(key);
+                if (!probe.isEmpty()) {
+                    probes.add(probe);
+                }
+            }
+        }
+        if (probes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<List<LogEntry>> matches = new ArrayList<>();
+        for (Map.Entry<String, List<LogEntry>> action : byAction.entrySet()) {
+            for (String probe : probes) {
+                if (action.getKey().contains(probe)) {
+                    matches.add(action.getValue());
+                    break;
+                }
+            }
+        }
+        return merge(matches, offset, limit);
+    }
+
+    @Override
+    public synchronized List<LogEntry> findByUserAndActionPrefix(String user, String prefix, int offset, int limit) {
+        ensureLoaded();
+        String probe = upper(prefix);
+        String actor = user == null ? "" : user.trim();
+        List<LogEntry> entries = actor.isEmpty() ? null : byUser.get(actor);
+        List<LogEntry> out = new ArrayList<>();
+        if (entries == null || probe.isEmpty()) {
+            return out;
+        }
+
+        int skip = Math.max(0, offset);
+        for (int i = entries.size() - 1; i >= 0 && out.size() < limit; i--) {
+            LogEntry entry = entries.get(i);
+            if (!upper(entry.getAction()).startsWith(probe)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            out.add(entry);
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized int deleteWhere(Predicate<LogEntry> filter) {
+        int removed = delegate.deleteWhere(filter);
+        if (removed > 0) {
+            reload();
+        }
+        return removed;
+    }
+
+    // Annotation: Before the index is built, the delegate answers from the segments the range overlaps.
+    @Override
+    public synchronized List<LogEntry> findByTimeRange(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        if (!loaded) {
+            return delegate.findByTimeRange(from, to, offset, limit);
+        }
+        NavigableMap<LocalDateTime, List<LogEntry>> range = byTime;
+        if (from != null && to != null) {
+            if (!from.isBefore(to)) {
+                return new ArrayList<>();
+            }
+            range = byTime.subMap(from, true, to, false);
+        } else if (from != null) {
+            range = byTime.tailMap(from, true);
+        } else if (to != null) {
+            range = byTime.headMap(to, false);
+        }
+        return merge(range.values(), offset, limit);
+    }
+
+    // Annotation: Called with the monitor held; the first query pays for the file read.
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        List<LogEntry> entries = new ArrayList<>(delegate.findAll());
+        entries.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        for (LogEntry entry : entries) {
+            if (entry != null) {
+                add(entry, false);
+            }
+        }
+        loaded = true;
+    }
+
+    /**
+     * Adds one entry to every list. Live saves skip an id the file load
+     * already picked up; rows read from the file are kept as they are.
+     */
+    private void add(LogEntry entry, boolean skipKnownId) {
+        if (!insertById(all, entry, skipKnownId)) {
+            return;
+        }
+        insertById(byUser.computeIfAbsent(entry.getUser() == null ? "" : entry.getUser().trim(), k -> new ArrayList<>()), entry, false);
+        insertById(byCategory.computeIfAbsent(upper(entry.getCategory()), k -> new ArrayList<>()), entry, false);
+        insertById(byAction.computeIfAbsent(upper(entry.getAction()), k -> new ArrayList<>()), entry, false);
+        if (entry.getTimestamp() != null) {
+            insertById(byTime.computeIfAbsent(entry.getTimestamp(), k -> new ArrayList<>()), entry, false);
+        }
+    }
+
+    // Annotation: New ids are almost always the highest, so the insert point is searched from the tail.
+    private static boolean insertById(List<LogEntry> list, LogEntry entry, boolean skipKnownId) {
+        int i = list.size();
+        while (i > 0 && list.get(i - 1).getId() > entry.getId()) {
+            i--;
+        }
+        if (skipKnownId && i > 0 && list.get(i - 1).getId() == entry.getId()) {
+            return false;
+        }
+        list.add(i, entry);
+        return true;
+    }
+
+    private NavigableMap<String, List<LogEntry>> prefixRange(String prefix) {
+        return byAction.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    // Annotation: Newest-first page of one id-ordered list.
+    private static List<LogEntry> page(List<LogEntry> entries, int offset, int limit) {
+        List<LogEntry> out = new ArrayList<>();
+        if (entries == null || limit <= 0) {
+            return out;
+        }
+
+        int end = entries.size() - Math.max(0, offset);
+        for (int i = end - 1; i >= 0 && out.size() < limit; i--) {
+            out.add(entries.get(i));
+        }
+        return out;
+    }
+
+    // Annotation: Newest-first page across several id-ordered lists, merged from their tails.
+    private static List<LogEntry> merge(Collection<List<LogEntry>> lists, int offset, int limit) {
+        List<LogEntry> out = new ArrayList<>();
+        if (limit <= 0) {
+            return out;
+        }
+        if (lists.size() == 1) {
+            return page(lists.iterator().next(), offset, limit);
+        }
+
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((a, b) -> Integer.compare(b.current().getId(), a.current().getId()));
+        for (List<LogEntry> list : lists) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor(list));
+            }
+        }
+
+        int skip = Math.max(0, offset);
+        while (!heads.isEmpty() && out.size() < limit) {
+            Cursor head = heads.poll();
+            if (skip > 0) {
+                skip--;
+            } else {
+                out.add(head.current());
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return out;
+    }
+
+    private static String upper(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.US);
+    }
+
+    private static final class Cursor {
+
+        private final List<LogEntry> list;
+        private int index;
+
+        Cursor(List<LogEntry> list) {
+            this.list = list;
+            this.index = list.size() - 1;
+        }
+
+        LogEntry current() {
+            return list.get(index);
+        }
+
+        boolean advance() {
+            index--;
+            return index >= 0;
+        }
+    }
+}
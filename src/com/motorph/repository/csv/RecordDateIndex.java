@@ -0,0 +1,249 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sidecar index for a per-employee record CSV (records_dtr_*.csv,
+ * records_leave_*.csv), stored next to it as {file}.idx. It maps each
+ * year-month to the byte range that holds that month's rows, so a period read
+ * only has to read one or two small regions of the file.
+ *
+ * The index records the CSV's size and modification time. When they no longer
+ * match, the index is rebuilt from the CSV on the next read. Appends made
+ * through the repositories extend it in place; rewrites drop it.
+ *
+ * Rows whose date column could not be read from the raw bytes are tracked in
+ * a separate range that every lookup includes.
+ *
+ * @author ACER
+ */
+public final class RecordDateIndex {
+
+    public static final String SUFFIX = ".idx";
+
+    private static final String SOURCE_HEADER = "Source_Size,Source_Modified";
+    private static final String MONTH_HEADER = "Month,Start_Byte,End_Byte";
+    private static final String UNDATED = "undated";
+
+    // Annotation: Parsed indexes keyed by CSV path; entries are replaced, never mutated.
+    private static final Map<String, Index> CACHE = new ConcurrentHashMap<>();
+
+    private RecordDateIndex() {
+    }
+
+    /**
+     * Byte regions of the CSV that may contain rows dated within [start, end],
+     * sorted and merged. Builds or refreshes the index when needed. Returns
+     * null when no index could be produced, so the caller reads the whole file.
+     */
+    static List<long[]> regions(File csv, int dateColumn, LocalDate start, LocalDate end) {
+        Index index = current(csv, dateColumn);
+        if (index == null) {
+            return null;
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        int from = DateColumnScanner.key(start) / 100;
+        int to = DateColumnScanner.key(end) / 100;
+        if (from <= to) {
+            for (long[] range : index.months.subMap(from, true, to, true).values()) {
+                ranges.add(range.clone());
+            }
+        }
+        if (index.undated != null) {
+            ranges.add(index.undated.clone());
+        }
+
+        ranges.sort((a, b) -> Long.compare(a[0], b[0]));
+        List<long[]> merged = new ArrayList<>();
+        for (long[] range : ranges) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1]) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Extends the index after the repository appended rows for the given date
+     * at byte offset sizeBefore. Only applies when the index matched the file
+     * right before the append; otherwise the next read rebuilds it.
+     */
+    static void recordAppend(File csv, long sizeBefore, long modifiedBefore, LocalDate date) {
+        String path = csv.getAbsolutePath();
+        Index index = CACHE.get(path);
+        if (index == null) {
+            index = load(csv);
+        }
+        if (index == null || index.sourceSize != sizeBefore || index.sourceModified != modifiedBefore) {
+            invalidate(csv);
+            return;
+        }
+
+        Index updated = index.copy();
+        long sizeAfter = csv.length();
+        if (date == null) {
+            updated.undated = extend(updated.undated, sizeBefore, sizeAfter);
+        } else {
+            int month = DateColumnScanner.key(date) / 100;
+            updated.months.put(month, extend(updated.months.get(month), sizeBefore, sizeAfter));
+        }
+        updated.sourceSize = sizeAfter;
+        updated.sourceModified = csv.lastModified();
+
+        if (write(csv, updated)) {
+            CACHE.put(path, updated);
+        } else {
+            invalidate(csv);
+        }
+    }
+
+    // Annotation: Called after a full rewrite of the CSV; the next read rebuilds the index.
+    public static void invalidate(File csv) {
+        CACHE.remove(csv.getAbsolutePath());
+        new File(csv.getPath() + SUFFIX).delete();
+    }
+
+    private static Index current(File csv, int dateColumn) {
+        long size = csv.length();
+        long modified = csv.lastModified();
+        String path = csv.getAbsolutePath();
+
+        Index index = CACHE.get(path);
+        if (index != null && index.matches(size, modified)) {
+            return index;
+        }
+
+        index = load(csv);
+        if (index == null || !index.matches(size, modified)) {
+            index = build(csv, dateColumn);
+            if (index == null) {
+                CACHE.remove(path);
+                return null;
+            }
+            write(csv, index);
+        }
+
+        CACHE.put(path, index);
+        return index;
+    }
+
+    private static Index build(File csv, int dateColumn) {
+        long size = csv.length();
+        long modified = csv.lastModified();
+        Index index = new Index();
+
+        boolean read = DateColumnScanner.visitFile(csv, dateColumn, (buf, start, end, next, dateKey) -> {
+            if (dateKey > 0) {
+                int month = dateKey / 100;
+                index.months.put(month, extend(index.months.get(month), start, next));
+            } else {
+                index.undated = extend(index.undated, start, next);
+            }
+        });
+        if (!read || csv.length() != size || csv.lastModified() != modified) {
+            return null;
+        }
+
+        index.sourceSize = size;
+        index.sourceModified = modified;
+        return index;
+    }
+
+    private static long[] extend(long[] range, long start, long end) {
+        if (range == null) {
+            return new long[]{start, end};
+        }
+        return new long[]{Math.min(range[0], start), Math.max(range[1], end)};
+    }
+
+    private static Index load(File csv) {
+        File file = new File(csv.getPath() + SUFFIX);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        Index index = new Index();
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            br.readLine(); // source header
+            String[] source = br.readLine().split(",");
+            index.sourceSize = Long.parseLong(source[0].trim());
+            index.sourceModified = Long.parseLong(source[1].trim());
+            br.readLine(); // month header
+
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] d = line.split(",");
+                long[] range = {Long.parseLong(d[1].trim()), Long.parseLong(d[2].trim())};
+                if (UNDATED.equals(d[0].trim())) {
+                    index.undated = range;
+                } else {
+                    String[] ym = d[0].trim().split("-");
+                    index.months.put(Integer.parseInt(ym[0]) * 100 + Integer.parseInt(ym[1]), range);
+                }
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return index;
+    }
+
+    private static boolean write(File csv, Index index) {
+        File file = new File(csv.getPath() + SUFFIX);
+        return AtomicFileWriter.write(file, bw -> {
+            bw.write(SOURCE_HEADER);
+            bw.newLine();
+            bw.write(index.sourceSize + "," + index.sourceModified);
+            bw.newLine();
+            bw.write(MONTH_HEADER);
+            for (Map.Entry<Integer, long[]> month : index.months.entrySet()) {
+                bw.newLine();
+                bw.write(String.format("%04d-%02d,%d,%d",
+                        month.getKey() / 100, month.getKey() % 100, month.getValue()[0], month.getValue()[1]));
+            }
+            if (index.undated != null) {
+                bw.newLine();
+                bw.write(UNDATED + "," + index.undated[0] + "," + index.undated[1]);
+            }
+        });
+    }
+
+    private static final class Index {
+
+        private final TreeMap<Integer, long[]> months = new TreeMap<>();
+        private long[] undated;
+        private long sourceSize = -1;
+        private long sourceModified = -1;
+
+        private boolean matches(long size, long modified) {
+            return sourceSize == size && sourceModified == modified;
+        }
+
+        private Index copy() {
+            Index out = new Index();
+            out.months.putAll(months);
+            out.undated = undated;
+            out.sourceSize = sourceSize;
+            out.sourceModified = sourceModified;
+            return out;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes read-modify-write cycles on record files. A key is a file family
+ * plus an employee id (records_dtr_ + 10001) or a single file name; keys hash
+ * to a fixed number of stripes, so memory stays bounded and different
+ * employees mostly proceed in parallel.
+ *
+ * Each stripe is a ReentrantLock for threads in this JVM and, when the lock
+ * file can be opened, a one-byte region lock on it (DataPaths.LOCK_FILE) for
+ * other processes on the same data folder. Keys are hashed from names only,
+ * so every process maps a key to the same stripe. Holding one key at a time
+ * cannot deadlock; nested calls on the same stripe are reentrant.
+ *
+ * When the region cannot be taken within MAX_WAIT_MILLIS, the action is not
+ * run: the call logs the key and returns the caller's unavailable value
+ * (false for writes), so no record is changed without the other processes
+ * being excluded.
+ *
+ * @author ACER
+ */
+public final class RecordLockManager {
+
+    public static final int DEFAULT_STRIPES = 64;
+    public static final long MAX_WAIT_MILLIS = 30_000;
+
+    private static RecordLockManager shared;
+
+    private final ReentrantLock[] stripes;
+    private final FileLock[] held;
+    private final File lockFile;
+    private FileChannel channel;
+
+    // Annotation: lockFile may be null for in-process locking only.
+    public RecordLockManager(int stripeCount, File lockFile) {
+        int n = Math.max(1, stripeCount);
+        this.stripes = new ReentrantLock[n];
+        this.held = new FileLock[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.lockFile = lockFile;
+    }
+
+    public static synchronized RecordLockManager shared() {
+        if (shared == null) {
+            shared = new RecordLockManager(DEFAULT_STRIPES, new File(DataPaths.LOCK_FILE));
+        }
+        return shared;
+    }
+
+    // Annotation: Runs action while holding the lock for one employee's file in the given family; unavailable when the lock was not taken.
+    public <T> T call(String family, int empId, Supplier<T> action, T unavailable) {
+        return call(stripe(family, empId), family + empId, action, unavailable);
+    }
+
+    // Annotation: Runs action while holding the lock for a file that is not per employee; unavailable when the lock was not taken.
+    public <T> T call(File file, Supplier<T> action, T unavailable) {
+        return call(stripe(file.getName(), 0), file.getName(), action, unavailable);
+    }
+
+    public int stripe(String family, int empId) {
+        int h = 31 * (family == null ? 0 : family.hashCode()) + empId;
+        h ^= (h >>> 16);
+        return Math.floorMod(h, stripes.length);
+    }
+
+    private <T> T call(int stripe, String key, Supplier<T> action, T unavailable) {
+        if (!lock(stripe)) {
+            System.err.println("Record lock for " + key + " not acquired within " + MAX_WAIT_MILLIS + " ms; change not written.");
+            return unavailable;
+        }
+        try {
+            return action.get();
+        } finally {
+            unlock(stripe);
+        }
+    }
+
+    // Annotation: False, with nothing held, when another process kept the region past the deadline.
+    private boolean lock(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        if (lock.getHoldCount() > 1) {
+            return true;
+        }
+
+        FileChannel ch = channel();
+        if (ch == null) {
+            return true;
+        }
+        held[stripe] = acquireRegion(ch, stripe);
+        if (held[stripe] == null) {
+            lock.unlock();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Polls for the region lock instead of blocking: a blocking request from
+     * a second thread of this process can be refused by the OS as a deadlock,
+     * since it tracks these locks per process. Returns null after
+     * MAX_WAIT_MILLIS, on interrupt, or when the lock request fails.
+     */
+    private FileLock acquireRegion(FileChannel ch, int stripe) {
+        long deadline = System.currentTimeMillis() + MAX_WAIT_MILLIS;
+        long pause = 1;
+        try {
+            while (true) {
+                FileLock region = ch.tryLock(stripe, 1, false);
+                if (region != null || System.currentTimeMillis() >= deadline) {
+                    return region;
+                }
+                Thread.sleep(pause);
+                pause = Math.min(pause * 2, 20);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            // Another process cannot be excluded.
+            return null;
+        }
+    }
+
+    private void unlock(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        if (lock.getHoldCount() == 1 && held[stripe] != null) {
+            try {
+                held[stripe].release();
+            } catch (IOException e) {
+                // a closed channel has already dropped the lock
+            }
+            held[stripe] = null;
+        }
+        lock.unlock();
+    }
+
+    // Annotation: Opens the lock file on first use and again if an interrupted thread closed the channel.
+    private synchronized FileChannel channel() {
+        if (lockFile == null) {
+            return null;
+        }
+        if (channel == null || !channel.isOpen()) {
+            try {
+                File parent = lockFile.getAbsoluteFile().getParentFile();
+                if (parent != null && !parent.exists()) {
+                    parent.mkdirs();
+                }
+                channel = FileChannel.open(lockFile.toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (Exception e) {
+                channel = null;
+            }
+        }
+        return channel;
+    }
+}
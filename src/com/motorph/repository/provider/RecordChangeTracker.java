@@ -0,0 +1,368 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.provider;
+
+import com.motorph.domain.enums.LeaveStatus;
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveCredits;
+import com.motorph.domain.models.LeaveRequest;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.Payslip;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.LeaveCreditsRepository;
+import com.motorph.repository.LeaveRepository;
+import com.motorph.repository.PayslipRepository;
+import com.motorph.repository.TimeEntryRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records which payroll inputs changed, so computed payslips can be reused
+ * until one of their inputs is written again. Every change takes the next
+ * number from one clock:
+ *
+ * attendance  per employee and day (a DTR row saved)
+ * leave       per employee and day for a new request; per employee for a
+ *             decision or a leave credits update
+ * employee    per employee (compensation or name updated, employee removed)
+ * all         everything, e.g. after an import outside the repositories
+ *
+ * version(empId, period) is the newest number that touches the pair. A
+ * result computed while the version was v is still current while the
+ * version is still v. Only writes made through the track(...) decorators (or
+ * reported directly) are seen; edits to the files by another process are not.
+ *
+ * Listeners hear about saved payslips and leave changes after the write
+ * succeeded, on the writing thread.
+ *
+ * @author ACER
+ */
+public final class RecordChangeTracker {
+
+    private final AtomicLong clock = new AtomicLong();
+    private volatile long allVersion;
+    private final Map<Integer, Long> employeeVersions = new ConcurrentHashMap<>();
+    private final Map<Integer, ConcurrentNavigableMap<Long, Long>> dayVersions = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Receives writes that derived records, such as year-to-date totals,
+     * follow. A listener must not throw.
+     */
+    public interface Listener {
+
+        default void payslipSaved(Payslip payslip) {
+        }
+
+        default void leaveChanged(int empId) {
+        }
+    }
+
+    public void addListener(Listener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    public void attendanceChanged(int empId, LocalDate date) {
+        if (date == null) {
+            employeeChanged(empId);
+            return;
+        }
+        dayVersions.computeIfAbsent(empId, k -> new ConcurrentSkipListMap<>())
+                .put(date.toEpochDay(), clock.incrementAndGet());
+    }
+
+    public void leaveChanged(int empId, LocalDate date) {
+        attendanceChanged(empId, date);
+        for (Listener l : listeners) {
+            l.leaveChanged(empId);
+        }
+    }
+
+    public void payslipSaved(Payslip payslip) {
+        for (Listener l : listeners) {
+            l.payslipSaved(payslip);
+        }
+    }
+
+    public void employeeChanged(int empId) {
+        employeeVersions.put(empId, clock.incrementAndGet());
+    }
+
+    public void allChanged() {
+        allVersion = clock.incrementAndGet();
+    }
+
+    // Annotation: Newest change that touches this employee's inputs for the period; 0 when none was seen.
+    public long version(int empId, PayPeriod period) {
+        long v = Math.max(allVersion, employeeVersions.getOrDefault(empId, 0L));
+
+        ConcurrentNavigableMap<Long, Long> days = dayVersions.get(empId);
+        if (days != null && period != null) {
+            for (Long dayVersion : days.subMap(period.getStartDate().toEpochDay(), true,
+                    period.getEndDate().toEpochDay(), true).values()) {
+                v = Math.max(v, dayVersion);
+            }
+        }
+        return v;
+    }
+
+    public EmployeeRepository track(EmployeeRepository delegate) {
+        return new TrackedEmployees(delegate);
+    }
+
+    public TimeEntryRepository track(TimeEntryRepository delegate) {
+        return new TrackedTimeEntries(delegate);
+    }
+
+    public LeaveRepository track(LeaveRepository delegate) {
+        return new TrackedLeave(delegate);
+    }
+
+    public LeaveCreditsRepository track(LeaveCreditsRepository delegate) {
+        return new TrackedLeaveCredits(delegate);
+    }
+
+    public PayslipRepository track(PayslipRepository delegate) {
+        return new TrackedPayslips(delegate);
+    }
+
+    private final class TrackedEmployees implements EmployeeRepository {
+
+        private final EmployeeRepository delegate;
+
+        private TrackedEmployees(EmployeeRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<Employee> findAll() {
+            return delegate.findAll();
+        }
+
+        @Override
+        public Employee findById(int id) {
+            return delegate.findById(id);
+        }
+
+        @Override
+        public void create(Employee emp) {
+            delegate.create(emp);
+            if (emp != null) {
+                employeeChanged(emp.getEmployeeNumber());
+            }
+        }
+
+        @Override
+        public boolean update(Employee emp) {
+            boolean ok = delegate.update(emp);
+            if (ok && emp != null) {
+                employeeChanged(emp.getEmployeeNumber());
+            }
+            return ok;
+        }
+
+        @Override
+        public boolean delete(int empId) {
+            boolean ok = delegate.delete(empId);
+            if (ok) {
+                employeeChanged(empId);
+            }
+            return ok;
+        }
+    }
+
+    private final class TrackedTimeEntries implements TimeEntryRepository {
+
+        private final TimeEntryRepository delegate;
+
+        private TrackedTimeEntries(TimeEntryRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean saveEntry(int empId, TimeEntry entry) {
+            boolean ok = delegate.saveEntry(empId, entry);
+            if (ok) {
+                attendanceChanged(empId, entry == null ? null : entry.getDate());
+            }
+            return ok;
+        }
+
+        @Override
+        public List<TimeEntry> getEntries(int empId) {
+            return delegate.getEntries(empId);
+        }
+
+        @Override
+        public List<TimeEntry> findByEmployeeAndPeriod(int empId, PayPeriod period) {
+            return delegate.findByEmployeeAndPeriod(empId, period);
+        }
+
+        @Override
+        public boolean deleteByEmployee(int empId) {
+            boolean ok = delegate.deleteByEmployee(empId);
+            if (ok) {
+                employeeChanged(empId);
+            }
+            return ok;
+        }
+
+        @Override
+        public long changeStamp(int empId) {
+            return delegate.changeStamp(empId);
+        }
+    }
+
+    private final class TrackedLeave implements LeaveRepository {
+
+        private final LeaveRepository delegate;
+
+        private TrackedLeave(LeaveRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<LeaveRequest> findByEmployee(int empId) {
+            return delegate.findByEmployee(empId);
+        }
+
+        @Override
+        public List<LeaveRequest> findByEmployeeAndPeriod(int empId, PayPeriod period) {
+            return delegate.findByEmployeeAndPeriod(empId, period);
+        }
+
+        @Override
+        public double getLeaveHoursUsed(int empId, PayPeriod period) {
+            return delegate.getLeaveHoursUsed(empId, period);
+        }
+
+        @Override
+        public boolean create(LeaveRequest request) {
+            boolean ok = delegate.create(request);
+            if (ok && request != null) {
+                leaveChanged(request.getEmployeeId(), request.getDate());
+            }
+            return ok;
+        }
+
+        // Annotation: The decision does not carry the leave date, so the whole employee is marked.
+        @Override
+        public boolean updateDecision(int empId, String leaveId, LeaveStatus status, int reviewedBy, String reviewedAt, String note) {
+            boolean ok = delegate.updateDecision(empId, leaveId, status, reviewedBy, reviewedAt, note);
+            if (ok) {
+                leaveChanged(empId, null);
+            }
+            return ok;
+        }
+
+        // Annotation: Marked without notifying listeners; derived totals of a deleted employee are removed with it.
+        @Override
+        public boolean deleteByEmployee(int empId) {
+            boolean ok = delegate.deleteByEmployee(empId);
+            if (ok) {
+                employeeChanged(empId);
+            }
+            return ok;
+        }
+    }
+
+    private final class TrackedLeaveCredits implements LeaveCreditsRepository {
+
+        private final LeaveCreditsRepository delegate;
+
+        private TrackedLeaveCredits(LeaveCreditsRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<LeaveCredits> findAll() {
+            return delegate.findAll();
+        }
+
+        @Override
+        public LeaveCredits findByEmpId(int empId) {
+            return delegate.findByEmpId(empId);
+        }
+
+        @Override
+        public boolean updateLeaveTaken(int empId, double leaveTakenHours) {
+            boolean ok = delegate.updateLeaveTaken(empId, leaveTakenHours);
+            if (ok) {
+                employeeChanged(empId);
+            }
+            return ok;
+        }
+
+        @Override
+        public boolean create(LeaveCredits credits) {
+            boolean ok = delegate.create(credits);
+            if (ok && credits != null) {
+                employeeChanged(credits.getEmployeeNumber());
+            }
+            return ok;
+        }
+
+        @Override
+        public boolean delete(int empId) {
+            boolean ok = delegate.delete(empId);
+            if (ok) {
+                employeeChanged(empId);
+            }
+            return ok;
+        }
+    }
+
+    private final class TrackedPayslips implements PayslipRepository {
+
+        private final PayslipRepository delegate;
+
+        private TrackedPayslips(PayslipRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean save(Payslip payslip) {
+            boolean ok = delegate.save(payslip);
+            if (ok && payslip != null) {
+                payslipSaved(payslip);
+            }
+            return ok;
+        }
+
+        @Override
+        public Payslip findByEmployeeAndPeriod(int empId, PayPeriod period) {
+            return delegate.findByEmployeeAndPeriod(empId, period);
+        }
+
+        @Override
+        public Payslip findLatestByEmployee(int empId) {
+            return delegate.findLatestByEmployee(empId);
+        }
+
+        @Override
+        public List<Payslip> findAllByEmployee(int empId) {
+            return delegate.findAllByEmployee(empId);
+        }
+
+        @Override
+        public boolean deleteByEmployee(int empId) {
+            boolean ok = delegate.deleteByEmployee(empId);
+            if (ok) {
+                employeeChanged(empId);
+            }
+            return ok;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.provider;
+
+import com.motorph.repository.AuditRepository;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.LeaveCreditsRepository;
+import com.motorph.repository.LeaveRepository;
+import com.motorph.repository.LogRepository;
+import com.motorph.repository.PayrollApprovalRepository;
+import com.motorph.repository.PayslipRepository;
+import com.motorph.repository.StorageProvider;
+import com.motorph.repository.TimeEntryRepository;
+import com.motorph.repository.UserRepository;
+import com.motorph.repository.YearToDateRepository;
+import com.motorph.repository.csv.AsyncLogRepository;
+import com.motorph.repository.csv.CachedEmployeeRepository;
+import com.motorph.repository.csv.DataPaths;
+import com.motorph.repository.csv.IndexedLogRepository;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The repositories of one storage backend with the configured decorators
+ * applied. Decorators, innermost first:
+ *
+ * write-behind  system log entries are queued and written in batches, and
+ *               payroll approval changes are held until the ops flush them
+ * cache         employees are served from memory until the source changes,
+ *               and log queries from an in-memory index
+ * metrics       every repository call is counted and timed
+ *
+ * Employee, DTR, leave, leave credits and payslip writes are always reported
+ * to changes(), so payroll can tell which computed payslips are out of date
+ * and derived totals can follow.
+ *
+ * shared() is built once from DataPaths (data.storage, data.decorators); an
+ * unavailable backend falls back to CSV.
+ *
+ * @author ACER
+ */
+public final class Repositories {
+
+    public static final String CACHE = "cache";
+    public static final String METRICS = "metrics";
+    public static final String WRITE_BEHIND = "write-behind";
+
+    private static Repositories shared;
+
+    private final StorageProvider provider;
+    private final Set<String> decorators;
+
+    private final EmployeeRepository employees;
+    private final TimeEntryRepository timeEntries;
+    private final UserRepository users;
+    private final PayslipRepository payslips;
+    private final PayrollApprovalRepository payrollApprovals;
+    private final LeaveRepository leave;
+    private final LeaveCreditsRepository leaveCredits;
+    private final LogRepository logs;
+    private final AuditRepository audit;
+    private final YearToDateRepository yearToDate;
+    private final RecordChangeTracker changes = new RecordChangeTracker();
+
+    public Repositories(StorageProvider provider, Set<String> decorators) {
+        this.provider = provider;
+        this.decorators = Collections.unmodifiableSet(new LinkedHashSet<>(decorators));
+
+        boolean cache = decorators.contains(CACHE);
+        boolean metrics = decorators.contains(METRICS);
+
+        EmployeeRepository emp = provider.employees();
+        if (cache) {
+            emp = new CachedEmployeeRepository(emp, provider.employeeSource());
+        }
+
+        LogRepository log = provider.logs();
+        if (decorators.contains(WRITE_BEHIND)) {
+            log = AsyncLogRepository.configured(log);
+        }
+        if (cache) {
+            log = new IndexedLogRepository(log);
+        }
+
+        TimeEntryRepository time = provider.timeEntries(emp);
+        UserRepository user = provider.users();
+        PayslipRepository payslip = provider.payslips();
+        PayrollApprovalRepository approval = decorators.contains(WRITE_BEHIND)
+                ? provider.bufferedPayrollApprovals()
+                : provider.payrollApprovals();
+        LeaveRepository leaveRepo = provider.leave();
+        LeaveCreditsRepository credits = provider.leaveCredits();
+        AuditRepository auditRepo = provider.audit();
+        YearToDateRepository ytd = provider.yearToDate();
+
+        emp = changes.track(emp);
+        time = changes.track(time);
+        leaveRepo = changes.track(leaveRepo);
+        credits = changes.track(credits);
+        payslip = changes.track(payslip);
+
+        if (metrics) {
+            emp = RepositoryMetrics.wrap(EmployeeRepository.class, emp, "employees");
+            time = RepositoryMetrics.wrap(TimeEntryRepository.class, time, "timeEntries");
+            user = RepositoryMetrics.wrap(UserRepository.class, user, "users");
+            payslip = RepositoryMetrics.wrap(PayslipRepository.class, payslip, "payslips");
+            approval = RepositoryMetrics.wrap(PayrollApprovalRepository.class, approval, "payrollApprovals");
+            leaveRepo = RepositoryMetrics.wrap(LeaveRepository.class, leaveRepo, "leave");
+            credits = RepositoryMetrics.wrap(LeaveCreditsRepository.class, credits, "leaveCredits");
+            log = RepositoryMetrics.wrap(LogRepository.class, log, "logs");
+            auditRepo = RepositoryMetrics.wrap(AuditRepository.class, auditRepo, "audit");
+            ytd = RepositoryMetrics.wrap(YearToDateRepository.class, ytd, "yearToDate");
+            RepositoryMetrics.reportOnExit();
+        }
+
+        this.employees = emp;
+        this.timeEntries = time;
+        this.users = user;
+        this.payslips = payslip;
+        this.payrollApprovals = approval;
+        this.leave = leaveRepo;
+        this.leaveCredits = credits;
+        this.logs = log;
+        this.audit = auditRepo;
+        this.yearToDate = ytd;
+
+        provider.start();
+    }
+
+    // Annotation: Process-wide repositories built from the data.storage and data.decorators settings.
+    public static synchronized Repositories shared() {
+        if (shared == null) {
+            shared = fromConfig(DataPaths.STORAGE_BACKEND, DataPaths.STORAGE_DECORATORS);
+        }
+        return shared;
+    }
+
+    public static Repositories fromConfig(String backend, String decoratorList) {
+        StorageProvider provider = StorageProviders.open(backend);
+        if (provider == null) {
+            System.err.println("Storage backend '" + backend + "' is not available; using CSV storage.");
+            provider = StorageProviders.open(DataPaths.STORAGE_CSV);
+        }
+        return new Repositories(provider, parseDecorators(decoratorList));
+    }
+
+    // Annotation: Comma-separated names, any case; "none" or blank gives no decorators. Unknown names are ignored.
+    public static Set<String> parseDecorators(String raw) {
+        Set<String> out = new LinkedHashSet<>();
+        if (raw == null) {
+            return out;
+        }
+        for (String part : raw.split(",")) {
+            String name = part.trim().toLowerCase(Locale.US);
+            if (CACHE.equals(name) || METRICS.equals(name) || WRITE_BEHIND.equals(name)) {
+                out.add(name);
+            }
+        }
+        return out;
+    }
+
+    public StorageProvider provider() {
+        return provider;
+    }
+
+    public Set<String> decorators() {
+        return decorators;
+    }
+
+    public EmployeeRepository employees() {
+        return employees;
+    }
+
+    public TimeEntryRepository timeEntries() {
+        return timeEntries;
+    }
+
+    public UserRepository users() {
+        return users;
+    }
+
+    public PayslipRepository payslips() {
+        return payslips;
+    }
+
+    public PayrollApprovalRepository payrollApprovals() {
+        return payrollApprovals;
+    }
+
+    public LeaveRepository leave() {
+        return leave;
+    }
+
+    public LeaveCreditsRepository leaveCredits() {
+        return leaveCredits;
+    }
+
+    public LogRepository logs() {
+        return logs;
+    }
+
+    public AuditRepository audit() {
+        return audit;
+    }
+
+    public YearToDateRepository yearToDate() {
+        return yearToDate;
+    }
+
+    public RecordChangeTracker changes() {
+        return changes;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.provider;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics decorator: wraps any repository interface in a proxy that counts
+ * calls and wall time per method, keyed "name.method". report() lists the
+ * totals; Repositories prints it on shutdown when the decorator is on.
+ *
+ * @author ACER
+ */
+public final class RepositoryMetrics {
+
+    private static final Map<String, Stat> STATS = new ConcurrentSkipListMap<>();
+
+    private static boolean reportOnExit;
+
+    private RepositoryMetrics() {
+    }
+
+    public static <T> T wrap(Class<T> type, T target, String name) {
+        if (target == null) {
+            return null;
+        }
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return self == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(self);
+                    default:
+                        return name + "(" + target + ")";
+                }
+            }
+
+            long start = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                STATS.computeIfAbsent(name + "." + method.getName(), k -> new Stat()).record(System.nanoTime() - start);
+            }
+        });
+        return type.cast(proxy);
+    }
+
+    // Annotation: One line per method: calls, total, mean and slowest call in milliseconds.
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Stat> e : STATS.entrySet()) {
+            Stat s = e.getValue();
+            long calls = s.calls.sum();
+            long total = s.nanos.sum();
+            sb.append(String.format(Locale.US, "%-45s calls=%d total=%.1fms mean=%.3fms max=%.1fms%n",
+                    e.getKey(), calls, total / 1e6, calls == 0 ? 0.0 : total / 1e6 / calls, s.max.get() / 1e6));
+        }
+        return sb.toString();
+    }
+
+    // Annotation: Prints report() to standard output at shutdown; later calls do nothing.
+    public static synchronized void reportOnExit() {
+        if (!reportOnExit) {
+            reportOnExit = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.print(report()), "repository-metrics"));
+        }
+    }
+
+    public static long calls(String key) {
+        Stat s = STATS.get(key);
+        return s == null ? 0 : s.calls.sum();
+    }
+
+    public static void reset() {
+        STATS.clear();
+    }
+
+    private static final class Stat {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private void record(long elapsed) {
+            calls.increment();
+            nanos.add(elapsed);
+            max.accumulate(elapsed);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.repository.provider;
+
+import com.motorph.repository.StorageProvider;
+import com.motorph.repository.access.AccessStorageProvider;
+import com.motorph.repository.csv.CsvStorageProvider;
+import com.motorph.repository.csv.DataPaths;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Registry of storage backends by name. The CSV and Access backends are
+ * built in; others are registered at startup or discovered with
+ * ServiceLoader (META-INF/services/com.motorph.repository.StorageProvider).
+ *
+ * @author ACER
+ */
+public final class StorageProviders {
+
+    private static final Map<String, Supplier<? extends StorageProvider>> FACTORIES = new LinkedHashMap<>();
+
+    static {
+        register(DataPaths.STORAGE_CSV, CsvStorageProvider::new);
+        register(DataPaths.STORAGE_ACCESS, AccessStorageProvider::open);
+    }
+
+    private StorageProviders() {
+    }
+
+    // Annotation: A factory may return null when its store is unavailable; a later registration replaces an earlier one.
+    public static synchronized void register(String name, Supplier<? extends StorageProvider> factory) {
+        if (name == null || name.trim().isEmpty() || factory == null) {
+            return;
+        }
+        FACTORIES.put(key(name), factory);
+    }
+
+    /**
+     * Builds the provider registered under the name, or else the first
+     * ServiceLoader provider reporting that name. Returns null when there is
+     * none or it could not be opened.
+     */
+    public static synchronized StorageProvider open(String name) {
+        String key = key(name);
+        Supplier<? extends StorageProvider> factory = FACTORIES.get(key);
+        if (factory != null) {
+            try {
+                return factory.get();
+            } catch (RuntimeException | LinkageError e) {
+                // A store whose libraries are missing counts as unavailable, so callers fall back to CSV.
+                return null;
+            }
+        }
+
+        try {
+            for (StorageProvider provider : ServiceLoader.load(StorageProvider.class)) {
+                if (key.equals(key(provider.name()))) {
+                    return provider;
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            // a broken service entry is treated as not installed
+        }
+        return null;
+    }
+
+    public static synchronized Set<String> names() {
+        Set<String> names = new LinkedHashSet<>(FACTORIES.keySet());
+        try {
+            for (StorageProvider provider : ServiceLoader.load(StorageProvider.class)) {
+                names.add(key(provider.name()));
+            }
+        } catch (ServiceConfigurationError e) {
+            // a broken service entry is treated as not installed
+        }
+        return names;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.US);
+    }
+}
@@ -4,9 +4,13 @@
  */
 package com.motorph.service;
 
+import com.motorph.domain.models.LeaveCredits;
 import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.YearToDate;
 import com.motorph.repository.LeaveCreditsRepository;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Combines stored leave credits with computed leave usage to determine
@@ -18,17 +22,28 @@ public class LeaveCreditsService {
 
     private final LeaveCreditsRepository creditsRepo;
     private final LeaveService leaveService;
+    private final YearToDateService ytdService;
 
     public LeaveCreditsService(LeaveCreditsRepository creditsRepo, LeaveService leaveService) {
+        this(creditsRepo, leaveService, null);
+    }
+
+    // Annotation: Overloaded constructor that answers year-to-date leave from the running totals.
+    public LeaveCreditsService(LeaveCreditsRepository creditsRepo, LeaveService leaveService, YearToDateService ytdService) {
         this.creditsRepo = creditsRepo;
         this.leaveService = leaveService;
+        this.ytdService = ytdService;
     }
 
     public double getLeaveUsedThisPeriod(int empId, PayPeriod period) {
         return leaveService.getLeaveHoursUsed(empId, period);
     }
 
+    // Annotation: Running totals cover whole half-months; other end dates rescan the leave file.
     public double getLeaveTakenYearToDate(int empId, PayPeriod period) {
+        if (ytdService != null && YearToDate.isBucketEnd(period.getEndDate())) {
+            return ytdService.getLeaveTakenHours(empId, period.getEndDate());
+        }
         LocalDate yearStart = LocalDate.of(period.getEndDate().getYear(), 1, 1);
         PayPeriod ytd = new PayPeriod(yearStart, period.getEndDate());
         return leaveService.getLeaveHoursUsed(empId, ytd);
@@ -45,6 +60,21 @@ public class LeaveCreditsService {
     }
 
 
+    // Annotation: The stored record in one read, for callers that need several of its columns.
+    public LeaveCredits getStoredCredits(int empId) {
+        return creditsRepo.findByEmpId(empId);
+    }
+
+    public Map<Integer, LeaveCredits> getAllStoredCredits() {
+        Map<Integer, LeaveCredits> out = new HashMap<>();
+        for (LeaveCredits c : creditsRepo.findAll()) {
+            if (c != null) {
+                out.put(c.getEmployeeNumber(), c);
+            }
+        }
+        return out;
+    }
+
     public double getStoredLeaveCreditsHours(int empId) {
         var credits = creditsRepo.findByEmpId(empId);
         return credits == null ? 0.0 : credits.getLeaveCreditsHours();
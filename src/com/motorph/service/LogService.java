@@ -6,11 +6,12 @@ package com.motorph.service;
 
 import com.motorph.domain.models.LogEntry;
 import com.motorph.repository.LogRepository;
-import com.motorph.repository.csv.CsvLogRepository;
+import com.motorph.repository.provider.Repositories;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
+import java.util.function.Predicate;
 
 /**
  *
@@ -19,8 +20,9 @@ import java.util.Locale;
 public class LogService {
     private final LogRepository logRepo;
 
+    // Annotation: Default instances share the configured log store (see Repositories), so they share one id sequence.
     public LogService() {
-        this(new CsvLogRepository());
+        this(Repositories.shared().logs());
     }
 
     // Annotation: Overloaded constructor for dependency injection from the composition root.
@@ -44,6 +46,11 @@ public class LogService {
         logRepo.save(entry);
     }
 
+    // Annotation: Writes out any queued log entries before the caller touches the log file directly.
+    public boolean flush() {
+        return logRepo.flush();
+    }
+
     // Annotation: Returns all logs in descending order.
     public List<LogEntry> getAllLogs() {
         return logRepo.findAll();
@@ -52,89 +59,57 @@ public class LogService {
 
     // Annotation: Returns all logs recorded by one user.
     public List<LogEntry> getLogsForUser(String user) {
-        List<LogEntry> out = new ArrayList<>();
-        String actor = user == null ? "" : user.trim();
-
-        if (actor.isEmpty()) {
-            return out;
-        }
-
-        for (LogEntry entry : logRepo.findAll()) {
-            if (entry == null) {
-                continue;
-            }
+        return getLogsForUser(user, 0, Integer.MAX_VALUE);
+    }
 
-            String currentUser = entry.getUser() == null ? "" : entry.getUser().trim();
-            if (actor.equals(currentUser)) {
-                out.add(entry);
-            }
-        }
-        return out;
+    // Annotation: One page of a user's logs, newest first.
+    public List<LogEntry> getLogsForUser(String user, int offset, int limit) {
+        return logRepo.findByUser(user, offset, limit);
     }
 
     // Annotation: Returns logs filtered by one category.
     public List<LogEntry> getLogsByCategory(String category) {
-        List<LogEntry> out = new ArrayList<>();
-        String target = category == null ? "" : category.trim().toUpperCase(Locale.US);
-        for (LogEntry entry : logRepo.findAll()) {
-            if (entry == null) {
-                continue;
-            }
-            String current = entry.getCategory() == null ? "" : entry.getCategory().trim().toUpperCase(Locale.US);
-            if (current.equals(target)) {
-                out.add(entry);
-            }
-        }
-        return out;
+        return getLogsByCategory(category, 0, Integer.MAX_VALUE);
+    }
+
+    public List<LogEntry> getLogsByCategory(String category, int offset, int limit) {
+        return logRepo.findByCategory(category, offset, limit);
     }
 
     // Annotation: Returns logs whose action starts with or contains the given keys.
     public List<LogEntry> getLogsByActionKeys(String... keys) {
-        List<LogEntry> out = new ArrayList<>();
         if (keys == null || keys.length == 0) {
-            return out;
+            return new ArrayList<>();
         }
-
-        for (LogEntry entry : logRepo.findAll()) {
-            if (entry == null) {
-                continue;
-            }
-            String action = entry.getAction() == null ? "" : entry.getAction().trim().toUpperCase(Locale.US);
-            for (String key : keys) {
-                String probe = key == null ? "" : key.trim().toUpperCase(Locale.US);
-                if (!probe.isEmpty() && (action.startsWith(probe) || action.contains(probe))) {
-                    out.add(entry);
-                    break;
-                }
-            }
-        }
-        return out;
+        return logRepo.findByActionKeys(Arrays.asList(keys), 0, Integer.MAX_VALUE);
     }
-    
-    public List<LogEntry> getLogsForUserByActionPrefix(String user, String actionPrefix) {
-        List<LogEntry> out = new ArrayList<>();
 
-        String actor = user == null ? "" : user.trim();
-        String prefix = actionPrefix == null ? "" : actionPrefix.trim().toUpperCase(Locale.US);
+    public List<LogEntry> getLogsForUserByActionPrefix(String user, String actionPrefix) {
+        return getLogsForUserByActionPrefix(user, actionPrefix, 0, Integer.MAX_VALUE);
+    }
 
-        if (actor.isEmpty() || prefix.isEmpty()) {
-            return out;
-        }
+    public List<LogEntry> getLogsForUserByActionPrefix(String user, String actionPrefix, int offset, int limit) {
+        return logRepo.findByUserAndActionPrefix(user, actionPrefix, offset, limit);
+    }
 
-        for (LogEntry entry : logRepo.findAll()) {
-            if (entry == null) {
-                continue;
-            }
+    // Annotation: Logs whose action starts with the prefix, newest first.
+    public List<LogEntry> getLogsByActionPrefix(String actionPrefix, int offset, int limit) {
+        return logRepo.findByActionPrefix(actionPrefix, offset, limit);
+    }
 
-            String currentUser = entry.getUser() == null ? "" : entry.getUser().trim();
-            String currentAction = entry.getAction() == null ? "" : entry.getAction().trim().toUpperCase(Locale.US);
+    // Annotation: Logs stamped from (inclusive) to (exclusive); either bound may be null.
+    public List<LogEntry> getLogsBetween(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        return logRepo.findByTimeRange(from, to, offset, limit);
+    }
 
-            if (actor.equals(currentUser) && currentAction.startsWith(prefix)) {
-                out.add(entry);
-            }
-        }
+    // Annotation: Re-reads the log after its file was rewritten directly.
+    public void reload() {
+        logRepo.reload();
+    }
 
-        return out;
+    // Annotation: Removes matching log entries, e.g. when an employee is purged.
+    public int deleteLogsWhere(Predicate<LogEntry> filter) {
+        return logRepo.deleteWhere(filter);
     }
 
     private String inferCategory(String action) {
@@ -6,6 +6,7 @@ package com.motorph.service;
 
 import com.motorph.domain.models.Compensation;
 import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveCredits;
 import com.motorph.domain.models.PayPeriod;
 import com.motorph.domain.models.Payslip;
 import com.motorph.domain.models.TimeEntry;
@@ -13,13 +14,20 @@ import com.motorph.repository.AuditRepository;
 import com.motorph.repository.EmployeeRepository;
 import com.motorph.repository.PayslipRepository;
 import com.motorph.repository.TimeEntryRepository;
+import com.motorph.repository.provider.RecordChangeTracker;
+import com.motorph.service.strategy.CentavoDeductions;
+import com.motorph.service.strategy.CompiledDeductions;
 import com.motorph.service.strategy.DeductionStrategy;
+import com.motorph.service.strategy.PayDeductionStrategy;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  *
@@ -33,10 +41,22 @@ public class PayrollService {
     private final PayslipRepository payslipRepo;
     private final AuditRepository auditRepo;
     private final LeaveCreditsService leaveCreditsService;
+    private final CentavoDeductions deductions;
 
-    private static final LocalTime WORK_START = LocalTime.of(8, 0);
-    private static final LocalTime WORK_END = LocalTime.of(17, 0);
-    private static final LocalTime GRACE_END = LocalTime.of(8, 10);
+    public static final int MAX_COMPUTED = 4096;
+
+    // Annotation: Optional; with a tracker, computed payslips are kept per (employee, period) until an input changes.
+    private final RecordChangeTracker changes;
+    // Annotation: Least recently used entries are dropped past MAX_COMPUTED, about a year of periods for 170 employees.
+    private final Map<String, Computed> computed = Collections.synchronizedMap(new LinkedHashMap<String, Computed>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Computed> eldest) {
+            return size() > MAX_COMPUTED;
+        }
+    });
+
+    // Annotation: Attendance buffer reused per worker thread across payslips.
+    private static final ThreadLocal<PayslipKernel.Attendance> ATTENDANCE = ThreadLocal.withInitial(PayslipKernel.Attendance::new);
 
     private static final DateTimeFormatter TX_DATE_FMT = DateTimeFormatter.ofPattern("yyMMdd");
 
@@ -46,16 +66,42 @@ public class PayrollService {
             PayslipRepository payslipRepo,
             AuditRepository auditRepo,
             LeaveCreditsService leaveCreditsService) {
+        this(empRepo, timeEntryRepo, deductionStrategy, payslipRepo, auditRepo, leaveCreditsService, null);
+    }
+
+    // Annotation: Overloaded constructor that reuses payslips whose inputs the tracker reports unchanged.
+    public PayrollService(EmployeeRepository empRepo,
+            TimeEntryRepository timeEntryRepo,
+            DeductionStrategy deductionStrategy,
+            PayslipRepository payslipRepo,
+            AuditRepository auditRepo,
+            LeaveCreditsService leaveCreditsService,
+            RecordChangeTracker changes) {
         this.empRepo = empRepo;
         this.timeEntryRepo = timeEntryRepo;
         this.deductionStrategy = deductionStrategy;
         this.payslipRepo = payslipRepo;
         this.auditRepo = auditRepo;
         this.leaveCreditsService = leaveCreditsService;
+        this.deductions = deductionStrategy instanceof PayDeductionStrategy ? null : CentavoDeductions.of(deductionStrategy);
+        this.changes = changes;
     }
 
     // Annotation: Base overload for standard payroll processing.
     public Payslip generatePayslip(int empId, PayPeriod period, int processedByUserId) {
+        Payslip payslip = preparePayslip(empId, period, processedByUserId);
+        if (payslip == null) {
+            return null;
+        }
+        return commitPayslip(payslip, processedByUserId) ? payslip : null;
+    }
+
+    /**
+     * Computes a payslip without saving it. Returns null when the employee is
+     * unknown, has no compensation, or already has a payslip for the period.
+     * Safe to call from several worker threads at once.
+     */
+    public Payslip preparePayslip(int empId, PayPeriod period, int processedByUserId) {
         if (empId <= 0 || period == null) {
             return null;
         }
@@ -74,18 +120,24 @@ public class PayrollService {
             return null;
         }
 
-        Payslip payslip = computePayslip(emp, period, comp, processedByUserId, 0.0);
-        if (payslip == null) {
-            return null;
+        return computePayslip(emp, period, comp, processedByUserId, 0.0);
+    }
+
+    /**
+     * Saves a prepared payslip snapshot and writes its audit row.
+     */
+    public boolean commitPayslip(Payslip payslip, int processedByUserId) {
+        if (payslip == null || payslip.getPeriod() == null) {
+            return false;
         }
 
         boolean saved = payslipRepo.save(payslip);
         if (!saved) {
-            return null;
+            return false;
         }
 
-        auditRepo.logPayrollChange(String.valueOf(processedByUserId), "Generated payslip for EmpID=" + empId + " period " + period.toKey());
-        return payslip;
+        auditRepo.logPayrollChange(String.valueOf(processedByUserId), "Generated payslip for EmpID=" + payslip.getEmployeeId() + " period " + payslip.getPeriod().toKey());
+        return true;
     }
 
     // Annotation: Overloaded method for standard generation without explicit processor.
@@ -112,91 +164,147 @@ public class PayrollService {
         return payslip;
     }
 
-    private Payslip computePayslip(Employee emp, PayPeriod period, Compensation comp, int processedByUserId, double bonusAmount) {
-        int empId = emp.getEmployeeNumber();
-        List<TimeEntry> entries = timeEntryRepo.findByEmployeeAndPeriod(empId, period);
+    /**
+     * Computes a payslip for a dry run: no duplicate check, no save and no
+     * audit row. Returns null when the employee has no compensation.
+     *
+     * @param credits the employee's stored leave record, or null
+     */
+    public Payslip previewPayslip(Employee emp, PayPeriod period, LeaveCredits credits) {
+        if (emp == null || period == null || emp.getCompensation() == null) {
+            return null;
+        }
+        return computePayslip(emp, period, emp.getCompensation(), 0, 0.0, credits);
+    }
 
-        double totalLateDeduction = 0.0;
-        double totalOvertimePay = 0.0;
-        double totalHoursWorked = 0.0;
+    /**
+     * Computes a payslip from attendance the caller already loaded, e.g. one
+     * slice of an employee's full DTR during a backfill. No duplicate check,
+     * no save and no audit row. Returns null when the employee has no
+     * compensation.
+     *
+     * @param periodEntries the employee's entries that fall in the period
+     * @param credits the employee's stored leave record, or null
+     */
+    public Payslip preparePayslip(Employee emp, PayPeriod period, List<TimeEntry> periodEntries, LeaveCredits credits, int processedByUserId) {
+        if (emp == null || period == null || emp.getCompensation() == null) {
+            return null;
+        }
+        return computeFromEntries(emp, period, emp.getCompensation(),
+                periodEntries == null ? Collections.emptyList() : periodEntries,
+                deductions(), credits, 0.0, processedByUserId, LocalDateTime.now());
+    }
 
-        for (TimeEntry entry : entries) {
-            if (entry == null || entry.getTimeIn() == null || entry.getTimeOut() == null) {
-                continue;
-            }
+    // Annotation: The saved payslip of the employee for the period, or null when none was saved.
+    public Payslip findPayslip(int empId, PayPeriod period) {
+        return payslipRepo.findByEmployeeAndPeriod(empId, period);
+    }
 
-            double dailyHours = calculateHours(entry.getTimeIn(), entry.getTimeOut());
-            totalHoursWorked += dailyHours;
+    // Annotation: The employee's whole DTR in one read.
+    public List<TimeEntry> loadAttendance(int empId) {
+        return timeEntryRepo.getEntries(empId);
+    }
 
-            if (entry.getTimeIn().isAfter(GRACE_END)) {
-                long minutesLate = Duration.between(WORK_START, entry.getTimeIn()).toMinutes();
-                totalLateDeduction += minutesLate * (comp.getHourlyRate() / 60.0);
-            }
+    // Annotation: Every saved payslip of the employee in one read.
+    public List<Payslip> loadPayslips(int empId) {
+        return payslipRepo.findAllByEmployee(empId);
+    }
 
-            if (entry.getTimeOut().isBefore(WORK_END)) {
-                long minutesUndertime = Duration.between(entry.getTimeOut(), WORK_END).toMinutes();
-                totalLateDeduction += minutesUndertime * (comp.getHourlyRate() / 60.0);
-            }
+    // Annotation: Every stored leave record by employee id, so a preview reads the credits file once.
+    public Map<Integer, LeaveCredits> loadStoredCredits() {
+        return leaveCreditsService == null ? new HashMap<>() : leaveCreditsService.getAllStoredCredits();
+    }
+
+    private Payslip computePayslip(Employee emp, PayPeriod period, Compensation comp, int processedByUserId, double bonusAmount) {
+        // One lookup for all three leave snapshot columns.
+        LeaveCredits credits = leaveCreditsService == null ? null : leaveCreditsService.getStoredCredits(emp.getEmployeeNumber());
+        return computePayslip(emp, period, comp, processedByUserId, bonusAmount, credits);
+    }
 
-            if (dailyHours > 8.0) {
-                double otHours = dailyHours - 8.0;
-                totalOvertimePay += otHours * comp.getHourlyRate() * 1.25;
+    /**
+     * Reuses the payslip computed earlier for the same employee and period
+     * when the tracker has seen no change to its inputs since, the attendance
+     * store reports the same change stamp (covering edits by another
+     * process), the deduction tables are the same snapshot and the
+     * compensation and leave values on it still match. Bonus runs are always
+     * computed.
+     */
+    private Payslip computePayslip(Employee emp, PayPeriod period, Compensation comp, int processedByUserId, double bonusAmount, LeaveCredits credits) {
+        int empId = emp.getEmployeeNumber();
+        CentavoDeductions rules = deductions();
+        LocalDateTime now = LocalDateTime.now();
+
+        boolean reusable = changes != null && bonusAmount == 0.0;
+        String key = empId + "|" + period.toKey();
+        // Read before the inputs, so a change made during the computation leaves the entry stale.
+        long version = reusable ? changes.version(empId, period) : 0L;
+        long stamp = reusable ? timeEntryRepo.changeStamp(empId) : 0L;
+        if (reusable) {
+            Computed hit = computed.get(key);
+            if (hit != null && hit.version == version && hit.stamp == stamp && hit.rules == rules && hit.matches(emp, comp, credits)) {
+                return restamp(hit.payslip, processedByUserId, now);
             }
         }
 
-        double semiMonthlyBasic = comp.getBasicSalary() / 2.0;
-        double rice = comp.getRiceSubsidy() / 2.0;
-        double phone = comp.getPhoneAllowance() / 2.0;
-        double clothing = comp.getClothingAllowance() / 2.0;
-
-        double gross = semiMonthlyBasic + rice + phone + clothing + totalOvertimePay + Math.max(0.0, bonusAmount);
-
-        double payAfterTimeDeduction = Math.max(0.0, gross - totalLateDeduction);
-
-        double sss = deductionStrategy.calculateSSS(payAfterTimeDeduction);
-        double ph = deductionStrategy.calculatePhilHealth(payAfterTimeDeduction);
-        double pagibig = deductionStrategy.calculatePagibig(payAfterTimeDeduction);
-        double totalGov = sss + ph + pagibig;
-
-        double taxableIncome = Math.max(0.0, payAfterTimeDeduction - totalGov);
-        double tax = deductionStrategy.calculateTax(taxableIncome);
+        Payslip payslip = computeFromEntries(emp, period, comp, timeEntryRepo.findByEmployeeAndPeriod(empId, period),
+                rules, credits, bonusAmount, processedByUserId, now);
+        if (reusable) {
+            computed.put(key, new Computed(version, stamp, rules, payslip));
+        }
+        return payslip;
+    }
 
-        double totalDeductions = totalLateDeduction + totalGov + tax;
-        double net = Math.max(0.0, gross - totalDeductions);
+    private Payslip computeFromEntries(Employee emp, PayPeriod period, Compensation comp, List<TimeEntry> entries,
+            CentavoDeductions rules, LeaveCredits credits, double bonusAmount, int processedByUserId, LocalDateTime now) {
+        PayslipKernel.Attendance attendance = ATTENDANCE.get();
+        attendance.clear();
+        for (TimeEntry entry : entries) {
+            if (entry == null || entry.getTimeIn() == null || entry.getTimeOut() == null) {
+                continue;
+            }
+            attendance.add(entry.getTimeIn(), entry.getTimeOut());
+        }
 
-        String txId = buildTransactionId(empId, period);
+        int empId = emp.getEmployeeNumber();
+        return PayslipKernel.compute(emp, comp, period, attendance, rules, credits,
+                PayslipKernel.centavos(bonusAmount), buildTransactionId(empId, period),
+                processedByUserId, now);
+    }
 
-        double leaveCredits = leaveCreditsService == null ? 0.0 : leaveCreditsService.getStoredLeaveCreditsHours(empId);
-        double leaveTaken = leaveCreditsService == null ? 0.0 : leaveCreditsService.getStoredLeaveTakenHours(empId);
-        double leaveBalance = leaveCreditsService == null ? 0.0 : leaveCreditsService.getStoredRemainingHours(empId);
+    // Annotation: The built-in strategy runs on compiled centavo tables; any other strategy is adapted once.
+    private CentavoDeductions deductions() {
+        return deductions != null ? deductions : CompiledDeductions.current();
+    }
 
+    // Annotation: Same figures with this run's processor and time.
+    private static Payslip restamp(Payslip p, int processedByUserId, LocalDateTime processedAt) {
         return new Payslip(
-                txId,
-                empId,
-                emp.getLastName(),
-                emp.getFirstName(),
-                period,
-                comp.getBasicSalary(),
-                comp.getRiceSubsidy(),
-                comp.getPhoneAllowance(),
-                comp.getClothingAllowance(),
-                comp.getGrossSemiMonthlyRate(),
-                comp.getHourlyRate(),
-                totalHoursWorked,
-                totalOvertimePay,
-                gross,
-                totalLateDeduction,
-                sss,
-                ph,
-                pagibig,
-                tax,
-                totalDeductions,
-                net,
+                p.getTransactionId(),
+                p.getEmployeeId(),
+                p.getLastName(),
+                p.getFirstName(),
+                p.getPeriod(),
+                p.getBasicSalary(),
+                p.getRiceAllowance(),
+                p.getPhoneAllowance(),
+                p.getClothingAllowance(),
+                p.getGrossSemiMonthlyRate(),
+                p.getHourlyRate(),
+                p.getTotalHoursWorked(),
+                p.getOvertimePay(),
+                p.getGrossIncome(),
+                p.getLateDeduction(),
+                p.getSss(),
+                p.getPhilHealth(),
+                p.getPagIbig(),
+                p.getWithholdingTax(),
+                p.getTotalDeductions(),
+                p.getNetPay(),
                 processedByUserId,
-                LocalDateTime.now(),
-                leaveCredits,
-                leaveTaken,
-                leaveBalance
+                processedAt,
+                p.getLeaveCreditsSnapshot(),
+                p.getLeaveTakenSnapshot(),
+                p.getLeaveBalanceSnapshot()
         );
     }
 
@@ -207,11 +315,37 @@ public class PayrollService {
         return "TX-" + empId + "-" + start + "-" + end;
     }
 
-    private double calculateHours(LocalTime in, LocalTime out) {
-        long minutes = Duration.between(in, out).toMinutes();
-        if (minutes > 240) {
-            minutes -= 60;
+    /**
+     * A computed payslip and the input version, attendance stamp and
+     * deduction tables it was computed from.
+     */
+    private static final class Computed {
+
+        private final long version;
+        private final long stamp;
+        private final CentavoDeductions rules;
+        private final Payslip payslip;
+
+        private Computed(long version, long stamp, CentavoDeductions rules, Payslip payslip) {
+            this.version = version;
+            this.stamp = stamp;
+            this.rules = rules;
+            this.payslip = payslip;
+        }
+
+        // Annotation: Catches employee or leave edits the tracker did not see, such as a reloaded employee file.
+        private boolean matches(Employee emp, Compensation comp, LeaveCredits credits) {
+            return payslip.getBasicSalary() == comp.getBasicSalary()
+                    && payslip.getRiceAllowance() == comp.getRiceSubsidy()
+                    && payslip.getPhoneAllowance() == comp.getPhoneAllowance()
+                    && payslip.getClothingAllowance() == comp.getClothingAllowance()
+                    && payslip.getGrossSemiMonthlyRate() == comp.getGrossSemiMonthlyRate()
+                    && payslip.getHourlyRate() == comp.getHourlyRate()
+                    && Objects.equals(payslip.getLastName(), emp.getLastName())
+                    && Objects.equals(payslip.getFirstName(), emp.getFirstName())
+                    && payslip.getLeaveCreditsSnapshot() == (credits == null ? 0.0 : credits.getLeaveCreditsHours())
+                    && payslip.getLeaveTakenSnapshot() == (credits == null ? 0.0 : credits.getLeaveTakenHours())
+                    && payslip.getLeaveBalanceSnapshot() == (credits == null ? 0.0 : credits.getRemainingHours());
         }
-        return Math.max(0.0, minutes / 60.0);
     }
 }
@@ -0,0 +1,193 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.service;
+
+import com.motorph.domain.models.Compensation;
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveCredits;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.Payslip;
+import com.motorph.service.strategy.CentavoDeductions;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Payslip arithmetic on already-loaded inputs. Money is in long centavos and
+ * attendance in int minutes of the day. The kernel does no file I/O; the only
+ * allocation is the Payslip it returns. Batch runs, previews and what-if
+ * simulations can share it.
+ *
+ * Rules (same as the original double-based computation):
+ * - Daily hours are out - in, less one hour of lunch when over 4 hours.
+ * - Time in after 8:10 is late from 8:00.
+ * - Time out before 17:00 is undertime.
+ * - Hours over 8 a day are paid at 125% of the hourly rate.
+ * Late and undertime are charged per minute at the hourly rate / 60.
+ *
+ * Each component is rounded half-up to the centavo once, from the period's
+ * total minutes.
+ *
+ * @author ACER
+ */
+public final class PayslipKernel {
+
+    private static final int WORK_START = 8 * 60;
+    private static final int GRACE_END = 8 * 60 + 10;
+    private static final int WORK_END = 17 * 60;
+    private static final int REGULAR_DAY = 8 * 60;
+    private static final int LUNCH_AFTER = 4 * 60;
+    private static final int LUNCH = 60;
+    private static final long OVERTIME_PERCENT = 125;
+
+    private PayslipKernel() {
+    }
+
+    /**
+     * Computes one payslip.
+     *
+     * @param credits stored leave credits for the snapshot columns, or null
+     * @param bonusCentavos extra taxable pay; negative values count as zero
+     */
+    public static Payslip compute(Employee emp, Compensation comp, PayPeriod period, Attendance attendance,
+            CentavoDeductions deductions, LeaveCredits credits, long bonusCentavos,
+            String transactionId, int processedByUserId, LocalDateTime processedAt) {
+        long hourly = centavos(comp.getHourlyRate());
+
+        int workedMinutes = 0;
+        int chargedMinutes = 0;
+        int overtimeMinutes = 0;
+
+        for (int i = 0; i < attendance.size; i++) {
+            int in = attendance.in[i];
+            int out = attendance.out[i];
+
+            int daily = out - in;
+            if (daily > LUNCH_AFTER) {
+                daily -= LUNCH;
+            }
+            daily = Math.max(0, daily);
+            workedMinutes += daily;
+
+            if (in > GRACE_END) {
+                chargedMinutes += in - WORK_START;
+            }
+            if (out < WORK_END) {
+                chargedMinutes += WORK_END - out;
+            }
+            if (daily > REGULAR_DAY) {
+                overtimeMinutes += daily - REGULAR_DAY;
+            }
+        }
+
+        long timeDeduction = perMinute(chargedMinutes, hourly, 100);
+        long overtimePay = perMinute(overtimeMinutes, hourly, OVERTIME_PERCENT);
+
+        long basic = half(centavos(comp.getBasicSalary()));
+        long rice = half(centavos(comp.getRiceSubsidy()));
+        long phone = half(centavos(comp.getPhoneAllowance()));
+        long clothing = half(centavos(comp.getClothingAllowance()));
+
+        long gross = basic + rice + phone + clothing + overtimePay + Math.max(0, bonusCentavos);
+        long payAfterTime = Math.max(0, gross - timeDeduction);
+
+        long sss = deductions.sss(payAfterTime);
+        long ph = deductions.philHealth(payAfterTime);
+        long pagibig = deductions.pagibig(payAfterTime);
+        long gov = sss + ph + pagibig;
+
+        long tax = deductions.tax(Math.max(0, payAfterTime - gov));
+        long totalDeductions = timeDeduction + gov + tax;
+        long net = Math.max(0, gross - totalDeductions);
+
+        return new Payslip(
+                transactionId,
+                emp.getEmployeeNumber(),
+                emp.getLastName(),
+                emp.getFirstName(),
+                period,
+                comp.getBasicSalary(),
+                comp.getRiceSubsidy(),
+                comp.getPhoneAllowance(),
+                comp.getClothingAllowance(),
+                comp.getGrossSemiMonthlyRate(),
+                comp.getHourlyRate(),
+                workedMinutes / 60.0,
+                pesos(overtimePay),
+                pesos(gross),
+                pesos(timeDeduction),
+                pesos(sss),
+                pesos(ph),
+                pesos(pagibig),
+                pesos(tax),
+                pesos(totalDeductions),
+                pesos(net),
+                processedByUserId,
+                processedAt,
+                credits == null ? 0.0 : credits.getLeaveCreditsHours(),
+                credits == null ? 0.0 : credits.getLeaveTakenHours(),
+                credits == null ? 0.0 : credits.getRemainingHours()
+        );
+    }
+
+    public static long centavos(double pesos) {
+        return Math.round(pesos * 100.0);
+    }
+
+    public static double pesos(long centavos) {
+        return centavos / 100.0;
+    }
+
+    // Annotation: minutes * hourly rate * percent / (60 * 100), rounded half-up.
+    private static long perMinute(int minutes, long hourly, long percent) {
+        if (minutes <= 0 || hourly <= 0) {
+            return 0;
+        }
+        long scale = 60L * 100L;
+        return (minutes * hourly * percent + scale / 2) / scale;
+    }
+
+    private static long half(long centavos) {
+        return (centavos + 1) / 2;
+    }
+
+    /**
+     * Reusable attendance buffer: time in and time out per day, in minutes
+     * of the day. Keep one per thread and clear() it between employees.
+     */
+    public static final class Attendance {
+
+        private int[] in = new int[16];
+        private int[] out = new int[16];
+        private int size;
+
+        public void clear() {
+            size = 0;
+        }
+
+        public void add(LocalTime timeIn, LocalTime timeOut) {
+            add(minuteOfDay(timeIn), minuteOfDay(timeOut));
+        }
+
+        public void add(int inMinute, int outMinute) {
+            if (size == in.length) {
+                in = Arrays.copyOf(in, size * 2);
+                out = Arrays.copyOf(out, size * 2);
+            }
+            in[size] = inMinute;
+            out[size] = outMinute;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public static int minuteOfDay(LocalTime t) {
+            return t.getHour() * 60 + t.getMinute();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.service;
+
+import com.motorph.domain.enums.LeaveStatus;
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveRequest;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.Payslip;
+import com.motorph.domain.models.YearToDate;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.LeaveRepository;
+import com.motorph.repository.PayslipRepository;
+import com.motorph.repository.YearToDateRepository;
+import com.motorph.repository.provider.RecordChangeTracker;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the year-to-date store in step with payslips and leave, and answers
+ * year-to-date queries from it.
+ *
+ * Registered as a RecordChangeTracker listener: a saved payslip adds its
+ * amounts to its period's bucket, and a leave change re-totals that
+ * employee's approved leave from their own leave file. Leave is counted as in
+ * LeaveService.getLeaveHoursUsed: approved, weekday, one row per leave id.
+ *
+ * The store is built from records_payslips and records_leave on first use
+ * when it does not exist yet, and again on demand with rebuild().
+ *
+ * @author ACER
+ */
+public class YearToDateService implements RecordChangeTracker.Listener {
+
+    private final YearToDateRepository ytdRepo;
+    private final EmployeeRepository empRepo;
+    private final PayslipRepository payslipRepo;
+    private final LeaveRepository leaveRepo;
+    private final LeaveService leaveService;
+
+    public YearToDateService(YearToDateRepository ytdRepo,
+            EmployeeRepository empRepo,
+            PayslipRepository payslipRepo,
+            LeaveRepository leaveRepo,
+            LeaveService leaveService) {
+        this.ytdRepo = ytdRepo;
+        this.empRepo = empRepo;
+        this.payslipRepo = payslipRepo;
+        this.leaveRepo = leaveRepo;
+        this.leaveService = leaveService;
+    }
+
+    // Annotation: Stored totals for the year; empty when nothing was recorded.
+    public YearToDate getYearToDate(int empId, int year) {
+        ensureBuilt();
+        YearToDate ytd = ytdRepo.find(empId, year);
+        return ytd == null ? new YearToDate(empId, year) : ytd;
+    }
+
+    /**
+     * Pesos of one YearToDate column (GROSS, SSS, TAX, ...) from January 1
+     * through the end of the period.
+     */
+    public double getAmountYearToDate(int empId, PayPeriod period, int column) {
+        LocalDate end = period.getEndDate();
+        return getYearToDate(empId, end.getYear()).total(column, YearToDate.bucketOf(end)) / 100.0;
+    }
+
+    /**
+     * Approved leave hours from January 1 through the given date. Exact when
+     * the date ends a half-month (the 15th or the last day of a month).
+     */
+    public double getLeaveTakenHours(int empId, LocalDate through) {
+        return getYearToDate(empId, through.getYear())
+                .total(YearToDate.LEAVE_MINUTES, YearToDate.bucketOf(through)) / 60.0;
+    }
+
+    @Override
+    public void payslipSaved(Payslip payslip) {
+        if (payslip == null || payslip.getPeriod() == null) {
+            return;
+        }
+        // A store built just now already read this payslip from its file.
+        if (ensureBuilt()) {
+            return;
+        }
+        YearToDate delta = new YearToDate(payslip.getEmployeeId(), payslip.getPeriod().getStartDate().getYear());
+        addPayslip(delta, payslip);
+        if (!ytdRepo.add(delta)) {
+            discardStore("payslip " + payslip.getTransactionId());
+        }
+    }
+
+    @Override
+    public void leaveChanged(int empId) {
+        if (ensureBuilt()) {
+            return;
+        }
+        if (!ytdRepo.replaceColumn(empId, YearToDate.LEAVE_MINUTES, leaveMinutesByYear(leaveRepo.findByEmployee(empId)))) {
+            discardStore("leave of EmpID=" + empId);
+        }
+    }
+
+    /**
+     * Removes a deleted employee's totals, whose payslip and leave files are
+     * removed without passing through the tracker. Employee ids can be
+     * reused, so the totals must not outlive the employee.
+     */
+    public boolean removeEmployee(int empId) {
+        return !ytdRepo.isInitialized() || ytdRepo.removeEmployee(empId);
+    }
+
+    /**
+     * Regenerates the whole store from every employee's payslip and leave
+     * files.
+     *
+     * @return number of employee-years written, or -1 when the store could
+     * not be written
+     */
+    public int rebuild() {
+        Map<Long, YearToDate> built = new HashMap<>();
+        for (Employee e : empRepo.findAll()) {
+            if (e == null) {
+                continue;
+            }
+            int empId = e.getEmployeeNumber();
+
+            for (Payslip p : payslipRepo.findAllByEmployee(empId)) {
+                if (p == null || p.getPeriod() == null) {
+                    continue;
+                }
+                addPayslip(entry(built, empId, p.getPeriod().getStartDate().getYear()), p);
+            }
+
+            for (Map.Entry<Integer, long[]> year : leaveMinutesByYear(leaveRepo.findByEmployee(empId)).entrySet()) {
+                YearToDate ytd = entry(built, empId, year.getKey());
+                long[] minutes = year.getValue();
+                for (int b = 0; b < YearToDate.BUCKETS; b++) {
+                    ytd.add(YearToDate.LEAVE_MINUTES, b, minutes[b]);
+                }
+            }
+        }
+        return ytdRepo.replaceAll(new ArrayList<>(built.values())) ? built.size() : -1;
+    }
+
+    // Annotation: A store that missed a change is deleted, so the next query rebuilds it from the record files.
+    private void discardStore(String change) {
+        boolean discarded = ytdRepo.discard();
+        System.err.println("Year-to-date store missed the update for " + change
+                + (discarded ? "; it will be rebuilt on next use." : "; run YearToDateRebuildTool."));
+    }
+
+    // Annotation: Builds a missing store once; true when this call built it.
+    private synchronized boolean ensureBuilt() {
+        if (ytdRepo.isInitialized()) {
+            return false;
+        }
+        rebuild();
+        return true;
+    }
+
+    private static void addPayslip(YearToDate ytd, Payslip p) {
+        int b = YearToDate.bucketOf(p.getPeriod().getStartDate());
+        ytd.add(YearToDate.GROSS, b, PayslipKernel.centavos(p.getGrossIncome()));
+        ytd.add(YearToDate.SSS, b, PayslipKernel.centavos(p.getSss()));
+        ytd.add(YearToDate.PHILHEALTH, b, PayslipKernel.centavos(p.getPhilHealth()));
+        ytd.add(YearToDate.PAGIBIG, b, PayslipKernel.centavos(p.getPagIbig()));
+        ytd.add(YearToDate.TAX, b, PayslipKernel.centavos(p.getWithholdingTax()));
+        ytd.add(YearToDate.DEDUCTIONS, b, PayslipKernel.centavos(p.getTotalDeductions()));
+        ytd.add(YearToDate.NET, b, PayslipKernel.centavos(p.getNetPay()));
+        ytd.add(YearToDate.PAYSLIPS, b, 1);
+    }
+
+    // Annotation: Same counting rules as LeaveService.getLeaveHoursUsed, with leave ids de-duplicated per year.
+    private Map<Integer, long[]> leaveMinutesByYear(List<LeaveRequest> rows) {
+        Map<Integer, long[]> out = new HashMap<>();
+        Map<Integer, Set<String>> seen = new HashMap<>();
+        for (LeaveRequest r : rows) {
+            if (r == null || r.getDate() == null || r.getStatus() != LeaveStatus.APPROVED) {
+                continue;
+            }
+            String leaveId = r.getLeaveId() == null ? "" : r.getLeaveId().trim();
+            int year = r.getDate().getYear();
+            if (leaveId.isEmpty() || !seen.computeIfAbsent(year, k -> new HashSet<>()).add(leaveId)) {
+                continue;
+            }
+            DayOfWeek dow = r.getDate().getDayOfWeek();
+            if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
+                continue;
+            }
+
+            long minutes = Math.round(leaveService.calculateHours(r.getStartTime(), r.getEndTime()) * 60.0);
+            out.computeIfAbsent(year, k -> new long[YearToDate.BUCKETS])[YearToDate.bucketOf(r.getDate())] += minutes;
+        }
+        return out;
+    }
+
+    private static YearToDate entry(Map<Long, YearToDate> built, int empId, int year) {
+        return built.computeIfAbsent(((long) empId << 16) | year, k -> new YearToDate(empId, year));
+    }
+}
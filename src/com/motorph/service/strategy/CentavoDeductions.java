@@ -0,0 +1,51 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package com.motorph.service.strategy;
+
+/**
+ * Fixed-point form of DeductionStrategy used by PayslipKernel. Amounts are in
+ * centavos; results are rounded half-up to the centavo.
+ *
+ * @author ACER
+ */
+public interface CentavoDeductions {
+
+    long sss(long base);
+
+    long philHealth(long base);
+
+    long pagibig(long base);
+
+    long tax(long taxable);
+
+    // Annotation: Adapter for strategies that only implement the double-based methods.
+    static CentavoDeductions of(DeductionStrategy strategy) {
+        return new CentavoDeductions() {
+            @Override
+            public long sss(long base) {
+                return toCentavos(strategy.calculateSSS(base / 100.0));
+            }
+
+            @Override
+            public long philHealth(long base) {
+                return toCentavos(strategy.calculatePhilHealth(base / 100.0));
+            }
+
+            @Override
+            public long pagibig(long base) {
+                return toCentavos(strategy.calculatePagibig(base / 100.0));
+            }
+
+            @Override
+            public long tax(long taxable) {
+                return toCentavos(strategy.calculateTax(taxable / 100.0));
+            }
+        };
+    }
+
+    static long toCentavos(double amount) {
+        return Math.round(amount * 100.0);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.service.strategy;
+
+/**
+ * The PayDeductionStrategy rules over the shared government tables, converted
+ * to centavo arrays. Rates are kept in parts per million. current() rebuilds
+ * the arrays only when GovTables hands out a new snapshot, so lookups do no
+ * parsing and no allocation.
+ *
+ * Because amounts are whole centavos, the small gaps between brackets in the
+ * files (for example 20833 to 20833.01) cannot be hit.
+ *
+ * @author ACER
+ */
+public final class CompiledDeductions implements CentavoDeductions {
+
+    private static final long PPM = 1_000_000L;
+
+    // Same legacy fallback as PayDeductionStrategy when no PhilHealth bracket matches.
+    private static final long PHILHEALTH_NO_BRACKET_SHARE = 250_000L;
+
+    private static final long PAGIBIG_LOW_CEILING = 150_000L;
+    private static final long PAGIBIG_CAP = 10_000L;
+
+    private static volatile CompiledDeductions current;
+
+    private final GovTable.Compiled sssSource;
+    private final GovTable.Compiled phSource;
+    private final GovTable.Compiled taxSource;
+
+    private final Brackets sss;
+    private final Brackets philHealth;
+    private final boolean philHealthLoaded;
+    private final Brackets tax;
+
+    private CompiledDeductions(GovTable.Compiled sssSource, GovTable.Compiled phSource, GovTable.Compiled taxSource) {
+        this.sssSource = sssSource;
+        this.phSource = phSource;
+        this.taxSource = taxSource;
+
+        this.sss = new Brackets(sssSource, false, new boolean[]{false});
+        this.philHealth = new Brackets(phSource, true, new boolean[]{true, false, false});
+        this.philHealthLoaded = phSource.isLoaded();
+        this.tax = new Brackets(taxSource, false, new boolean[]{false, true});
+    }
+
+    // Annotation: Compiled form of the current table snapshots; rebuilt after a table file changes.
+    public static CompiledDeductions current() {
+        GovTable.Compiled s = GovTables.SSS.current();
+        GovTable.Compiled p = GovTables.PHILHEALTH.current();
+        GovTable.Compiled t = GovTables.TAX.current();
+
+        CompiledDeductions c = current;
+        if (c == null || c.sssSource != s || c.phSource != p || c.taxSource != t) {
+            c = new CompiledDeductions(s, p, t);
+            current = c;
+        }
+        return c;
+    }
+
+    @Override
+    public long sss(long base) {
+        int row = sss.find(base);
+        return row < 0 ? 0 : sss.values[GovTables.SSS_EE_TOTAL][row];
+    }
+
+    @Override
+    public long philHealth(long base) {
+        if (!philHealthLoaded) {
+            return 0;
+        }
+
+        int row = philHealth.find(base);
+        if (row < 0) {
+            return PHILHEALTH_NO_BRACKET_SHARE;
+        }
+
+        long minShare = philHealth.values[GovTables.PH_MIN_SHARE][row];
+        long maxShare = philHealth.values[GovTables.PH_MAX_SHARE][row];
+        long share = mulDiv(base, philHealth.values[GovTables.PH_RATE][row], PPM);
+
+        if (minShare > 0 && share < minShare) {
+            return minShare;
+        }
+        if (maxShare > 0 && share > maxShare) {
+            return maxShare;
+        }
+        return share;
+    }
+
+    @Override
+    public long pagibig(long base) {
+        long percent = (base <= PAGIBIG_LOW_CEILING) ? 1 : 2;
+        return Math.min(mulDiv(base, percent, 100), PAGIBIG_CAP);
+    }
+
+    @Override
+    public long tax(long taxable) {
+        int row = tax.find(taxable);
+        if (row < 0) {
+            return 0;
+        }
+
+        long baseTax = tax.values[GovTables.TAX_BASE][row];
+        long excess = mulDiv(taxable - tax.mins[row], tax.values[GovTables.TAX_EXCESS_PERCENT][row], PPM);
+        return baseTax + excess;
+    }
+
+    // Annotation: a * b / d rounded half-up, for non-negative a and b.
+    static long mulDiv(long a, long b, long d) {
+        if (a <= 0 || b <= 0) {
+            return 0;
+        }
+        return (a * b + d / 2) / d;
+    }
+
+    /**
+     * One table as sorted centavo bounds plus value columns, each either in
+     * centavos or, for rates, in parts per million.
+     */
+    private static final class Brackets {
+
+        private final long[] mins;
+        private final long[] maxs;
+        private final long[][] values;
+        private final boolean inclusiveMax;
+
+        private Brackets(GovTable.Compiled source, boolean inclusiveMax, boolean[] rateColumns) {
+            int n = source.rowCount();
+            this.mins = new long[n];
+            this.maxs = new long[n];
+            this.values = new long[rateColumns.length][n];
+            this.inclusiveMax = inclusiveMax;
+
+            for (int i = 0; i < n; i++) {
+                mins[i] = Math.round(source.min(i) * 100.0);
+                maxs[i] = source.max(i) == Double.MAX_VALUE ? Long.MAX_VALUE : Math.round(source.max(i) * 100.0);
+                for (int v = 0; v < rateColumns.length; v++) {
+                    double raw = source.value(i, v);
+                    values[v][i] = Math.round(raw * (rateColumns[v] ? PPM : 100.0));
+                }
+            }
+        }
+
+        // Annotation: Same bracket choice as GovTable.Compiled.find: last row whose minimum is not above the amount.
+        private int find(long amount) {
+            int lo = 0;
+            int hi = mins.length - 1;
+            int idx = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (mins[mid] <= amount) {
+                    idx = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+
+            // Exact hit on equal minimums: use the first of them, as a file-order scan would.
+            while (idx > 0 && mins[idx - 1] == amount) {
+                idx--;
+            }
+            if (idx < 0) {
+                return -1;
+            }
+
+            boolean withinMax = inclusiveMax ? amount <= maxs[idx] : amount < maxs[idx];
+            return withinMax ? idx : -1;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.service.strategy;
+
+import com.motorph.repository.csv.CsvTokenizer;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Government bracket table compiled from one gov_*_Table.csv file. Rows are
+ * loaded once into sorted primitive arrays and brackets are resolved with a
+ * binary search. The file is re-read only when its modification time or size
+ * changes.
+ *
+ * Column layout follows the reference files: a leading ID column, then the
+ * bracket minimum and maximum, then the value columns picked by the caller.
+ * Brackets are assumed not to overlap.
+ *
+ * @author ACER
+ */
+public class GovTable {
+
+    private static final int IDX_MIN = 1;
+    private static final int IDX_MAX = 2;
+
+    // Annotation: Disk metadata is checked at most this often, so hot lookups stay in memory.
+    private static final long STALE_CHECK_INTERVAL_MS = 1000;
+
+    private final String path;
+    private final int[] valueColumns;
+    private final int requiredColumns;
+
+    private volatile Compiled compiled;
+    private volatile long nextStaleCheckAt;
+
+    /**
+     * @param path CSV file to compile
+     * @param valueColumns column indexes copied into the value arrays, in order
+     */
+    public GovTable(String path, int... valueColumns) {
+        this.path = path;
+        this.valueColumns = valueColumns.clone();
+
+        int maxIdx = IDX_MAX;
+        for (int col : valueColumns) {
+            maxIdx = Math.max(maxIdx, col);
+        }
+        this.requiredColumns = maxIdx + 1;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the current compiled rows, reloading the file first if it changed
+     * on disk since the last load.
+     */
+    public Compiled current() {
+        Compiled c = compiled;
+        long now = System.currentTimeMillis();
+        if (c != null && now < nextStaleCheckAt) {
+            return c;
+        }
+        return refresh(now);
+    }
+
+    // Annotation: Forces the next lookup to re-check the file on disk.
+    public void invalidate() {
+        nextStaleCheckAt = 0;
+    }
+
+    private synchronized Compiled refresh(long now) {
+        Compiled c = compiled;
+        if (c != null && now < nextStaleCheckAt) {
+            return c;
+        }
+
+        File file = new File(path);
+        long modified = file.lastModified();
+        long size = file.length();
+
+        if (c == null || c.modified != modified || c.size != size) {
+            c = load(file, modified, size);
+            compiled = c;
+        }
+        nextStaleCheckAt = now + STALE_CHECK_INTERVAL_MS;
+        return c;
+    }
+
+    private Compiled load(File file, long modified, long size) {
+        List<double[]> rows = new ArrayList<>();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            br.readLine(); // Header row ignored during compilation.
+
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] data = CsvTokenizer.split(line);
+                if (data.length < requiredColumns) {
+                    continue;
+                }
+
+                try {
+                    double[] row = new double[2 + valueColumns.length];
+                    row[0] = parse(data[IDX_MIN]);
+
+                    // "Over" or blank upper bounds represent an open-ended bracket.
+                    String rawMax = clean(data[IDX_MAX]);
+                    row[1] = (rawMax.equalsIgnoreCase("Over") || rawMax.isEmpty())
+                            ? Double.MAX_VALUE
+                            : parse(rawMax);
+
+                    for (int i = 0; i < valueColumns.length; i++) {
+                        row[2 + i] = parse(data[valueColumns[i]]);
+                    }
+                    rows.add(row);
+                } catch (NumberFormatException e) {
+                    // Row ignored when numeric parsing fails.
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new Compiled(modified, size, false, new double[0], new double[0], new double[valueColumns.length][0]);
+        }
+
+        // Stable sort keeps file order for equal minimums.
+        rows.sort(Comparator.comparingDouble(r -> r[0]));
+
+        int n = rows.size();
+        double[] mins = new double[n];
+        double[] maxs = new double[n];
+        double[][] values = new double[valueColumns.length][n];
+        for (int i = 0; i < n; i++) {
+            double[] row = rows.get(i);
+            mins[i] = row[0];
+            maxs[i] = row[1];
+            for (int v = 0; v < valueColumns.length; v++) {
+                values[v][i] = row[2 + v];
+            }
+        }
+        return new Compiled(modified, size, true, mins, maxs, values);
+    }
+
+    private static String clean(String val) {
+        return val == null ? "" : val.replace("\"", "").trim();
+    }
+
+    private static double parse(String val) {
+        String v = clean(val);
+        if (v.isEmpty()) {
+            return 0.0;
+        }
+        return Double.parseDouble(v.replace(",", ""));
+    }
+
+    /**
+     * Immutable snapshot of one compiled table. Row indexes are only valid for
+     * the snapshot that returned them.
+     */
+    public static final class Compiled {
+
+        private final long modified;
+        private final long size;
+        private final boolean loaded;
+        private final double[] mins;
+        private final double[] maxs;
+        private final double[][] values;
+
+        private Compiled(long modified, long size, boolean loaded, double[] mins, double[] maxs, double[][] values) {
+            this.modified = modified;
+            this.size = size;
+            this.loaded = loaded;
+            this.mins = mins;
+            this.maxs = maxs;
+            this.values = values;
+        }
+
+        // Annotation: False when the CSV could not be read; callers keep their legacy fallback.
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        public int rowCount() {
+            return mins.length;
+        }
+
+        /**
+         * Finds the bracket containing the amount.
+         *
+         * @param amount salary or taxable income
+         * @param inclusiveMax true when the upper bound belongs to the bracket
+         * @return row index, or -1 when no bracket matches
+         */
+        public int find(double amount, boolean inclusiveMax) {
+            int idx = Arrays.binarySearch(mins, amount);
+            if (idx < 0) {
+                idx = -idx - 2; // last row whose minimum is below the amount
+            } else {
+                // Equal minimums: move to the first of them to mirror file-order scanning.
+                while (idx > 0 && mins[idx - 1] == amount) {
+                    idx--;
+                }
+            }
+
+            if (idx < 0) {
+                return -1;
+            }
+
+            boolean withinMax = inclusiveMax ? amount <= maxs[idx] : amount < maxs[idx];
+            return withinMax ? idx : -1;
+        }
+
+        public double min(int row) {
+            return mins[row];
+        }
+
+        public double max(int row) {
+            return maxs[row];
+        }
+
+        /**
+         * @param row row index from {@link #find(double, boolean)}
+         * @param valueIndex position in the table's value column list
+         */
+        public double value(int row, int valueIndex) {
+            return values[valueIndex][row];
+        }
+    }
+}
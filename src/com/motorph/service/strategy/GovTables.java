@@ -0,0 +1,42 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.service.strategy;
+
+import com.motorph.repository.csv.DataPaths;
+
+/**
+ * Shared compiled government tables. Every PayDeductionStrategy instance and
+ * the home guide read the same in-memory copies.
+ *
+ * @author ACER
+ */
+public final class GovTables {
+
+    // SSS value columns: employee share total.
+    public static final int SSS_EE_TOTAL = 0;
+
+    // PhilHealth value columns: premium rate, minimum share, maximum share.
+    public static final int PH_RATE = 0;
+    public static final int PH_MIN_SHARE = 1;
+    public static final int PH_MAX_SHARE = 2;
+
+    // Tax value columns: base tax, excess percent.
+    public static final int TAX_BASE = 0;
+    public static final int TAX_EXCESS_PERCENT = 1;
+
+    public static final GovTable SSS = new GovTable(DataPaths.GOV_SSS_CSV, 5);
+    public static final GovTable PHILHEALTH = new GovTable(DataPaths.GOV_PHILHEALTH_CSV, 4, 5, 6);
+    public static final GovTable TAX = new GovTable(DataPaths.GOV_TAX_CSV, 3, 4);
+
+    private GovTables() {
+    }
+
+    // Annotation: Makes the next lookup re-check every table file on disk.
+    public static void invalidateAll() {
+        SSS.invalidate();
+        PHILHEALTH.invalidate();
+        TAX.invalidate();
+    }
+}
@@ -4,119 +4,49 @@
  */
 package com.motorph.service.strategy;
 
-import com.motorph.repository.csv.DataPaths;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
-
 /**
- * Implementation of payroll deduction rules for 2025. Reads government tables
- * from CSV files dynamically.
+ * Implementation of payroll deduction rules for 2025. Government tables are
+ * compiled once from CSV (see {@link GovTables}) and reloaded only when a file
+ * changes, so payroll runs do not re-read the tables per payslip.
  *
  * @author ACER
  */
 public class PayDeductionStrategy implements DeductionStrategy {
 
-    // CSV split regex that preserves commas inside double-quoted values.
-    private static final String CSV_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
+    // Default value returned when no PhilHealth bracket matches (legacy fallback).
+    private static final double PHILHEALTH_NO_BRACKET_SHARE = 2500.00;
 
     @Override
     public double calculateSSS(double grossPay) {
-        // Government table rows include a leading ID column at index 0, so min/max start at index 1.
-        final int IDX_MIN = 1;
-        final int IDX_MAX = 2;
-        final int IDX_EE_TOTAL = 5; // Employee share total column after the leading ID column.
-
-        try (BufferedReader br = new BufferedReader(new FileReader(DataPaths.GOV_SSS_CSV))) {
-            br.readLine(); // Header row ignored during bracket scan.
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] data = line.split(CSV_SPLIT_REGEX, -1);
-                if (data.length <= IDX_EE_TOTAL) {
-                    continue;
-                }
-
-                try {
-                    double min = parse(data[IDX_MIN]);
-
-                    // "Over" or blank upper bounds represent an open-ended bracket.
-                    double max = (data[IDX_MAX].equalsIgnoreCase("Over") || data[IDX_MAX].isEmpty())
-                            ? Double.MAX_VALUE
-                            : parse(data[IDX_MAX]);
-
-                    double contribution = parse(data[IDX_EE_TOTAL]);
-
-                    if (grossPay >= min && grossPay < max) {
-                        return contribution;
-                    }
-                } catch (NumberFormatException e) {
-                    // Row ignored when numeric parsing fails.
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return 0.0;
+        GovTable.Compiled table = GovTables.SSS.current();
+        int row = table.find(grossPay, false);
+        return row < 0 ? 0.0 : table.value(row, GovTables.SSS_EE_TOTAL);
     }
 
     @Override
     public double calculatePhilHealth(double grossPay) {
-        // Government table rows include a leading ID column at index 0, so min/max start at index 1.
-        final int IDX_MIN = 1;
-        final int IDX_MAX = 2;
-        final int IDX_RATE = 4;
-        final int IDX_MIN_SHARE = 5;
-        final int IDX_MAX_SHARE = 6;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(DataPaths.GOV_PHILHEALTH_CSV))) {
-            br.readLine(); // Header row ignored during bracket scan.
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] data = line.split(CSV_SPLIT_REGEX, -1);
-                if (data.length <= IDX_MAX_SHARE) {
-                    continue;
-                }
-
-                try {
-                    double minSal = parse(data[IDX_MIN]);
-
-                    // "Over" or blank upper bounds represent an open-ended bracket.
-                    double maxSal = (data[IDX_MAX].equalsIgnoreCase("Over") || data[IDX_MAX].isEmpty())
-                            ? Double.MAX_VALUE
-                            : parse(data[IDX_MAX]);
-
-                    double rate = parse(data[IDX_RATE]);
-                    double minShare = parse(data[IDX_MIN_SHARE]);
-                    double maxShare = parse(data[IDX_MAX_SHARE]);
-
-                    if (grossPay >= minSal && grossPay <= maxSal) {
-                        double share = grossPay * rate;
-
-                        if (minShare > 0 && share < minShare) {
-                            return minShare;
-                        }
-                        if (maxShare > 0 && share > maxShare) {
-                            return maxShare;
-                        }
+        GovTable.Compiled table = GovTables.PHILHEALTH.current();
+        if (!table.isLoaded()) {
+            return 0.0;
+        }
 
-                        return share;
-                    }
-                } catch (NumberFormatException e) {
-                    // Row ignored when numeric parsing fails.
-                }
-            }
+        int row = table.find(grossPay, true);
+        if (row < 0) {
+            return PHILHEALTH_NO_BRACKET_SHARE;
+        }
 
-            // Default value returned when no bracket matches (legacy fallback).
-            return 2500.00;
+        double rate = table.value(row, GovTables.PH_RATE);
+        double minShare = table.value(row, GovTables.PH_MIN_SHARE);
+        double maxShare = table.value(row, GovTables.PH_MAX_SHARE);
+        double share = grossPay * rate;
 
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (minShare > 0 && share < minShare) {
+            return minShare;
         }
-
-        return 0.0;
+        if (maxShare > 0 && share > maxShare) {
+            return maxShare;
+        }
+        return share;
     }
 
     @Override
@@ -129,51 +59,14 @@ public class PayDeductionStrategy implements DeductionStrategy {
 
     @Override
     public double calculateTax(double taxableIncome) {
-        // Government table rows include a leading ID column at index 0, so min/max start at index 1.
-        final int IDX_MIN = 1;
-        final int IDX_MAX = 2;
-        final int IDX_BASE_TAX = 3;
-        final int IDX_EXCESS_PERCENT = 4;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(DataPaths.GOV_TAX_CSV))) {
-            br.readLine(); // Header row ignored during bracket scan.
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] data = line.split(CSV_SPLIT_REGEX, -1);
-                if (data.length <= IDX_EXCESS_PERCENT) {
-                    continue;
-                }
-
-                try {
-                    double min = parse(data[IDX_MIN]);
-
-                    // "Over" or blank upper bounds represent an open-ended bracket.
-                    double max = (data[IDX_MAX].equalsIgnoreCase("Over") || data[IDX_MAX].isEmpty())
-                            ? Double.MAX_VALUE
-                            : parse(data[IDX_MAX]);
-
-                    double baseTax = parse(data[IDX_BASE_TAX]);
-                    double excessPercent = parse(data[IDX_EXCESS_PERCENT]);
-
-                    if (taxableIncome >= min && taxableIncome < max) {
-                        return baseTax + ((taxableIncome - min) * excessPercent);
-                    }
-                } catch (NumberFormatException e) {
-                    // Row ignored when numeric parsing fails.
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return 0.0;
-    }
-
-    private double parse(String val) {
-        if (val == null || val.trim().isEmpty()) {
+        GovTable.Compiled table = GovTables.TAX.current();
+        int row = table.find(taxableIncome, false);
+        if (row < 0) {
             return 0.0;
         }
-        return Double.parseDouble(val.replace("\"", "").replace(",", "").trim());
+
+        double baseTax = table.value(row, GovTables.TAX_BASE);
+        double excessPercent = table.value(row, GovTables.TAX_EXCESS_PERCENT);
+        return baseTax + ((taxableIncome - table.min(row)) * excessPercent);
     }
 }
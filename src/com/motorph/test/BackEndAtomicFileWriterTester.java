@@ -0,0 +1,126 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.test;
+
+import com.motorph.repository.csv.AtomicFileWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Checks AtomicFileWriter in a temp folder: a failing write leaves the target
+ * and its backups untouched and no temp file behind, and .bakN backups rotate
+ * newest first up to the requested count.
+ */
+public class BackEndAtomicFileWriterTester {
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    public static void main(String[] args) {
+        File dir = null;
+
+        try {
+            dir = Files.createTempDirectory("motorph_atomic_test").toFile();
+            File target = new File(dir, "records.csv");
+
+            // Plain replace
+            check(AtomicFileWriter.write(target, bw -> bw.write("v1")), "T1 write creates the target");
+            check("v1".equals(read(target)), "T2 target holds the written content");
+
+            // A body that fails halfway
+            boolean ok = AtomicFileWriter.write(target, bw -> {
+                bw.write("partial");
+                throw new IOException("simulated failure");
+            });
+            check(!ok, "T3 a failing body returns false");
+            check("v1".equals(read(target)), "T4 target is untouched after a failed write");
+            check(leftoverTemps(dir) == 0, "T5 no temp file is left behind");
+
+            File missing = new File(dir, "missing.csv");
+            AtomicFileWriter.write(missing, bw -> {
+                throw new IOException("simulated failure");
+            });
+            check(!missing.exists(), "T6 a failed write does not create a missing target");
+
+            // backups=2 over four writes
+            File rotated = new File(dir, "rotated.csv");
+            for (String version : new String[]{"v1", "v2", "v3", "v4"}) {
+                AtomicFileWriter.write(rotated, StandardCharsets.UTF_8, 2, bw -> bw.write(version));
+            }
+            check("v4".equals(read(rotated)), "T7 target holds the newest version");
+            check("v3".equals(read(AtomicFileWriter.backupFile(rotated, 1))), "T8 .bak1 holds the previous version");
+            check("v2".equals(read(AtomicFileWriter.backupFile(rotated, 2))), "T9 .bak2 holds the version before that");
+            check(!AtomicFileWriter.backupFile(rotated, 3).exists(), "T10 no backup beyond the requested count");
+
+            AtomicFileWriter.write(rotated, StandardCharsets.UTF_8, 2, bw -> {
+                throw new IOException("simulated failure");
+            });
+            check("v4".equals(read(rotated))
+                    && "v3".equals(read(AtomicFileWriter.backupFile(rotated, 1)))
+                    && "v2".equals(read(AtomicFileWriter.backupFile(rotated, 2))),
+                    "T11 a failed write does not rotate the backups");
+
+            // Byte-level variant
+            byte[] bytes = "₱90,000.00\n".getBytes(StandardCharsets.UTF_8);
+            File binary = new File(dir, "binary.bin");
+            check(AtomicFileWriter.writeStream(binary, 0, out -> out.write(bytes))
+                    && Arrays.equals(bytes, Files.readAllBytes(binary.toPath())),
+                    "T12 writeStream writes the exact bytes");
+            check(leftoverTemps(dir) == 0, "T13 no temp file is left after the run");
+        } catch (Exception e) {
+            check(false, "Unexpected exception: " + e);
+        } finally {
+            deleteTree(dir);
+            finish();
+        }
+    }
+
+    private static String read(File file) {
+        try {
+            return file.exists() ? Files.readString(file.toPath(), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int leftoverTemps(File dir) {
+        String[] names = dir.list((d, name) -> name.endsWith(".tmp"));
+        return names == null ? 0 : names.length;
+    }
+
+    private static void check(boolean condition, String label) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS | " + label);
+        } else {
+            failed++;
+            System.out.println("FAIL | " + label);
+        }
+    }
+
+    private static void finish() {
+        System.out.println();
+        System.out.println("=== SUMMARY ===");
+        System.out.println("Passed: " + passed);
+        System.out.println("Failed: " + failed);
+    }
+
+    private static void deleteTree(File file) {
+        if (file == null) {
+            return;
+        }
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteTree(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.test;
+
+import com.motorph.domain.enums.ApprovalStatus;
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LogEntry;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.Payslip;
+import com.motorph.ops.payroll.PayrollBackfillResult;
+import com.motorph.ops.payroll.PayrollBackfillRunner;
+import com.motorph.ops.payroll.PayrollBatchEngine;
+import com.motorph.repository.AuditRepository;
+import com.motorph.repository.EmployeeRepository;
+import com.motorph.repository.LogRepository;
+import com.motorph.repository.csv.CsvEmployeeRepository;
+import com.motorph.repository.csv.CsvLeaveCreditsRepository;
+import com.motorph.repository.csv.CsvLeaveRepository;
+import com.motorph.repository.csv.CsvPayrollApprovalRepository;
+import com.motorph.repository.csv.CsvPayslipRepository;
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.repository.csv.DataPaths;
+import com.motorph.service.LeaveCreditsService;
+import com.motorph.service.LeaveService;
+import com.motorph.service.LogService;
+import com.motorph.service.PayrollService;
+import com.motorph.service.strategy.PayDeductionStrategy;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Checks that a payroll backfill resumed from its checkpoint ends with the
+ * same payslips and approvals as an uninterrupted run. Uses the first 30
+ * employees with compensation and July 2024 (or the dates given as the first
+ * two arguments). The interrupted run stops after 28 employees, past the
+ * first checkpoint at 25.
+ *
+ * The payslip and payroll approval folders are restored afterwards; log and
+ * audit entries go to memory.
+ */
+public class BackEndBackfillResumeTester {
+
+    private static final int EMPLOYEES = 30;
+    private static final int CRASH_AFTER = 28;
+    private static final int PROCESSED_BY = 10002;
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    public static void main(String[] args) {
+        LocalDate from = (args.length >= 2) ? LocalDate.parse(args[0]) : LocalDate.of(2024, 7, 1);
+        LocalDate to = (args.length >= 2) ? LocalDate.parse(args[1]) : LocalDate.of(2024, 7, 31);
+        List<PayPeriod> periods = PayrollBackfillRunner.periodsBetween(from, to);
+
+        File payslipFolder = new File(DataPaths.PAYSLIP_FOLDER);
+        File approvalFolder = new File(DataPaths.PAYROLL_FOLDER);
+        Map<File, byte[]> payslipFiles = snapshot(payslipFolder);
+        Map<File, byte[]> approvalFiles = snapshot(approvalFolder);
+        File checkpoint = null;
+
+        try {
+            checkpoint = Files.createTempFile("motorph_backfill", ".checkpoint").toFile();
+            checkpoint.delete();
+
+            EmployeeRepository subset = subset(new CsvEmployeeRepository(), EMPLOYEES);
+            List<Integer> ids = new ArrayList<>();
+            for (Employee e : subset.findAll()) {
+                ids.add(e.getEmployeeNumber());
+            }
+            check(ids.size() == EMPLOYEES, "T1 " + EMPLOYEES + " employees with compensation found");
+            if (ids.size() != EMPLOYEES) {
+                return;
+            }
+
+            // Uninterrupted run.
+            prepare(ids, periods);
+            PayrollBackfillResult full = runner(subset, new PayrollBatchEngine(1)).run(from, to, PROCESSED_BY, checkpoint);
+            Map<String, String> expected = figures(ids, periods);
+            check(full.getSaved() == ids.size() * periods.size() && full.getFailed() == 0,
+                    "T2 uninterrupted run saves every payslip (" + full.getSaved() + ")");
+
+            // Same start, stopped after CRASH_AFTER employees, then resumed.
+            restore(payslipFolder, payslipFiles);
+            restore(approvalFolder, approvalFiles);
+            prepare(ids, periods);
+
+            boolean crashed = false;
+            try {
+                runner(subset, new CrashingEngine(CRASH_AFTER)).run(from, to, PROCESSED_BY, checkpoint);
+            } catch (IllegalStateException e) {
+                crashed = true;
+            }
+            check(crashed && checkpoint.exists(), "T3 interrupted run leaves a checkpoint");
+
+            PayrollBackfillResult resumed = runner(subset, new PayrollBatchEngine(4)).run(from, to, PROCESSED_BY, checkpoint);
+            int redone = ids.size() - PayrollBackfillRunner.CHECKPOINT_EVERY;
+            check(resumed.getResumedEmployees() == PayrollBackfillRunner.CHECKPOINT_EVERY,
+                    "T4 resume skips the checkpointed employees (" + resumed.getResumedEmployees() + ")");
+            check(resumed.getExisting() == (CRASH_AFTER - PayrollBackfillRunner.CHECKPOINT_EVERY) * periods.size()
+                    && resumed.getSaved() == (EMPLOYEES - CRASH_AFTER) * periods.size()
+                    && resumed.getSaved() + resumed.getExisting() == redone * periods.size(),
+                    "T5 payslips saved before the interruption are reused, the rest are computed");
+            check(!checkpoint.exists(), "T6 checkpoint is deleted when the range completes");
+            check(expected.equals(figures(ids, periods)), "T7 resumed payslips match the uninterrupted run");
+            check(allApproved(ids, periods), "T8 every payroll approval is recorded after the resume");
+        } catch (Exception e) {
+            check(false, "Unexpected exception: " + e);
+        } finally {
+            restore(payslipFolder, payslipFiles);
+            restore(approvalFolder, approvalFiles);
+            if (checkpoint != null) {
+                checkpoint.delete();
+            }
+            finish();
+        }
+    }
+
+    // DTR approved, payroll pending and no saved payslip for every pair of the run.
+    private static void prepare(List<Integer> ids, List<PayPeriod> periods) {
+        CsvPayrollApprovalRepository approvals = new CsvPayrollApprovalRepository();
+        LocalDateTime now = LocalDateTime.now();
+        for (PayPeriod p : periods) {
+            for (int empId : ids) {
+                approvals.upsertDtrApproval(empId, p, PROCESSED_BY, ApprovalStatus.APPROVED, now);
+                approvals.upsertPayrollApproval(empId, p, PROCESSED_BY, ApprovalStatus.PENDING, now);
+                new File(DataPaths.PAYSLIP_FOLDER + "records_payslips_" + empId + "_" + p.toKey() + ".csv").delete();
+            }
+        }
+    }
+
+    // Fresh repositories and services per run, so nothing is cached between runs.
+    private static PayrollBackfillRunner runner(EmployeeRepository employees, PayrollBatchEngine engine) {
+        PayrollService payrollService = new PayrollService(employees, new CsvTimeRepository(),
+                new PayDeductionStrategy(), new CsvPayslipRepository(), new MemoryAudit(),
+                new LeaveCreditsService(new CsvLeaveCreditsRepository(), new LeaveService(new CsvLeaveRepository())));
+        return new PayrollBackfillRunner(payrollService, employees, new CsvPayrollApprovalRepository(),
+                new LogService(new MemoryLog()), engine);
+    }
+
+    // Payslip amounts per employee and period; timestamps differ between runs and are left out.
+    private static Map<String, String> figures(List<Integer> ids, List<PayPeriod> periods) {
+        CsvPayslipRepository payslips = new CsvPayslipRepository();
+        Map<String, String> out = new HashMap<>();
+        for (int empId : ids) {
+            for (PayPeriod p : periods) {
+                Payslip s = payslips.findByEmployeeAndPeriod(empId, p);
+                out.put(empId + " " + p.toKey(), s == null ? "missing" : s.getTransactionId()
+                        + " " + s.getTotalHoursWorked() + " " + s.getOvertimePay() + " " + s.getGrossIncome()
+                        + " " + s.getLateDeduction() + " " + s.getSss() + " " + s.getPhilHealth()
+                        + " " + s.getPagIbig() + " " + s.getWithholdingTax() + " " + s.getTotalDeductions()
+                        + " " + s.getNetPay());
+            }
+        }
+        return out;
+    }
+
+    private static boolean allApproved(List<Integer> ids, List<PayPeriod> periods) {
+        CsvPayrollApprovalRepository approvals = new CsvPayrollApprovalRepository();
+        for (PayPeriod p : periods) {
+            for (int empId : ids) {
+                if (approvals.getPayrollStatus(empId, p) != ApprovalStatus.APPROVED) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static EmployeeRepository subset(EmployeeRepository all, int count) {
+        List<Employee> chosen = new ArrayList<>();
+        for (Employee e : all.findAll()) {
+            if (e != null && e.getCompensation() != null && chosen.size() < count) {
+                chosen.add(e);
+            }
+        }
+        return new EmployeeRepository() {
+            @Override
+            public List<Employee> findAll() {
+                return new ArrayList<>(chosen);
+            }
+
+            @Override
+            public Employee findById(int id) {
+                for (Employee e : chosen) {
+                    if (e.getEmployeeNumber() == id) {
+                        return e;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void create(Employee emp) {
+            }
+
+            @Override
+            public boolean update(Employee emp) {
+                return false;
+            }
+
+            @Override
+            public boolean delete(int empId) {
+                return false;
+            }
+        };
+    }
+
+    // Stops the committer after the given number of employees, as a crash would.
+    private static final class CrashingEngine extends PayrollBatchEngine {
+
+        private final int limit;
+
+        CrashingEngine(int limit) {
+            super(1);
+            this.limit = limit;
+        }
+
+        @Override
+        public <T, R> void run(List<T> items, Function<T, R> worker, Consumer<R> committer) {
+            int[] committed = {0};
+            super.run(items, worker, result -> {
+                if (committed[0]++ == limit) {
+                    throw new IllegalStateException("Simulated crash");
+                }
+                committer.accept(result);
+            });
+        }
+    }
+
+    private static final class MemoryLog implements LogRepository {
+
+        private final List<LogEntry> entries = new ArrayList<>();
+
+        @Override
+        public boolean save(LogEntry entry) {
+            return entries.add(entry);
+        }
+
+        @Override
+        public List<LogEntry> findAll() {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    private static final class MemoryAudit implements AuditRepository {
+
+        @Override
+        public boolean logPayrollChange(String performedBy, String details) {
+            return true;
+        }
+
+        @Override
+        public boolean logDtrChange(String performedBy, String details) {
+            return true;
+        }
+
+        @Override
+        public boolean logLeaveChange(String performedBy, String details) {
+            return true;
+        }
+    }
+
+    private static Map<File, byte[]> snapshot(File folder) {
+        Map<File, byte[]> out = new HashMap<>();
+        File[] files = folder.listFiles(File::isFile);
+        if (files != null) {
+            for (File f : files) {
+                try {
+                    out.put(f, Files.readAllBytes(f.toPath()));
+                } catch (Exception e) {
+                    System.out.println("WARN | Could not back up file: " + f);
+                }
+            }
+        }
+        return out;
+    }
+
+    // Deletes files the run created and writes back every original.
+    private static void restore(File folder, Map<File, byte[]> original) {
+        File[] files = folder.listFiles(File::isFile);
+        if (files != null) {
+            for (File f : files) {
+                if (!original.containsKey(f)) {
+                    f.delete();
+                }
+            }
+        }
+        for (Map.Entry<File, byte[]> entry : original.entrySet()) {
+            try {
+                Files.write(entry.getKey().toPath(), entry.getValue());
+            } catch (Exception e) {
+                System.out.println("WARN | Could not restore file: " + entry.getKey() + " (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    private static void check(boolean condition, String label) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS | " + label);
+        } else {
+            failed++;
+            System.out.println("FAIL | " + label);
+        }
+    }
+
+    private static void finish() {
+        System.out.println();
+        System.out.println("=== SUMMARY ===");
+        System.out.println("Passed: " + passed);
+        System.out.println("Failed: " + failed);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.test;
+
+import com.motorph.repository.csv.CsvTokenizer;
+import com.motorph.repository.csv.DataPaths;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Conformance check for CsvTokenizer against the regex split it replaced.
+ * Compares every line of every CSV under the data root, a set of edge cases, and
+ * random quote/comma lines. Pass a folder as the first argument to scan a
+ * different data root.
+ */
+public class BackEndCsvTokenizerTester {
+
+    // The split every repository used before CsvTokenizer.
+    private static final String LEGACY_SPLIT_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
+
+    private static int checked = 0;
+    private static int failed = 0;
+
+    public static void main(String[] args) {
+        String root = (args.length > 0) ? args[0] : DataPaths.DATA_ROOT;
+
+        System.out.println("Edge cases...");
+        String[] edgeCases = {
+            "",
+            ",",
+            ",,",
+            "a",
+            "a,",
+            ",a",
+            "a,b,c",
+            "\"a,b\",c",
+            "\"a,b\",\"c,d\"",
+            "\"unterminated,a,b",
+            "a,\"unterminated,b",
+            "\"\"",
+            "\"\",\"\"",
+            "\"a\"\"b\",c",
+            "\"a\"\"b,c\",d",
+            "a,\"b\"c\",d",
+            "\",\"",
+            "\",\",\",\"",
+            " \"spaced , value\" , x ",
+            "10001-45474,10001,7/1/2024,8:05 AM,5:10 PM,\"Garcia\",\"Manuel III\"",
+            "1,\"Block 5, Lot 3, Makati City\",\"₱90,000.00\",,"
+        };
+        for (String line : edgeCases) {
+            compare("edge", line);
+        }
+
+        System.out.println("Random lines...");
+        Random rnd = new Random(42);
+        char[] alphabet = {'a', 'b', ',', ',', '"', ' ', '1'};
+        for (int i = 0; i < 20000; i++) {
+            int len = rnd.nextInt(24);
+            StringBuilder sb = new StringBuilder(len);
+            for (int j = 0; j < len; j++) {
+                sb.append(alphabet[rnd.nextInt(alphabet.length)]);
+            }
+            compare("random", sb.toString());
+        }
+
+        System.out.println("Data files under " + root + "...");
+        scan(new File(root));
+
+        System.out.println("Lines checked: " + checked);
+        System.out.println("Mismatches: " + failed);
+        System.out.println(failed == 0 ? "PASS" : "FAIL");
+    }
+
+    private static void scan(File file) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    scan(child);
+                }
+            }
+            return;
+        }
+
+        if (!file.getName().toLowerCase().endsWith(".csv")) {
+            return;
+        }
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                compare(file.getPath(), line);
+            }
+        } catch (Exception e) {
+            System.out.println("Could not read " + file.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    private static void compare(String source, String line) {
+        checked++;
+        String[] expected = line.split(LEGACY_SPLIT_REGEX, -1);
+
+        String[] actual = CsvTokenizer.split(line);
+
+        // The offset API must agree with the static split, including inside a larger buffer.
+        CsvTokenizer tokens = new CsvTokenizer();
+        String padded = "##" + line + "##";
+        int n = tokens.reset(padded, 2, 2 + line.length());
+        String[] fromOffsets = new String[n];
+        for (int i = 0; i < n; i++) {
+            fromOffsets[i] = tokens.field(i);
+        }
+
+        if (!Arrays.equals(expected, actual) || !Arrays.equals(expected, fromOffsets)) {
+            failed++;
+            if (failed <= 20) {
+                System.out.println("MISMATCH in " + source + ": [" + line + "]");
+                System.out.println("  regex:   " + Arrays.toString(expected));
+                System.out.println("  split:   " + Arrays.toString(actual));
+                System.out.println("  offsets: " + Arrays.toString(fromOffsets));
+            }
+        }
+    }
+}
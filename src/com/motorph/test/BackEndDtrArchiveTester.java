@@ -0,0 +1,207 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.test;
+
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.csv.ArchivedTimeRepository;
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.repository.csv.DataPaths;
+import com.motorph.repository.csv.DtrArchiveFile;
+import com.motorph.repository.csv.DtrArchiver;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Round-trip and checksum checks for the DTR archive. A synthetic archive is
+ * written and read back column by column; then a closed year of the data
+ * root's DTR files is archived to a temp folder, and ArchivedTimeRepository
+ * must return the same rows as the CSV files for every half-month. After a
+ * byte of the day column is flipped, the archive must fail its checksum and
+ * reads must fall back to the CSV files. Pass a year as the first argument
+ * to archive a different year (default 2024).
+ */
+public class BackEndDtrArchiveTester {
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    public static void main(String[] args) {
+        int year = (args.length > 0) ? Integer.parseInt(args[0]) : 2024;
+        File temp = null;
+
+        try {
+            temp = Files.createTempDirectory("motorph_archive_test").toFile();
+
+            syntheticRoundTrip(new File(temp, "synthetic.bin"));
+
+            File archiveFolder = new File(temp, "archive");
+            CsvTimeRepository csv = new CsvTimeRepository();
+            DtrArchiver archiver = new DtrArchiver(csv, new File(DataPaths.DTR_FOLDER), archiveFolder);
+            int rows = archiver.archiveYear(year);
+            check(rows > 0, "T5 archiveYear(" + year + ") writes rows (" + rows + ")");
+            if (rows <= 0) {
+                return;
+            }
+
+            File archiveFile = DtrArchiver.archiveFile(archiveFolder, year);
+            DtrArchiveFile archive = DtrArchiveFile.open(archiveFile);
+            check(archive != null && archive.rows() == rows, "T6 archived year opens with every row");
+            check(archive != null && archive.verify(DtrArchiveFile.COL_EMPLOYEE, DtrArchiveFile.COL_DAY,
+                    DtrArchiveFile.COL_IN, DtrArchiveFile.COL_OUT), "T7 archived year passes every checksum");
+
+            List<Integer> employees = employeeIds(archive);
+            check(sameAsCsv(new ArchivedTimeRepository(csv, archiveFolder), csv, employees, year),
+                    "T8 archived reads match the CSV files for every half-month");
+
+            // Flip one byte of the first epoch day; the day column follows the employee column.
+            try (RandomAccessFile raf = new RandomAccessFile(archiveFile, "rw")) {
+                long offset = 36L + 4L * rows;
+                raf.seek(offset);
+                int b = raf.read();
+                raf.seek(offset);
+                raf.write(b ^ 0x01);
+            }
+
+            DtrArchiveFile corrupted = DtrArchiveFile.open(archiveFile);
+            check(corrupted != null && !corrupted.verify(DtrArchiveFile.COL_DAY),
+                    "T9 a flipped byte fails the day column checksum");
+            check(corrupted != null && corrupted.verify(DtrArchiveFile.COL_EMPLOYEE),
+                    "T10 the other columns still verify");
+            check(sameAsCsv(new ArchivedTimeRepository(csv, archiveFolder), csv, employees, year),
+                    "T11 reads fall back to the CSV files when the archive fails its checksum");
+
+            try (RandomAccessFile raf = new RandomAccessFile(archiveFile, "rw")) {
+                raf.seek(0);
+                raf.write(0);
+            }
+            check(DtrArchiveFile.open(archiveFile) == null, "T12 a file with a bad header is not opened");
+        } catch (Exception e) {
+            check(false, "Unexpected exception: " + e);
+        } finally {
+            deleteTree(temp);
+            finish();
+        }
+    }
+
+    private static void syntheticRoundTrip(File file) {
+        Random rnd = new Random(7);
+        int count = 500;
+        int[] employees = new int[count];
+        int[] days = new int[count];
+        short[] ins = new short[count];
+        short[] outs = new short[count];
+
+        // Ten employees, fifty consecutive days each, so rows are already sorted.
+        int firstDay = (int) LocalDate.of(2023, 1, 2).toEpochDay();
+        for (int i = 0; i < count; i++) {
+            employees[i] = 10000 + (i / 50) * 3;
+            days[i] = firstDay + (i % 50);
+            ins[i] = (short) (420 + rnd.nextInt(180));
+            outs[i] = (rnd.nextInt(10) == 0) ? (short) DtrArchiveFile.NO_TIME : (short) (900 + rnd.nextInt(240));
+        }
+
+        check(DtrArchiveFile.write(file, employees, days, ins, outs, count), "T1 synthetic archive is written");
+        DtrArchiveFile archive = DtrArchiveFile.open(file);
+        check(archive != null && archive.rows() == count, "T2 synthetic archive opens with every row");
+        if (archive == null) {
+            return;
+        }
+
+        boolean same = archive.firstEpochDay() == firstDay && archive.lastEpochDay() == firstDay + 49;
+        for (int i = 0; i < count && same; i++) {
+            same = archive.employeeAt(i) == employees[i]
+                    && archive.epochDayAt(i) == days[i]
+                    && archive.inMinuteAt(i) == ins[i]
+                    && archive.outMinuteAt(i) == outs[i];
+        }
+        check(same, "T3 every column reads back as written");
+        check(archive.firstRowOf(10003) == 50 && archive.endRowOf(10003) == 100
+                && archive.firstRowOf(10001) == archive.endRowOf(10001),
+                "T4 employee row ranges are found, and are empty for an absent employee");
+    }
+
+    private static boolean sameAsCsv(ArchivedTimeRepository archived, CsvTimeRepository csv,
+            List<Integer> employees, int year) {
+        for (int empId : employees) {
+            for (int month = 1; month <= 12; month++) {
+                LocalDate start = LocalDate.of(year, month, 1);
+                PayPeriod[] halves = {
+                    new PayPeriod(start, start.withDayOfMonth(15)),
+                    new PayPeriod(start.withDayOfMonth(16), start.withDayOfMonth(start.lengthOfMonth()))
+                };
+                for (PayPeriod period : halves) {
+                    if (!sameEntries(csv.findByEmployeeAndPeriod(empId, period),
+                            archived.findByEmployeeAndPeriod(empId, period))) {
+                        System.out.println("  mismatch: EmpID=" + empId + " " + period.getStartDate());
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameEntries(List<TimeEntry> a, List<TimeEntry> b) {
+        List<String> left = new ArrayList<>();
+        List<String> right = new ArrayList<>();
+        for (TimeEntry e : a) {
+            left.add(e.getDate() + " " + e.getTimeIn() + " " + e.getTimeOut());
+        }
+        for (TimeEntry e : b) {
+            right.add(e.getDate() + " " + e.getTimeIn() + " " + e.getTimeOut());
+        }
+        left.sort(null);
+        right.sort(null);
+        return left.equals(right);
+    }
+
+    private static List<Integer> employeeIds(DtrArchiveFile archive) {
+        List<Integer> ids = new ArrayList<>();
+        if (archive == null) {
+            return ids;
+        }
+        for (int row = 0; row < archive.rows(); row = archive.endRowOf(archive.employeeAt(row))) {
+            ids.add(archive.employeeAt(row));
+        }
+        return ids;
+    }
+
+    private static void check(boolean condition, String label) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS | " + label);
+        } else {
+            failed++;
+            System.out.println("FAIL | " + label);
+        }
+    }
+
+    private static void finish() {
+        System.out.println();
+        System.out.println("=== SUMMARY ===");
+        System.out.println("Passed: " + passed);
+        System.out.println("Failed: " + failed);
+    }
+
+    private static void deleteTree(File file) {
+        if (file == null) {
+            return;
+        }
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteTree(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.test;
+
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.repository.csv.DataPaths;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks DTR journal mode against the plain rewrite path. The same punches are
+ * saved once with each mode for a scratch employee id; the journal merge seen
+ * by reads, and the CSV left by compactJournal, must match the plain result.
+ * The scratch employee's DTR and journal files are removed afterwards.
+ */
+public class BackEndDtrJournalTester {
+
+    private static final int EMP_ID = 99001;
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    public static void main(String[] args) {
+        Path csv = Path.of(DataPaths.DTR_FOLDER, "records_dtr_" + EMP_ID + ".csv");
+        Path journal = Path.of(DataPaths.DTR_FOLDER, "records_dtr_" + EMP_ID + CsvTimeRepository.JOURNAL_SUFFIX);
+        String originalCsv = readIfExists(csv);
+        String originalJournal = readIfExists(journal);
+
+        PayPeriod period = new PayPeriod(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 15));
+
+        try {
+            // Plain rewrite of every punch.
+            deleteIfExists(csv);
+            deleteIfExists(journal);
+            CsvTimeRepository plain = new CsvTimeRepository(null, false);
+            saveSeed(plain);
+            saveTail(plain);
+            List<TimeEntry> plainEntries = plain.findByEmployeeAndPeriod(EMP_ID, period);
+            List<TimeEntry> plainAll = plain.getEntries(EMP_ID);
+            List<String> plainLines = rows(readIfExists(csv));
+            check(plainEntries.size() == 5, "T1 plain rewrite keeps one row per date");
+
+            // Same seed, then the rest of the punches through the journal.
+            deleteIfExists(csv);
+            deleteIfExists(journal);
+            saveSeed(plain);
+            CsvTimeRepository journaled = new CsvTimeRepository(null, true);
+            saveTail(journaled);
+            check(Files.exists(journal), "T2 journal mode appends to the journal");
+
+            List<TimeEntry> merged = journaled.findByEmployeeAndPeriod(EMP_ID, period);
+            check(sameEntries(plainEntries, merged), "T3 journal merge matches the plain rewrite");
+            check(sameEntries(plainAll, journaled.getEntries(EMP_ID)),
+                    "T4 getEntries with a journal matches the plain rewrite");
+
+            check(journaled.compactJournal(EMP_ID), "T5 compactJournal succeeds");
+            check(!Files.exists(journal), "T6 compactJournal deletes the journal");
+            check(plainLines.equals(rows(readIfExists(csv))), "T7 compacted CSV matches the plain rewrite row for row");
+            check(sameEntries(plainEntries, journaled.findByEmployeeAndPeriod(EMP_ID, period)),
+                    "T8 reads after compaction match the plain rewrite");
+            check(journaled.compactJournal(EMP_ID), "T9 compactJournal without a journal is a no-op");
+        } finally {
+            restoreFile(csv, originalCsv);
+            restoreFile(journal, originalJournal);
+            finish();
+        }
+    }
+
+    // Rows already in the CSV before the journal takes over.
+    private static void saveSeed(CsvTimeRepository repo) {
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 3), LocalTime.of(8, 2), LocalTime.of(17, 5)));
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 4), LocalTime.of(8, 15), null));
+    }
+
+    // A time-out for a seeded day, a corrected time-in, and new days with split punches.
+    private static void saveTail(CsvTimeRepository repo) {
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 4), null, LocalTime.of(17, 30)));
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 3), LocalTime.of(7, 58), null));
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 5), LocalTime.of(9, 0), null));
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 5), null, LocalTime.of(18, 0)));
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 6), LocalTime.of(8, 0), LocalTime.of(12, 0)));
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 6), null, LocalTime.of(17, 0)));
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 7), LocalTime.of(8, 5), null));
+        // Outside the period, so reads for June 1-15 must leave it out.
+        repo.saveEntry(EMP_ID, new TimeEntry(LocalDate.of(2024, 6, 20), LocalTime.of(8, 0), LocalTime.of(17, 0)));
+    }
+
+    private static boolean sameEntries(List<TimeEntry> a, List<TimeEntry> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        List<String> left = new ArrayList<>();
+        List<String> right = new ArrayList<>();
+        for (TimeEntry e : a) {
+            left.add(e.getDate() + " " + e.getTimeIn() + " " + e.getTimeOut());
+        }
+        for (TimeEntry e : b) {
+            right.add(e.getDate() + " " + e.getTimeIn() + " " + e.getTimeOut());
+        }
+        left.sort(null);
+        right.sort(null);
+        return left.equals(right);
+    }
+
+    // Non-blank lines, so a trailing newline left by an append does not count as a difference.
+    private static List<String> rows(String content) {
+        List<String> out = new ArrayList<>();
+        if (content == null) {
+            return out;
+        }
+        for (String line : content.split("\\R")) {
+            if (!line.trim().isEmpty()) {
+                out.add(line);
+            }
+        }
+        return out;
+    }
+
+    private static void check(boolean condition, String label) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS | " + label);
+        } else {
+            failed++;
+            System.out.println("FAIL | " + label);
+        }
+    }
+
+    private static void finish() {
+        System.out.println();
+        System.out.println("=== SUMMARY ===");
+        System.out.println("Passed: " + passed);
+        System.out.println("Failed: " + failed);
+    }
+
+    private static void deleteIfExists(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (Exception ignored) { }
+    }
+
+    private static String readIfExists(Path p) {
+        try {
+            if (p != null && Files.exists(p)) {
+                return Files.readString(p, StandardCharsets.UTF_8);
+            }
+        } catch (Exception ignored) { }
+        return null;
+    }
+
+    private static void restoreFile(Path p, String original) {
+        try {
+            if (original == null) {
+                Files.deleteIfExists(p);
+            } else {
+                Files.createDirectories(p.getParent());
+                Files.writeString(p, original, StandardCharsets.UTF_8);
+            }
+        } catch (Exception e) {
+            System.out.println("WARN | Could not restore file: " + p + " (" + e.getMessage() + ")");
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.motorph.repository.EmployeeRepository;
 import com.motorph.repository.UserRepository;
 import com.motorph.repository.csv.CsvEmployeeRepository;
 import com.motorph.repository.csv.CsvUserRepository;
+import com.motorph.repository.csv.CsvLogRepository;
 import com.motorph.repository.csv.DataPaths;
 
 import com.motorph.service.AuthService;
@@ -50,7 +51,10 @@ public class BackEndHROpsSmokeTester {
         // Backups
         FileBackup empBackup = backupFile(DataPaths.EMPLOYEE_CSV);
         FileBackup loginBackup = backupFile(DataPaths.LOGIN_CSV);
-        FileBackup sysLogBackup = backupFile(DataPaths.SYSTEM_LOG_CSV);
+        // System log rows added by this run are removed by id afterwards
+        LogService cleanupLog = new LogService();
+        cleanupLog.flush();
+        int lastLogIdBefore = new CsvLogRepository().lastId();
 
         try {
             // Dependencies
@@ -69,7 +73,7 @@ public class BackEndHROpsSmokeTester {
             // Baseline counts
             int empRowsBefore = countDataRows(DataPaths.EMPLOYEE_CSV);
             int loginRowsBefore = countDataRows(DataPaths.LOGIN_CSV);
-            int logRowsBefore = countDataRows(DataPaths.SYSTEM_LOG_CSV);
+            int logRowsBefore = countLogRows(logService);
 
             // Pick a safe test empId not used in employee or login files
             int empId1 = findAvailableEmpId(empRepo, userRepo, 99001);
@@ -100,7 +104,7 @@ public class BackEndHROpsSmokeTester {
 
             int empRowsAfterCreate = countDataRows(DataPaths.EMPLOYEE_CSV);
             int loginRowsAfterCreate = countDataRows(DataPaths.LOGIN_CSV);
-            int logRowsAfterCreate = countDataRows(DataPaths.SYSTEM_LOG_CSV);
+            int logRowsAfterCreate = countLogRows(logService);
 
             assertEquals("employee CSV +1 row", empRowsBefore + 1, empRowsAfterCreate);
             assertEquals("login CSV +1 row", loginRowsBefore + 1, loginRowsAfterCreate);
@@ -173,7 +177,7 @@ public class BackEndHROpsSmokeTester {
             // Restore backups
             restoreFile(empBackup);
             restoreFile(loginBackup);
-            restoreFile(sysLogBackup);
+            cleanupLog.deleteLogsWhere(entry -> entry.getId() > lastLogIdBefore);
 
             System.out.println();
             System.out.println("==================================================");
@@ -223,11 +227,17 @@ public class BackEndHROpsSmokeTester {
     // ----------------------------
     private static void ensureDataFolderExists() {
         try {
-            Files.createDirectories(Paths.get("./data"));
+            Files.createDirectories(Paths.get(DataPaths.DATA_ROOT));
         } catch (Exception ignored) {
         }
     }
 
+    // Annotation: Counts log rows on disk once queued entries are written.
+    private static int countLogRows(LogService logService) {
+        logService.flush();
+        return new CsvLogRepository().findAll().size();
+    }
+
     private static int countDataRows(String path) {
         Path p = Paths.get(path);
         if (!Files.exists(p)) {
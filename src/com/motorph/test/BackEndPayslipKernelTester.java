@@ -0,0 +1,183 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.test;
+
+import com.motorph.domain.models.Compensation;
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.Payslip;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.repository.csv.CsvEmployeeRepository;
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.service.PayslipKernel;
+import com.motorph.service.strategy.CompiledDeductions;
+import com.motorph.service.strategy.DeductionStrategy;
+import com.motorph.service.strategy.PayDeductionStrategy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Compares PayslipKernel with the double-based computation PayrollService
+ * used before it, for every employee and half-month of a year (default 2024,
+ * or the first argument). The old path carried unrounded intermediate values,
+ * so each field is rounded half-up to the centavo and must be within one
+ * centavo of the kernel; hours worked must match exactly. Reads only.
+ */
+public class BackEndPayslipKernelTester {
+
+    private static final LocalTime WORK_START = LocalTime.of(8, 0);
+    private static final LocalTime WORK_END = LocalTime.of(17, 0);
+    private static final LocalTime GRACE_END = LocalTime.of(8, 10);
+
+    private static final String[] FIELDS = {
+        "hours", "overtime", "gross", "late", "sss", "philhealth", "pagibig", "tax", "deductions", "net"
+    };
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    public static void main(String[] args) {
+        int year = (args.length > 0) ? Integer.parseInt(args[0]) : 2024;
+
+        CsvEmployeeRepository empRepo = new CsvEmployeeRepository();
+        CsvTimeRepository timeRepo = new CsvTimeRepository(empRepo);
+        DeductionStrategy strategy = new PayDeductionStrategy();
+        CompiledDeductions compiled = CompiledDeductions.current();
+        PayslipKernel.Attendance attendance = new PayslipKernel.Attendance();
+
+        int compared = 0;
+        long[] worst = new long[FIELDS.length];
+        String worstCase = "";
+
+        try {
+            for (Employee emp : empRepo.findAll()) {
+                Compensation comp = emp == null ? null : emp.getCompensation();
+                if (comp == null) {
+                    continue;
+                }
+
+                for (int month = 1; month <= 12; month++) {
+                    for (int day : new int[]{1, 16}) {
+                        PayPeriod period = PayPeriod.fromDateSemiMonthly(LocalDate.of(year, month, day));
+                        List<TimeEntry> entries = timeRepo.findByEmployeeAndPeriod(emp.getEmployeeNumber(), period);
+
+                        attendance.clear();
+                        for (TimeEntry e : entries) {
+                            if (e != null && e.getTimeIn() != null && e.getTimeOut() != null) {
+                                attendance.add(e.getTimeIn(), e.getTimeOut());
+                            }
+                        }
+                        Payslip p = PayslipKernel.compute(emp, comp, period, attendance, compiled, null, 0,
+                                "KERNEL-TEST", 0, LocalDateTime.now());
+
+                        double[] expected = legacy(entries, comp, strategy);
+                        double[] actual = {
+                            p.getTotalHoursWorked(), p.getOvertimePay(), p.getGrossIncome(), p.getLateDeduction(),
+                            p.getSss(), p.getPhilHealth(), p.getPagIbig(), p.getWithholdingTax(),
+                            p.getTotalDeductions(), p.getNetPay()
+                        };
+
+                        if (Math.abs(expected[0] - actual[0]) > 1e-9) {
+                            worst[0] = Long.MAX_VALUE;
+                            worstCase = emp.getEmployeeNumber() + " " + period.toKey() + " hours";
+                        }
+                        for (int i = 1; i < FIELDS.length; i++) {
+                            long diff = Math.abs(centavos(expected[i]) - centavos(actual[i]));
+                            if (diff > worst[i]) {
+                                worst[i] = diff;
+                                worstCase = emp.getEmployeeNumber() + " " + period.toKey() + " " + FIELDS[i]
+                                        + " old=" + expected[i] + " kernel=" + actual[i];
+                            }
+                        }
+                        compared++;
+                    }
+                }
+            }
+
+            System.out.println("Payslips compared: " + compared);
+            check(compared > 0, "T1 employees with compensation found");
+            check(worst[0] == 0, "T2 hours worked match exactly");
+            for (int i = 1; i < FIELDS.length; i++) {
+                check(worst[i] <= 1, "T" + (i + 2) + " " + FIELDS[i] + " within one centavo (max " + worst[i] + ")");
+            }
+            if (!worstCase.isEmpty()) {
+                System.out.println("Example of a largest difference: " + worstCase);
+            }
+        } catch (Exception e) {
+            check(false, "Unexpected exception: " + e);
+        } finally {
+            finish();
+        }
+    }
+
+    // The computation PayrollService.generatePayslip used before PayslipKernel, without a bonus.
+    private static double[] legacy(List<TimeEntry> entries, Compensation comp, DeductionStrategy strategy) {
+        double late = 0.0;
+        double overtime = 0.0;
+        double hours = 0.0;
+
+        for (TimeEntry entry : entries) {
+            if (entry == null || entry.getTimeIn() == null || entry.getTimeOut() == null) {
+                continue;
+            }
+            long minutes = Duration.between(entry.getTimeIn(), entry.getTimeOut()).toMinutes();
+            if (minutes > 240) {
+                minutes -= 60;
+            }
+            double daily = Math.max(0.0, minutes / 60.0);
+            hours += daily;
+
+            if (entry.getTimeIn().isAfter(GRACE_END)) {
+                late += Duration.between(WORK_START, entry.getTimeIn()).toMinutes() * (comp.getHourlyRate() / 60.0);
+            }
+            if (entry.getTimeOut().isBefore(WORK_END)) {
+                late += Duration.between(entry.getTimeOut(), WORK_END).toMinutes() * (comp.getHourlyRate() / 60.0);
+            }
+            if (daily > 8.0) {
+                overtime += (daily - 8.0) * comp.getHourlyRate() * 1.25;
+            }
+        }
+
+        double gross = comp.getBasicSalary() / 2.0 + comp.getRiceSubsidy() / 2.0
+                + comp.getPhoneAllowance() / 2.0 + comp.getClothingAllowance() / 2.0 + overtime;
+        double payAfterTime = Math.max(0.0, gross - late);
+
+        double sss = strategy.calculateSSS(payAfterTime);
+        double ph = strategy.calculatePhilHealth(payAfterTime);
+        double pagibig = strategy.calculatePagibig(payAfterTime);
+        double tax = strategy.calculateTax(Math.max(0.0, payAfterTime - sss - ph - pagibig));
+        double deductions = late + sss + ph + pagibig + tax;
+
+        return new double[]{hours, overtime, gross, late, sss, ph, pagibig, tax, deductions,
+            Math.max(0.0, gross - deductions)};
+    }
+
+    private static long centavos(double pesos) {
+        return new BigDecimal(Double.toString(pesos)).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValue();
+    }
+
+    private static void check(boolean condition, String label) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS | " + label);
+        } else {
+            failed++;
+            System.out.println("FAIL | " + label);
+        }
+    }
+
+    private static void finish() {
+        System.out.println();
+        System.out.println("=== SUMMARY ===");
+        System.out.println("Passed: " + passed);
+        System.out.println("Failed: " + failed);
+    }
+}
@@ -345,9 +345,9 @@ public class BackEndTester {
 
     private static void ensureDataFolderExists() {
         try {
-            Files.createDirectories(Paths.get("./data"));
+            Files.createDirectories(Paths.get(DataPaths.DATA_ROOT));
         } catch (IOException e) {
-            System.out.println("[WARN] Unable to create ./data folder: " + e.getMessage());
+            System.out.println("[WARN] Unable to create " + DataPaths.DATA_ROOT + " folder: " + e.getMessage());
         }
     }
 
@@ -0,0 +1,149 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.test;
+
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveRequest;
+import com.motorph.domain.models.Payslip;
+import com.motorph.domain.models.YearToDate;
+import com.motorph.repository.csv.CsvEmployeeRepository;
+import com.motorph.repository.csv.CsvLeaveRepository;
+import com.motorph.repository.csv.CsvPayslipRepository;
+import com.motorph.repository.csv.CsvYearToDateRepository;
+import com.motorph.service.LeaveService;
+import com.motorph.service.YearToDateService;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Checks that year-to-date totals kept up incrementally equal a full rebuild.
+ * One store is fed every saved payslip and every employee's leave as change
+ * events; another is rebuilt from the record files. Every employee, year,
+ * column and bucket must match. Both stores live in temp files; the record
+ * files are only read.
+ */
+public class BackEndYearToDateTester {
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    public static void main(String[] args) {
+        File incrementalFile = null;
+        File rebuiltFile = null;
+
+        try {
+            incrementalFile = Files.createTempFile("motorph_ytd_incremental", ".csv").toFile();
+            rebuiltFile = Files.createTempFile("motorph_ytd_rebuilt", ".csv").toFile();
+            rebuiltFile.delete();
+
+            CsvEmployeeRepository empRepo = new CsvEmployeeRepository();
+            CsvPayslipRepository payslipRepo = new CsvPayslipRepository();
+            CsvLeaveRepository leaveRepo = new CsvLeaveRepository();
+            LeaveService leaveService = new LeaveService(leaveRepo);
+
+            // An empty but initialized store, so the events are applied instead of triggering a rebuild.
+            CsvYearToDateRepository incrementalStore = new CsvYearToDateRepository(incrementalFile);
+            check(incrementalStore.replaceAll(Collections.emptyList()), "T1 empty incremental store is initialized");
+            YearToDateService incremental = new YearToDateService(incrementalStore, empRepo, payslipRepo, leaveRepo, leaveService);
+
+            List<Integer> ids = new ArrayList<>();
+            TreeSet<Integer> years = new TreeSet<>();
+            int payslips = 0;
+            for (Employee e : empRepo.findAll()) {
+                if (e == null) {
+                    continue;
+                }
+                int empId = e.getEmployeeNumber();
+                ids.add(empId);
+                for (Payslip p : payslipRepo.findAllByEmployee(empId)) {
+                    if (p != null && p.getPeriod() != null) {
+                        incremental.payslipSaved(p);
+                        years.add(p.getPeriod().getStartDate().getYear());
+                        payslips++;
+                    }
+                }
+                for (LeaveRequest r : leaveRepo.findByEmployee(empId)) {
+                    if (r != null && r.getDate() != null) {
+                        years.add(r.getDate().getYear());
+                    }
+                }
+                incremental.leaveChanged(empId);
+            }
+            System.out.println("Employees: " + ids.size() + ", payslips: " + payslips + ", years: " + years);
+            check(!ids.isEmpty(), "T2 employees found to replay");
+
+            CsvYearToDateRepository rebuiltStore = new CsvYearToDateRepository(rebuiltFile);
+            YearToDateService rebuilt = new YearToDateService(rebuiltStore, empRepo, payslipRepo, leaveRepo, leaveService);
+            check(rebuilt.rebuild() >= 0, "T3 full rebuild succeeds");
+
+            check(sameTotals(incrementalStore, rebuiltStore, ids, years),
+                    "T4 incremental totals equal the rebuild for every employee, year, column and bucket");
+
+            // Leave events replace the column, so a repeat must not double it.
+            for (int empId : ids) {
+                incremental.leaveChanged(empId);
+            }
+            check(sameTotals(incrementalStore, rebuiltStore, ids, years), "T5 repeated leave events leave the totals unchanged");
+
+            // A new instance sums the appended rows from the file.
+            check(sameTotals(new CsvYearToDateRepository(incrementalFile), new CsvYearToDateRepository(rebuiltFile), ids, years),
+                    "T6 both stores read back from their files with the same totals");
+        } catch (Exception e) {
+            check(false, "Unexpected exception: " + e);
+        } finally {
+            if (incrementalFile != null) {
+                incrementalFile.delete();
+            }
+            if (rebuiltFile != null) {
+                rebuiltFile.delete();
+            }
+            finish();
+        }
+    }
+
+    private static boolean sameTotals(CsvYearToDateRepository a, CsvYearToDateRepository b,
+            List<Integer> ids, TreeSet<Integer> years) {
+        for (int empId : ids) {
+            for (int year : years) {
+                YearToDate left = a.find(empId, year);
+                YearToDate right = b.find(empId, year);
+                for (int c = 0; c < YearToDate.COLUMNS; c++) {
+                    for (int bucket = 0; bucket < YearToDate.BUCKETS; bucket++) {
+                        long l = left == null ? 0 : left.get(c, bucket);
+                        long r = right == null ? 0 : right.get(c, bucket);
+                        if (l != r) {
+                            System.out.println("  mismatch: EmpID=" + empId + " year=" + year
+                                    + " column=" + c + " bucket=" + bucket + " incremental=" + l + " rebuilt=" + r);
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void check(boolean condition, String label) {
+        if (condition) {
+            passed++;
+            System.out.println("PASS | " + label);
+        } else {
+            failed++;
+            System.out.println("FAIL | " + label);
+        }
+    }
+
+    private static void finish() {
+        System.out.println();
+        System.out.println("=== SUMMARY ===");
+        System.out.println("Passed: " + passed);
+        System.out.println("Failed: " + failed);
+    }
+}
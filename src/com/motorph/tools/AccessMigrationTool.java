@@ -0,0 +1,275 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.tools;
+
+import com.motorph.domain.models.Employee;
+import com.motorph.domain.models.LeaveCredits;
+import com.motorph.domain.models.LeaveRequest;
+import com.motorph.domain.models.LogEntry;
+import com.motorph.domain.models.PayPeriod;
+import com.motorph.domain.models.PayrollApproval;
+import com.motorph.domain.models.Payslip;
+import com.motorph.domain.models.TimeEntry;
+import com.motorph.domain.models.User;
+import com.motorph.repository.access.AccessDatabase;
+import com.motorph.repository.access.AccessEmployeeRepository;
+import com.motorph.repository.access.AccessLeaveCreditsRepository;
+import com.motorph.repository.access.AccessLeaveRepository;
+import com.motorph.repository.access.AccessLogRepository;
+import com.motorph.repository.access.AccessPayrollApprovalRepository;
+import com.motorph.repository.access.AccessPayslipRepository;
+import com.motorph.repository.access.AccessTimeRepository;
+import com.motorph.repository.access.AccessUserRepository;
+import com.motorph.repository.csv.CsvEmployeeRepository;
+import com.motorph.repository.csv.CsvLeaveCreditsRepository;
+import com.motorph.repository.csv.CsvLeaveRepository;
+import com.motorph.repository.csv.CsvLogRepository;
+import com.motorph.repository.csv.CsvPayrollApprovalRepository;
+import com.motorph.repository.csv.CsvPayslipRepository;
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.repository.csv.CsvTokenizer;
+import com.motorph.repository.csv.CsvUserRepository;
+import com.motorph.repository.csv.DataPaths;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Copies the CSV data folder (DataPaths.DATA_ROOT) into an Access database
+ * once. Run it before switching data.storage to "access". The database is
+ * written with auto-sync off and flushed at the end.
+ *
+ * Usage: AccessMigrationTool [dbFile] [--force]
+ *
+ * Without --force an existing database file is left alone. The address
+ * reference, holiday calendar and government tables stay in CSV.
+ *
+ * @author ACER
+ */
+public class AccessMigrationTool {
+
+    private static final Pattern DTR_FILE = Pattern.compile("records_dtr_(\\d+)\\.csv");
+    private static final Pattern LEAVE_FILE = Pattern.compile("records_leave_(\\d+)\\.csv");
+    private static final Pattern PERIOD_FILE = Pattern.compile("records_payroll_period_(\\d{6})-(\\d{6})\\.csv");
+    private static final Pattern LEGACY_PAYROLL_FILE = Pattern.compile("records_payroll_(\\d+)\\.csv");
+
+    private static final DateTimeFormatter FILE_DATE_FMT = DateTimeFormatter.ofPattern("yyMMdd", Locale.US);
+    private static final DateTimeFormatter ROW_DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.US);
+
+    public static void main(String[] args) {
+        String path = DataPaths.ACCESS_DB;
+        boolean force = false;
+        for (String arg : args) {
+            if ("--force".equals(arg)) {
+                force = true;
+            } else {
+                path = arg;
+            }
+        }
+
+        File target = new File(path);
+        if (target.exists()) {
+            if (!force) {
+                System.out.println(target + " already exists; pass --force to replace it");
+                return;
+            }
+            if (!target.delete()) {
+                System.out.println("Could not replace " + target);
+                return;
+            }
+        }
+
+        AccessDatabase db = AccessDatabase.open(target, false);
+        if (db == null) {
+            System.out.println("Could not create " + target);
+            return;
+        }
+
+        try {
+            Set<Integer> empIds = new TreeSet<>();
+
+            AccessEmployeeRepository employees = new AccessEmployeeRepository(db);
+            int count = 0;
+            for (Employee e : new CsvEmployeeRepository().findAll()) {
+                employees.create(e);
+                empIds.add(e.getEmployeeNumber());
+                count++;
+            }
+            System.out.println("Employees: " + count);
+
+            System.out.println("Users: " + migrateUsers(new AccessUserRepository(db)));
+
+            empIds.addAll(idsInFolder(DataPaths.DTR_FOLDER, DTR_FILE));
+            empIds.addAll(idsInFolder(DataPaths.LEAVE_FOLDER, LEAVE_FILE));
+
+            CsvTimeRepository csvTime = new CsvTimeRepository(null, true, false);
+            AccessTimeRepository time = new AccessTimeRepository(db);
+            count = 0;
+            for (int empId : empIds) {
+                for (TimeEntry entry : csvTime.getEntries(empId)) {
+                    if (time.saveEntry(empId, entry)) {
+                        count++;
+                    }
+                }
+            }
+            System.out.println("Time entries: " + count);
+
+            CsvLeaveRepository csvLeave = new CsvLeaveRepository();
+            AccessLeaveRepository leave = new AccessLeaveRepository(db);
+            count = 0;
+            for (int empId : empIds) {
+                for (LeaveRequest request : csvLeave.findByEmployee(empId)) {
+                    if (leave.create(request)) {
+                        count++;
+                    }
+                }
+            }
+            System.out.println("Leave requests: " + count);
+
+            AccessLeaveCreditsRepository credits = new AccessLeaveCreditsRepository(db);
+            count = 0;
+            for (LeaveCredits c : new CsvLeaveCreditsRepository().findAll()) {
+                if (credits.save(c)) {
+                    count++;
+                }
+            }
+            System.out.println("Leave credits: " + count);
+
+            CsvPayslipRepository csvPayslips = new CsvPayslipRepository();
+            AccessPayslipRepository payslips = new AccessPayslipRepository(db);
+            count = 0;
+            for (int empId : empIds) {
+                for (Payslip p : csvPayslips.findAllByEmployee(empId)) {
+                    if (payslips.save(p)) {
+                        count++;
+                    }
+                }
+            }
+            System.out.println("Payslips: " + count);
+
+            CsvPayrollApprovalRepository csvApprovals = new CsvPayrollApprovalRepository();
+            AccessPayrollApprovalRepository approvals = new AccessPayrollApprovalRepository(db);
+            count = 0;
+            for (PayPeriod period : approvalPeriods()) {
+                for (PayrollApproval approval : csvApprovals.findByPeriod(period).values()) {
+                    if (approvals.importApproval(period, approval)) {
+                        count++;
+                    }
+                }
+            }
+            System.out.println("Payroll approvals: " + count);
+
+            List<LogEntry> logs = new CsvLogRepository().findAll();
+            System.out.println("System log entries: "
+                    + (new AccessLogRepository(db).saveBatch(logs) ? logs.size() : 0));
+        } finally {
+            db.flush();
+            db.close();
+        }
+        System.out.println("Wrote " + target.getAbsolutePath());
+    }
+
+    // Annotation: Read straight from the login file, since User does not carry the name and department.
+    private static int migrateUsers(AccessUserRepository users) {
+        CsvUserRepository csvUsers = new CsvUserRepository();
+        int count = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(DataPaths.LOGIN_CSV))) {
+            String line = br.readLine(); // header
+            while (line != null && (line = br.readLine()) != null) {
+                String[] data = line.split(",", -1);
+                if (data.length < 6 || data[0].trim().isEmpty()) {
+                    continue;
+                }
+                User user = csvUsers.findByUsername(data[0].trim());
+                if (user != null) {
+                    users.save(user, data[2].trim(), data[3].trim(), data[4].trim());
+                    count++;
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("Could not read " + DataPaths.LOGIN_CSV + ": " + e.getMessage());
+        }
+        return count;
+    }
+
+    private static Set<Integer> idsInFolder(String folderPath, Pattern pattern) {
+        Set<Integer> ids = new TreeSet<>();
+        String[] names = new File(folderPath).list();
+        if (names == null) {
+            return ids;
+        }
+        for (String name : names) {
+            Matcher m = pattern.matcher(name);
+            if (m.matches()) {
+                try {
+                    ids.add(Integer.parseInt(m.group(1)));
+                } catch (NumberFormatException e) {
+                    // ids too large for an int are not employee numbers
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Annotation: Periods named by the per-period files plus those found in legacy per-employee files.
+    private static List<PayPeriod> approvalPeriods() {
+        Set<String> seen = new TreeSet<>();
+        List<PayPeriod> out = new ArrayList<>();
+        File folder = new File(DataPaths.PAYROLL_FOLDER);
+        String[] names = folder.list();
+        if (names == null) {
+            return out;
+        }
+
+        for (String name : names) {
+            Matcher m = PERIOD_FILE.matcher(name);
+            if (m.matches()) {
+                try {
+                    addPeriod(out, seen, LocalDate.parse(m.group(1), FILE_DATE_FMT), LocalDate.parse(m.group(2), FILE_DATE_FMT));
+                } catch (Exception e) {
+                    // not a period file
+                }
+                continue;
+            }
+            if (!LEGACY_PAYROLL_FILE.matcher(name).matches()) {
+                continue;
+            }
+            try (BufferedReader br = new BufferedReader(new FileReader(new File(folder, name)))) {
+                String line = br.readLine(); // header
+                while (line != null && (line = br.readLine()) != null) {
+                    String[] r = CsvTokenizer.split(line);
+                    if (r.length < 4) {
+                        continue;
+                    }
+                    try {
+                        addPeriod(out, seen, LocalDate.parse(r[2].trim(), ROW_DATE_FMT), LocalDate.parse(r[3].trim(), ROW_DATE_FMT));
+                    } catch (Exception e) {
+                        // rows without readable dates are skipped
+                    }
+                }
+            } catch (Exception e) {
+                // unreadable legacy files are skipped
+            }
+        }
+        return out;
+    }
+
+    private static void addPeriod(List<PayPeriod> out, Set<String> seen, LocalDate start, LocalDate end) {
+        PayPeriod period = new PayPeriod(start, end);
+        if (seen.add(period.toKey())) {
+            out.add(period);
+        }
+    }
+}
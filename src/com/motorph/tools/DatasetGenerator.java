@@ -0,0 +1,441 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.tools;
+
+import com.motorph.repository.csv.DataPaths;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a synthetic workforce under root/data with the same layout and
+ * columns as the live data folder: employee master, legacy logins, leave credits, and
+ * per-employee DTR and leave files covering whole calendar years.
+ *
+ * Output is deterministic for the same arguments. Each employee's rows come
+ * from their own seeded generator, so growing N keeps earlier employees
+ * unchanged. Government tables are copied from the configured data root
+ * when present, so deductions work on the generated set.
+ *
+ * Usage: DatasetGenerator &lt;root&gt; &lt;employees&gt; [years] [seed] [startYear]
+ *
+ * @author ACER
+ */
+public class DatasetGenerator {
+
+    // Annotation: Headers mirror the repository HEADER constants.
+    private static final String EMPLOYEE_HEADER
+            = "Employee #,Last Name,First Name,Birthday,Address,Phone Number,SSS #,Philhealth #,TIN #,Pag-ibig #,"
+            + "Status,Position,Immediate Supervisor,Basic Salary,Rice Subsidy,Phone Allowance,Clothing Allowance,"
+            + "Gross Semi-monthly Rate,Hourly Rate";
+    private static final String LOGIN_HEADER = "Username,Password,First Name, Last Name,Department,Lock Out Status";
+    private static final String LEAVE_CREDITS_HEADER = "Employee #,Last Name,First Name,Leave Credits,Leave Taken";
+    private static final String DTR_HEADER = "Attendance_ID,Employee #,Date,Log In,Log Out,First Name,Last Name";
+    private static final String LEAVE_HEADER
+            = "Leave_ID,Employee #,Date,Start_Time,End_Time,First Name,Last Name,Status,Reviewed_By,Reviewed_At,Decision_Note";
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.US);
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("h:mm a", Locale.US);
+
+    // Excel serial epoch used in Attendance_ID and Leave_ID.
+    private static final LocalDate SERIAL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private static final int FIRST_EMPLOYEE_ID = 10000;
+    private static final double LEAVE_CREDIT_HOURS = 40;
+    private static final int LEAVE_DAYS_PER_YEAR = 5;
+    private static final double ABSENCE_RATE = 0.03;
+
+    private static final String[] LAST_NAMES = {
+        "Garcia", "Lim", "Aquino", "Reyes", "Hernandez", "Villanueva", "San Jose", "Romualdez", "Atienza",
+        "Alvaro", "Salcedo", "Lopez", "Farala", "Martinez", "Mata", "De Leon", "Rosario", "Bautista",
+        "Lazaro", "Delos Santos", "Santos", "Del Rosario", "Tolentino", "Gutierrez", "Manalaysay",
+        "Villegas", "Ramos", "Maceda", "Aguilar", "Castro", "Mendoza", "Cruz", "Navarro", "Dizon"
+    };
+
+    private static final String[] FIRST_NAMES = {
+        "Manuel", "Antonio", "Bianca Sofia", "Isabella", "Eduard", "Andrea Mae", "Brad", "Alice", "Rosie",
+        "Roderick", "Anthony", "Josie", "Martha", "Leila", "Fredrick", "Christian", "Selena", "Allison",
+        "Cydney", "Mark", "Darlene", "Kolby", "Vella", "Tomas", "Jacklyn", "Percival", "Garfield", "Lizeth",
+        "Carol", "Emelia", "Delia", "John Rafael", "Carlos Ian", "Beatriz"
+    };
+
+    private static final String[] CITIES = {
+        "Makati City", "Pasig City", "Quezon City", "Taguig City", "Mandaluyong City", "Dasmarinas, Cavite",
+        "Bacolod City, Negros Occidental", "Cebu City, Cebu", "Davao City, Davao del Sur", "Iloilo City, Iloilo"
+    };
+
+    private static final String[] STREETS = {
+        "Valero Street", "Ayala Avenue", "Shaw Boulevard", "Ortigas Avenue", "Katipunan Avenue",
+        "Rizal Street", "Mabini Street", "Bonifacio Drive", "Roxas Boulevard", "Aguinaldo Highway"
+    };
+
+    private final File root;
+    private final int employeeCount;
+    private final int years;
+    private final long seed;
+    private final int startYear;
+
+    private final List<Row> employees = new ArrayList<>();
+
+    public DatasetGenerator(File root, int employeeCount, int years, long seed, int startYear) {
+        this.root = root;
+        this.employeeCount = employeeCount;
+        this.years = years;
+        this.seed = seed;
+        this.startYear = startYear;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: DatasetGenerator <root> <employees> [years] [seed] [startYear]");
+            return;
+        }
+
+        File root = new File(args[0]);
+        int employeeCount = Integer.parseInt(args[1].trim());
+        int years = (args.length > 2) ? Integer.parseInt(args[2].trim()) : 1;
+        long seed = (args.length > 3) ? Long.parseLong(args[3].trim()) : 42L;
+        int startYear = (args.length > 4) ? Integer.parseInt(args[4].trim()) : 2024;
+
+        long started = System.currentTimeMillis();
+        new DatasetGenerator(root, employeeCount, years, seed, startYear).generate();
+        System.out.println("Generated " + employeeCount + " employees x " + years + " year(s) under "
+                + root.getPath() + " in " + (System.currentTimeMillis() - started) + " ms.");
+    }
+
+    public void generate() throws IOException {
+        buildEmployees();
+
+        writeEmployees();
+        writeLogins();
+
+        mkdirs(DataPaths.DTR_FOLDER);
+        mkdirs(DataPaths.LEAVE_FOLDER);
+        mkdirs(DataPaths.PAYROLL_FOLDER);
+        mkdirs(DataPaths.PAYSLIP_FOLDER);
+
+        List<String> credits = new ArrayList<>(employees.size());
+        for (Row e : employees) {
+            double leaveTaken = writeTimeAndLeave(e);
+            credits.add(e.id + "," + e.lastName + "," + e.firstName + "," + fmt(LEAVE_CREDIT_HOURS) + "," + fmt(leaveTaken));
+        }
+        writeLines(DataPaths.LEAVE_CREDITS_CSV, LEAVE_CREDITS_HEADER, credits);
+
+        copyIfPresent(DataPaths.GOV_SSS_CSV);
+        copyIfPresent(DataPaths.GOV_PHILHEALTH_CSV);
+        copyIfPresent(DataPaths.GOV_PAGIBIG_CSV);
+        copyIfPresent(DataPaths.GOV_TAX_CSV);
+        copyIfPresent(DataPaths.ADDRESS_REFERENCE_CSV);
+    }
+
+    /**
+     * Fixed leadership rows first, then rank-and-file staff spread over the
+     * four working teams. Positions and pay bands follow the sample data, so
+     * RBAC role mapping and deduction brackets behave the same.
+     */
+    private void buildEmployees() {
+        Set<String> usedNames = new HashSet<>();
+
+        for (int i = 0; i < employeeCount; i++) {
+            int id = FIRST_EMPLOYEE_ID + i;
+            Random rnd = employeeRandom(id);
+
+            Row e = new Row();
+            e.id = id;
+            pickName(e, rnd, usedNames);
+
+            if (i < Leadership.values().length) {
+                Leadership l = Leadership.values()[i];
+                e.position = l.position;
+                e.status = "Regular";
+                e.basicSalary = l.basicSalary;
+                e.phoneAllowance = l.phoneAllowance;
+                e.clothingAllowance = l.clothingAllowance;
+                e.supervisorIndex = l.supervisorIndex;
+            } else {
+                Team team = Team.values()[rnd.nextInt(Team.values().length)];
+                e.position = team.position;
+                e.status = rnd.nextInt(3) == 0 ? "Probationary" : "Regular";
+                e.basicSalary = 22500 + 750 * rnd.nextInt(11);
+                e.phoneAllowance = 500;
+                e.clothingAllowance = 500;
+                e.supervisorIndex = team.leadIndex;
+            }
+
+            employees.add(e);
+        }
+
+        for (Row e : employees) {
+            int sup = Math.min(e.supervisorIndex, employees.size() - 1);
+            Row s = employees.get(sup);
+            e.supervisor = s.lastName + ", " + s.firstName;
+        }
+    }
+
+    private void pickName(Row e, Random rnd, Set<String> usedNames) {
+        for (int attempt = 0; ; attempt++) {
+            e.lastName = LAST_NAMES[rnd.nextInt(LAST_NAMES.length)];
+            e.firstName = FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)];
+            // After a few collisions a numeric suffix keeps supervisor names unique.
+            if (attempt > 3) {
+                e.firstName = e.firstName + " " + (e.id - FIRST_EMPLOYEE_ID);
+            }
+            if (usedNames.add(e.lastName + ", " + e.firstName)) {
+                return;
+            }
+        }
+    }
+
+    private void writeEmployees() throws IOException {
+        List<String> rows = new ArrayList<>(employees.size());
+        for (Row e : employees) {
+            Random rnd = employeeRandom(e.id ^ 0x5DEECE66DL);
+
+            LocalDate birthday = LocalDate.of(1965, 1, 1).plusDays(rnd.nextInt(365 * 35));
+            String address = "Block " + (1 + rnd.nextInt(40)) + " Lot " + (1 + rnd.nextInt(30)) + ", "
+                    + STREETS[rnd.nextInt(STREETS.length)] + ", " + CITIES[rnd.nextInt(CITIES.length)];
+            double gross = Math.round(e.basicSalary / 2.0);
+            double hourly = Math.round(e.basicSalary / 168.0 * 100.0) / 100.0;
+
+            rows.add(e.id + "," + e.lastName + "," + e.firstName + "," + birthday.format(DATE_FMT)
+                    + ",\"" + address + "\","
+                    + digits(rnd, 3) + "-" + digits(rnd, 3) + "-" + digits(rnd, 3) + ","
+                    + digits(rnd, 2) + "-" + digits(rnd, 7) + "-" + digits(rnd, 1) + ","
+                    + digits(rnd, 2) + "-" + digits(rnd, 9) + "-" + digits(rnd, 1) + ","
+                    + digits(rnd, 3) + "-" + digits(rnd, 3) + "-" + digits(rnd, 3) + "-000,"
+                    + digits(rnd, 4) + "-" + digits(rnd, 4) + "-" + digits(rnd, 4) + ","
+                    + e.status + "," + e.position + ",\"" + e.supervisor + "\","
+                    + fmt(e.basicSalary) + ",1500," + fmt(e.phoneAllowance) + "," + fmt(e.clothingAllowance) + ","
+                    + fmt(gross) + "," + fmt(hourly));
+        }
+        writeLines(DataPaths.EMPLOYEE_CSV, EMPLOYEE_HEADER, rows);
+    }
+
+    private void writeLogins() throws IOException {
+        List<String> rows = new ArrayList<>(employees.size());
+        for (Row e : employees) {
+            rows.add(e.id + "," + DataPaths.DEFAULT_PASSWORD + "," + e.firstName + "," + e.lastName + "," + e.position + ",No");
+        }
+        writeLines(DataPaths.LOGIN_CSV, LOGIN_HEADER, rows);
+    }
+
+    /**
+     * Writes one employee's DTR and leave files for every weekday in range.
+     * Leave days get no DTR row.
+     *
+     * @return approved leave hours in the last generated year, used for the
+     * Leave Taken column
+     */
+    private double writeTimeAndLeave(Row e) throws IOException {
+        Random rnd = employeeRandom(e.id * 31L + 7);
+
+        LocalDate start = LocalDate.of(startYear, 1, 1);
+        LocalDate end = LocalDate.of(startYear + years, 1, 1);
+        int lastYear = startYear + years - 1;
+
+        Set<LocalDate> leaveDays = new HashSet<>();
+        List<String> leaveRows = new ArrayList<>();
+        double leaveTakenLastYear = 0;
+
+        for (int year = startYear; year <= lastYear; year++) {
+            int added = 0;
+            while (added < LEAVE_DAYS_PER_YEAR) {
+                LocalDate day = LocalDate.of(year, 1, 1).plusDays(rnd.nextInt(365));
+                if (day.getYear() != year || isWeekend(day) || !leaveDays.add(day)) {
+                    continue;
+                }
+                added++;
+            }
+        }
+
+        List<LocalDate> sortedLeave = new ArrayList<>(leaveDays);
+        sortedLeave.sort(null);
+        for (LocalDate day : sortedLeave) {
+            // The final year keeps a few requests open so approval screens have work.
+            String status = (day.getYear() == lastYear && rnd.nextInt(4) == 0) ? "PENDING" : "APPROVED";
+            if ("APPROVED".equals(status) && day.getYear() == lastYear) {
+                leaveTakenLastYear += 8;
+            }
+            leaveRows.add(serialId(e.id, day) + "," + e.id + "," + day.format(DATE_FMT) + ",8:00 AM,5:00 PM,"
+                    + e.firstName + "," + e.lastName + "," + status + ",,,");
+        }
+
+        writeLines(DataPaths.LEAVE_FOLDER + "records_leave_" + e.id + ".csv", LEAVE_HEADER, leaveRows);
+
+        File dtr = resolve(DataPaths.DTR_FOLDER + "records_dtr_" + e.id + ".csv");
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(dtr, false), 1 << 16)) {
+            bw.write(DTR_HEADER);
+            for (LocalDate day = start; day.isBefore(end); day = day.plusDays(1)) {
+                if (isWeekend(day) || leaveDays.contains(day) || rnd.nextDouble() < ABSENCE_RATE) {
+                    continue;
+                }
+
+                LocalTime in = LocalTime.of(7, 30).plusMinutes(rnd.nextInt(120));
+                LocalTime out = in.plusHours(9).plusMinutes(rnd.nextInt(121) - 60);
+
+                bw.newLine();
+                bw.write(serialId(e.id, day) + "," + e.id + "," + day.format(DATE_FMT) + ","
+                        + in.format(TIME_FMT) + "," + out.format(TIME_FMT) + "," + e.firstName + "," + e.lastName);
+            }
+        }
+
+        return leaveTakenLastYear;
+    }
+
+    private Random employeeRandom(long salt) {
+        return new Random(seed * 1_000_003L + salt);
+    }
+
+    private static boolean isWeekend(LocalDate day) {
+        return day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    private static String serialId(int empId, LocalDate day) {
+        return empId + "-" + ChronoUnit.DAYS.between(SERIAL_EPOCH, day);
+    }
+
+    private static String digits(Random rnd, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append((char) ('0' + rnd.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    private static String fmt(double value) {
+        return (value == Math.rint(value)) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    // Annotation: Maps a DataPaths entry to the same place under root/data, whatever root and folders DataPaths is configured with.
+    private File resolve(String dataPath) {
+        File data = new File(root, "data");
+        String[] folders = {
+            DataPaths.DTR_FOLDER, DataPaths.PAYSLIP_FOLDER, DataPaths.PAYROLL_FOLDER,
+            DataPaths.LEAVE_FOLDER, DataPaths.SYSTEM_LOG_FOLDER
+        };
+        for (String folder : folders) {
+            if (dataPath.startsWith(folder)) {
+                File target = new File(data, new File(folder).getName());
+                String rest = dataPath.substring(folder.length());
+                return rest.isEmpty() ? target : new File(target, rest);
+            }
+        }
+        return new File(data, new File(dataPath).getName());
+    }
+
+    private void mkdirs(String folderPath) {
+        resolve(folderPath).mkdirs();
+    }
+
+    private void writeLines(String dataPath, String header, List<String> rows) throws IOException {
+        File file = resolve(dataPath);
+        File parent = file.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, false), 1 << 16)) {
+            bw.write(header);
+            for (String row : rows) {
+                bw.newLine();
+                bw.write(row);
+            }
+        }
+    }
+
+    private void copyIfPresent(String dataPath) throws IOException {
+        File source = new File(dataPath);
+        if (!source.exists()) {
+            System.out.println("Not copied (missing): " + dataPath);
+            return;
+        }
+
+        File target = resolve(dataPath);
+        if (source.getCanonicalFile().equals(target.getCanonicalFile())) {
+            return;
+        }
+        target.getParentFile().mkdirs();
+        Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Annotation: Leadership rows in creation order; supervisorIndex points at an earlier row.
+    private enum Leadership {
+        ADMIN("IT Operations and Systems", 80000, 2000, 1000, 2),
+        CEO("Chief Executive Officer", 90000, 2000, 1000, 1),
+        COO("Chief Operating Officer", 60000, 2000, 1000, 1),
+        CFO("Chief Finance Officer", 60000, 2000, 1000, 1),
+        CMO("Chief Marketing Officer", 60000, 2000, 1000, 1),
+        IT_OPS("IT Operations and Systems", 52670, 1000, 1000, 2),
+        HR_MANAGER("HR Manager", 52670, 1000, 1000, 2),
+        HR_LEAD("HR Team Leader", 50000, 800, 800, 6),
+        ACCOUNTING_HEAD("Accounting Head", 52670, 1000, 1000, 3),
+        PAYROLL_MANAGER("Payroll Manager", 50825, 1000, 1000, 8),
+        PAYROLL_LEAD("Payroll Team Leader", 38475, 800, 800, 9),
+        ACCOUNT_MANAGER("Account Manager", 53500, 1000, 1000, 2),
+        ACCOUNT_LEAD("Account Team Leader", 42975, 800, 800, 11),
+        SALES("Sales & Marketing", 52670, 1000, 1000, 4),
+        SUPPLY_CHAIN("Supply Chain and Logistics", 52670, 1000, 1000, 4),
+        CUSTOMER_RELATIONS("Customer Service and Relations", 52670, 1000, 1000, 4);
+
+        private final String position;
+        private final double basicSalary;
+        private final double phoneAllowance;
+        private final double clothingAllowance;
+        private final int supervisorIndex;
+
+        Leadership(String position, double basicSalary, double phoneAllowance, double clothingAllowance, int supervisorIndex) {
+            this.position = position;
+            this.basicSalary = basicSalary;
+            this.phoneAllowance = phoneAllowance;
+            this.clothingAllowance = clothingAllowance;
+            this.supervisorIndex = supervisorIndex;
+        }
+    }
+
+    // Annotation: Rank-and-file positions and the leadership row each reports to.
+    private enum Team {
+        HR("HR Rank and File", 7),
+        PAYROLL("Payroll Rank and File", 10),
+        ACCOUNTS("Account Rank and File", 12),
+        CUSTOMER_SERVICE("Customer Service", 15);
+
+        private final String position;
+        private final int leadIndex;
+
+        Team(String position, int leadIndex) {
+            this.position = position;
+            this.leadIndex = leadIndex;
+        }
+    }
+
+    private static final class Row {
+
+        private int id;
+        private String lastName;
+        private String firstName;
+        private String position;
+        private String status;
+        private String supervisor;
+        private int supervisorIndex;
+        private double basicSalary;
+        private double phoneAllowance;
+        private double clothingAllowance;
+    }
+}
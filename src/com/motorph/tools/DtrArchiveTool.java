@@ -0,0 +1,50 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.tools;
+
+import com.motorph.repository.csv.CsvTimeRepository;
+import com.motorph.repository.csv.DataPaths;
+import com.motorph.repository.csv.DtrArchiver;
+
+/**
+ * Writes binary attendance archives for closed years under
+ * DataPaths.DTR_ARCHIVE_FOLDER. Journals are merged in, so pending punches are
+ * included.
+ *
+ * Usage: DtrArchiveTool &lt;year&gt; [year...]
+ *
+ * @author ACER
+ */
+public class DtrArchiveTool {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: DtrArchiveTool <year> [year...]");
+            return;
+        }
+
+        DtrArchiver archiver = new DtrArchiver(new CsvTimeRepository(null, true, true));
+        for (String arg : args) {
+            int year;
+            try {
+                year = Integer.parseInt(arg.trim());
+            } catch (NumberFormatException e) {
+                System.out.println("Skipped " + arg + ": not a year");
+                continue;
+            }
+
+            if (!archiver.isClosed(year)) {
+                System.out.println("Skipped " + year + ": year is not closed yet");
+                continue;
+            }
+            int rows = archiver.archiveYear(year);
+            if (rows < 0) {
+                System.out.println("Failed to archive " + year);
+            } else {
+                System.out.println("Archived " + year + ": " + rows + " rows to " + DataPaths.DTR_ARCHIVE_FOLDER);
+            }
+        }
+    }
+}
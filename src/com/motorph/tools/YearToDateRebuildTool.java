@@ -0,0 +1,28 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.motorph.tools;
+
+import com.motorph.AppContext;
+import com.motorph.repository.csv.DataPaths;
+
+/**
+ * Regenerates DataPaths.YTD_CSV from the payslip and leave record files, e.g.
+ * after those files were edited by hand or restored from a backup.
+ *
+ * Usage: YearToDateRebuildTool
+ *
+ * @author ACER
+ */
+public class YearToDateRebuildTool {
+
+    public static void main(String[] args) {
+        int rows = AppContext.shared().getYearToDateService().rebuild();
+        if (rows < 0) {
+            System.out.println("Failed to write " + DataPaths.YTD_CSV);
+        } else {
+            System.out.println("Rebuilt " + DataPaths.YTD_CSV + ": " + rows + " employee-years");
+        }
+    }
+}
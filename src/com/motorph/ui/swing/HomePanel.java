@@ -5,6 +5,8 @@
 package com.motorph.ui.swing;
 
 import com.motorph.repository.csv.DataPaths;
+import com.motorph.service.strategy.GovTable;
+import com.motorph.service.strategy.GovTables;
 import com.motorph.service.strategy.PayDeductionStrategy;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
@@ -38,6 +40,7 @@ public class HomePanel extends javax.swing.JPanel {
     private JButton btnGuideInfo;
     private double referenceSalary;
     private double referenceTaxableIncome;
+    private final PayDeductionStrategy deductionStrategy = new PayDeductionStrategy();
 
     public HomePanel() {
         initComponents();
@@ -212,54 +215,38 @@ public class HomePanel extends javax.swing.JPanel {
 
     private String buildSssHtml(double monthlySalary) {
         String matched = "<tr><td colspan='4'>No matching bracket found.</td></tr>";
-        try (BufferedReader br = new BufferedReader(new FileReader(DataPaths.GOV_SSS_CSV))) {
-            String header = br.readLine();
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] d = line.split(",", -1);
-                if (d.length < 6) continue;
-                double min = parse(d[1]);
-                double max = parse(d[2]);
-                if (monthlySalary >= min && monthlySalary <= max) {
-                    double ee = parse(d[5]);
-                    matched = "<tr><td>Monthly Salary</td><td>₱" + money(monthlySalary) + "</td><td>Bracket</td><td>₱" + money(min) + " - ₱" + money(max) + "</td></tr>"
-                            + "<tr><td>Employee Share</td><td>₱" + money(ee) + "</td><td>Source</td><td>Total EE Contribution</td></tr>";
-                    break;
-                }
-            }
-        } catch (IOException e) {
+        GovTable.Compiled table = GovTables.SSS.current();
+        if (!table.isLoaded()) {
             matched = "<tr><td colspan='4'>Unable to read SSS table.</td></tr>";
+        } else {
+            int row = table.find(monthlySalary, true);
+            if (row >= 0) {
+                double ee = table.value(row, GovTables.SSS_EE_TOTAL);
+                matched = "<tr><td>Monthly Salary</td><td>₱" + money(monthlySalary) + "</td><td>Bracket</td><td>₱" + money(table.min(row)) + " - ₱" + money(table.max(row)) + "</td></tr>"
+                        + "<tr><td>Employee Share</td><td>₱" + money(ee) + "</td><td>Source</td><td>Total EE Contribution</td></tr>";
+            }
         }
         return wrapGuideHtml("SSS Contribution Guide", "Monthly salary is matched against the SSS contribution bracket table.", matched);
     }
 
     private String buildPhilHealthHtml(double monthlySalary) {
         String matched = "<tr><td colspan='4'>No matching bracket found.</td></tr>";
-        PayDeductionStrategy strategy = new PayDeductionStrategy();
-        double share = strategy.calculatePhilHealth(monthlySalary);
-        try (BufferedReader br = new BufferedReader(new FileReader(DataPaths.GOV_PHILHEALTH_CSV))) {
-            br.readLine();
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] d = line.split(",", -1);
-                if (d.length < 7) continue;
-                double min = parse(d[1]);
-                double max = parse(d[2]);
-                if (monthlySalary >= min && monthlySalary <= max) {
-                    matched = "<tr><td>Monthly Salary</td><td>₱" + money(monthlySalary) + "</td><td>Bracket</td><td>₱" + money(min) + " - ₱" + money(max) + "</td></tr>"
-                            + "<tr><td>Employee Share</td><td>₱" + money(share) + "</td><td>Rule</td><td>Based on employee share / table cap</td></tr>";
-                    break;
-                }
-            }
-        } catch (IOException e) {
+        double share = deductionStrategy.calculatePhilHealth(monthlySalary);
+        GovTable.Compiled table = GovTables.PHILHEALTH.current();
+        if (!table.isLoaded()) {
             matched = "<tr><td colspan='4'>Unable to read PhilHealth table.</td></tr>";
+        } else {
+            int row = table.find(monthlySalary, true);
+            if (row >= 0) {
+                matched = "<tr><td>Monthly Salary</td><td>₱" + money(monthlySalary) + "</td><td>Bracket</td><td>₱" + money(table.min(row)) + " - ₱" + money(table.max(row)) + "</td></tr>"
+                        + "<tr><td>Employee Share</td><td>₱" + money(share) + "</td><td>Rule</td><td>Based on employee share / table cap</td></tr>";
+            }
         }
         return wrapGuideHtml("PhilHealth Contribution Guide", "PhilHealth uses salary brackets, premium rate, and minimum or maximum caps.", matched);
     }
 
     private String buildPagibigHtml(double monthlySalary) {
-        PayDeductionStrategy strategy = new PayDeductionStrategy();
-        double share = strategy.calculatePagibig(monthlySalary);
+        double share = deductionStrategy.calculatePagibig(monthlySalary);
         double rate = monthlySalary <= 1500 ? 0.01 : 0.02;
         String matched = "<tr><td>Monthly Salary</td><td>₱" + money(monthlySalary) + "</td><td>Employee Rate</td><td>" + percent(rate) + "</td></tr>"
                 + "<tr><td>Employee Share</td><td>₱" + money(share) + "</td><td>Cap Applied</td><td>₱100.00 maximum contribution</td></tr>";
@@ -268,24 +255,16 @@ public class HomePanel extends javax.swing.JPanel {
 
     private String buildTaxHtml(double taxableIncome) {
         String matched = "<tr><td colspan='4'>No matching bracket found.</td></tr>";
-        PayDeductionStrategy strategy = new PayDeductionStrategy();
-        double tax = strategy.calculateTax(taxableIncome);
-        try (BufferedReader br = new BufferedReader(new FileReader(DataPaths.GOV_TAX_CSV))) {
-            br.readLine();
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] d = line.split(",", -1);
-                if (d.length < 5) continue;
-                double min = parse(d[1]);
-                double max = parse(d[2]);
-                if (taxableIncome >= min && taxableIncome <= max) {
-                    matched = "<tr><td>Taxable Income</td><td>₱" + money(taxableIncome) + "</td><td>Bracket</td><td>₱" + money(min) + " - ₱" + money(max) + "</td></tr>"
-                            + "<tr><td>Withholding Tax</td><td>₱" + money(tax) + "</td><td>Rule</td><td>Base tax + excess percent on bracket</td></tr>";
-                    break;
-                }
-            }
-        } catch (IOException e) {
+        double tax = deductionStrategy.calculateTax(taxableIncome);
+        GovTable.Compiled table = GovTables.TAX.current();
+        if (!table.isLoaded()) {
             matched = "<tr><td colspan='4'>Unable to read tax table.</td></tr>";
+        } else {
+            int row = table.find(taxableIncome, true);
+            if (row >= 0) {
+                matched = "<tr><td>Taxable Income</td><td>₱" + money(taxableIncome) + "</td><td>Bracket</td><td>₱" + money(table.min(row)) + " - ₱" + money(table.max(row)) + "</td></tr>"
+                        + "<tr><td>Withholding Tax</td><td>₱" + money(tax) + "</td><td>Rule</td><td>Base tax + excess percent on bracket</td></tr>";
+            }
         }
         return wrapGuideHtml("Withholding Tax Guide", "Tax is computed using the taxable-income bracket from the government tax table.", matched);
     }
@@ -308,13 +287,6 @@ public class HomePanel extends javax.swing.JPanel {
         return String.format("%.0f%%", value * 100.0);
     }
 
-    private double parse(String raw) {
-        if (raw == null || raw.trim().isEmpty()) {
-            return 0.0;
-        }
-        return Double.parseDouble(raw.trim());
-    }
-
     private String esc(String s) {
         if (s == null) return "";
         return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
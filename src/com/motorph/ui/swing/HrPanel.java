@@ -526,7 +526,7 @@ public class HrPanel extends JPanel {
         return max + 1;
     }
 
-    // Annotation: Displays HR-scoped logs from system_logs.csv.
+    // Annotation: Displays HR-scoped logs from the system log.
     private void showSystemLogs() {
         List<LogEntry> logs = new ArrayList<>();
         logs.addAll(logService.getLogsByCategory("HR"));